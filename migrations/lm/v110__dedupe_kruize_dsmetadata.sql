@@ -0,0 +1 @@
+with dsmetadata as (select id, max(id) over (partition by datasource_name, cluster_name, namespace, coalesce(workload_type, ''), coalesce(workload_name, ''), coalesce(container_name, '')) as newest_id from kruize_dsmetadata), repointed as (update kruize_lm_experiments e set metadata_id = m.newest_id from dsmetadata m where e.metadata_id = m.id and m.id <> m.newest_id) delete from kruize_dsmetadata d using dsmetadata m where d.id = m.id and m.id <> m.newest_id;
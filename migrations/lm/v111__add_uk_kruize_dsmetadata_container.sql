@@ -0,0 +1 @@
+create unique index IF NOT EXISTS uk_dsmetadata_container on kruize_dsmetadata (datasource_name, cluster_name, namespace, (coalesce(workload_type, '')), (coalesce(workload_name, '')), (coalesce(container_name, '')));
@@ -0,0 +1 @@
+alter table if exists kruize_bulkjobs add column if not exists checkpoint_time timestamp(6);
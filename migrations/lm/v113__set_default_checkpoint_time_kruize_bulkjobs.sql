@@ -0,0 +1 @@
+alter table if exists kruize_bulkjobs alter column checkpoint_time set default now();
@@ -25,8 +25,11 @@ import com.autotune.analyzer.performanceProfiles.MetricProfileCollection;
 import com.autotune.analyzer.autoscaler.AutoscalerService;
 import com.autotune.analyzer.autoscaler.settings.AutoscalingSettings;
 import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.analyzer.workerimpl.BulkJobScheduler;
+import com.autotune.analyzer.workerimpl.KafkaInputProcessor;
 import com.autotune.common.datasource.DataSourceCollection;
 import com.autotune.common.datasource.DataSourceInfo;
+import com.autotune.common.datasource.DataSourceQueryExecutor;
 import com.autotune.common.exceptions.datasource.DataSourceAlreadyExist;
 import com.autotune.common.exceptions.datasource.DataSourceNotServiceable;
 import com.autotune.common.exceptions.datasource.UnsupportedDataSourceProvider;
@@ -38,6 +41,8 @@ import com.autotune.operator.KruizeDeploymentInfo;
 import com.autotune.service.HealthService;
 import com.autotune.service.InitiateListener;
 import com.autotune.utils.CloudWatchAppender;
+import com.autotune.utils.HttpClientPool;
+import com.autotune.utils.KubernetesClientProvider;
 import com.autotune.utils.KruizeConstants;
 import com.autotune.utils.MetricsConfig;
 import com.autotune.utils.ServerContext;
@@ -211,6 +216,10 @@ public class Autotune {
         if (KruizeDeploymentInfo.local) {
             // Check the settings initially while starting
             AutoscalingSettings.getInstance().initialiseAutoscalingSettings();
+            // resume the bulk jobs left unfinished by a stopped pod
+            if (!KruizeDeploymentInfo.TEST_USE_ONLY_CACHE_JOB_IN_MEM) {
+                BulkJobScheduler.startRecovery();
+            }
         }
 
         try {
@@ -219,6 +228,15 @@ public class Autotune {
                 LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.BOOTSTRAP_SERVER_MISSING);
                 throw new IllegalStateException(KruizeConstants.KAFKA_CONSTANTS.BOOTSTRAP_SERVER_MISSING);
             }
+            // take the bulk requests and results sent to the kafka input topics
+            if (KruizeDeploymentInfo.is_kafka_enabled) {
+                KafkaInputProcessor.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(KafkaInputProcessor::shutdown));
+            }
+            // release pooled http connections on shutdown
+            Runtime.getRuntime().addShutdownHook(new Thread(HttpClientPool::shutdown));
+            Runtime.getRuntime().addShutdownHook(new Thread(KubernetesClientProvider::shutdown));
+            Runtime.getRuntime().addShutdownHook(new Thread(DataSourceQueryExecutor::shutdown));
             String startAutotune = System.getenv("START_AUTOTUNE");
             if (startAutotune == null || startAutotune.equalsIgnoreCase("true")) {
                 server.start();
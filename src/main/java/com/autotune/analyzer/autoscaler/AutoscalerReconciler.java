@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.analyzer.autoscaler;
+
+import com.autotune.analyzer.exceptions.ApplyRecommendationsError;
+import com.autotune.analyzer.kruizeObject.KruizeObject;
+import com.autotune.analyzer.recommendations.RecommendationConfigItem;
+import com.autotune.analyzer.recommendations.objects.MappedRecommendationForModel;
+import com.autotune.analyzer.recommendations.objects.MappedRecommendationForTimestamp;
+import com.autotune.analyzer.recommendations.objects.TermRecommendations;
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.analyzer.utils.AnalyzerErrorConstants;
+import com.autotune.common.data.result.ContainerData;
+import com.autotune.common.k8sObjects.K8sObject;
+import com.autotune.utils.MetricsConfig;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Reconciles the workloads of the auto and recreate mode experiments with their recommendations.
+ * <p>
+ * The state of each experiment is kept between ticks: the definition its recommendations were last applied for, the
+ * recommendations applied and when it is next due. An experiment is processed only when new, changed or due, and
+ * its recommendations are applied only when they differ from the ones last applied, or when the resync interval
+ * passed so that an updater object changed meanwhile gets corrected. The experiments of a namespace are processed
+ * in order, the namespaces in parallel on a fixed number of threads.
+ */
+public class AutoscalerReconciler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutoscalerReconciler.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final Supplier<Map<String, KruizeObject>> experimentLoader;
+    private final Function<String, KruizeObject> recommendationGenerator;
+    private final RecommendationApplier recommendationApplier;
+    private final ExecutorService workers;
+    private final long intervalMillis;
+    private final long resyncMillis;
+    private final LongSupplier clock;
+    private final Map<String, ExperimentState> states = new ConcurrentHashMap<>();
+    private final Timer tickTimer;
+
+    /**
+     * @param experimentLoader        loads the auto and recreate mode experiments, by name, null if they couldn't be
+     * @param recommendationGenerator generates the recommendations of an experiment, null if they couldn't be
+     * @param recommendationApplier   applies the recommendations to the workloads of the experiment
+     * @param threadCount             number of namespaces processed at the same time
+     * @param intervalMillis          shortest time between two recommendation generations of an experiment
+     * @param resyncMillis            longest time recommendations are left without being applied again
+     * @param clock                   current time in milliseconds
+     */
+    public AutoscalerReconciler(Supplier<Map<String, KruizeObject>> experimentLoader,
+                                Function<String, KruizeObject> recommendationGenerator,
+                                RecommendationApplier recommendationApplier, int threadCount,
+                                long intervalMillis, long resyncMillis, LongSupplier clock) {
+        this.experimentLoader = experimentLoader;
+        this.recommendationGenerator = recommendationGenerator;
+        this.recommendationApplier = recommendationApplier;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threadCount), runnable -> {
+            Thread thread = new Thread(runnable, "autoscaler-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.intervalMillis = intervalMillis;
+        this.resyncMillis = resyncMillis;
+        this.clock = clock;
+        this.tickTimer = Timer.builder(MetricsConfig.AUTOSCALER_TICK_METRIC)
+                .description(MetricsConfig.AUTOSCALER_TICK_METRIC_DESC)
+                .register(MetricsConfig.meterRegistry());
+    }
+
+    /**
+     * Processes the experiments new, changed or due, and returns once all of them are done with. The tick is skipped,
+     * keeping the state of the experiments, if they couldn't be loaded.
+     *
+     * @return number of experiments processed
+     */
+    public int reconcile() throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            Map<String, KruizeObject> experiments = experimentLoader.get();
+            if (null == experiments) {
+                LOGGER.warn(AnalyzerConstants.AutoscalerConstants.InfoMsgs.EXPERIMENTS_NOT_LOADED);
+                return 0;
+            }
+            // experiments deleted or no longer in auto mode start over if they come back
+            states.keySet().retainAll(experiments.keySet());
+
+            long now = clock.getAsLong();
+            Map<String, List<KruizeObject>> dueByNamespace = new TreeMap<>();
+            for (Map.Entry<String, KruizeObject> experiment : experiments.entrySet()) {
+                ExperimentState state = states.get(experiment.getKey());
+                String definition = getDefinition(experiment.getValue());
+                if (null == state || !state.definition.equals(definition) || now >= state.nextDueMillis) {
+                    dueByNamespace.computeIfAbsent(getNamespace(experiment.getValue()), namespace -> new ArrayList<>())
+                            .add(experiment.getValue());
+                }
+            }
+            LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.EXPERIMENTS_DUE,
+                    dueByNamespace.values().stream().mapToInt(List::size).sum(), experiments.size());
+
+            List<Future<?>> futures = new ArrayList<>();
+            int processed = 0;
+            for (List<KruizeObject> namespaceExperiments : dueByNamespace.values()) {
+                futures.add(workers.submit(() -> {
+                    for (KruizeObject experiment : namespaceExperiments) {
+                        process(experiment);
+                    }
+                }));
+                processed += namespaceExperiments.size();
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    LOGGER.error(e.getCause().getMessage(), e.getCause());
+                }
+            }
+            return processed;
+        } finally {
+            tickTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stops the threads processing the experiments
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void process(KruizeObject experiment) {
+        String experimentName = experiment.getExperimentName();
+        String definition = getDefinition(experiment);
+        ExperimentState state = states.get(experimentName);
+        long now = clock.getAsLong();
+        boolean changed = null == state || !state.definition.equals(definition);
+        ExperimentState newState = new ExperimentState(definition, changed ? null : state.appliedRecommendation,
+                changed ? 0 : state.appliedMillis, now + getDueInterval(experiment));
+        try {
+            KruizeObject kruizeObject = recommendationGenerator.apply(experimentName);
+            if (null == kruizeObject) {
+                // failure logged by the generator, tried again once due
+                return;
+            }
+            String recommendation = getRecommendationFingerprint(kruizeObject);
+            if (recommendation.equals(newState.appliedRecommendation) && now - newState.appliedMillis < resyncMillis) {
+                LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.RECOMMENDATIONS_UNCHANGED, experimentName);
+                return;
+            }
+            recommendationApplier.apply(kruizeObject);
+            newState.appliedRecommendation = recommendation;
+            newState.appliedMillis = now;
+        } catch (Exception e) {
+            LOGGER.error(AnalyzerErrorConstants.AutoscalerErrors.RECONCILE_EXPERIMENT_FAILED, experimentName, e.getMessage());
+        } finally {
+            states.put(experimentName, newState);
+        }
+    }
+
+    /**
+     * New recommendations are not expected before a new measurement
+     */
+    private long getDueInterval(KruizeObject experiment) {
+        try {
+            double measurementMinutes = experiment.getTrial_settings().getMeasurement_durationMinutes_inDouble();
+            return Math.max(intervalMillis, TimeUnit.SECONDS.toMillis((long) (measurementMinutes * 60)));
+        } catch (RuntimeException e) {
+            return intervalMillis;
+        }
+    }
+
+    private static String getNamespace(KruizeObject experiment) {
+        if (null != experiment.getKubernetes_objects() && !experiment.getKubernetes_objects().isEmpty()
+                && null != experiment.getKubernetes_objects().get(0).getNamespace()) {
+            return experiment.getKubernetes_objects().get(0).getNamespace();
+        }
+        return (null == experiment.getNamespace()) ? "" : experiment.getNamespace();
+    }
+
+    /**
+     * @return the fields of the experiment that decide the recommendations applied and where
+     */
+    static String getDefinition(KruizeObject experiment) {
+        StringBuilder definition = new StringBuilder()
+                .append(experiment.getMode()).append('|')
+                .append(experiment.getDefaultUpdater()).append('|');
+        if (null != experiment.getTrial_settings())
+            definition.append(experiment.getTrial_settings().getMeasurement_durationMinutes());
+        definition.append('|');
+        if (null != experiment.getRecommendation_settings()) {
+            if (null != experiment.getRecommendation_settings().getModelSettings())
+                definition.append(experiment.getRecommendation_settings().getModelSettings().getModels());
+            if (null != experiment.getRecommendation_settings().getTermSettings())
+                definition.append(experiment.getRecommendation_settings().getTermSettings().getTerms());
+        }
+        if (null != experiment.getKubernetes_objects()) {
+            for (K8sObject k8sObject : experiment.getKubernetes_objects()) {
+                definition.append('|').append(k8sObject.getType()).append('/').append(k8sObject.getNamespace())
+                        .append('/').append(k8sObject.getName());
+                if (null != k8sObject.getContainerDataMap())
+                    definition.append(new TreeSet<>(k8sObject.getContainerDataMap().keySet()));
+            }
+        }
+        return definition.toString();
+    }
+
+    /**
+     * @return the latest recommended configuration of every container of the experiment, in a stable order
+     */
+    static String getRecommendationFingerprint(KruizeObject kruizeObject) {
+        StringBuilder fingerprint = new StringBuilder();
+        if (null == kruizeObject.getKubernetes_objects())
+            return fingerprint.toString();
+        for (K8sObject k8sObject : kruizeObject.getKubernetes_objects()) {
+            fingerprint.append(k8sObject.getNamespace()).append('/').append(k8sObject.getName()).append('{');
+            if (null != k8sObject.getContainerDataMap()) {
+                for (ContainerData containerData : new TreeMap<>(k8sObject.getContainerDataMap()).values()) {
+                    fingerprint.append(containerData.getContainer_name()).append('{');
+                    if (null != containerData.getContainerRecommendations()
+                            && null != containerData.getContainerRecommendations().getData()
+                            && !containerData.getContainerRecommendations().getData().isEmpty()) {
+                        HashMap<Timestamp, MappedRecommendationForTimestamp> data = containerData.getContainerRecommendations().getData();
+                        appendTerms(fingerprint, data.get(Collections.max(data.keySet())));
+                    }
+                    fingerprint.append('}');
+                }
+            }
+            fingerprint.append('}');
+        }
+        return fingerprint.toString();
+    }
+
+    private static void appendTerms(StringBuilder fingerprint, MappedRecommendationForTimestamp recommendation) {
+        if (null == recommendation || null == recommendation.getRecommendationForTermHashMap())
+            return;
+        for (Map.Entry<String, TermRecommendations> term : new TreeMap<>(recommendation.getRecommendationForTermHashMap()).entrySet()) {
+            fingerprint.append(term.getKey()).append('{');
+            if (null != term.getValue() && null != term.getValue().getRecommendationForModelHashMap()) {
+                for (Map.Entry<String, MappedRecommendationForModel> model : new TreeMap<>(term.getValue().getRecommendationForModelHashMap()).entrySet()) {
+                    fingerprint.append(model.getKey()).append('{');
+                    if (null != model.getValue() && null != model.getValue().getConfig()) {
+                        for (Map.Entry<AnalyzerConstants.ResourceSetting, HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem>> setting
+                                : new TreeMap<>(model.getValue().getConfig()).entrySet()) {
+                            fingerprint.append(setting.getKey()).append('{');
+                            if (null != setting.getValue()) {
+                                for (Map.Entry<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> item : new TreeMap<>(setting.getValue()).entrySet()) {
+                                    fingerprint.append(item.getKey()).append('=');
+                                    if (null != item.getValue())
+                                        fingerprint.append(item.getValue().getAmount()).append(item.getValue().getFormat());
+                                    fingerprint.append(',');
+                                }
+                            }
+                            fingerprint.append('}');
+                        }
+                    }
+                    fingerprint.append('}');
+                }
+            }
+            fingerprint.append('}');
+        }
+    }
+
+    /**
+     * Applies the generated recommendations of an experiment with its updater
+     */
+    @FunctionalInterface
+    public interface RecommendationApplier {
+        void apply(KruizeObject kruizeObject) throws ApplyRecommendationsError;
+    }
+
+    /**
+     * What is known of an experiment between ticks
+     */
+    private static final class ExperimentState {
+        private final String definition;
+        // fingerprint of the recommendations last applied, null if none were
+        private String appliedRecommendation;
+        private long appliedMillis;
+        private final long nextDueMillis;
+
+        private ExperimentState(String definition, String appliedRecommendation, long appliedMillis, long nextDueMillis) {
+            this.definition = definition;
+            this.appliedRecommendation = appliedRecommendation;
+            this.appliedMillis = appliedMillis;
+            this.nextDueMillis = nextDueMillis;
+        }
+    }
+}
@@ -17,15 +17,16 @@
 package com.autotune.analyzer.autoscaler;
 
 import com.autotune.analyzer.autoscaler.vpa.VpaAutoscalerImpl;
+import com.autotune.analyzer.exceptions.ApplyRecommendationsError;
 import com.autotune.analyzer.kruizeObject.KruizeObject;
 import com.autotune.analyzer.autoscaler.accelerator.AcceleratorAutoscalerImpl;
 import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.analyzer.utils.AnalyzerErrorConstants;
 import com.autotune.database.service.ExperimentDBService;
+import com.autotune.operator.KruizeDeploymentInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -40,29 +41,21 @@ public class AutoscalerService {
     public static void initiateAutoscalerService() {
         try {
             ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+            AutoscalerImpl autoscaler = new AutoscalerImpl();
+            AutoscalerReconciler reconciler = new AutoscalerReconciler(AutoscalerService::getAutoModeExperiments,
+                    autoscaler::generateResourceRecommendationsForExperiment,
+                    AutoscalerService::applyRecommendations,
+                    KruizeDeploymentInfo.autoscaler_threads,
+                    TimeUnit.SECONDS.toMillis(AnalyzerConstants.AutoscalerConstants.DEFAULT_SLEEP_INTERVAL),
+                    TimeUnit.SECONDS.toMillis(AnalyzerConstants.AutoscalerConstants.DEFAULT_RESYNC_INTERVAL),
+                    System::currentTimeMillis);
 
             LOGGER.info(AnalyzerConstants.AutoscalerConstants.InfoMsgs.STARTING_SERVICE);
             executorService.scheduleAtFixedRate(() -> {
                 try {
-                    AutoscalerImpl autoscaler = new AutoscalerImpl();
-                    Map<String, KruizeObject> experiments = getAutoModeExperiments();
-                    for (Map.Entry<String, KruizeObject> experiment : experiments.entrySet()) {
-                        KruizeObject kruizeObject = autoscaler.generateResourceRecommendationsForExperiment(experiment.getValue().getExperimentName());
-                        // TODO:// add default updater in kruizeObject and check if GPU recommendations are present
-                        if (kruizeObject.getDefaultUpdater() == null) {
-                             kruizeObject.setDefaultUpdater(AnalyzerConstants.AutoscalerConstants.SupportedUpdaters.VPA);
-                        }
-
-                        if (kruizeObject.getDefaultUpdater().equalsIgnoreCase(AnalyzerConstants.AutoscalerConstants.SupportedUpdaters.VPA)) {
-                            VpaAutoscalerImpl vpaUpdater = VpaAutoscalerImpl.getInstance();
-                            vpaUpdater.applyResourceRecommendationsForExperiment(kruizeObject);
-                        }
-
-                        if (kruizeObject.getDefaultUpdater().equalsIgnoreCase(AnalyzerConstants.AutoscalerConstants.SupportedUpdaters.ACCELERATOR)) {
-                            AcceleratorAutoscalerImpl acceleratorUpdater = AcceleratorAutoscalerImpl.getInstance();
-                            acceleratorUpdater.applyResourceRecommendationsForExperiment(kruizeObject);
-                        }
-                    }
+                    reconciler.reconcile();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 } catch (Exception e) {
                     LOGGER.error(e.getMessage());
                 }
@@ -74,6 +67,25 @@ public class AutoscalerService {
         }
     }
 
+    /**
+     * Applies the recommendations with the updater of the experiment
+     */
+    private static void applyRecommendations(KruizeObject kruizeObject) throws ApplyRecommendationsError {
+        // TODO:// add default updater in kruizeObject and check if GPU recommendations are present
+        if (kruizeObject.getDefaultUpdater() == null) {
+            kruizeObject.setDefaultUpdater(AnalyzerConstants.AutoscalerConstants.SupportedUpdaters.VPA);
+        }
+
+        if (kruizeObject.getDefaultUpdater().equalsIgnoreCase(AnalyzerConstants.AutoscalerConstants.SupportedUpdaters.VPA)) {
+            VpaAutoscalerImpl vpaUpdater = VpaAutoscalerImpl.getInstance();
+            vpaUpdater.applyResourceRecommendationsForExperiment(kruizeObject);
+        }
+
+        if (kruizeObject.getDefaultUpdater().equalsIgnoreCase(AnalyzerConstants.AutoscalerConstants.SupportedUpdaters.ACCELERATOR)) {
+            AcceleratorAutoscalerImpl acceleratorUpdater = AcceleratorAutoscalerImpl.getInstance();
+            acceleratorUpdater.applyResourceRecommendationsForExperiment(kruizeObject);
+        }
+    }
     private static Map<String, KruizeObject> getAutoModeExperiments() {
         try {
             LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.CHECKING_AUTO_EXP);
@@ -88,8 +100,9 @@ public class AutoscalerService {
                     .collect(Collectors.toConcurrentMap(Map.Entry::getKey, Map.Entry::getValue));
             return filteredMap;
         } catch (Exception e) {
+            // null rather than empty, so that the state of the experiments isn't dropped on a transient failure
             LOGGER.error(e.getMessage());
-            return new HashMap<>();
+            return null;
         }
     }
 
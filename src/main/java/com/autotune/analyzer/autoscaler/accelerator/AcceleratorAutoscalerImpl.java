@@ -12,19 +12,26 @@ import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.analyzer.utils.AnalyzerErrorConstants;
 import com.autotune.common.data.result.ContainerData;
 import com.autotune.common.utils.CommonUtils;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.api.model.Quantity;
-import io.fabric8.kubernetes.api.model.Container;
-import io.fabric8.kubernetes.api.model.PodTemplateSpec;
+import com.autotune.utils.KubernetesClientProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.HttpURLConnection;
 import java.sql.Timestamp;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public class AcceleratorAutoscalerImpl extends AutoscalerImpl {
     private static final Logger LOGGER = LoggerFactory.getLogger(AcceleratorAutoscalerImpl.class);
@@ -32,7 +39,7 @@ public class AcceleratorAutoscalerImpl extends AutoscalerImpl {
     private KubernetesClient kubernetesClient;
 
     private AcceleratorAutoscalerImpl() {
-        this.kubernetesClient = new DefaultKubernetesClient();
+        this.kubernetesClient = KubernetesClientProvider.getClient();
     }
 
     public static AcceleratorAutoscalerImpl getInstance() {
@@ -63,6 +70,11 @@ public class AcceleratorAutoscalerImpl extends AutoscalerImpl {
         try {
             String namespace = kruizeObject.getKubernetes_objects().get(0).getNamespace();
             String workloadName = kruizeObject.getKubernetes_objects().get(0).getName();
+            // accelerator experiments were only created for jobs before the workload type was taken into account
+            String workloadType = kruizeObject.getKubernetes_objects().get(0).getType();
+            if (null == workloadType) {
+                workloadType = AnalyzerConstants.K8sObjectConstants.Types.JOB;
+            }
             if (null == namespace){
                 LOGGER.error(AnalyzerErrorConstants.AutoscalerErrors.AcceleratorAutoscaler.NAMESPACE_NULL);
                 return;
@@ -143,11 +155,10 @@ public class AcceleratorAutoscalerImpl extends AutoscalerImpl {
                 if (!updatedLimits.isEmpty())
                     updatedRec.put(AnalyzerConstants.ResourceSetting.limits, updatedLimits);
 
-                updateOrRevertResources(containerName, namespace, workloadName, AnalyzerConstants.K8sObjectConstants.Types.JOB,
-                        updatedRec);
+                updateOrRevertResources(containerName, namespace, workloadName, workloadType, updatedRec);
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            throw new ApplyRecommendationsError(e.getMessage());
         }
     }
 
@@ -155,7 +166,8 @@ public class AcceleratorAutoscalerImpl extends AutoscalerImpl {
      * Updates or reverts (Yet to be implemented) resource settings for a specified container in a Kubernetes workload.
      * <p>
      * This method adjusts resource requests and limits for a container within a Deployment, StatefulSet, or Job
-     * based on the provided recommendations. It supports the following Kubernetes object types:
+     * based on the provided recommendations. Only the named workload is read. It supports the following Kubernetes
+     * object types:
      * <ul>
      *     <li>Deployment</li>
      *     <li>StatefulSet</li>
@@ -164,8 +176,8 @@ public class AcceleratorAutoscalerImpl extends AutoscalerImpl {
      * <p>
      * For Deployments and StatefulSets:
      * <ul>
-     *     <li>Updates resource values of the container using the provided recommendations.</li>
-     *     <li>Patches the updated Deployment or StatefulSet back to the cluster.</li>
+     *     <li>Patches the resources of the container with a strategic merge patch, leaving the rest of the workload as it is.</li>
+     *     <li>Reads the workload again and retries if it changed in between.</li>
      * </ul>
      * <p>
      * For Jobs:
@@ -173,119 +185,137 @@ public class AcceleratorAutoscalerImpl extends AutoscalerImpl {
      *     <li>Finds the Job by name in the specified namespace.</li>
      *     <li>Updates the container's resource requests and limits according to the recommendations.</li>
      *     <li>Removes specific controller labels to avoid conflicts during recreation.</li>
-     *     <li>Deletes the existing Job and recreates it with the modified configuration.</li>
+     *     <li>Deletes the existing Job, waits for it to be gone and recreates it with the modified configuration,
+     *     as the pod template of a Job can't be changed.</li>
      * </ul>
      *
      * @param containerName  The name of the container whose resources are to be updated.
      * @param namespace      The namespace where the workload resides.
-     * @param workloadName   The name of the workload (applicable only for Jobs).
+     * @param workloadName   The name of the workload.
      * @param koType         The type of Kubernetes object (Deployment, StatefulSet, or Job).
      *                       Only these types are supported.
      * @param recommendations A map containing recommended resource settings (requests and limits)
      *                        for the container.
+     * @throws ApplyRecommendationsError if the workload type is not supported or the workload could not be updated
      */
-    public static void updateOrRevertResources(String containerName,
-                                               String namespace,
-                                               String workloadName,
-                                               String koType,
-                                               HashMap<AnalyzerConstants.ResourceSetting,
-                                                       HashMap<AnalyzerConstants.RecommendationItem,
-                                                               RecommendationConfigItem>> recommendations )  {
-
-        Map<String, Map<String, Quantity>> originalResourcesRequests = new HashMap<>();
-        Map<String, Map<String, Quantity>> originalResourcesLimits = new HashMap<>();
-
-        try (KubernetesClient kubernetesClient = new DefaultKubernetesClient()) {
+    public void updateOrRevertResources(String containerName,
+                                        String namespace,
+                                        String workloadName,
+                                        String koType,
+                                        HashMap<AnalyzerConstants.ResourceSetting,
+                                                HashMap<AnalyzerConstants.RecommendationItem,
+                                                        RecommendationConfigItem>> recommendations) throws ApplyRecommendationsError {
+        try {
             if (koType.equalsIgnoreCase(AnalyzerConstants.K8sObjectConstants.Types.DEPLOYMENT)) {
-                kubernetesClient.apps().deployments().inNamespace(namespace).list().getItems().forEach(deployment -> {
-                    deployment.getSpec().getTemplate().getSpec().getContainers().stream().filter(
-                            container -> container.getName().equals(containerName)
-                    ).forEach(container -> {
-                        AcceleratorAutoscalerUtils.updateResourceValues(containerName,
-                                container,
-                                recommendations,
-                                originalResourcesRequests,
-                                originalResourcesLimits);
-
-                        kubernetesClient.apps().deployments()
-                                .inNamespace(namespace)
-                                .withName(deployment.getMetadata().getName())
-                                .patch(deployment);
-                        // TODO: Add logic / watcher for reverting if the recommendations fail
-                    });
-                });
+                patchContainerResources(namespace, workloadName, kubernetesClient.apps().deployments().inNamespace(namespace).withName(workloadName),
+                        deployment -> deployment.getSpec().getTemplate(), containerName, recommendations);
             } else if (koType.equalsIgnoreCase(AnalyzerConstants.K8sObjectConstants.Types.STATEFULSET)) {
-                kubernetesClient.apps().statefulSets().inNamespace(namespace).list().getItems().forEach(statefulSet -> {
-                    statefulSet.getSpec().getTemplate().getSpec().getContainers().stream().filter(
-                            container -> container.getName().equals(containerName)
-                    ).forEach(container -> {
-                        AcceleratorAutoscalerUtils.updateResourceValues(containerName,
-                                container,
-                                recommendations,
-                                originalResourcesRequests,
-                                originalResourcesLimits);
-
-                        kubernetesClient.apps().statefulSets()
-                                .inNamespace(namespace)
-                                .withName(statefulSet.getMetadata().getName())
-                                .patch(statefulSet);
-                        // TODO: Add logic / watcher for reverting if the recommendations fail
-                    });
-                });
+                patchContainerResources(namespace, workloadName, kubernetesClient.apps().statefulSets().inNamespace(namespace).withName(workloadName),
+                        statefulSet -> statefulSet.getSpec().getTemplate(), containerName, recommendations);
             } else if (koType.equalsIgnoreCase(AnalyzerConstants.K8sObjectConstants.Types.JOB)) {
-                Job existingJob = kubernetesClient.batch().jobs().inNamespace(namespace).withName(workloadName).get();
-                if (existingJob == null) {
-                    return;
-                }
-                PodTemplateSpec podTemplate = existingJob.getSpec().getTemplate();
-                List<Container> containers = podTemplate.getSpec().getContainers();
-
-                for (Container container : containers) {
-                    if (container.getName().equals(containerName)) {
-                        HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> requestRecommendation =
-                                recommendations.get(AnalyzerConstants.ResourceSetting.requests);
-
-                        HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> limitsRecommendation =
-                                recommendations.get(AnalyzerConstants.ResourceSetting.limits);
-
-                        Map<String, Quantity> requestMap = new HashMap<>();
-                        Map<String, Quantity> limitsMap = new HashMap<>();
-
-                        for (Map.Entry<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> entry : requestRecommendation.entrySet()) {
-                            requestMap.put(entry.getKey().toString(), new Quantity(String.valueOf(entry.getValue().getAmount().intValue()), entry.getValue().getFormat()));
-                        }
-
-                        for (Map.Entry<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> entry : limitsRecommendation.entrySet()) {
-                            if (entry.getKey().toString().contains("nvidia")) {
-                                limitsMap.put(entry.getKey().toString(), new Quantity(String.valueOf(entry.getValue().getAmount().intValue())));
-                            } else {
-                                limitsMap.put(entry.getKey().toString(), new Quantity(String.valueOf(entry.getValue().getAmount().intValue()), entry.getValue().getFormat()));
-                            }
-                        }
-
-                        container.getResources().setRequests(requestMap);
-                        container.getResources().setLimits(limitsMap);
-                    }
-                }
+                recreateJob(namespace, workloadName, containerName, recommendations);
+            } else {
+                throw new ApplyRecommendationsError(String.format(
+                        AnalyzerErrorConstants.AutoscalerErrors.AcceleratorAutoscaler.UNSUPPORTED_WORKLOAD_TYPE, koType));
+            }
+            // TODO: Add logic / watcher for reverting if the recommendations fail
+        } catch (KubernetesClientException e) {
+            throw new ApplyRecommendationsError(e.getMessage());
+        }
+    }
 
-                Map<String, String> labels = podTemplate.getMetadata().getLabels();
-                if (labels != null) {
-                    labels.remove(AnalyzerConstants.AcceleratorConstants.AcceleratorAutoscalerLabels.CONTROLLER_UID);
-                    labels.remove(AnalyzerConstants.AcceleratorConstants.AcceleratorAutoscalerLabels.BATCH_CONTROLLER_UID);
+    /**
+     * Patches the resources of the container in the pod template of the workload, reading the workload again if it
+     * changed between the read and the patch.
+     */
+    private <T extends HasMetadata> void patchContainerResources(String namespace, String workloadName, Resource<T> workload,
+                                                                 Function<T, PodTemplateSpec> podTemplate,
+                                                                 String containerName,
+                                                                 HashMap<AnalyzerConstants.ResourceSetting,
+                                                                         HashMap<AnalyzerConstants.RecommendationItem,
+                                                                                 RecommendationConfigItem>> recommendations) throws ApplyRecommendationsError {
+        Map<String, Quantity> requests = AcceleratorAutoscalerUtils.getRecommendedQuantities(
+                recommendations.get(AnalyzerConstants.ResourceSetting.requests), false);
+        Map<String, Quantity> limits = AcceleratorAutoscalerUtils.getRecommendedQuantities(
+                recommendations.get(AnalyzerConstants.ResourceSetting.limits), true);
+        for (int attempt = 1; ; attempt++) {
+            T current = workload.get();
+            if (null == current) {
+                LOGGER.error(AnalyzerErrorConstants.AutoscalerErrors.AcceleratorAutoscaler.WORKLOAD_NOT_FOUND,
+                        namespace, workloadName);
+                return;
+            }
+            Container container = podTemplate.apply(current).getSpec().getContainers().stream()
+                    .filter(candidate -> containerName.equals(candidate.getName()))
+                    .findFirst().orElse(null);
+            if (null == container) {
+                LOGGER.error(AnalyzerErrorConstants.AutoscalerErrors.AcceleratorAutoscaler.CONTAINER_NOT_FOUND,
+                        containerName, namespace, workloadName);
+                return;
+            }
+            try {
+                String patch = AcceleratorAutoscalerUtils.buildResourcesPatch(current.getMetadata().getResourceVersion(),
+                        container, requests, limits);
+                workload.patch(PatchContext.of(PatchType.STRATEGIC_MERGE), patch);
+                LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.WORKLOAD_PATCHED, namespace, workloadName, containerName);
+                return;
+            } catch (JsonProcessingException e) {
+                throw new ApplyRecommendationsError(e.getMessage());
+            } catch (KubernetesClientException e) {
+                if (HttpURLConnection.HTTP_CONFLICT != e.getCode()
+                        || attempt >= AnalyzerConstants.AcceleratorConstants.MAX_PATCH_CONFLICT_RETRIES) {
+                    throw e;
                 }
+                LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.WORKLOAD_CHANGED, namespace, workloadName, attempt);
+            }
+        }
+    }
 
-                existingJob.getSpec().setSelector(null);
-
-                kubernetesClient.batch().jobs().inNamespace(namespace).withName(workloadName).delete();
-
-                // TODO: Add watcher to trigger event after complete deletion and proceed to job creation
-
-                kubernetesClient.batch().jobs().inNamespace(namespace).createOrReplace(existingJob);
-
-                // TODO: Add logic / watcher for reverting if the recommendations fail
+    /**
+     * Recreates the job with the recommended resources for the container
+     */
+    private void recreateJob(String namespace, String workloadName, String containerName,
+                             HashMap<AnalyzerConstants.ResourceSetting,
+                                     HashMap<AnalyzerConstants.RecommendationItem,
+                                             RecommendationConfigItem>> recommendations) throws ApplyRecommendationsError {
+        Resource<Job> jobResource = kubernetesClient.batch().v1().jobs().inNamespace(namespace).withName(workloadName);
+        Job existingJob = jobResource.get();
+        if (existingJob == null) {
+            LOGGER.error(AnalyzerErrorConstants.AutoscalerErrors.AcceleratorAutoscaler.WORKLOAD_NOT_FOUND, namespace, workloadName);
+            return;
+        }
+        PodTemplateSpec podTemplate = existingJob.getSpec().getTemplate();
+        Map<String, Map<String, Quantity>> originalResourcesRequests = new HashMap<>();
+        Map<String, Map<String, Quantity>> originalResourcesLimits = new HashMap<>();
+        for (Container container : podTemplate.getSpec().getContainers()) {
+            if (container.getName().equals(containerName)) {
+                AcceleratorAutoscalerUtils.updateResourceValues(containerName, container, recommendations,
+                        originalResourcesRequests, originalResourcesLimits);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
+
+        Map<String, String> labels = podTemplate.getMetadata().getLabels();
+        if (labels != null) {
+            labels.remove(AnalyzerConstants.AcceleratorConstants.AcceleratorAutoscalerLabels.CONTROLLER_UID);
+            labels.remove(AnalyzerConstants.AcceleratorConstants.AcceleratorAutoscalerLabels.BATCH_CONTROLLER_UID);
+        }
+        existingJob.getSpec().setSelector(null);
+
+        // the job is created again as new, without what the API server set on the existing one
+        Job newJob = new JobBuilder()
+                .withNewMetadata()
+                    .withName(workloadName)
+                    .withNamespace(namespace)
+                    .withLabels(existingJob.getMetadata().getLabels())
+                    .withAnnotations(existingJob.getMetadata().getAnnotations())
+                .endMetadata()
+                .withSpec(existingJob.getSpec())
+                .build();
+
+        jobResource.withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+        jobResource.waitUntilCondition(Objects::isNull, AnalyzerConstants.AcceleratorConstants.JOB_DELETION_TIMEOUT_SECS,
+                TimeUnit.SECONDS);
+        kubernetesClient.resource(newJob).create();
+        LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.WORKLOAD_PATCHED, namespace, workloadName, containerName);
     }
 }
@@ -2,13 +2,21 @@ package com.autotune.analyzer.autoscaler.accelerator.utils;
 
 import com.autotune.analyzer.recommendations.RecommendationConfigItem;
 import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.utils.KruizeConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.Quantity;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 public class AcceleratorAutoscalerUtils {
+    private static final ObjectMapper PATCH_MAPPER = new ObjectMapper();
+    private static final String METADATA = "metadata";
+    private static final String RESOURCE_VERSION = "resourceVersion";
+    private static final String SPEC = "spec";
+    private static final String TEMPLATE = "template";
+
     public static void updateResourceValues(String containerName,
                                             Container container,
                                             HashMap<AnalyzerConstants.ResourceSetting,
@@ -20,29 +28,91 @@ public class AcceleratorAutoscalerUtils {
         originalResourcesRequests.put(containerName, container.getResources().getRequests());
         originalResourcesLimits.put(containerName, container.getResources().getLimits());
 
-        HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> requestRecommendation =
-                recommendations.get(AnalyzerConstants.ResourceSetting.requests);
+        container.getResources().setRequests(getRecommendedQuantities(
+                recommendations.get(AnalyzerConstants.ResourceSetting.requests), false));
+        container.getResources().setLimits(getRecommendedQuantities(
+                recommendations.get(AnalyzerConstants.ResourceSetting.limits), true));
+    }
+
+    /**
+     * Converts the recommended requests or limits of a container to the quantities of its resources
+     */
+    public static Map<String, Quantity> getRecommendedQuantities(HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> recommendation,
+                                                                 boolean limits) {
+        Map<String, Quantity> quantities = new HashMap<>();
+        if (null == recommendation) {
+            return quantities;
+        }
+        for (Map.Entry<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> entry : recommendation.entrySet()) {
+            if (limits && isAccelerator(entry.getKey().toString())) {
+                quantities.put(entry.getKey().toString(), new Quantity(String.valueOf(entry.getValue().getAmount().intValue())));
+            } else {
+                quantities.put(entry.getKey().toString(), new Quantity(String.valueOf(entry.getValue().getAmount().intValue()), entry.getValue().getFormat()));
+            }
+        }
+        return quantities;
+    }
 
-        HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> limitsRecommendation =
-                recommendations.get(AnalyzerConstants.ResourceSetting.limits);
+    /**
+     * Builds the strategic merge patch setting the resources of one container of a workload pod template.
+     * <p>
+     * Only the recommended resources of the container are sent. Accelerator resources the container has and that are
+     * no longer recommended are removed, as a different GPU partition takes their place. The resource version makes
+     * the patch fail with a conflict if the workload changed since it was read.
+     *
+     * @param resourceVersion resource version of the workload read, null to patch whatever the current version
+     * @param container       container as found in the workload
+     * @param requests        recommended requests
+     * @param limits          recommended limits
+     * @return the patch as JSON
+     */
+    public static String buildResourcesPatch(String resourceVersion, Container container,
+                                             Map<String, Quantity> requests, Map<String, Quantity> limits) throws JsonProcessingException {
+        Map<String, Object> resources = new LinkedHashMap<>();
+        Map<String, String> currentRequests = (null == container.getResources()) ? null : toStrings(container.getResources().getRequests());
+        Map<String, String> currentLimits = (null == container.getResources()) ? null : toStrings(container.getResources().getLimits());
+        resources.put(KruizeConstants.JSONKeys.REQUESTS, getResourcesPatch(currentRequests, requests));
+        resources.put(KruizeConstants.JSONKeys.LIMITS, getResourcesPatch(currentLimits, limits));
 
-        Map<String, Quantity> requestMap = new HashMap<>();
-        Map<String, Quantity> limitsMap = new HashMap<>();
+        Map<String, Object> containerPatch = new LinkedHashMap<>();
+        containerPatch.put(KruizeConstants.JSONKeys.NAME, container.getName());
+        containerPatch.put(KruizeConstants.JSONKeys.RESOURCES, resources);
 
-        for (Map.Entry<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> entry : requestRecommendation.entrySet()) {
-            requestMap.put(entry.getKey().toString(), new Quantity(String.valueOf(entry.getValue().getAmount().intValue()), entry.getValue().getFormat()));
+        Map<String, Object> patch = new LinkedHashMap<>();
+        if (null != resourceVersion) {
+            patch.put(METADATA, Map.of(RESOURCE_VERSION, resourceVersion));
         }
+        // containers are merged by name, the other containers are left as they are
+        patch.put(SPEC, Map.of(TEMPLATE, Map.of(SPEC,
+                Map.of(KruizeConstants.JSONKeys.CONTAINERS, List.of(containerPatch)))));
+        return PATCH_MAPPER.writeValueAsString(patch);
+    }
 
-        for (Map.Entry<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> entry : limitsRecommendation.entrySet()) {
-            if (entry.getKey().toString().contains("nvidia")) {
-                limitsMap.put(entry.getKey().toString(), new Quantity(String.valueOf(entry.getValue().getAmount().intValue())));
-            } else {
-                limitsMap.put(entry.getKey().toString(), new Quantity(String.valueOf(entry.getValue().getAmount().intValue()), entry.getValue().getFormat()));
+    private static Map<String, String> getResourcesPatch(Map<String, String> current, Map<String, Quantity> recommended) {
+        Map<String, String> resourcesPatch = new TreeMap<>();
+        if (null != current) {
+            for (String resource : current.keySet()) {
+                // a null value removes the resource
+                if (isAccelerator(resource) && !recommended.containsKey(resource))
+                    resourcesPatch.put(resource, null);
             }
         }
+        resourcesPatch.putAll(toStrings(recommended));
+        return resourcesPatch;
+    }
 
+    private static Map<String, String> toStrings(Map<String, Quantity> quantities) {
+        Map<String, String> values = new TreeMap<>();
+        if (null != quantities) {
+            for (Map.Entry<String, Quantity> entry : quantities.entrySet()) {
+                Quantity quantity = entry.getValue();
+                values.put(entry.getKey(), quantity.getAmount() + (null == quantity.getFormat() ? "" : quantity.getFormat()));
+            }
+        }
+        return values;
+    }
 
-        container.getResources().setRequests(requestMap);
-        container.getResources().setLimits(limitsMap);
+    private static boolean isAccelerator(String resource) {
+        return resource.contains("nvidia");
     }
 }
@@ -1,57 +1,39 @@
 package com.autotune.analyzer.autoscaler.instaslice;
 
 import com.autotune.analyzer.utils.AnalyzerConstants;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.autotune.utils.KubernetesClientProvider;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.*;
 
+/**
+ * Resolves the GPU and the MIG profile Instaslice allocated to the pods of a workload.
+ * <p>
+ * The Instaslice objects are kept in memory by an informer, indexed by the namespaces of the pods they hold
+ * allocations for, and kept current by its watch, so that lookups don't call the API server.
+ */
 public class InstasliceHelper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InstasliceHelper.class);
 
     private static InstasliceHelper instance;
-    private static final String instasliceNamespace = "instaslice-system";
     private static final String group = "inference.redhat.com";
     private static final String version = "v1alpha1";
     private static final String namespace = "instaslice-system";
     private static final String plural = "instaslices";
     private static final String scope = "Namespaced";
+    private static final String NAMESPACE_INDEX = "allocationNamespace";
 
+    private final KubernetesClient client;
+    private volatile SharedIndexInformer<GenericKubernetesResource> informer;
 
     private InstasliceHelper() {
-    }
-
-    private boolean checkIfInstasliceExist() {
-        try (KubernetesClient client = new DefaultKubernetesClient()){
-            return client.namespaces().withName(namespace).get() != null;
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
-
-    private List<GenericKubernetesResource> getInstasliceObjects() {
-        try (KubernetesClient client = new DefaultKubernetesClient()) {
-            CustomResourceDefinitionContext crdContext = new CustomResourceDefinitionContext.Builder()
-                    .withGroup(group)
-                    .withVersion(version)
-                    .withScope(scope)
-                    .withPlural(plural)
-                    .build();
-
-            return client.genericKubernetesResources(crdContext).inNamespace(namespace).list().getItems();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
+        this.client = KubernetesClientProvider.getClient();
     }
 
     public static InstasliceHelper getInstance() {
@@ -65,72 +47,112 @@ public class InstasliceHelper {
         return instance;
     }
 
+    /**
+     * Returns the informer of the Instaslice objects, starting it on first use. Starting it is tried again on the
+     * next lookup if Instaslice is not installed yet.
+     *
+     * @return the informer, null if it could not be started
+     */
+    private SharedIndexInformer<GenericKubernetesResource> getInformer() {
+        SharedIndexInformer<GenericKubernetesResource> current = informer;
+        if (null != current) {
+            return current;
+        }
+        synchronized (this) {
+            if (null == informer) {
+                CustomResourceDefinitionContext crdContext = new CustomResourceDefinitionContext.Builder()
+                        .withGroup(group)
+                        .withVersion(version)
+                        .withScope(scope)
+                        .withPlural(plural)
+                        .build();
+                SharedIndexInformer<GenericKubernetesResource> newInformer = client.genericKubernetesResources(crdContext)
+                        .inNamespace(namespace).runnableInformer(0);
+                newInformer.addIndexers(Map.of(NAMESPACE_INDEX, InstasliceHelper::getAllocationNamespaces));
+                try {
+                    // returns once the Instaslice objects are listed
+                    newInformer.run();
+                    informer = newInformer;
+                } catch (Exception e) {
+                    newInformer.close();
+                    LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.INSTASLICE_INFORMER_NOT_STARTED, e.getMessage());
+                }
+            }
+            return informer;
+        }
+    }
+
     public String getUUID(String workloadNamespace, String workloadName) {
-        if (!checkIfInstasliceExist())
+        Map<String, Object> allocation = getAllocation(workloadNamespace, workloadName);
+        return (null == allocation || null == allocation.get("gpuUUID")) ? null : allocation.get("gpuUUID").toString();
+    }
+
+    public String getMIGProfile(String workloadNamespace, String workloadName) {
+        Map<String, Object> allocation = getAllocation(workloadNamespace, workloadName);
+        return (null == allocation || null == allocation.get("profile")) ? null : allocation.get("profile").toString();
+    }
+
+    private Map<String, Object> getAllocation(String workloadNamespace, String workloadName) {
+        SharedIndexInformer<GenericKubernetesResource> instasliceInformer = getInformer();
+        if (null == instasliceInformer || null == workloadNamespace || null == workloadName)
             return null;
 
-        AtomicReference<String> uuid = new AtomicReference<>(null);
-
-        List<GenericKubernetesResource> instasliceObjects = getInstasliceObjects();
-        ObjectMapper mapper = new ObjectMapper();
-
-        if (null != instasliceObjects && !instasliceObjects.isEmpty()) {
-            try {
-                instasliceObjects.forEach(item -> {
-                    String name = item.getMetadata().getName();
-                    LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.FOUND_INSTASLICE, name);
-
-                    Map<String, Object> allocations = (Map<String, Object>) ((Map<String, Object>) item.getAdditionalProperties().get("spec")).get("allocations");
-                    for (Map.Entry<String, Object> entry : allocations.entrySet()) {
-                        String key = entry.getKey();
-                        Map<String, Object> allocationMap = (Map<String, Object>) entry.getValue();
-                        if (allocationMap.get("namespace").toString().equalsIgnoreCase(workloadNamespace)
-                                && allocationMap.get("podName").toString().startsWith(workloadName)) {
-                            uuid.set(allocationMap.get("gpuUUID").toString());
-                        }
-                    }
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
+        // the namespace index is built lower case as namespaces are matched ignoring the case
+        List<GenericKubernetesResource> instasliceObjects = instasliceInformer.getIndexer()
+                .byIndex(NAMESPACE_INDEX, workloadNamespace.toLowerCase(Locale.ROOT));
+        if (instasliceObjects.isEmpty()) {
+            LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.NO_INSTASLICE_OBJECTS, workloadNamespace);
+            return null;
+        }
+        return findAllocation(instasliceObjects, workloadNamespace, workloadName);
+    }
+
+    /**
+     * Finds the allocation of a pod of the workload among the allocations of the Instaslice objects
+     */
+    static Map<String, Object> findAllocation(List<GenericKubernetesResource> instasliceObjects, String workloadNamespace,
+                                              String workloadName) {
+        for (GenericKubernetesResource item : instasliceObjects) {
+            LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.FOUND_INSTASLICE, item.getMetadata().getName());
+            // allocations are keyed by pod UUID
+            for (Map<String, Object> allocationMap : getAllocations(item).values()) {
+                Object allocationNamespace = allocationMap.get("namespace");
+                Object podName = allocationMap.get("podName");
+                if (null != allocationNamespace && null != podName
+                        && allocationNamespace.toString().equalsIgnoreCase(workloadNamespace)
+                        && podName.toString().startsWith(workloadName)) {
+                    return allocationMap;
+                }
             }
-        } else {
-            LOGGER.info(AnalyzerConstants.AutoscalerConstants.InfoMsgs.NO_INSTASLICE_OBJECTS, namespace);
         }
-        return uuid.get();
+        return null;
     }
 
-    public String getMIGProfile(String workloadNamespace, String workloadName) {
-        if (!checkIfInstasliceExist())
-            return null;
+    /**
+     * @return the namespaces of the pods the Instaslice object holds allocations for
+     */
+    static List<String> getAllocationNamespaces(GenericKubernetesResource instasliceObject) {
+        Set<String> namespaces = new HashSet<>();
+        for (Map<String, Object> allocationMap : getAllocations(instasliceObject).values()) {
+            Object allocationNamespace = allocationMap.get("namespace");
+            if (null != allocationNamespace)
+                namespaces.add(allocationNamespace.toString().toLowerCase(Locale.ROOT));
+        }
+        return new ArrayList<>(namespaces);
+    }
 
-        AtomicReference<String> profile = new AtomicReference<>(null);
-
-        List<GenericKubernetesResource> instasliceObjects = getInstasliceObjects();
-        ObjectMapper mapper = new ObjectMapper();
-
-        if (null != instasliceObjects && !instasliceObjects.isEmpty()) {
-            try {
-                instasliceObjects.forEach(item -> {
-                    String name = item.getMetadata().getName();
-                    LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.FOUND_INSTASLICE, name);
-
-                    Map<String, Object> allocations = (Map<String, Object>) ((Map<String, Object>) item.getAdditionalProperties().get("spec")).get("allocations");
-                    for (Map.Entry<String, Object> entry : allocations.entrySet()) {
-                        String key = entry.getKey();
-                        Map<String, Object> allocationMap = (Map<String, Object>) entry.getValue();
-                        if (allocationMap.get("namespace").toString().equalsIgnoreCase(workloadNamespace)
-                                && allocationMap.get("podName").toString().startsWith(workloadName)) {
-                            profile.set(allocationMap.get("profile").toString());
-                        }
-                    }
-
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> getAllocations(GenericKubernetesResource instasliceObject) {
+        Map<String, Map<String, Object>> allocations = new HashMap<>();
+        if (!(instasliceObject.getAdditionalProperties().get("spec") instanceof Map))
+            return allocations;
+        Object allocationsObject = ((Map<String, Object>) instasliceObject.getAdditionalProperties().get("spec")).get("allocations");
+        if (allocationsObject instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) allocationsObject).entrySet()) {
+                if (entry.getValue() instanceof Map)
+                    allocations.put(entry.getKey(), (Map<String, Object>) entry.getValue());
             }
-        } else {
-            LOGGER.info(AnalyzerConstants.AutoscalerConstants.InfoMsgs.NO_INSTASLICE_OBJECTS, namespace);
         }
-        return profile.get();
+        return allocations;
     }
-}
\ No newline at end of file
+}
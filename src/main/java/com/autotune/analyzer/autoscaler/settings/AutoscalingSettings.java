@@ -1,7 +1,7 @@
 package com.autotune.analyzer.autoscaler.settings;
 
+import com.autotune.utils.KubernetesClientProvider;
 import io.fabric8.kubernetes.api.model.apps.DaemonSet;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 
 import java.util.List;
@@ -44,7 +44,8 @@ public class AutoscalingSettings {
     }
 
     public void checkIfInstasliceIsAvailable() {
-        try (KubernetesClient client = new DefaultKubernetesClient()) {
+        try {
+            KubernetesClient client = KubernetesClientProvider.getClient();
             List<DaemonSet> daemonSets = client.apps().daemonSets().inAnyNamespace().list().getItems();
             List<DaemonSet> matchingDaemonSets = daemonSets.stream()
                     .filter(ds -> ds.getMetadata().getName().contains("instaslice"))
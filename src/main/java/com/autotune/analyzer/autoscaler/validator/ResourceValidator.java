@@ -21,8 +21,8 @@ import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.analyzer.utils.AnalyzerErrorConstants;
 import com.autotune.common.data.ValidationOutputData;
 import com.autotune.utils.KruizeConstants;
+import com.autotune.utils.KubernetesClientProvider;
 import io.fabric8.kubernetes.api.model.*;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,7 +69,8 @@ public class ResourceValidator {
 
     public static void dryRunPod(String containerName, String image, String namespace,
                                  Map<String, Quantity> resourceMap, ValidationOutputData validationOutputData) {
-        try (KubernetesClient client = new DefaultKubernetesClient()) {
+        try {
+            KubernetesClient client = KubernetesClientProvider.getClient();
             Quantity cpuValue = null;
             Quantity memoryValue = null;
 
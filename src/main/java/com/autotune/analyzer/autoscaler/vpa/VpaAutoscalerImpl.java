@@ -34,16 +34,16 @@ import com.autotune.common.data.result.ContainerData;
 import com.autotune.analyzer.recommendations.objects.MappedRecommendationForTimestamp;
 import com.autotune.analyzer.recommendations.objects.TermRecommendations;
 import com.autotune.utils.KruizeConstants;
+import com.autotune.utils.KubernetesClientProvider;
 import io.fabric8.autoscaling.api.model.v1.*;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Quantity;
-import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinitionList;
+import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition;
 import io.fabric8.kubernetes.api.model.autoscaling.v1.CrossVersionObjectReferenceBuilder;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.ApiextensionsAPIGroupDSL;
-import io.fabric8.verticalpodautoscaler.client.DefaultVerticalPodAutoscalerClient;
-import io.fabric8.verticalpodautoscaler.client.NamespacedVerticalPodAutoscalerClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,10 +59,13 @@ public class VpaAutoscalerImpl extends AutoscalerImpl {
 
     private KubernetesClient kubernetesClient;
     private ApiextensionsAPIGroupDSL apiextensionsClient;
+    // VPA objects of all the namespaces by namespace/name, started on first lookup
+    private volatile SharedIndexInformer<VerticalPodAutoscaler> vpaInformer;
+    private volatile boolean vpaInstalled;
 
 
     private VpaAutoscalerImpl() {
-        this.kubernetesClient = new DefaultKubernetesClient();
+        this.kubernetesClient = KubernetesClientProvider.getClient();
         this.apiextensionsClient = kubernetesClient.apiextensions();
     }
 
@@ -86,17 +89,20 @@ public class VpaAutoscalerImpl extends AutoscalerImpl {
      */
     @Override
     public boolean isUpdaterInstalled() {
+        // the CRD isn't expected to be removed once installed, only its absence is checked again
+        if (vpaInstalled) {
+            return true;
+        }
         try {
             LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.CHECKING_IF_UPDATER_INSTALLED,
                     AnalyzerConstants.AutoscalerConstants.SupportedUpdaters.VPA);
             // checking if VPA CRD is present or not
-            boolean isVpaInstalled = false;
-            CustomResourceDefinitionList crdList = apiextensionsClient.v1().customResourceDefinitions().list();
-            if (null != crdList && null != crdList.getItems() && !crdList.getItems().isEmpty()) {
-                isVpaInstalled = crdList.getItems().stream().anyMatch(crd -> AnalyzerConstants.AutoscalerConstants.VPA.VPA_PLURAL.equalsIgnoreCase(crd.getSpec().getNames().getKind()));
-            }
+            CustomResourceDefinition vpaCrd = apiextensionsClient.v1().customResourceDefinitions()
+                    .withName(AnalyzerConstants.AutoscalerConstants.VPA.VPA_CRD_NAME).get();
+            boolean isVpaInstalled = null != vpaCrd;
             if (isVpaInstalled) {
                 LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.FOUND_UPDATER_INSTALLED, AnalyzerConstants.AutoscalerConstants.SupportedUpdaters.VPA);
+                vpaInstalled = true;
             } else {
                 LOGGER.error(AnalyzerErrorConstants.AutoscalerErrors.UPDATER_NOT_INSTALLED);
             }
@@ -108,64 +114,57 @@ public class VpaAutoscalerImpl extends AutoscalerImpl {
     }
 
     /**
-     * Checks if a Vertical Pod Autoscaler (VPA) object with the specified name is present.
+     * Returns the informer keeping the VPA objects of all the namespaces in memory, starting it on first use.
+     * The VPA CRD must be installed for the informer to start.
      *
-     * @param vpaName String containing the name of the VPA object to search for
-     * @return true if the VPA object with the specified name is present, false otherwise
+     * @return the informer, null if it could not be started
      */
-    private boolean checkIfVpaIsPresent(String vpaName) {
-        try {
-            if (null == vpaName || vpaName.isEmpty()) {
-                throw new Exception(AnalyzerErrorConstants.AutoscalerErrors.INVALID_VPA_NAME);
-            } else {
-                LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.CHECKING_IF_VPA_PRESENT, vpaName));
-                NamespacedVerticalPodAutoscalerClient client = new DefaultVerticalPodAutoscalerClient();
-                VerticalPodAutoscalerList vpas = client.v1().verticalpodautoscalers().inAnyNamespace().list();
-
-                if (null != vpas && null != vpas.getItems() && !vpas.getItems().isEmpty()) {
-                    // TODO:// later we can also check here is the recommender is Kruize to confirm
-                    for (VerticalPodAutoscaler vpa : vpas.getItems()) {
-                        if (vpaName.equals(vpa.getMetadata().getName())) {
-                            LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_WITH_NAME_FOUND, vpaName));
-                            return true;
-                        }
-                    }
+    private SharedIndexInformer<VerticalPodAutoscaler> getVpaInformer() {
+        SharedIndexInformer<VerticalPodAutoscaler> informer = vpaInformer;
+        if (null != informer) {
+            return informer;
+        }
+        synchronized (this) {
+            if (null == vpaInformer) {
+                try {
+                    // returns once the VPA objects are listed, then follows their changes through a watch
+                    vpaInformer = kubernetesClient.resources(VerticalPodAutoscaler.class).inAnyNamespace().inform();
+                    LOGGER.debug(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_INFORMER_STARTED);
+                } catch (Exception e) {
+                    LOGGER.error(AnalyzerErrorConstants.AutoscalerErrors.VPA_INFORMER_START_FAILED, e.getMessage());
                 }
-                LOGGER.error(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_WITH_NAME_NOT_FOUND, vpaName));
-                return false;
             }
-        } catch (Exception e) {
-            LOGGER.error("Error while checking VPA presence: " + e.getMessage(), e);
-            return false;
+            return vpaInformer;
         }
     }
 
-
     /**
-     * Returns the VPA Object if present with the name
+     * Returns the VPA Object if present with the name in the namespace
      *
-     * @param vpaName String containing the name of the VPA object to search for
+     * @param namespace String containing the namespace of the VPA object
+     * @param vpaName   String containing the name of the VPA object to search for
      * @return VerticalPodAutoscaler if the VPA object with the specified name is present, null otherwise
      */
-    private VerticalPodAutoscaler getVpaIsPresent(String vpaName) {
+    private VerticalPodAutoscaler getVpaIsPresent(String namespace, String vpaName) {
         try {
             if (null == vpaName || vpaName.isEmpty()) {
                 throw new Exception(AnalyzerErrorConstants.AutoscalerErrors.INVALID_VPA_NAME);
             } else {
                 LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.CHECKING_IF_VPA_PRESENT, vpaName));
-                NamespacedVerticalPodAutoscalerClient client = new DefaultVerticalPodAutoscalerClient();
-                VerticalPodAutoscalerList vpas = client.v1().verticalpodautoscalers().inAnyNamespace().list();
-
-                if (null != vpas && null != vpas.getItems() && !vpas.getItems().isEmpty()) {
-                    for (VerticalPodAutoscaler vpa : vpas.getItems()) {
-                        if (vpaName.equals(vpa.getMetadata().getName())) {
-                            LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_WITH_NAME_FOUND, vpaName));
-                            return vpa;
-                        }
-                    }
+                VerticalPodAutoscaler vpa;
+                SharedIndexInformer<VerticalPodAutoscaler> informer = getVpaInformer();
+                if (null != informer) {
+                    vpa = informer.getStore().getByKey(Cache.namespaceKeyFunc(namespace, vpaName));
+                } else {
+                    vpa = kubernetesClient.resources(VerticalPodAutoscaler.class).inNamespace(namespace).withName(vpaName).get();
                 }
-                LOGGER.error(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_WITH_NAME_NOT_FOUND, vpaName));
-                return null;
+                // TODO:// later we can also check here is the recommender is Kruize to confirm
+                if (null != vpa) {
+                    LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_WITH_NAME_FOUND, vpaName));
+                } else {
+                    LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_WITH_NAME_NOT_FOUND, vpaName));
+                }
+                return vpa;
             }
         } catch (Exception e) {
             LOGGER.error("Error while checking VPA presence: " + e.getMessage(), e);
@@ -173,7 +172,6 @@ public class VpaAutoscalerImpl extends AutoscalerImpl {
         }
     }
 
-
     /**
      * Applies the resource recommendations contained within the provided KruizeObject
      * This method will take the KruizeObject, which contains the resource recommendations,
@@ -190,12 +188,6 @@ public class VpaAutoscalerImpl extends AutoscalerImpl {
                 LOGGER.error(AnalyzerErrorConstants.AutoscalerErrors.UPDATER_NOT_INSTALLED);
             } else {
                 String expName = kruizeObject.getExperimentName();
-                boolean vpaPresent = checkIfVpaIsPresent(expName);
-
-                // create VPA Object is not present
-                if (!vpaPresent) {
-                    createVpaObject(kruizeObject);
-                }
 
                 for (K8sObject k8sObject: kruizeObject.getKubernetes_objects()) {
                     String namespace = k8sObject.getNamespace();
@@ -209,24 +201,23 @@ public class VpaAutoscalerImpl extends AutoscalerImpl {
                                 .withRecommendation(recommendedPodResources)
                                 .build();
 
-                        // patching existing VPA Object
-                        if (vpaObjectStatus != null) {
-                            VerticalPodAutoscaler vpaObject = getVpaIsPresent(expName);
-                            vpaObject.setStatus(vpaObjectStatus);
-
-                            NamespacedVerticalPodAutoscalerClient client = new DefaultVerticalPodAutoscalerClient();
-                            client.v1().verticalpodautoscalers()
-                                    .inNamespace(vpaObject
-                                            .getMetadata()
-                                            .getNamespace())
-                                    .withName(vpaObject
-                                            .getMetadata()
-                                            .getName())
-                                    .patchStatus(vpaObject);
-
-                            LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_PATCHED,
-                                    vpaObject.getMetadata().getName()));
+                        // create VPA Object is not present
+                        VerticalPodAutoscaler vpaObject = getVpaIsPresent(namespace, expName);
+                        if (null == vpaObject) {
+                            vpaObject = createVpaObject(kruizeObject, k8sObject);
                         }
+
+                        // patching existing VPA Object, the objects of the informer are shared and left unchanged
+                        VerticalPodAutoscaler patchedVpaObject = new VerticalPodAutoscalerBuilder(vpaObject)
+                                .editMetadata().withResourceVersion(null).endMetadata()
+                                .withStatus(vpaObjectStatus)
+                                .build();
+                        kubernetesClient.resources(VerticalPodAutoscaler.class)
+                                .inNamespace(namespace)
+                                .withName(expName)
+                                .patchStatus(patchedVpaObject);
+
+                        LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.VPA_PATCHED, expName));
                     }
                 }
             }
@@ -347,6 +338,16 @@ public class VpaAutoscalerImpl extends AutoscalerImpl {
      * for the given deployment and containers.
      */
     public void createVpaObject(KruizeObject kruizeObject) throws UnableToCreateVPAException {
+        for (K8sObject k8sObject: kruizeObject.getKubernetes_objects()) {
+            createVpaObject(kruizeObject, k8sObject);
+        }
+    }
+
+    /*
+     * Creates the Vertical Pod Autoscaler (VPA) object of the experiment in the namespace of the workload
+     * and returns it as created.
+     */
+    private VerticalPodAutoscaler createVpaObject(KruizeObject kruizeObject, K8sObject k8sObject) throws UnableToCreateVPAException {
         try {
             // checks if updater is installed or not
             if (isUpdaterInstalled()) {
@@ -361,42 +362,40 @@ public class VpaAutoscalerImpl extends AutoscalerImpl {
                 controlledResources.add(AnalyzerConstants.RecommendationItem.MEMORY.toString());
 
                 // updating container policies
-                for (K8sObject k8sObject: kruizeObject.getKubernetes_objects()) {
-                    List<String> containers = new ArrayList<>(k8sObject.getContainerDataMap().keySet());
-                    List<ContainerResourcePolicy> containerPolicies = new ArrayList<>();
-                    for (String containerName : containers) {
-                        ContainerResourcePolicy policy = new ContainerResourcePolicyBuilder()
-                                .withContainerName(containerName)
-                                .withControlledResources(controlledResources)
-                                .build();
-                        containerPolicies.add(policy);
-                    }
-
-                    PodResourcePolicy podPolicy = new PodResourcePolicyBuilder()
-                            .withContainerPolicies(containerPolicies)
-                            .build();
-
-                    VerticalPodAutoscaler vpa = new VerticalPodAutoscalerBuilder()
-                            .withApiVersion(AnalyzerConstants.AutoscalerConstants.VPA.VPA_API_VERSION)
-                            .withKind(AnalyzerConstants.AutoscalerConstants.VPA.VPA_PLURAL)
-                            .withMetadata(new ObjectMeta() {{
-                                setName(kruizeObject.getExperimentName());
-                            }})
-                            .withSpec(new VerticalPodAutoscalerSpecBuilder()
-                                    .withTargetRef(new CrossVersionObjectReferenceBuilder()
-                                            .withApiVersion(AnalyzerConstants.AutoscalerConstants.VPA.VPA_TARGET_REF_API_VERSION)
-                                            .withKind(AnalyzerConstants.AutoscalerConstants.VPA.VPA_TARGET_REF_KIND)
-                                            .withName(k8sObject.getName())
-                                            .build())
-                                    .withResourcePolicy(podPolicy)
-                                    .withAdditionalProperties(additionalVpaObjectProps)
-                                    .build())
+                List<String> containers = new ArrayList<>(k8sObject.getContainerDataMap().keySet());
+                List<ContainerResourcePolicy> containerPolicies = new ArrayList<>();
+                for (String containerName : containers) {
+                    ContainerResourcePolicy policy = new ContainerResourcePolicyBuilder()
+                            .withContainerName(containerName)
+                            .withControlledResources(controlledResources)
                             .build();
-
-                    kubernetesClient.resource(vpa).inNamespace(k8sObject.getNamespace()).createOrReplace();
-                    LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.CREATED_VPA, kruizeObject.getExperimentName()));
+                    containerPolicies.add(policy);
                 }
 
+                PodResourcePolicy podPolicy = new PodResourcePolicyBuilder()
+                        .withContainerPolicies(containerPolicies)
+                        .build();
+
+                VerticalPodAutoscaler vpa = new VerticalPodAutoscalerBuilder()
+                        .withApiVersion(AnalyzerConstants.AutoscalerConstants.VPA.VPA_API_VERSION)
+                        .withKind(AnalyzerConstants.AutoscalerConstants.VPA.VPA_PLURAL)
+                        .withMetadata(new ObjectMeta() {{
+                            setName(kruizeObject.getExperimentName());
+                        }})
+                        .withSpec(new VerticalPodAutoscalerSpecBuilder()
+                                .withTargetRef(new CrossVersionObjectReferenceBuilder()
+                                        .withApiVersion(AnalyzerConstants.AutoscalerConstants.VPA.VPA_TARGET_REF_API_VERSION)
+                                        .withKind(AnalyzerConstants.AutoscalerConstants.VPA.VPA_TARGET_REF_KIND)
+                                        .withName(k8sObject.getName())
+                                        .build())
+                                .withResourcePolicy(podPolicy)
+                                .withAdditionalProperties(additionalVpaObjectProps)
+                                .build())
+                        .build();
+
+                VerticalPodAutoscaler createdVpa = kubernetesClient.resource(vpa).inNamespace(k8sObject.getNamespace()).createOrReplace();
+                LOGGER.debug(String.format(AnalyzerConstants.AutoscalerConstants.InfoMsgs.CREATED_VPA, kruizeObject.getExperimentName()));
+                return createdVpa;
             } else {
                 throw new UnableToCreateVPAException(AnalyzerErrorConstants.AutoscalerErrors.UPDATER_NOT_INSTALLED);
             }
@@ -25,6 +25,7 @@ import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.analyzer.utils.AnalyzerErrorConstants;
 import com.autotune.common.data.ValidationOutputData;
 import com.autotune.common.data.result.ExperimentResultData;
+import com.autotune.database.helper.DBHelpers;
 import com.autotune.database.service.ExperimentDBService;
 import com.google.gson.annotations.SerializedName;
 import jakarta.validation.ConstraintViolation;
@@ -145,8 +146,11 @@ public class ExperimentInitiator {
             }
             if (!mainKruizeExperimentMAP.containsKey(experimentName)) {
                 try {
-                    new ExperimentDBService().loadExperimentFromDBByName(mainKruizeExperimentMAP, experimentName); // TODO try to avoid DB
+                    new ExperimentDBService().loadExperimentFromDBByName(mainKruizeExperimentMAP, experimentName);
                 } catch (Exception e) {
+                    // the experiment may exist, the results are not reported as invalid when the DB is unavailable
+                    if (DBHelpers.isTransientFailure(e))
+                        throw e;
                     LOGGER.error(e.getMessage());
                 }
             }
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.analyzer.experiment;
+
+import com.autotune.analyzer.adapters.DeviceDetailsAdapter;
+import com.autotune.analyzer.adapters.RecommendationItemAdapter;
+import com.autotune.analyzer.exceptions.FetchMetricsError;
+import com.autotune.analyzer.exceptions.InvalidExperimentType;
+import com.autotune.analyzer.exceptions.KruizeResponse;
+import com.autotune.analyzer.kruizeObject.KruizeObject;
+import com.autotune.analyzer.recommendations.engine.RecommendationEngine;
+import com.autotune.analyzer.serviceObjects.ContainerAPIObject;
+import com.autotune.analyzer.serviceObjects.Converters;
+import com.autotune.analyzer.serviceObjects.CreateExperimentAPIObject;
+import com.autotune.analyzer.serviceObjects.KubernetesAPIObject;
+import com.autotune.analyzer.serviceObjects.ListRecommendationsAPIObject;
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.analyzer.utils.AnalyzerErrorConstants;
+import com.autotune.analyzer.utils.GsonUTCDateAdapter;
+import com.autotune.common.data.ValidationOutputData;
+import com.autotune.common.data.result.ContainerData;
+import com.autotune.common.data.system.info.device.DeviceDetails;
+import com.autotune.database.service.ExperimentDBService;
+import com.autotune.utils.KruizeConstants;
+import com.autotune.utils.Utils;
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletResponse;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates experiments and generates their recommendations in process. The createExperiment and
+ * generateRecommendations services and the bulk jobs all go through it, so a bulk job doesn't call the
+ * services of its own Kruize instance over HTTP.
+ */
+public class ExperimentService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExperimentService.class);
+    private static final AtomicInteger recommendationRequestCount = new AtomicInteger();
+
+    /**
+     * Renders the recommendations the way the generateRecommendations service returns them, thread safe
+     */
+    public static final Gson RECOMMENDATIONS_GSON = new GsonBuilder()
+            .disableHtmlEscaping()
+            .setPrettyPrinting()
+            .enableComplexMapKeySerialization()
+            .registerTypeAdapter(Date.class, new GsonUTCDateAdapter())
+            .registerTypeAdapter(AnalyzerConstants.RecommendationItem.class, new RecommendationItemAdapter())
+            .registerTypeAdapter(DeviceDetails.class, new DeviceDetailsAdapter())
+            .setExclusionStrategies(new ExclusionStrategy() {
+                @Override
+                public boolean shouldSkipField(FieldAttributes field) {
+                    return field.getDeclaringClass() == ContainerData.class && (field.getName().equals("results"))
+                            || (field.getDeclaringClass() == ContainerAPIObject.class && (field.getName().equals("metrics")));
+                }
+
+                @Override
+                public boolean shouldSkipClass(Class<?> clazz) {
+                    return false;
+                }
+            })
+            .create();
+
+    /**
+     * Outcome of a recommendation generation, the recommendations when it succeeded, the error otherwise
+     */
+    public static class RecommendationsResult {
+        private final int statusCode;
+        private final String message;
+        private final List<ListRecommendationsAPIObject> recommendations;
+        private final boolean metricsFetchFailed;
+
+        private RecommendationsResult(int statusCode, String message, List<ListRecommendationsAPIObject> recommendations) {
+            this(statusCode, message, recommendations, false);
+        }
+
+        private RecommendationsResult(int statusCode, String message, List<ListRecommendationsAPIObject> recommendations,
+                                      boolean metricsFetchFailed) {
+            this.statusCode = statusCode;
+            this.message = message;
+            this.recommendations = recommendations;
+            this.metricsFetchFailed = metricsFetchFailed;
+        }
+
+        public boolean isSuccess() {
+            return statusCode == HttpServletResponse.SC_CREATED;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public List<ListRecommendationsAPIObject> getRecommendations() {
+            return recommendations;
+        }
+
+        /**
+         * @return true if fetching the metrics from the datasource failed, whatever the status code
+         */
+        public boolean isMetricsFetchFailed() {
+            return metricsFetchFailed;
+        }
+    }
+
+    /**
+     * Validates the experiment and adds it to the DB
+     *
+     * @param createExperimentAPIObject experiment to create, its id, status and validation data are set
+     * @return the response of the createExperiment service, with status SUCCESS and code 201 when it was created
+     */
+    public KruizeResponse createExperiment(CreateExperimentAPIObject createExperimentAPIObject) {
+        try {
+            createExperimentAPIObject.setExperiment_id(Utils.generateID(createExperimentAPIObject.toString()));
+            createExperimentAPIObject.setStatus(AnalyzerConstants.ExperimentStatus.IN_PROGRESS);
+            // validating the kubernetes objects and experiment type
+            for (KubernetesAPIObject kubernetesAPIObject : createExperimentAPIObject.getKubernetesObjects()) {
+                if (createExperimentAPIObject.isContainerExperiment()) {
+                    createExperimentAPIObject.setExperimentType(AnalyzerConstants.ExperimentType.CONTAINER);
+                    // check if namespace data is also set for container-type experiments
+                    if (null != kubernetesAPIObject.getNamespaceAPIObject()) {
+                        throw new InvalidExperimentType(AnalyzerErrorConstants.APIErrors.CreateExperimentAPI.NAMESPACE_DATA_NOT_NULL_FOR_CONTAINER_EXP);
+                    }
+                    if ((AnalyzerConstants.AUTO.equalsIgnoreCase(createExperimentAPIObject.getMode())
+                            || AnalyzerConstants.RECREATE.equalsIgnoreCase(createExperimentAPIObject.getMode())) &&
+                            AnalyzerConstants.REMOTE.equalsIgnoreCase(createExperimentAPIObject.getTargetCluster())) {
+                        throw new InvalidExperimentType(AnalyzerErrorConstants.APIErrors.CreateExperimentAPI.AUTO_EXP_NOT_SUPPORTED_FOR_REMOTE);
+                    }
+                } else if (createExperimentAPIObject.isNamespaceExperiment()) {
+                    if (null != kubernetesAPIObject.getContainerAPIObjects()) {
+                        throw new InvalidExperimentType(AnalyzerErrorConstants.APIErrors.CreateExperimentAPI.CONTAINER_DATA_NOT_NULL_FOR_NAMESPACE_EXP);
+                    }
+                } else {
+                    LOGGER.debug("Missing container/namespace data from the input json {}", createExperimentAPIObject);
+                }
+            }
+            List<KruizeObject> kruizeExpList = new ArrayList<>();
+            KruizeObject kruizeObject = Converters.KruizeObjectConverters.convertCreateExperimentAPIObjToKruizeObject(createExperimentAPIObject);
+            if (null != kruizeObject)
+                kruizeExpList.add(kruizeObject);
+            Map<String, KruizeObject> mKruizeExperimentMap = new ConcurrentHashMap<>();
+            new ExperimentInitiator().validateAndAddNewExperiments(mKruizeExperimentMap, kruizeExpList);
+            KruizeObject invalidKruizeObject = kruizeExpList.stream().filter((ko) -> (!ko.getValidation_data().isSuccess())).findAny().orElse(null);
+            if (null != invalidKruizeObject) {
+                return errorResponse(invalidKruizeObject.getValidation_data().getMessage(), invalidKruizeObject.getValidation_data().getErrorCode());
+            }
+            ValidationOutputData addedToDB = null;  // TODO savetoDB should move to queue and bulk upload not considered here
+            for (KruizeObject ko : kruizeExpList) {
+                createExperimentAPIObject.setValidationData(ko.getValidation_data());
+                addedToDB = new ExperimentDBService().addExperimentToDB(createExperimentAPIObject);
+            }
+            if (null != addedToDB && addedToDB.isSuccess()) {
+                return new KruizeResponse("Experiment registered successfully with Kruize. View registered experiments at /listExperiments",
+                        HttpServletResponse.SC_CREATED, "", "SUCCESS");
+            }
+            return errorResponse((null == addedToDB) ? null : addedToDB.getMessage(), HttpServletResponse.SC_BAD_REQUEST);
+        } catch (InvalidExperimentType | JsonParseException e) {
+            return errorResponse(e.getMessage(), HttpServletResponse.SC_BAD_REQUEST);
+        } catch (Exception e) {
+            e.printStackTrace();
+            LOGGER.error("Unknown exception caught: " + e.getMessage());
+            return errorResponse("Internal Server Error: " + e.getMessage(), HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Generates and saves the recommendations of the experiment
+     *
+     * @param experimentName       name of the experiment
+     * @param intervalEndTimeStr   end of the interval, null for the latest results
+     * @param intervalStartTimeStr start of the interval, null for the default term duration
+     * @param bulkJobID            id of the bulk job generating them, null outside of bulk jobs
+     * @return the recommendations with code 201, or the error
+     */
+    public RecommendationsResult generateRecommendations(String experimentName, String intervalEndTimeStr,
+                                                         String intervalStartTimeStr, String bulkJobID) {
+        int calCount = recommendationRequestCount.incrementAndGet();
+        LOGGER.debug("GenerateRecommendations API request count: {}", calCount);
+        try {
+            // create recommendation engine object
+            RecommendationEngine recommendationEngine = new RecommendationEngine(experimentName, intervalEndTimeStr, intervalStartTimeStr);
+            // validate and create KruizeObject if successful
+            String validationMessage = recommendationEngine.validate_local();
+            if (!validationMessage.isEmpty()) {
+                LOGGER.error("Validation failed: {}", validationMessage);
+                return new RecommendationsResult(HttpServletResponse.SC_BAD_REQUEST, validationMessage, null);
+            }
+            KruizeObject kruizeObject = recommendationEngine.prepareRecommendations(calCount, AnalyzerConstants.LOCAL, bulkJobID);   // todo target cluster is set to LOCAL always
+            if (!kruizeObject.getValidation_data().isSuccess()) {
+                LOGGER.debug("UpdateRecommendations API request count: {} failed", calCount);
+                return new RecommendationsResult(kruizeObject.getValidation_data().getErrorCode(), kruizeObject.getValidation_data().getMessage(),
+                        null, recommendationEngine.isMetricsFetchFailed());
+            }
+            LOGGER.debug("UpdateRecommendations API request count: {} success", calCount);
+            Timestamp interval_end_time = Utils.DateUtils.getTimeStampFrom(KruizeConstants.DateFormats.STANDARD_JSON_DATE_FORMAT,
+                    intervalEndTimeStr);
+            List<ListRecommendationsAPIObject> recommendationList = new ArrayList<>();              //TODO: Executing two identical SQL SELECT queries against the database instead of just one is causing a performance issue. set 'showSQL' flag is set to true to debug.
+            try {
+                recommendationList.add(Converters.KruizeObjectConverters.convertKruizeObjectToListRecommendationSO(
+                        kruizeObject,
+                        false,
+                        false,
+                        interval_end_time));
+            } catch (Exception e) {
+                LOGGER.error("Not able to generate recommendation for expName : {} due to {}", kruizeObject.getExperimentName(), e.getMessage());
+            }
+            return new RecommendationsResult(HttpServletResponse.SC_CREATED, null, recommendationList);
+        } catch (FetchMetricsError e) {
+            LOGGER.error(AnalyzerErrorConstants.APIErrors.generateRecommendationsAPI.ERROR_FETCHING_METRICS);
+            e.printStackTrace();
+            return new RecommendationsResult(HttpServletResponse.SC_BAD_REQUEST, e.getMessage(), null, true);
+        } catch (Exception e) {
+            LOGGER.error("Exception occurred while processing request: " + e.getMessage());
+            e.printStackTrace();
+            return new RecommendationsResult(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage(), null);
+        }
+    }
+
+    private static KruizeResponse errorResponse(String message, int httpCode) {
+        return new KruizeResponse(message, httpCode, "", "ERROR");
+    }
+}
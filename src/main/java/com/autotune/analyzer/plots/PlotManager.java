@@ -1,15 +1,10 @@
 package com.autotune.analyzer.plots;
 
-import com.autotune.analyzer.recommendations.model.CostBasedRecommendationModel;
 import com.autotune.analyzer.recommendations.model.GenericRecommendationModel;
 import com.autotune.analyzer.recommendations.term.Terms;
 import com.autotune.analyzer.utils.AnalyzerConstants;
-import com.autotune.common.data.result.IntervalResults;
-import com.autotune.common.utils.CommonUtils;
-import com.autotune.utils.KruizeConstants;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.autotune.common.data.result.IntervalResultsColumns;
+import com.autotune.common.utils.PercentileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,13 +15,13 @@ import static com.autotune.analyzer.recommendations.RecommendationConstants.Reco
 
 public class PlotManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlotManager.class);
-    private HashMap<Timestamp, IntervalResults> containerResultsMap;
+    private IntervalResultsColumns containerResults;
     private Terms recommendationTerm;
     private Timestamp monitoringStartTime;
     private Timestamp monitoringEndTime;
 
-    public PlotManager(HashMap<Timestamp, IntervalResults> containerResultsMap, Terms recommendationTerm, Timestamp monitoringStartTime, Timestamp monitoringEndTime) {
-        this.containerResultsMap = containerResultsMap;
+    public PlotManager(IntervalResultsColumns containerResults, Terms recommendationTerm, Timestamp monitoringStartTime, Timestamp monitoringEndTime) {
+        this.containerResults = containerResults;
         this.recommendationTerm = recommendationTerm;
         this.monitoringStartTime = monitoringStartTime;
         this.monitoringEndTime = monitoringEndTime;
@@ -34,20 +29,6 @@ public class PlotManager {
 
     public PlotData.PlotsData generatePlots() {
 
-        // Convert the HashMap to a TreeMap to maintain sorted order based on IntervalEndTime
-        TreeMap<Timestamp, IntervalResults> sortedResultsHashMap = new TreeMap<>(Collections.reverseOrder());
-        sortedResultsHashMap.putAll(containerResultsMap);
-
-        // Retrieve entries within the specified range
-        Map<Timestamp, IntervalResults> resultInRange = sortedResultsHashMap.subMap(monitoringEndTime, true, monitoringStartTime, false);
-
-        int delimiterNumber = (int) (resultInRange.size() / recommendationTerm.getPlots_datapoints());
-
-        // Convert set to list
-        List<Timestamp> timestampList = new LinkedList<>(resultInRange.keySet());
-        // Sort the LinkedList
-        Collections.sort(timestampList);
-
         Map<Timestamp, PlotData.PlotPoint> plotsDataMap = new HashMap<>();
         Timestamp incrementStartTime = monitoringStartTime;
 
@@ -62,10 +43,10 @@ public class PlotManager {
             calendar.add(Calendar.MILLISECOND, (int) millisecondsToAdd);
             // Convert the modified Calendar back to a Timestamp
             Timestamp newTimestamp = new Timestamp(calendar.getTimeInMillis());
-            PlotData.UsageData cpuUsage = getUsageData(sortedResultsHashMap.subMap(newTimestamp, true,
-                    incrementStartTime,false), AnalyzerConstants.MetricName.cpuUsage);
-            PlotData.UsageData memoryUsage = getUsageData(sortedResultsHashMap.subMap(newTimestamp, true,
-                    incrementStartTime, false), AnalyzerConstants.MetricName.memoryUsage);
+            // intervals ending after the previous datapoint up to this one
+            IntervalResultsColumns resultInRange = containerResults.subRange(incrementStartTime, false, newTimestamp, true);
+            PlotData.UsageData cpuUsage = getUsageData(resultInRange, AnalyzerConstants.MetricName.cpuUsage);
+            PlotData.UsageData memoryUsage = getUsageData(resultInRange, AnalyzerConstants.MetricName.memoryUsage);
             plotsDataMap.put(newTimestamp, new PlotData.PlotPoint(cpuUsage, memoryUsage));
             incrementStartTime = newTimestamp;
         }
@@ -73,72 +54,45 @@ public class PlotManager {
         return new PlotData.PlotsData(recommendationTerm.getPlots_datapoints(), plotsDataMap);
     }
 
-    PlotData.UsageData getUsageData(Map<Timestamp, IntervalResults> resultInRange, AnalyzerConstants.MetricName metricName) {
-        // stream through the results value and extract the CPU values
-        try {
-            if (metricName.equals(AnalyzerConstants.MetricName.cpuUsage)) {
-                JSONArray cpuValues = CostBasedRecommendationModel.getCPUUsageList(resultInRange);
-                LOGGER.debug("cpuValues : {}", cpuValues);
-                if (!cpuValues.isEmpty()) {
-                    // Extract "max" values from cpuUsageList
-                    List<Double> cpuMaxValues = new ArrayList<>();
-                    List<Double> cpuMinValues = new ArrayList<>();
-                    for (int i = 0; i < cpuValues.length(); i++) {
-                        JSONObject jsonObject = cpuValues.getJSONObject(i);
-                        double maxValue = jsonObject.getDouble(KruizeConstants.JSONKeys.MAX);
-                        double minValue = jsonObject.getDouble(KruizeConstants.JSONKeys.MIN);
-                        cpuMaxValues.add(maxValue);
-                        cpuMinValues.add(minValue);
-                    }
-                    LOGGER.debug("cpuMaxValues : {}", cpuMaxValues);
-                    LOGGER.debug("cpuMinValues : {}", cpuMinValues);
-                    return getPercentileData(cpuMaxValues, cpuMinValues, resultInRange, metricName);
-                }
-
-            } else {
-                // loop through the results value and extract the memory values
-                List<Double> memUsageMinList = new ArrayList<>();
-                List<Double> memUsageMaxList = new ArrayList<>();
-                boolean memDataAvailable = false;
-                for (IntervalResults intervalResults: resultInRange.values()) {
-                    JSONObject jsonObject = GenericRecommendationModel.calculateMemoryUsage(intervalResults);
-                    if (!jsonObject.isEmpty()) {
-                        memDataAvailable = true;
-                        Double memUsageMax = jsonObject.getDouble(KruizeConstants.JSONKeys.MAX);
-                        Double memUsageMin = jsonObject.getDouble(KruizeConstants.JSONKeys.MIN);
-                        memUsageMaxList.add(memUsageMax);
-                        memUsageMinList.add(memUsageMin);
-                    }
-                }
-                LOGGER.debug("memValues Max : {}, Min : {}", memUsageMaxList, memUsageMinList);
-                if (memDataAvailable)
-                    return getPercentileData(memUsageMaxList, memUsageMinList, resultInRange, metricName);
-            }
-        } catch (JSONException e) {
-            LOGGER.error("Exception occurred while extracting metric values: {}", e.getMessage());
+    PlotData.UsageData getUsageData(IntervalResultsColumns resultInRange, AnalyzerConstants.MetricName metricName) {
+        if (resultInRange.isEmpty())
+            return null;
+        double[] minValues = new double[resultInRange.size()];
+        double[] maxValues = new double[resultInRange.size()];
+        if (metricName.equals(AnalyzerConstants.MetricName.cpuUsage)) {
+            GenericRecommendationModel.fillCPUUsage(resultInRange, minValues, maxValues);
+        } else {
+            GenericRecommendationModel.fillMemoryUsage(resultInRange, minValues, maxValues);
         }
-        return null;
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("{} values Max : {}, Min : {}", metricName, Arrays.toString(maxValues), Arrays.toString(minValues));
+        }
+        return getPercentileData(maxValues, minValues, resultInRange, metricName);
     }
 
-    private PlotData.UsageData getPercentileData(List<Double> metricValuesMax, List<Double> metricValuesMin, Map<Timestamp, IntervalResults> resultInRange, AnalyzerConstants.MetricName metricName) {
+    private PlotData.UsageData getPercentileData(double[] metricValuesMax, double[] metricValuesMin, IntervalResultsColumns resultInRange, AnalyzerConstants.MetricName metricName) {
         try {
-            if (!metricValuesMax.isEmpty()) {
-                double q1 = CommonUtils.percentile(TWENTYFIVE_PERCENTILE, metricValuesMax);
-                double q3 = CommonUtils.percentile(SEVENTYFIVE_PERCENTILE, metricValuesMax);
-                double median = CommonUtils.percentile(FIFTY_PERCENTILE, metricValuesMax);
-                // Find max and min
-                double max = Collections.max(metricValuesMax);
-                double min;
-                // check for non zero values
-                boolean nonZeroCheck = metricValuesMin.stream().noneMatch(value -> value.equals(0.0));
-                if (nonZeroCheck) {
-                    min = Collections.min(metricValuesMin);
-                } else {
-                    min = 0.0;
+            if (metricValuesMax.length > 0) {
+                // one sort gives all the quartiles
+                double[] quartiles = PercentileUtils.percentiles(metricValuesMax, metricValuesMax.length,
+                        TWENTYFIVE_PERCENTILE, FIFTY_PERCENTILE, SEVENTYFIVE_PERCENTILE);
+                double q1 = quartiles[0];
+                double median = quartiles[1];
+                double q3 = quartiles[2];
+                // Find max and min, the max values are sorted at this point
+                double max = metricValuesMax[metricValuesMax.length - 1];
+                double min = metricValuesMin[0];
+                for (double value : metricValuesMin) {
+                    // the min is reported as zero when any of the values is zero
+                    if (0.0 == value) {
+                        min = 0.0;
+                        break;
+                    }
+                    min = Math.min(min, value);
                 }
 
                 LOGGER.debug("q1 : {}, q3 : {}, median : {}, max : {}, min : {}", q1, q3, median, max, min);
-                String format = CostBasedRecommendationModel.getFormatValue(resultInRange, metricName);
+                String format = GenericRecommendationModel.getFormatValue(resultInRange, metricName);
                 return new PlotData.UsageData(min, q1, median, q3, max, format);
             } else {
                 return null;
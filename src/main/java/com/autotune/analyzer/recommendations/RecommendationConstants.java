@@ -668,6 +668,8 @@ public class RecommendationConstants {
         public static final Double CPU_ONE_CORE = 1.0;
         public static final Double MEM_USAGE_BUFFER_DECIMAL = 0.2;
         public static final Double MEM_SPIKE_BUFFER_DECIMAL = 0.05;
+        // relative error of the percentiles read from sketches for long terms
+        public static final double PERCENTILE_SKETCH_RELATIVE_ACCURACY = 0.01;
         public static final Double DEFAULT_CPU_THRESHOLD = 0.1;
         public static final Double DEFAULT_MEMORY_THRESHOLD = 0.1;
 
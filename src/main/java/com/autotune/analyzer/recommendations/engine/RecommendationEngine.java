@@ -15,6 +15,7 @@ import com.autotune.analyzer.recommendations.model.*;
 import com.autotune.analyzer.recommendations.objects.MappedRecommendationForModel;
 import com.autotune.analyzer.recommendations.objects.MappedRecommendationForTimestamp;
 import com.autotune.analyzer.recommendations.objects.TermRecommendations;
+import com.autotune.analyzer.recommendations.term.TermAggregates;
 import com.autotune.analyzer.recommendations.term.Terms;
 import com.autotune.analyzer.recommendations.utils.RecommendationUtils;
 import com.autotune.analyzer.utils.AnalyzerConstants;
@@ -23,10 +24,16 @@ import com.autotune.common.data.ValidationOutputData;
 import com.autotune.common.data.metrics.*;
 import com.autotune.common.data.result.ContainerData;
 import com.autotune.common.data.result.IntervalResults;
+import com.autotune.common.data.result.IntervalResultsColumns;
 import com.autotune.common.data.result.NamespaceData;
 import com.autotune.common.data.system.info.device.DeviceDetails;
 import com.autotune.common.data.system.info.device.accelerator.NvidiaAcceleratorDeviceData;
 import com.autotune.common.datasource.DataSourceInfo;
+import com.autotune.common.datasource.DataSourceQueryExecutor;
+import com.autotune.common.datasource.prometheus.BulkJobQueryBatcher;
+import com.autotune.common.datasource.prometheus.PrometheusQueryBatcher;
+import com.autotune.common.datasource.prometheus.PrometheusQueryResult;
+import com.autotune.common.datasource.prometheus.PrometheusSeries;
 import com.autotune.common.exceptions.DataSourceNotExist;
 import com.autotune.common.k8sObjects.K8sObject;
 import com.autotune.common.utils.CommonUtils;
@@ -37,22 +44,20 @@ import com.autotune.utils.GenericRestApiClient;
 import com.autotune.utils.KruizeConstants;
 import com.autotune.utils.MetricsConfig;
 import com.autotune.utils.Utils;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import io.micrometer.core.instrument.Timer;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
 import java.net.URLEncoder;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import static com.autotune.analyzer.recommendations.RecommendationConstants.RecommendationValueConstants.*;
@@ -73,6 +78,8 @@ public class RecommendationEngine {
     private Timestamp interval_end_time;
     private List<String> modelNames;
     private Map<String, RecommendationTunables> modelTunable;
+    // whether fetching the metrics from the datasource failed
+    private boolean metricsFetchFailed;
 
 
     public RecommendationEngine(String experimentName, String intervalEndTimeStr, String intervalStartTimeStr) {
@@ -82,21 +89,18 @@ public class RecommendationEngine {
 
     }
 
-    private static int getNumPods(Map<Timestamp, IntervalResults> filteredResultsMap) {
-        Double max_pods_cpu = filteredResultsMap.values()
-                .stream()
-                .map(e -> {
-                    Optional<MetricResults> cpuUsageResults = Optional.ofNullable(e.getMetricResultsMap().get(AnalyzerConstants.MetricName.cpuUsage));
-                    double cpuUsageSum = cpuUsageResults.map(m -> m.getAggregationInfoResult().getSum()).orElse(0.0);
-                    double cpuUsageAvg = cpuUsageResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-                    double numPods = 0;
-
-                    if (0 != cpuUsageAvg) {
-                        numPods = (int) Math.ceil(cpuUsageSum / cpuUsageAvg);
-                    }
-                    return numPods;
-                })
-                .max(Double::compareTo).get();
+    private static int getNumPods(IntervalResultsColumns filteredResults) {
+        double max_pods_cpu = 0;
+        for (int i = 0; i < filteredResults.size(); i++) {
+            double cpuUsageSum = filteredResults.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.sum, i, 0.0);
+            double cpuUsageAvg = filteredResults.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.avg, i, 0.0);
+            double numPods = 0;
+
+            if (0 != cpuUsageAvg) {
+                numPods = (int) Math.ceil(cpuUsageSum / cpuUsageAvg);
+            }
+            max_pods_cpu = Math.max(max_pods_cpu, numPods);
+        }
 
         return (int) Math.ceil(max_pods_cpu);
     }
@@ -112,19 +116,16 @@ public class RecommendationEngine {
     /**
      * Calculates the number of pods for a namespace based on the provided results map.
      *
-     * @param filteredResultsMap A map containing timestamp as keys and contains metric results for the corresponding timestamp.
-     * @return int maximum number of pods observed across all timestamps in the filtered results map.
+     * @param filteredResults Metric results of the intervals within the term.
+     * @return int maximum number of pods observed across all timestamps in the filtered results.
      */
-    private static int getNumPodsForNamespace(Map<Timestamp, IntervalResults> filteredResultsMap) {
-        LOGGER.debug("Size of Filter Map: {}", filteredResultsMap.size());
-        Double max_pods_cpu = filteredResultsMap.values()
-                .stream()
-                .map(e -> {
-                    Optional<MetricResults> numPodsResults = Optional.ofNullable(e.getMetricResultsMap().get(AnalyzerConstants.MetricName.namespaceTotalPods));
-                    double numPods = numPodsResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-                    return numPods;
-                })
-                .max(Double::compareTo).get();
+    private static int getNumPodsForNamespace(IntervalResultsColumns filteredResults) {
+        LOGGER.debug("Size of Filter Map: {}", filteredResults.size());
+        double max_pods_cpu = 0;
+        for (int i = 0; i < filteredResults.size(); i++) {
+            double numPods = filteredResults.getValue(AnalyzerConstants.MetricName.namespaceTotalPods, IntervalResultsColumns.Aggregation.avg, i, 0.0);
+            max_pods_cpu = Math.max(max_pods_cpu, numPods);
+        }
 
         return (int) Math.ceil(max_pods_cpu);
     }
@@ -227,6 +228,14 @@ public class RecommendationEngine {
         return interval_end_time;
     }
 
+    /**
+     * @return true if the recommendations couldn't be generated because fetching the metrics from the datasource
+     * failed, which the validation data reports as a bad request
+     */
+    public boolean isMetricsFetchFailed() {
+        return metricsFetchFailed;
+    }
+
     public void setInterval_end_time(Timestamp interval_end_time) {
         this.interval_end_time = interval_end_time;
     }
@@ -482,12 +491,13 @@ public class RecommendationEngine {
                 for (String containerName : k8sObject.getContainerDataMap().keySet()) {
                     ContainerData containerData = k8sObject.getContainerDataMap().get(containerName);
 
-                    if (containerData.getResults() == null || containerData.getResults().isEmpty()) {
+                    IntervalResultsColumns containerResults = getResultsColumns(containerData);
+                    if (containerResults.isEmpty()) {
                         continue;
                     }
 
                     // generate recommendations based on each container
-                    generateRecommendationsBasedOnContainer(containerData, kruizeObject);
+                    generateRecommendationsBasedOnContainer(containerData, containerResults, kruizeObject);
                     // TODO: generate recommendations based on kubernetes_object name and type
                     // todo The process of data validation and notification generation is currently tightly coupled and needs to be separated. By doing so, we can avoid additional iterations at kruizeNotificationCollectionRegistry.logNotification. This should be included as part of the code refactor.
                     KruizeNotificationCollectionRegistry kruizeNotificationCollectionRegistry = new KruizeNotificationCollectionRegistry(kruizeObject.getExperimentName(), getInterval_end_time(), containerData.getContainer_name());
@@ -498,10 +508,20 @@ public class RecommendationEngine {
         }
     }
 
-    private void generateRecommendationsBasedOnContainer(ContainerData containerData, KruizeObject kruizeObject) {
+    /**
+     * Results fetched from a datasource are already held as columns, the ones loaded from the DB are converted
+     */
+    private static IntervalResultsColumns getResultsColumns(ContainerData containerData) {
+        if (null != containerData.getResultsColumns())
+            return containerData.getResultsColumns();
+        return new IntervalResultsColumns(containerData.getResults());
+    }
 
-        // Get the monitoringEndTime from ResultData's ContainerData. Should have only one element
-        Timestamp monitoringEndTime = containerData.getResults().keySet().stream().max(Timestamp::compareTo).get();
+    private void generateRecommendationsBasedOnContainer(ContainerData containerData, IntervalResultsColumns containerResults,
+                                                         KruizeObject kruizeObject) {
+
+        // Get the monitoringEndTime from the latest interval of the container results
+        Timestamp monitoringEndTime = new Timestamp(containerResults.getIntervalEndTime(containerResults.size() - 1));
 
         ContainerRecommendations containerRecommendations = containerData.getContainerRecommendations();
         // Just to make sure the container recommendations object is not empty
@@ -533,12 +553,22 @@ public class RecommendationEngine {
 
         // get the current config data
         HashMap<AnalyzerConstants.ResourceSetting, HashMap<AnalyzerConstants.RecommendationItem,
-                RecommendationConfigItem>> currentConfig = getCurrentConfigData(containerData, monitoringEndTime,
+                RecommendationConfigItem>> currentConfig = getCurrentConfigData(containerResults, monitoringEndTime,
                 timestampRecommendation);
         timestampRecommendation.setCurrentConfig(currentConfig);
 
         // get recommendations based on terms
-        boolean recommendationAvailable = generateRecommendationsBasedOnTerms(containerData, kruizeObject, monitoringEndTime, currentConfig, timestampRecommendation);
+        boolean recommendationAvailable;
+        // only the intervals that arrived since the previous refresh are folded in, the terms read from the state
+        TermAggregates termAggregates = TermAggregates.get(kruizeObject.getExperimentName(), containerData.getContainer_name());
+        if (null == termAggregates) {
+            recommendationAvailable = generateRecommendationsBasedOnTerms(containerData, containerResults, null, kruizeObject, monitoringEndTime, currentConfig, timestampRecommendation);
+        } else {
+            synchronized (termAggregates) {
+                termAggregates.update(containerResults, Terms.getMonitoringStartTime(monitoringEndTime, Terms.getMaxDays(kruizeObject.getTerms())));
+                recommendationAvailable = generateRecommendationsBasedOnTerms(containerData, containerResults, termAggregates, kruizeObject, monitoringEndTime, currentConfig, timestampRecommendation);
+            }
+        }
 
         RecommendationNotification recommendationsLevelNotifications;
         if (recommendationAvailable) {
@@ -562,7 +592,7 @@ public class RecommendationEngine {
     }
 
     private HashMap<AnalyzerConstants.ResourceSetting, HashMap<AnalyzerConstants.RecommendationItem,
-            RecommendationConfigItem>> getCurrentConfigData(ContainerData containerData, Timestamp monitoringEndTime,
+            RecommendationConfigItem>> getCurrentConfigData(IntervalResultsColumns containerResults, Timestamp monitoringEndTime,
                                                             MappedRecommendationForTimestamp timestampRecommendation) {
 
         HashMap<AnalyzerConstants.ResourceSetting, HashMap<AnalyzerConstants.RecommendationItem,
@@ -578,7 +608,7 @@ public class RecommendationEngine {
 
         for (AnalyzerConstants.ResourceSetting resourceSetting : AnalyzerConstants.ResourceSetting.values()) {
             for (AnalyzerConstants.RecommendationItem recommendationItem : AnalyzerConstants.RecommendationItem.values()) {
-                RecommendationConfigItem configItem = RecommendationUtils.getCurrentValue(containerData.getResults(),
+                RecommendationConfigItem configItem = RecommendationUtils.getCurrentValue(containerResults,
                         monitoringEndTime,
                         resourceSetting,
                         recommendationItem,
@@ -667,7 +697,9 @@ public class RecommendationEngine {
         return currentConfig;
     }
 
-    private boolean generateRecommendationsBasedOnTerms(ContainerData containerData, KruizeObject kruizeObject,
+    private boolean generateRecommendationsBasedOnTerms(ContainerData containerData, IntervalResultsColumns containerResults,
+                                                        TermAggregates termAggregates,
+                                                        KruizeObject kruizeObject,
                                                         Timestamp monitoringEndTime,
                                                         HashMap<AnalyzerConstants.ResourceSetting,
                                                                 HashMap<AnalyzerConstants.RecommendationItem,
@@ -676,6 +708,7 @@ public class RecommendationEngine {
 
         boolean recommendationAvailable = false;
         double measurementDuration = kruizeObject.getTrial_settings().getMeasurement_durationMinutes_inDouble();
+        // the container results are narrowed down for every term, model and plot
         for (Map.Entry<String, Terms> termsEntry : kruizeObject.getTerms().entrySet()) {
             String recommendationTerm = termsEntry.getKey();
             Terms terms = termsEntry.getValue();
@@ -686,7 +719,7 @@ public class RecommendationEngine {
 
             TermRecommendations mappedRecommendationForTerm = new TermRecommendations();
             // Check if there is min data available for the term
-            if (!Terms.checkIfMinDataAvailableForTerm(containerData, terms, monitoringEndTime, measurementDuration)) {
+            if (!Terms.checkIfMinDataAvailableForTerm(containerResults, terms, monitoringEndTime, measurementDuration)) {
                 RecommendationNotification recommendationNotification = new RecommendationNotification(
                         RecommendationConstants.RecommendationNotification.INFO_NOT_ENOUGH_DATA);
                 mappedRecommendationForTerm.addNotification(recommendationNotification);
@@ -698,6 +731,8 @@ public class RecommendationEngine {
                             monitoringStartTime,
                             model,
                             containerData,
+                            containerResults,
+                            termAggregates,
                             monitoringEndTime,
                             kruizeObject.getRecommendation_settings(),
                             currentConfig,
@@ -753,7 +788,7 @@ public class RecommendationEngine {
                         String status = KruizeConstants.APIMessages.SUCCESS;   // TODO avoid this constant at multiple place
                         try {
                             timerBoxPlots = Timer.start(MetricsConfig.meterRegistry());
-                            mappedRecommendationForTerm.setPlots(new PlotManager(containerData.getResults(), terms, monitoringStartTime, monitoringEndTime).generatePlots());
+                            mappedRecommendationForTerm.setPlots(new PlotManager(containerResults, terms, monitoringStartTime, monitoringEndTime).generatePlots());
                         } catch (Exception e) {
                             status = String.format(AnalyzerErrorConstants.APIErrors.UpdateRecommendationsAPI.BOX_PLOTS_FAILURE, e.getMessage());
                         } finally {
@@ -766,7 +801,7 @@ public class RecommendationEngine {
                     }
                 }
             }
-            Terms.setDurationBasedOnTerm(containerData, mappedRecommendationForTerm, recommendationTerm);
+            Terms.setDurationBasedOnTerm(containerResults, mappedRecommendationForTerm, recommendationTerm);
             timestampRecommendation.setRecommendationForTermHashMap(recommendationTerm, mappedRecommendationForTerm);
 
         }
@@ -775,6 +810,8 @@ public class RecommendationEngine {
     }
 
     private MappedRecommendationForModel generateRecommendationBasedOnModel(Timestamp monitoringStartTime, RecommendationModel model, ContainerData containerData,
+                                                                            IntervalResultsColumns containerResults,
+                                                                            TermAggregates termAggregates,
                                                                             Timestamp monitoringEndTime,
                                                                             RecommendationSettings recommendationSettings,
                                                                             HashMap<AnalyzerConstants.ResourceSetting,
@@ -833,18 +870,32 @@ public class RecommendationEngine {
                     .filter((x -> ((x.getKey().compareTo(finalMonitoringStartTime) >= 0)
                             && (x.getKey().compareTo(monitoringEndTime) <= 0))))
                     .collect((Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+            // Pass Notification object to all callers to update the notifications required
+            ArrayList<RecommendationNotification> notifications = new ArrayList<>();
 
-            // Set number of pods
-            int numPods = getNumPods(filteredResultsMap);
+            int numPods;
+            RecommendationConfigItem recommendationCpuRequest;
+            RecommendationConfigItem recommendationMemRequest;
+            if (null != termAggregates) {
+                TermAggregates.Window termWindow = termAggregates.getWindow(monitoringStartTime, monitoringEndTime,
+                        termEntry.getValue().getDays());
+                // Set number of pods
+                numPods = termWindow.getPodsCount();
+                // Get the Recommendation Items
+                recommendationCpuRequest = model.getCPURequestRecommendation(termWindow, notifications);
+                recommendationMemRequest = model.getMemoryRequestRecommendation(termWindow, notifications);
+            } else {
+                IntervalResultsColumns filteredResults = containerResults.subRange(monitoringStartTime, true, monitoringEndTime, true);
+                // Set number of pods
+                numPods = getNumPods(filteredResults);
+                // Get the Recommendation Items
+                recommendationCpuRequest = model.getCPURequestRecommendation(filteredResults, notifications);
+                recommendationMemRequest = model.getMemoryRequestRecommendation(filteredResults, notifications);
+            }
 
             mappedRecommendationForModel.setPodsCount(numPods);
 
-            // Pass Notification object to all callers to update the notifications required
-            ArrayList<RecommendationNotification> notifications = new ArrayList<>();
-
-            // Get the Recommendation Items
-            RecommendationConfigItem recommendationCpuRequest = model.getCPURequestRecommendation(filteredResultsMap, notifications);
-            RecommendationConfigItem recommendationMemRequest = model.getMemoryRequestRecommendation(filteredResultsMap, notifications);
+            // accelerator metrics carry per interval metadata, they are read from the interval results
             Map<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> recommendationAcceleratorRequestMap = model.getAcceleratorRequestRecommendation(filteredResultsMap, notifications);
 
             // Get the Recommendation Items
@@ -1026,6 +1077,8 @@ public class RecommendationEngine {
                                                                  MappedRecommendationForTimestamp timestampRecommendation) {
         boolean namespaceRecommendationAvailable = false;
         double measurementDuration = kruizeObject.getTrial_settings().getMeasurement_durationMinutes_inDouble();
+        // built once and narrowed down for every term and model
+        IntervalResultsColumns namespaceResults = new IntervalResultsColumns(namespaceData.getResults());
 
         for (Map.Entry<String, Terms> termsEntry : kruizeObject.getTerms().entrySet()) {
             String recommendationTerm = termsEntry.getKey();
@@ -1048,6 +1101,7 @@ public class RecommendationEngine {
                             monitoringStartTime,
                             model,
                             namespaceData,
+                            namespaceResults,
                             monitoringEndTime,
                             kruizeObject.getRecommendation_settings(),
                             currentConfig,
@@ -1109,6 +1163,7 @@ public class RecommendationEngine {
     private MappedRecommendationForModel generateNamespaceRecommendationBasedOnModel(Timestamp monitoringStartTime,
                                                                                      RecommendationModel model,
                                                                                      NamespaceData namespaceData,
+                                                                                     IntervalResultsColumns namespaceResults,
                                                                                      Timestamp monitoringEndTime,
                                                                                      RecommendationSettings recommendationSettings,
                                                                                      HashMap<AnalyzerConstants.ResourceSetting,
@@ -1158,14 +1213,10 @@ public class RecommendationEngine {
             }
         }
         if (null != monitoringStartTime) {
-            Timestamp finalMonitoringStartTime = monitoringStartTime;
-            Map<Timestamp, IntervalResults> filteredResultsMap = namespaceData.getResults().entrySet().stream()
-                    .filter((x -> ((x.getKey().compareTo(finalMonitoringStartTime) >= 0)
-                            && (x.getKey().compareTo(monitoringEndTime) <= 0))))
-                    .collect((Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+            IntervalResultsColumns filteredResults = namespaceResults.subRange(monitoringStartTime, true, monitoringEndTime, true);
 
             // Set number of pods
-            int numPodsInNamespace = getNumPodsForNamespace(filteredResultsMap);
+            int numPodsInNamespace = getNumPodsForNamespace(filteredResults);
 
             mappedRecommendationForModel.setPodsCount(numPodsInNamespace);
 
@@ -1173,8 +1224,8 @@ public class RecommendationEngine {
             ArrayList<RecommendationNotification> notifications = new ArrayList<>();
 
             // Get the Recommendation Items
-            RecommendationConfigItem namespaceRecommendationCpuRequest = model.getCPURequestRecommendationForNamespace(filteredResultsMap, notifications);
-            RecommendationConfigItem namespaceRecommendationMemRequest = model.getMemoryRequestRecommendationForNamespace(filteredResultsMap, notifications);
+            RecommendationConfigItem namespaceRecommendationCpuRequest = model.getCPURequestRecommendationForNamespace(filteredResults, notifications);
+            RecommendationConfigItem namespaceRecommendationMemRequest = model.getMemoryRequestRecommendationForNamespace(filteredResults, notifications);
 
             // Get the Recommendation Items
             // Calling requests on limits as we are maintaining limits and requests as same
@@ -1915,7 +1966,12 @@ public class RecommendationEngine {
                 throw new DataSourceNotExist(e.getMessage());
             }
             // Fetch metrics dynamically from Metric Profile based on the datasource
-            fetchMetricsBasedOnProfileAndDatasource(kruizeObject, interval_end_time, intervalStartTime, dataSourceInfo);
+            try {
+                fetchMetricsBasedOnProfileAndDatasource(kruizeObject, interval_end_time, intervalStartTime, dataSourceInfo);
+            } catch (Exception | FetchMetricsError e) {
+                metricsFetchFailed = true;
+                throw e;
+            }
         }
         return errorMsg;
     }
@@ -2003,14 +2059,10 @@ public class RecommendationEngine {
                     );
                     LOGGER.info(dateMetricsUrl);
                     client.setBaseURL(dateMetricsUrl);
-                    JSONObject genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-                    JsonObject jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-                    JsonArray resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
+                    PrometheusQueryResult queryResult = client.fetchPrometheusQueryResult(KruizeConstants.APIMessages.GET, "");
                     // Process fetched metrics
-                    if (null != resultArray && !resultArray.isEmpty()) {
-                        resultArray = resultArray.get(0)
-                                .getAsJsonObject().getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.VALUE);
-                        long epochTime = resultArray.get(0).getAsLong();
+                    if (!queryResult.isEmpty()) {
+                        long epochTime = queryResult.getSeries().get(0).getTimestamp(0);
                         String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
                         Date date = sdf.parse(timestamp);
                         Timestamp dateTS = new Timestamp(date.getTime());
@@ -2079,23 +2131,17 @@ public class RecommendationEngine {
                                         interval_end_time_epoc,
                                         measurementDurationMinutesInDouble.intValue() * KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE);
                                 client.setBaseURL(namespaceMetricsUrl);
-                                JSONObject genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-                                JsonObject jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-                                JsonArray resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
+                                PrometheusQueryResult queryResult = client.fetchPrometheusQueryResult(KruizeConstants.APIMessages.GET, "");
                                 // Process fetched metrics
-                                if (null != resultArray && !resultArray.isEmpty()) {
-                                    resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(
-                                                    KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT).get(0)
-                                            .getAsJsonObject().getAsJsonArray(KruizeConstants.DataSourceConstants
-                                                    .DataSourceQueryJSONKeys.VALUES);
+                                if (!queryResult.isEmpty()) {
+                                    PrometheusSeries series = queryResult.getSeries().get(0);
                                     sdf.setTimeZone(TimeZone.getTimeZone(KruizeConstants.TimeUnitsExt.TimeZones.UTC));
 
                                     // Iterate over fetched metrics
                                     Timestamp sTime = new Timestamp(interval_start_time_epoc);
-                                    for (JsonElement element : resultArray) {
-                                        JsonArray valueArray = element.getAsJsonArray();
-                                        long epochTime = valueArray.get(0).getAsLong();
-                                        double value = valueArray.get(1).getAsDouble();
+                                    for (int i = 0; i < series.size(); i++) {
+                                        long epochTime = series.getTimestamp(i);
+                                        double value = series.getValue(i);
                                         String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
                                         Date date = sdf.parse(timestamp);
                                         Timestamp eTime = new Timestamp(date.getTime());
@@ -2144,6 +2190,8 @@ public class RecommendationEngine {
                                                                   String maxDateQuery,
                                                                   String acceleratorDetectionQuery,
                                                                   String acceleratorMigDetectionQuery) throws Exception, FetchMetricsError {
+        List<PlannedContainerFetch> containerFetches = new ArrayList<>();
+        LinkedHashMap<String, ContainerQueryBatch> containerQueryBatches = new LinkedHashMap<>();
         try {
             long interval_end_time_epoc = 0;
             long interval_start_time_epoc = 0;
@@ -2153,6 +2201,8 @@ public class RecommendationEngine {
 
             Double measurementDurationMinutesInDouble = kruizeObject.getTrial_settings().getMeasurement_durationMinutes_inDouble();
             List<K8sObject> kubernetes_objects = kruizeObject.getKubernetes_objects();
+            // the experiments of a bulk job share their queries across the containers of the job
+            BulkJobQueryBatcher bulkJobQueryBatcher = BulkJobQueryBatcher.get(kruizeObject.getBulkJobId());
 
             boolean isAutoExperiment = false;
             boolean isROS = KruizeDeploymentInfo.is_ros_enabled;
@@ -2241,16 +2291,18 @@ public class RecommendationEngine {
                                 dataSourceInfo.getUrl(),
                                 URLEncoder.encode(queryToEncode, CHARACTER_ENCODING)
                         );
+                        // the experiments of a bulk job end their range at the same time, so that they can share queries
+                        if (null != bulkJobQueryBatcher)
+                            dateMetricsUrl = String.format(KruizeConstants.DataSourceConstants.DATE_ENDPOINT_WITH_QUERY_AT_TIME,
+                                    dataSourceInfo.getUrl(),
+                                    URLEncoder.encode(queryToEncode, CHARACTER_ENCODING),
+                                    bulkJobQueryBatcher.getEvaluationTime());
                         LOGGER.debug(dateMetricsUrl);
                         client.setBaseURL(dateMetricsUrl);
-                        JSONObject genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-                        JsonObject jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-                        JsonArray resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
+                        PrometheusQueryResult queryResult = client.fetchPrometheusQueryResult(KruizeConstants.APIMessages.GET, "");
                         // Process fetched metrics
-                        if (null != resultArray && !resultArray.isEmpty()) {
-                            resultArray = resultArray.get(0)
-                                    .getAsJsonObject().getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.VALUE);
-                            long epochTime = resultArray.get(0).getAsLong();
+                        if (!queryResult.isEmpty()) {
+                            long epochTime = queryResult.getSeries().get(0).getTimestamp(0);
                             String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
                             Date date = sdf.parse(timestamp);
                             Timestamp dateTS = new Timestamp(date.getTime());
@@ -2269,12 +2321,8 @@ public class RecommendationEngine {
                         interval_start_time_epoc = interval_start_time.getTime() / KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC
                                 - ((long) interval_start_time.getTimezoneOffset() * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC);
                     }
-                    HashMap<Timestamp, IntervalResults> containerDataResults = new HashMap<>();
-                    IntervalResults intervalResults = null;
-                    HashMap<AnalyzerConstants.MetricName, MetricResults> resMap = null;
-                    HashMap<AnalyzerConstants.MetricName, AcceleratorMetricResult> acceleratorMetricResultHashMap;
-                    MetricResults metricResults = null;
-                    MetricAggregationInfoResults metricAggregationInfoResults = null;
+                    PlannedContainerFetch containerFetch = new PlannedContainerFetch(containerData, interval_start_time_epoc);
+                    containerFetches.add(containerFetch);
 
                     List<Metric> metricList = filterMetricsBasedOnExpTypeAndK8sObject(metricProfile,
                             AnalyzerConstants.MetricName.maxDate.name(), kruizeObject.getExperimentType());
@@ -2345,6 +2393,15 @@ public class RecommendationEngine {
                                 format = KruizeConstants.JSONKeys.CORES;
                             }
 
+                            // Containers run the same query, batch them when the query allows telling them apart
+                            boolean isBatched = KruizeDeploymentInfo.container_query_batch_size > 1
+                                    && !isAcceleratorMetric && !isAcceleratorPartitionMetric
+                                    && PrometheusQueryBatcher.isBatchable(promQL);
+                            // Containers of other workloads of the namespace only share the query if it doesn't select the workload
+                            boolean isSharedWithJob = isBatched && null != bulkJobQueryBatcher
+                                    && !promQL.contains(AnalyzerConstants.WORKLOAD_VARIABLE)
+                                    && !promQL.contains(AnalyzerConstants.WORKLOAD_TYPE_VARIABLE);
+
                             if (isAcceleratorPartitionMetric) {
 
                                 if (null == gpuUUID)
@@ -2354,6 +2411,35 @@ public class RecommendationEngine {
                                         .replace(AnalyzerConstants.UUID_VARIABLE, gpuUUID)
                                         .replace(AnalyzerConstants.PROFILE_VARIABLE, gpuProfile)
                                         .replace(AnalyzerConstants.MEASUREMENT_DURATION_IN_MIN_VARAIBLE, Integer.toString(measurementDurationMinutesInDouble.intValue()));
+                            } else if (isBatched) {
+                                // Container variable is filled in when the batch is sent
+                                promQL = promQL
+                                        .replace(AnalyzerConstants.NAMESPACE_VARIABLE, namespace)
+                                        .replace(AnalyzerConstants.MEASUREMENT_DURATION_IN_MIN_VARAIBLE, Integer.toString(measurementDurationMinutesInDouble.intValue()))
+                                        .replace(AnalyzerConstants.WORKLOAD_VARIABLE, workload)
+                                        .replace(AnalyzerConstants.WORKLOAD_TYPE_VARIABLE, workload_type);
+                                String batchKey = promQL + "@" + interval_start_time_epoc + "-" + interval_end_time_epoc;
+                                if (isSharedWithJob) {
+                                    long startTimeEpoc = interval_start_time_epoc;
+                                    long endTimeEpoc = interval_end_time_epoc;
+                                    CompletableFuture<PrometheusQueryResult> containerResult = bulkJobQueryBatcher.getContainerResult(
+                                            batchKey, promQL, namespace, containerName,
+                                            slicePromQL -> submitRangeQuery(client, dataSourceInfo, slicePromQL, startTimeEpoc,
+                                                    endTimeEpoc, measurementDurationMinutesInDouble));
+                                    if (null != containerResult) {
+                                        containerFetch.addQuery(new PlannedMetricQuery(metricEntry, aggregationFunctionsEntry, format,
+                                                false, false, containerResult));
+                                        continue;
+                                    }
+                                }
+                                ContainerQueryBatch queryBatch = containerQueryBatches.get(batchKey);
+                                if (null == queryBatch) {
+                                    queryBatch = new ContainerQueryBatch(promQL, interval_start_time_epoc, interval_end_time_epoc);
+                                    containerQueryBatches.put(batchKey, queryBatch);
+                                }
+                                containerFetch.addQuery(new PlannedMetricQuery(metricEntry, aggregationFunctionsEntry, format,
+                                        false, false, queryBatch.addContainer(containerName)));
+                                continue;
                             } else {
                                 // If promQL is determined, fetch metrics from the datasource
                                 promQL = promQL
@@ -2365,181 +2451,385 @@ public class RecommendationEngine {
                             }
 
                             LOGGER.debug(promQL);
-                            String podMetricsUrl;
-                            try {
-                                podMetricsUrl = String.format(KruizeConstants.DataSourceConstants.DATASOURCE_ENDPOINT_WITH_QUERY_RANGE,
-                                        dataSourceInfo.getUrl(),
-                                        URLEncoder.encode(promQL, CHARACTER_ENCODING),
-                                        interval_start_time_epoc,
-                                        interval_end_time_epoc,
-                                        measurementDurationMinutesInDouble.intValue() * KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE);
-                                LOGGER.debug(podMetricsUrl);
-                                client.setBaseURL(podMetricsUrl);
-                                JSONObject genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-                                JsonObject jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-                                JsonArray resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
-
-                                // Skipping if Result array is null or empty
-                                if (null == resultArray || resultArray.isEmpty())
-                                    continue;
+                            String podMetricsUrl = String.format(KruizeConstants.DataSourceConstants.DATASOURCE_ENDPOINT_WITH_QUERY_RANGE,
+                                    dataSourceInfo.getUrl(),
+                                    URLEncoder.encode(promQL, CHARACTER_ENCODING),
+                                    interval_start_time_epoc,
+                                    interval_end_time_epoc,
+                                    measurementDurationMinutesInDouble.intValue() * KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE);
+                            LOGGER.debug(podMetricsUrl);
+                            // Run the query on the datasource executor, the results are collected below in plan order
+                            containerFetch.addQuery(new PlannedMetricQuery(metricEntry, aggregationFunctionsEntry, format,
+                                    isAcceleratorMetric, isAcceleratorPartitionMetric,
+                                    DataSourceQueryExecutor.submit(dataSourceInfo.getName(),
+                                            () -> client.fetchPrometheusQueryResultFromURL(KruizeConstants.APIMessages.GET, podMetricsUrl))));
+                        }
+                    }
+                }
+            }
 
-                                // Process fetched metrics
-                                if (isAcceleratorMetric || isAcceleratorPartitionMetric){
-                                    for (JsonElement result : resultArray) {
-                                        JsonObject resultObject = result.getAsJsonObject();
-                                        JsonObject metricObject = resultObject.getAsJsonObject(KruizeConstants.JSONKeys.METRIC);
-
-                                        // Set the data only for the container Accelerator device
-                                        if (null == metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME).getAsString())
-                                            continue;
-                                        if (metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME).getAsString().isEmpty())
-                                            continue;
-
-                                        ArrayList<DeviceDetails> deviceDetails = null;
-
-                                        if (isAcceleratorMetric) {
-                                            deviceDetails = containerData.getContainerDeviceList().getDevices(AnalyzerConstants.DeviceType.ACCELERATOR);
-                                        }
-
-                                        if (isAcceleratorPartitionMetric) {
-                                            deviceDetails = containerData.getContainerDeviceList().getDevices(AnalyzerConstants.DeviceType.ACCELERATOR_PARTITION);
-                                        }
-                                        // Continuing to next element
-                                        // All other elements will also fail as there is no Accelerator attached
-                                        // Theoretically, it doesn't fail, but the future implementations may change
-                                        // So adding a check after a function call to check it's return value is advisable
-                                        // TODO: Needs a check to figure out why devicelist is empty if is Accelerator detected is true
-                                        if (null == deviceDetails)
-                                            continue;
-                                        if (deviceDetails.isEmpty())
-                                            continue;
-
-                                        // Assuming only one MIG supported Accelerator is attached
-                                        // Needs to be changed when you support multiple Accelerator's
-                                        // Same changes need to be applied at the time of adding the device in
-                                        // DeviceHandler
-                                        DeviceDetails deviceDetail = deviceDetails.get(0);
-                                        NvidiaAcceleratorDeviceData containerAcceleratorDeviceData = (NvidiaAcceleratorDeviceData) deviceDetail;
-
-                                        // Skip non-matching Accelerator entries
-                                        if (!metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME).getAsString().equalsIgnoreCase(containerAcceleratorDeviceData.getModelName()))
-                                            continue;
-
-                                        NvidiaAcceleratorDeviceData acceleratorDeviceData = new NvidiaAcceleratorDeviceData(metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME).getAsString(),
-                                                metricObject.get(KruizeConstants.JSONKeys.HOSTNAME).getAsString(),
-                                                metricObject.get(KruizeConstants.JSONKeys.UUID).getAsString(),
-                                                metricObject.get(KruizeConstants.JSONKeys.DEVICE).getAsString(),
-                                                containerAcceleratorDeviceData.getProfile(),
-                                                true, containerAcceleratorDeviceData.isPartition());
-
-                                        JsonArray valuesArray = resultObject.getAsJsonArray(KruizeConstants.DataSourceConstants
-                                                .DataSourceQueryJSONKeys.VALUES);
-                                        sdf.setTimeZone(TimeZone.getTimeZone(KruizeConstants.TimeUnitsExt.TimeZones.UTC));
-                                        // Iterate over fetched metrics
-                                        Timestamp sTime = new Timestamp(interval_start_time_epoc);
-                                        for (JsonElement element : valuesArray) {
-                                            JsonArray valueArray = element.getAsJsonArray();
-                                            long epochTime = valueArray.get(0).getAsLong();
-                                            double value = valueArray.get(1).getAsDouble();
-
-                                            // Currently only supports 40GB GPU's needs to be made dynamic based on card memory
-                                            if (isAcceleratorPartitionMetric) {
-                                                double cardFrameBuffer = RecommendationUtils.getFrameBufferBasedOnModel(containerAcceleratorDeviceData.getModelName());
-                                                if (cardFrameBuffer > 0)
-                                                    value = (value / cardFrameBuffer) * 100;
-                                            }
-                                            String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
-                                            Date date = sdf.parse(timestamp);
-                                            Timestamp tempTime = new Timestamp(date.getTime());
-                                            Timestamp eTime = RecommendationUtils.getNearestTimestamp(containerDataResults,
-                                                    tempTime,
-                                                    AnalyzerConstants.AcceleratorConstants.AcceleratorMetricConstants.TIMESTAMP_RANGE_CHECK_IN_MINUTES);
-
-                                            // containerDataResults are empty so will use the prometheus timestamp
-                                            if (null == eTime) {
-                                                // eTime = tempTime;
-                                                // Skipping entry, as inconsistency with CPU & memory records may provide null pointer while accessing metric results
-                                                // TODO: Need to seperate the data records of CPU and memory based on exporter
-                                                // TODO: Perform recommendation generation by stitching the outcome
-                                                continue;
-                                            }
-
-                                            // Prepare interval results
-                                            if (containerDataResults.containsKey(eTime)) {
-                                                intervalResults = containerDataResults.get(eTime);
-                                                acceleratorMetricResultHashMap = intervalResults.getAcceleratorMetricResultHashMap();
-                                                if (null == acceleratorMetricResultHashMap)
-                                                    acceleratorMetricResultHashMap = new HashMap<>();
-                                            } else {
-                                                intervalResults = new IntervalResults();
-                                                acceleratorMetricResultHashMap = new HashMap<>();
-                                            }
-                                            AnalyzerConstants.MetricName metricName = AnalyzerConstants.MetricName.valueOf(metricEntry.getName());
-                                            if (acceleratorMetricResultHashMap.containsKey(metricName)) {
-                                                metricResults = acceleratorMetricResultHashMap.get(metricName).getMetricResults();
-                                                metricAggregationInfoResults = metricResults.getAggregationInfoResult();
-                                            } else {
-                                                metricResults = new MetricResults();
-                                                metricAggregationInfoResults = new MetricAggregationInfoResults();
-                                            }
-                                            Method method = MetricAggregationInfoResults.class.getDeclaredMethod(KruizeConstants.APIMessages.SET + aggregationFunctionsEntry.getKey().substring(0, 1).toUpperCase() + aggregationFunctionsEntry.getKey().substring(1), Double.class);
-                                            method.invoke(metricAggregationInfoResults, value);
-                                            metricAggregationInfoResults.setFormat(format);
-                                            metricResults.setAggregationInfoResult(metricAggregationInfoResults);
-                                            metricResults.setName(String.valueOf(metricName));
-                                            metricResults.setFormat(format);
-                                            AcceleratorMetricResult acceleratorMetricResult = new AcceleratorMetricResult(acceleratorDeviceData, metricResults);
-                                            acceleratorMetricResultHashMap.put(metricName, acceleratorMetricResult);
-                                            intervalResults.setAcceleratorMetricResultHashMap(acceleratorMetricResultHashMap);
-                                            intervalResults.setIntervalStartTime(sTime);  //Todo this will change
-                                            intervalResults.setIntervalEndTime(eTime);
-                                            intervalResults.setDurationInMinutes((double) ((eTime.getTime() - sTime.getTime())
-                                                    / ((long) KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE
-                                                    * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC)));
-                                            containerDataResults.put(eTime, intervalResults);
-                                            sTime = eTime;
-                                        }
-                                    }
-                                } else {
-                                    resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(
-                                                    KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT).get(0)
-                                            .getAsJsonObject().getAsJsonArray(KruizeConstants.DataSourceConstants
-                                                    .DataSourceQueryJSONKeys.VALUES);
-                                    sdf.setTimeZone(TimeZone.getTimeZone(KruizeConstants.TimeUnitsExt.TimeZones.UTC));
+            // All the containers are planned, send the batched queries
+            for (ContainerQueryBatch queryBatch : containerQueryBatches.values()) {
+                queryBatch.submit(client, dataSourceInfo, measurementDurationMinutesInDouble);
+            }
 
-                                    // Iterate over fetched metrics
-                                    Timestamp sTime = new Timestamp(interval_start_time_epoc);
-                                    for (JsonElement element : resultArray) {
-                                        JsonArray valueArray = element.getAsJsonArray();
-                                        long epochTime = valueArray.get(0).getAsLong();
-                                        double value = valueArray.get(1).getAsDouble();
-                                        String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
-                                        Date date = sdf.parse(timestamp);
-                                        Timestamp eTime = new Timestamp(date.getTime());
+            // Collect the fetched metrics in plan order, accelerator samples are matched against
+            // the timestamps of the metrics collected before them
+            for (PlannedContainerFetch containerFetch : containerFetches) {
+                ContainerData containerData = containerFetch.getContainerData();
+                interval_start_time_epoc = containerFetch.getIntervalStartTimeEpoc();
+                // the metric values go straight into columns, only the accelerator metrics with their device
+                // metadata are kept as interval results
+                IntervalResultsColumns.Builder containerResultsBuilder = new IntervalResultsColumns.Builder();
+                HashMap<Timestamp, IntervalResults> containerDataResults = new HashMap<>();
+
+                for (PlannedMetricQuery plannedQuery : containerFetch.getQueries()) {
+                    Metric metricEntry = plannedQuery.getMetricEntry();
+                    Map.Entry<String, AggregationFunctions> aggregationFunctionsEntry = plannedQuery.getAggregationFunctionsEntry();
+                    String format = plannedQuery.getFormat();
+                    boolean isAcceleratorMetric = plannedQuery.isAcceleratorMetric();
+                    boolean isAcceleratorPartitionMetric = plannedQuery.isAcceleratorPartitionMetric();
+                    IntervalResults intervalResults = null;
+                    HashMap<AnalyzerConstants.MetricName, AcceleratorMetricResult> acceleratorMetricResultHashMap;
+                    MetricResults metricResults = null;
+                    MetricAggregationInfoResults metricAggregationInfoResults = null;
+                    PrometheusQueryResult queryResult = plannedQuery.getQueryResult();
 
-                                        // Prepare interval results
-                                        prepareIntervalResults(containerDataResults, intervalResults, resMap, metricResults,
-                                                metricAggregationInfoResults, sTime, eTime, metricEntry, aggregationFunctionsEntry, value, format);
-                                    }
+                    // Skipping if Result array is null or empty
+                    if (queryResult.isEmpty())
+                        continue;
+
+                    // Process fetched metrics
+                    if (isAcceleratorMetric || isAcceleratorPartitionMetric){
+                        for (PrometheusSeries series : queryResult.getSeries()) {
+                            Map<String, String> metricObject = series.getLabels();
+                            String modelName = metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME);
+
+                            // Set the data only for the container Accelerator device
+                            if (null == modelName)
+                                continue;
+                            if (modelName.isEmpty())
+                                continue;
+
+                            ArrayList<DeviceDetails> deviceDetails = null;
+
+                            if (isAcceleratorMetric) {
+                                deviceDetails = containerData.getContainerDeviceList().getDevices(AnalyzerConstants.DeviceType.ACCELERATOR);
+                            }
+
+                            if (isAcceleratorPartitionMetric) {
+                                deviceDetails = containerData.getContainerDeviceList().getDevices(AnalyzerConstants.DeviceType.ACCELERATOR_PARTITION);
+                            }
+                            // Continuing to next element
+                            // All other elements will also fail as there is no Accelerator attached
+                            // Theoretically, it doesn't fail, but the future implementations may change
+                            // So adding a check after a function call to check it's return value is advisable
+                            // TODO: Needs a check to figure out why devicelist is empty if is Accelerator detected is true
+                            if (null == deviceDetails)
+                                continue;
+                            if (deviceDetails.isEmpty())
+                                continue;
+
+                            // Assuming only one MIG supported Accelerator is attached
+                            // Needs to be changed when you support multiple Accelerator's
+                            // Same changes need to be applied at the time of adding the device in
+                            // DeviceHandler
+                            DeviceDetails deviceDetail = deviceDetails.get(0);
+                            NvidiaAcceleratorDeviceData containerAcceleratorDeviceData = (NvidiaAcceleratorDeviceData) deviceDetail;
+
+                            // Skip non-matching Accelerator entries
+                            if (!modelName.equalsIgnoreCase(containerAcceleratorDeviceData.getModelName()))
+                                continue;
+
+                            NvidiaAcceleratorDeviceData acceleratorDeviceData = new NvidiaAcceleratorDeviceData(modelName,
+                                    metricObject.get(KruizeConstants.JSONKeys.HOSTNAME),
+                                    metricObject.get(KruizeConstants.JSONKeys.UUID),
+                                    metricObject.get(KruizeConstants.JSONKeys.DEVICE),
+                                    containerAcceleratorDeviceData.getProfile(),
+                                    true, containerAcceleratorDeviceData.isPartition());
+
+                            sdf.setTimeZone(TimeZone.getTimeZone(KruizeConstants.TimeUnitsExt.TimeZones.UTC));
+                            // Iterate over fetched metrics
+                            Timestamp sTime = new Timestamp(interval_start_time_epoc);
+                            for (int i = 0; i < series.size(); i++) {
+                                long epochTime = series.getTimestamp(i);
+                                double value = series.getValue(i);
+
+                                // Currently only supports 40GB GPU's needs to be made dynamic based on card memory
+                                if (isAcceleratorPartitionMetric) {
+                                    double cardFrameBuffer = RecommendationUtils.getFrameBufferBasedOnModel(containerAcceleratorDeviceData.getModelName());
+                                    if (cardFrameBuffer > 0)
+                                        value = (value / cardFrameBuffer) * 100;
                                 }
-                            } catch (Exception e) {
-                                throw new RuntimeException(e);
+                                String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
+                                Date date = sdf.parse(timestamp);
+                                Timestamp tempTime = new Timestamp(date.getTime());
+                                Timestamp eTime = RecommendationUtils.getNearestTimestamp(containerResultsBuilder,
+                                        tempTime,
+                                        AnalyzerConstants.AcceleratorConstants.AcceleratorMetricConstants.TIMESTAMP_RANGE_CHECK_IN_MINUTES);
+
+                                // containerDataResults are empty so will use the prometheus timestamp
+                                if (null == eTime) {
+                                    // eTime = tempTime;
+                                    // Skipping entry, as inconsistency with CPU & memory records may provide null pointer while accessing metric results
+                                    // TODO: Need to seperate the data records of CPU and memory based on exporter
+                                    // TODO: Perform recommendation generation by stitching the outcome
+                                    continue;
+                                }
+
+                                // Prepare interval results
+                                if (containerDataResults.containsKey(eTime)) {
+                                    intervalResults = containerDataResults.get(eTime);
+                                    acceleratorMetricResultHashMap = intervalResults.getAcceleratorMetricResultHashMap();
+                                    if (null == acceleratorMetricResultHashMap)
+                                        acceleratorMetricResultHashMap = new HashMap<>();
+                                } else {
+                                    intervalResults = new IntervalResults();
+                                    acceleratorMetricResultHashMap = new HashMap<>();
+                                }
+                                AnalyzerConstants.MetricName metricName = AnalyzerConstants.MetricName.valueOf(metricEntry.getName());
+                                if (acceleratorMetricResultHashMap.containsKey(metricName)) {
+                                    metricResults = acceleratorMetricResultHashMap.get(metricName).getMetricResults();
+                                    metricAggregationInfoResults = metricResults.getAggregationInfoResult();
+                                } else {
+                                    metricResults = new MetricResults();
+                                    metricAggregationInfoResults = new MetricAggregationInfoResults();
+                                }
+                                Method method = MetricAggregationInfoResults.class.getDeclaredMethod(KruizeConstants.APIMessages.SET + aggregationFunctionsEntry.getKey().substring(0, 1).toUpperCase() + aggregationFunctionsEntry.getKey().substring(1), Double.class);
+                                method.invoke(metricAggregationInfoResults, value);
+                                metricAggregationInfoResults.setFormat(format);
+                                metricResults.setAggregationInfoResult(metricAggregationInfoResults);
+                                metricResults.setName(String.valueOf(metricName));
+                                metricResults.setFormat(format);
+                                AcceleratorMetricResult acceleratorMetricResult = new AcceleratorMetricResult(acceleratorDeviceData, metricResults);
+                                acceleratorMetricResultHashMap.put(metricName, acceleratorMetricResult);
+                                intervalResults.setAcceleratorMetricResultHashMap(acceleratorMetricResultHashMap);
+                                intervalResults.setIntervalStartTime(sTime);  //Todo this will change
+                                intervalResults.setIntervalEndTime(eTime);
+                                intervalResults.setDurationInMinutes((double) ((eTime.getTime() - sTime.getTime())
+                                        / ((long) KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE
+                                        * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC)));
+                                containerDataResults.put(eTime, intervalResults);
+                                sTime = eTime;
                             }
                         }
-                    }
-
-                    containerData.setResults(containerDataResults);
-                    if (!containerDataResults.isEmpty())
-                        setInterval_end_time(Collections.max(containerDataResults.keySet()));    //TODO Temp fix invalid date is set if experiment having two container with different last seen date
+                    } else {
+                        PrometheusSeries series = queryResult.getSeries().get(0);
+                        sdf.setTimeZone(TimeZone.getTimeZone(KruizeConstants.TimeUnitsExt.TimeZones.UTC));
+
+                        // Iterate over fetched metrics
+                        AnalyzerConstants.MetricName metricName = AnalyzerConstants.MetricName.valueOf(metricEntry.getName());
+                        IntervalResultsColumns.Aggregation aggregation = IntervalResultsColumns.Aggregation.valueOf(aggregationFunctionsEntry.getKey());
+                        for (int i = 0; i < series.size(); i++) {
+                            long epochTime = series.getTimestamp(i);
+                            double value = series.getValue(i);
+                            String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
+                            Date date = sdf.parse(timestamp);
+                            long eTime = date.getTime();
+                            double durationInMinutes = (double) ((eTime - interval_start_time_epoc)
+                                    / ((long) KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE
+                                    * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
 
+                            containerResultsBuilder.add(eTime, durationInMinutes, metricName, aggregation, value, format);
+                        }
+                    }
                 }
+
+                IntervalResultsColumns containerResults = containerResultsBuilder.build();
+                containerData.setResults(containerDataResults);
+                containerData.setResultsColumns(containerResults);
+                if (!containerResults.isEmpty())
+                    setInterval_end_time(new Timestamp(containerResults.getIntervalEndTime(containerResults.size() - 1)));    //TODO Temp fix invalid date is set if experiment having two container with different last seen date
             }
         } catch (Exception e) {
+            // Don't leave queries of a failed fetch queued on the datasource executor
+            for (PlannedContainerFetch containerFetch : containerFetches) {
+                containerFetch.cancel();
+            }
+            for (ContainerQueryBatch queryBatch : containerQueryBatches.values()) {
+                queryBatch.cancel();
+            }
             e.printStackTrace();
             throw new Exception(AnalyzerErrorConstants.APIErrors.UpdateRecommendationsAPI.METRIC_EXCEPTION + e.getMessage());
         }
     }
 
+    /**
+     * Range queries planned for a container, fetched concurrently and collected in the order they were planned
+     */
+    private static class PlannedContainerFetch {
+        private final ContainerData containerData;
+        private final long intervalStartTimeEpoc;
+        private final List<PlannedMetricQuery> queries = new ArrayList<>();
+
+        private PlannedContainerFetch(ContainerData containerData, long intervalStartTimeEpoc) {
+            this.containerData = containerData;
+            this.intervalStartTimeEpoc = intervalStartTimeEpoc;
+        }
+
+        private void addQuery(PlannedMetricQuery query) {
+            queries.add(query);
+        }
+
+        private ContainerData getContainerData() {
+            return containerData;
+        }
+
+        private long getIntervalStartTimeEpoc() {
+            return intervalStartTimeEpoc;
+        }
+
+        private List<PlannedMetricQuery> getQueries() {
+            return queries;
+        }
+
+        private void cancel() {
+            for (PlannedMetricQuery query : queries) {
+                query.queryResult.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * In-flight range query of a metric aggregation function along with what is needed to collect its result
+     */
+    private static class PlannedMetricQuery {
+        private final Metric metricEntry;
+        private final Map.Entry<String, AggregationFunctions> aggregationFunctionsEntry;
+        private final String format;
+        private final boolean isAcceleratorMetric;
+        private final boolean isAcceleratorPartitionMetric;
+        private final CompletableFuture<PrometheusQueryResult> queryResult;
+
+        private PlannedMetricQuery(Metric metricEntry, Map.Entry<String, AggregationFunctions> aggregationFunctionsEntry,
+                                   String format, boolean isAcceleratorMetric, boolean isAcceleratorPartitionMetric,
+                                   CompletableFuture<PrometheusQueryResult> queryResult) {
+            this.metricEntry = metricEntry;
+            this.aggregationFunctionsEntry = aggregationFunctionsEntry;
+            this.format = format;
+            this.isAcceleratorMetric = isAcceleratorMetric;
+            this.isAcceleratorPartitionMetric = isAcceleratorPartitionMetric;
+            this.queryResult = queryResult;
+        }
+
+        private Metric getMetricEntry() {
+            return metricEntry;
+        }
+
+        private Map.Entry<String, AggregationFunctions> getAggregationFunctionsEntry() {
+            return aggregationFunctionsEntry;
+        }
+
+        private String getFormat() {
+            return format;
+        }
+
+        private boolean isAcceleratorMetric() {
+            return isAcceleratorMetric;
+        }
+
+        private boolean isAcceleratorPartitionMetric() {
+            return isAcceleratorPartitionMetric;
+        }
+
+        /**
+         * Waits for the query to complete
+         *
+         * @return result of the query
+         * @throws Exception the failure of the query
+         */
+        private PrometheusQueryResult getQueryResult() throws Exception {
+            try {
+                return queryResult.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception)
+                    throw (Exception) e.getCause();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Sends a range query to the executor of the datasource, stepping by the measurement duration
+     */
+    private static CompletableFuture<PrometheusQueryResult> submitRangeQuery(GenericRestApiClient client, DataSourceInfo dataSourceInfo,
+                                                                             String promQL, long intervalStartTimeEpoc, long intervalEndTimeEpoc,
+                                                                             Double measurementDurationMinutesInDouble) {
+        LOGGER.debug(promQL);
+        String podMetricsUrl;
+        try {
+            podMetricsUrl = String.format(KruizeConstants.DataSourceConstants.DATASOURCE_ENDPOINT_WITH_QUERY_RANGE,
+                    dataSourceInfo.getUrl(),
+                    URLEncoder.encode(promQL, CHARACTER_ENCODING),
+                    intervalStartTimeEpoc,
+                    intervalEndTimeEpoc,
+                    measurementDurationMinutesInDouble.intValue() * KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE);
+        } catch (UnsupportedEncodingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return DataSourceQueryExecutor.submit(dataSourceInfo.getName(),
+                () -> client.fetchPrometheusQueryResultFromURL(KruizeConstants.APIMessages.GET, podMetricsUrl));
+    }
+
+    /**
+     * Range query shared by the containers of an experiment, sent once for up to containerQueryBatchSize containers
+     * and split back per container on the container label of the series. The containers of a bulk job are batched
+     * across its experiments by the BulkJobQueryBatcher instead.
+     */
+    private static class ContainerQueryBatch {
+        private final String promQL;
+        private final long intervalStartTimeEpoc;
+        private final long intervalEndTimeEpoc;
+        private final LinkedHashMap<String, CompletableFuture<PrometheusQueryResult>> containerResults = new LinkedHashMap<>();
+        private final List<CompletableFuture<PrometheusQueryResult>> submittedQueries = new ArrayList<>();
+
+        private ContainerQueryBatch(String promQL, long intervalStartTimeEpoc, long intervalEndTimeEpoc) {
+            this.promQL = promQL;
+            this.intervalStartTimeEpoc = intervalStartTimeEpoc;
+            this.intervalEndTimeEpoc = intervalEndTimeEpoc;
+        }
+
+        /**
+         * @return future completed with the series of the container once the batch is fetched
+         */
+        private CompletableFuture<PrometheusQueryResult> addContainer(String containerName) {
+            return containerResults.computeIfAbsent(containerName, name -> new CompletableFuture<>());
+        }
+
+        private void submit(GenericRestApiClient client, DataSourceInfo dataSourceInfo, Double measurementDurationMinutesInDouble) {
+            List<String> containerNames = new ArrayList<>(containerResults.keySet());
+            int batchSize = KruizeDeploymentInfo.container_query_batch_size;
+            for (int from = 0; from < containerNames.size(); from += batchSize) {
+                List<String> batchContainerNames = containerNames.subList(from, Math.min(from + batchSize, containerNames.size()));
+                boolean isSingleContainer = batchContainerNames.size() == 1;
+                String batchPromQL = isSingleContainer
+                        ? promQL.replace(AnalyzerConstants.CONTAINER_VARIABLE, batchContainerNames.get(0))
+                        : PrometheusQueryBatcher.toBatchedQuery(promQL, batchContainerNames);
+                CompletableFuture<PrometheusQueryResult> submittedQuery = submitRangeQuery(client, dataSourceInfo, batchPromQL,
+                        intervalStartTimeEpoc, intervalEndTimeEpoc, measurementDurationMinutesInDouble);
+                submittedQueries.add(submittedQuery);
+                submittedQuery.whenComplete((queryResult, error) -> {
+                    for (String containerName : batchContainerNames) {
+                        CompletableFuture<PrometheusQueryResult> containerResult = containerResults.get(containerName);
+                        if (null != error)
+                            containerResult.completeExceptionally(error);
+                        else if (isSingleContainer)
+                            containerResult.complete(queryResult);
+                        else
+                            containerResult.complete(queryResult.filterByLabel(
+                                    KruizeConstants.DataSourceConstants.DataSourceQueryMetricKeys.CONTAINER_NAME, containerName));
+                    }
+                });
+            }
+        }
+
+        private void cancel() {
+            for (CompletableFuture<PrometheusQueryResult> submittedQuery : submittedQueries) {
+                submittedQuery.cancel(false);
+            }
+        }
+    }
+
     /**
      * Fetches max date query for namespace and containers from performance profile
      *
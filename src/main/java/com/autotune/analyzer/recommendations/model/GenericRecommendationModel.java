@@ -3,6 +3,7 @@ package com.autotune.analyzer.recommendations.model;
 import com.autotune.analyzer.recommendations.RecommendationConfigItem;
 import com.autotune.analyzer.recommendations.RecommendationConstants;
 import com.autotune.analyzer.recommendations.RecommendationNotification;
+import com.autotune.analyzer.recommendations.term.TermAggregates;
 import com.autotune.analyzer.recommendations.utils.RecommendationUtils;
 import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.analyzer.utils.AnalyzerErrorConstants;
@@ -11,8 +12,11 @@ import com.autotune.common.data.metrics.AcceleratorMetricResult;
 import com.autotune.common.data.metrics.MetricAggregationInfoResults;
 import com.autotune.common.data.metrics.MetricResults;
 import com.autotune.common.data.result.IntervalResults;
+import com.autotune.common.data.result.IntervalResultsColumns;
+import com.autotune.common.data.result.IntervalResultsColumns.Aggregation;
 
 import com.autotune.common.utils.CommonUtils;
+import com.autotune.common.utils.PercentileUtils;
 import com.autotune.utils.KruizeConstants;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -21,8 +25,6 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Timestamp;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.autotune.analyzer.recommendations.RecommendationConstants.RecommendationValueConstants.*;
 
@@ -59,6 +61,32 @@ public class GenericRecommendationModel implements RecommendationModel{
 
     @Override
     public RecommendationConfigItem getCPURequestRecommendation(Map<Timestamp, IntervalResults> filteredResultsMap, ArrayList<RecommendationNotification> notifications) {
+        return getCPURequestRecommendation(new IntervalResultsColumns(filteredResultsMap), notifications);
+    }
+
+    @Override
+    public RecommendationConfigItem getCPURequestRecommendation(IntervalResultsColumns filteredResults, ArrayList<RecommendationNotification> notifications) {
+        UsageBuffers usageBuffers = UsageBuffers.get(filteredResults.size());
+        fillCPUUsage(filteredResults, usageBuffers.min, usageBuffers.max);
+        double cpuRequest = getCPURequest(usageBuffers.max, filteredResults.size(), modelCPUPercentile);
+        return getCPURequestRecommendation(cpuRequest, getFormatValue(filteredResults, AnalyzerConstants.MetricName.cpuUsage),
+                notifications);
+    }
+
+    @Override
+    public RecommendationConfigItem getCPURequestRecommendation(TermAggregates.Window termWindow, ArrayList<RecommendationNotification> notifications) {
+        double cpuRequest;
+        if (termWindow.isEmpty())
+            cpuRequest = CPU_ZERO;
+        else if (CPU_ONE_CORE > termWindow.getCpuUsageMax())
+            cpuRequest = termWindow.getCpuUsageMax();
+        else
+            cpuRequest = termWindow.getCpuUsagePercentile(modelCPUPercentile);
+        return getCPURequestRecommendation(cpuRequest, termWindow.getCpuFormat(), notifications);
+    }
+
+    private RecommendationConfigItem getCPURequestRecommendation(Double cpuRequest, String format,
+                                                                 ArrayList<RecommendationNotification> notifications) {
         boolean setNotification = true;
         if (null == notifications) {
             LOGGER.error(KruizeConstants.ErrorMsgs.RecommendationErrorMsgs.EMPTY_NOTIFICATIONS_OBJECT);
@@ -66,20 +94,6 @@ public class GenericRecommendationModel implements RecommendationModel{
         }
 
         RecommendationConfigItem recommendationConfigItem = null;
-        String format = "";
-        JSONArray cpuUsageList = getCPUUsageList(filteredResultsMap);
-
-        // Extract "max" values from cpuUsageList
-        List<Double> cpuMaxValues = getCPUMaxValues(cpuUsageList);
-
-        Double cpuRequest = 0.0;
-        Double cpuRequestMax = Collections.max(cpuMaxValues);
-        if (null != cpuRequestMax && CPU_ONE_CORE > cpuRequestMax) {
-            cpuRequest = cpuRequestMax;
-        } else {
-            cpuRequest = CommonUtils.percentile(modelCPUPercentile, cpuMaxValues);
-        }
-
 
         // TODO: This code below should be optimised with idle detection (0 cpu usage in recorded data) in recommendation ALGO
         // Make sure that the recommendation cannot be null
@@ -110,12 +124,30 @@ public class GenericRecommendationModel implements RecommendationModel{
             }
         }
 
-        format = getFormatValue(filteredResultsMap, AnalyzerConstants.MetricName.cpuUsage);
-
         recommendationConfigItem = new RecommendationConfigItem(cpuRequest, format);
         return recommendationConfigItem;
     }
 
+    /**
+     * Usage below one core is recommended as observed, else the model percentile of the interval max values is used
+     *
+     * @param cpuMaxValues per interval max cpu usage, reordered by the percentile computation
+     * @param length       number of intervals
+     * @param percentile   model cpu percentile
+     * @return cpu request
+     */
+    private static double getCPURequest(double[] cpuMaxValues, int length, double percentile) {
+        if (0 == length)
+            return CPU_ZERO;
+        double cpuRequestMax = cpuMaxValues[0];
+        for (int i = 1; i < length; i++) {
+            cpuRequestMax = Math.max(cpuRequestMax, cpuMaxValues[i]);
+        }
+        if (CPU_ONE_CORE > cpuRequestMax)
+            return cpuRequestMax;
+        return PercentileUtils.percentile(percentile, cpuMaxValues, length);
+    }
+
     public static List<Double> getCPUMaxValues(JSONArray cpuUsageList){
         List<Double> cpuMaxValues = new ArrayList<>();
 
@@ -127,29 +159,46 @@ public class GenericRecommendationModel implements RecommendationModel{
         return cpuMaxValues;
     }
 
+    /**
+     * Single interval columns, for the helpers taking one interval result
+     */
+    private static IntervalResultsColumns toColumns(IntervalResults intervalResults) {
+        Timestamp intervalEndTime = (null == intervalResults.getIntervalEndTime()) ? new Timestamp(0) : intervalResults.getIntervalEndTime();
+        return new IntervalResultsColumns(Collections.singletonMap(intervalEndTime, intervalResults));
+    }
+
     // helper function common to both cost and performance model hence just taken from there.
     public static JSONArray getCPUUsageList(Map<Timestamp, IntervalResults> filteredResultsMap) {
-        JSONArray cpuRequestIntervalArray = new JSONArray();
-        for (IntervalResults intervalResults : filteredResultsMap.values()) {
-            JSONObject cpuRequestInterval = new JSONObject();
-            Optional<MetricResults> cpuUsageResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.cpuUsage));
-            Optional<MetricResults> cpuThrottleResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.cpuThrottle));
-            double cpuUsageAvg = cpuUsageResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-            double cpuUsageMax = cpuUsageResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-            double cpuUsageSum = cpuUsageResults.map(m -> m.getAggregationInfoResult().getSum()).orElse(0.0);
-            double cpuUsageMin = cpuUsageResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
-            double cpuThrottleAvg = cpuThrottleResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-            double cpuThrottleMax = cpuThrottleResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-            double cpuThrottleSum = cpuThrottleResults.map(m -> m.getAggregationInfoResult().getSum()).orElse(0.0);
-            double cpuThrottleMin = cpuThrottleResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
-            Optional<MetricResults> memoryUsageResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.memoryUsage));
-            double memUsageAvg = memoryUsageResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-            double memUsageSum = memoryUsageResults.map(m -> m.getAggregationInfoResult().getSum()).orElse(0.0);
+        return getCPUUsageList(new IntervalResultsColumns(filteredResultsMap));
+    }
+
+    public static JSONArray getCPUUsageList(IntervalResultsColumns filteredResults) {
+        double[] cpuMinValues = new double[filteredResults.size()];
+        double[] cpuMaxValues = new double[filteredResults.size()];
+        fillCPUUsage(filteredResults, cpuMinValues, cpuMaxValues);
+        return toMinMaxJSONArray(cpuMinValues, cpuMaxValues, filteredResults.size());
+    }
+
+    /**
+     * Fills the per interval min and max cpu usage of a container, throttling included
+     *
+     * @param filteredResults interval results
+     * @param cpuMinValues    filled with the min usage, at least as long as the results
+     * @param cpuMaxValues    filled with the max usage, at least as long as the results
+     */
+    public static void fillCPUUsage(IntervalResultsColumns filteredResults, double[] cpuMinValues, double[] cpuMaxValues) {
+        for (int i = 0; i < filteredResults.size(); i++) {
+            double cpuUsageAvg = filteredResults.getValue(AnalyzerConstants.MetricName.cpuUsage, Aggregation.avg, i, 0.0);
+            double cpuUsageMax = filteredResults.getValue(AnalyzerConstants.MetricName.cpuUsage, Aggregation.max, i, 0.0);
+            double cpuUsageSum = filteredResults.getValue(AnalyzerConstants.MetricName.cpuUsage, Aggregation.sum, i, 0.0);
+            double cpuUsageMin = filteredResults.getValue(AnalyzerConstants.MetricName.cpuUsage, Aggregation.min, i, 0.0);
+            double cpuThrottleAvg = filteredResults.getValue(AnalyzerConstants.MetricName.cpuThrottle, Aggregation.avg, i, 0.0);
+            double cpuThrottleMax = filteredResults.getValue(AnalyzerConstants.MetricName.cpuThrottle, Aggregation.max, i, 0.0);
+            double cpuThrottleSum = filteredResults.getValue(AnalyzerConstants.MetricName.cpuThrottle, Aggregation.sum, i, 0.0);
+            double cpuThrottleMin = filteredResults.getValue(AnalyzerConstants.MetricName.cpuThrottle, Aggregation.min, i, 0.0);
 
             double cpuRequestIntervalMax;
-            double cpuRequestIntervalMin;
             double cpuUsagePod = 0;
-            double numPods = 0;
 
             // Use the Max value when available, if not use the Avg
             double cpuUsage = (cpuUsageMax > 0) ? cpuUsageMax : cpuUsageAvg;
@@ -160,31 +209,61 @@ public class GenericRecommendationModel implements RecommendationModel{
             if (CPU_ONE_CORE > cpuUsageTotal) {
                 cpuRequestIntervalMax = cpuUsageTotal;
             } else {
-                // Sum/Avg should give us the number of pods
-                if (0 != cpuUsageAvg) {
-                    numPods = cpuUsageSum / cpuUsageAvg;
-                }
-                if (0 == numPods && 0 != memUsageAvg) {
-                    numPods = memUsageSum / memUsageAvg;
-                }
+                double numPods = getPodCount(filteredResults, i);
                 if (0 < numPods) {
                     cpuUsagePod = (cpuUsageSum + cpuThrottleSum) / numPods;
                 }
                 cpuRequestIntervalMax = Math.max(cpuUsagePod, cpuUsageTotal);
             }
             double cpuMinTotal = cpuUsageMin + cpuThrottleMin;
-            // traverse over a stream of positive values and find the minimum value
-            cpuRequestIntervalMin = Stream.of(cpuUsagePod, cpuUsageTotal, cpuMinTotal)
-                    .filter(value -> value > 0.0)
-                    .min(Double::compare)
-                    .orElse(0.0);
-
-            cpuRequestInterval.put(KruizeConstants.JSONKeys.MIN, cpuRequestIntervalMin);
-            cpuRequestInterval.put(KruizeConstants.JSONKeys.MAX, cpuRequestIntervalMax);
-            LOGGER.debug("cpuRequestInterval : {}", cpuRequestInterval);
-            cpuRequestIntervalArray.put(cpuRequestInterval);
+
+            cpuMinValues[i] = minPositive(cpuUsagePod, cpuUsageTotal, cpuMinTotal);
+            cpuMaxValues[i] = cpuRequestIntervalMax;
         }
-        return cpuRequestIntervalArray;
+    }
+
+    /**
+     * Sum/Avg of the cpu usage gives the number of pods of the interval, memory usage is used when cpu is not reported
+     */
+    private static double getPodCount(IntervalResultsColumns filteredResults, int index) {
+        double numPods = 0;
+        double cpuUsageAvg = filteredResults.getValue(AnalyzerConstants.MetricName.cpuUsage, Aggregation.avg, index, 0.0);
+        if (0 != cpuUsageAvg) {
+            numPods = filteredResults.getValue(AnalyzerConstants.MetricName.cpuUsage, Aggregation.sum, index, 0.0) / cpuUsageAvg;
+        }
+        double memUsageAvg = filteredResults.getValue(AnalyzerConstants.MetricName.memoryUsage, Aggregation.avg, index, 0.0);
+        if (0 == numPods && 0 != memUsageAvg) {
+            numPods = filteredResults.getValue(AnalyzerConstants.MetricName.memoryUsage, Aggregation.sum, index, 0.0) / memUsageAvg;
+        }
+        return numPods;
+    }
+
+    // minimum of the positive values, 0 if there is none
+    private static double minPositive(double first, double second, double third) {
+        return minPositive(minPositive(first, second), third);
+    }
+
+    private static double minPositive(double first, double second) {
+        if (first > 0.0 && second > 0.0)
+            return Math.min(first, second);
+        if (first > 0.0)
+            return first;
+        return (second > 0.0) ? second : 0.0;
+    }
+
+    private static JSONArray toMinMaxJSONArray(double[] minValues, double[] maxValues, int length) {
+        JSONArray minMaxArray = new JSONArray();
+        for (int i = 0; i < length; i++) {
+            minMaxArray.put(toMinMaxJSONObject(minValues[i], maxValues[i]));
+        }
+        return minMaxArray;
+    }
+
+    private static JSONObject toMinMaxJSONObject(double minValue, double maxValue) {
+        JSONObject jsonObject = new JSONObject();
+        jsonObject.put(KruizeConstants.JSONKeys.MIN, minValue);
+        jsonObject.put(KruizeConstants.JSONKeys.MAX, maxValue);
+        return jsonObject;
     }
 
     // helper function to get format value
@@ -205,107 +284,157 @@ public class GenericRecommendationModel implements RecommendationModel{
         return format;
     }
 
+    public static String getFormatValue(IntervalResultsColumns filteredResults, AnalyzerConstants.MetricName metricName) {
+        String format = filteredResults.getFormat(metricName);
+        return (null == format) ? "" : format;
+    }
+
     @Override
     public RecommendationConfigItem getMemoryRequestRecommendation(Map<Timestamp, IntervalResults> filteredResultsMap, ArrayList<RecommendationNotification> notifications) {
+        return getMemoryRequestRecommendation(new IntervalResultsColumns(filteredResultsMap), notifications);
+    }
+
+    @Override
+    public RecommendationConfigItem getMemoryRequestRecommendation(IntervalResultsColumns filteredResults, ArrayList<RecommendationNotification> notifications) {
+        UsageBuffers usageBuffers = UsageBuffers.get(filteredResults.size());
+        fillMemoryUsage(filteredResults, usageBuffers.min, usageBuffers.max);
+        fillMemorySpikes(filteredResults, usageBuffers.spike);
+        double memRec = getMemoryRequest(usageBuffers.max, usageBuffers.spike, filteredResults.size(), modelMemoryPercentile);
+        return getMemoryRequestRecommendation(memRec, getFormatValue(filteredResults, AnalyzerConstants.MetricName.memoryUsage),
+                notifications);
+    }
+
+    @Override
+    public RecommendationConfigItem getMemoryRequestRecommendation(TermAggregates.Window termWindow, ArrayList<RecommendationNotification> notifications) {
+        double memRec = getMemoryRequest(termWindow.getMemoryUsagePercentile(modelMemoryPercentile),
+                termWindow.getMemorySpikePercentile(modelMemoryPercentile));
+        return getMemoryRequestRecommendation(memRec, termWindow.getMemoryFormat(), notifications);
+    }
+
+    private RecommendationConfigItem getMemoryRequestRecommendation(Double memRec, String format,
+                                                                    ArrayList<RecommendationNotification> notifications) {
         boolean setNotification = true;
         if (null == notifications) {
             LOGGER.error(KruizeConstants.ErrorMsgs.RecommendationErrorMsgs.EMPTY_NOTIFICATIONS_OBJECT);
             setNotification = false;
         }
         RecommendationConfigItem recommendationConfigItem = null;
-        String format = "";
 
-        List<Double> memUsageList = new ArrayList<>();
-        for (IntervalResults intervalResults: filteredResultsMap.values()) {
-            JSONObject jsonObject = calculateMemoryUsage(intervalResults);
-            Double memUsage = jsonObject.getDouble(KruizeConstants.JSONKeys.MAX);
-            memUsageList.add(memUsage);
+        if (setNotification && 0.0 == memRec) {
+            notifications.add(new RecommendationNotification(
+                    RecommendationConstants.RecommendationNotification.NOTICE_MEMORY_RECORDS_ARE_ZERO
+            ));
+            return null;
         }
 
-        List<Double> spikeList = filteredResultsMap.values()
-                .stream()
-                .map(GenericRecommendationModel::calculateIntervalSpike)
-                .collect(Collectors.toList());
+        recommendationConfigItem = new RecommendationConfigItem(memRec, format);
+        return recommendationConfigItem;
+    }
+
+    /**
+     * Buffered model percentile of the usage, capped by the usage percentile plus the buffered spike percentile
+     *
+     * @param memUsageValues per interval max memory usage, reordered by the percentile computation
+     * @param spikeValues    per interval memory spikes, reordered by the percentile computation
+     * @param length         number of intervals
+     * @param percentile     model memory percentile
+     * @return memory request
+     */
+    private static double getMemoryRequest(double[] memUsageValues, double[] spikeValues, int length, double percentile) {
+        return getMemoryRequest(PercentileUtils.percentile(percentile, memUsageValues, length),
+                PercentileUtils.percentile(percentile, spikeValues, length));
+    }
 
+    /**
+     * @param memRecUsage model percentile of the per interval max memory usage
+     * @param memRecSpike model percentile of the per interval memory spikes
+     * @return memory request
+     */
+    private static double getMemoryRequest(double memRecUsage, double memRecSpike) {
         // Add a buffer to the current usage max
-        Double memRecUsage = CommonUtils.percentile(modelMemoryPercentile, memUsageList);
-        Double memRecUsageBuf = memRecUsage + (memRecUsage * MEM_USAGE_BUFFER_DECIMAL);
+        double memRecUsageBuf = memRecUsage + (memRecUsage * MEM_USAGE_BUFFER_DECIMAL);
 
         // Add a small buffer to the current usage spike max and add it to the current usage max
-        Double memRecSpike = CommonUtils.percentile(modelMemoryPercentile, spikeList);
         memRecSpike += (memRecSpike * MEM_SPIKE_BUFFER_DECIMAL);
-        Double memRecSpikeBuf = memRecUsage + memRecSpike;
+        double memRecSpikeBuf = memRecUsage + memRecSpike;
 
         // We'll use the minimum of the above two values
-        Double memRec = Math.min(memRecUsageBuf, memRecSpikeBuf);
+        return Math.min(memRecUsageBuf, memRecSpikeBuf);
+    }
 
-        if (setNotification && 0.0 == memRec) {
-            notifications.add(new RecommendationNotification(
-                    RecommendationConstants.RecommendationNotification.NOTICE_MEMORY_RECORDS_ARE_ZERO
-            ));
-            return null;
-        }
+    // helper functions for getMemoryRequestRecommendation
 
-        format = getFormatValue(filteredResultsMap, AnalyzerConstants.MetricName.memoryUsage);
+    public static JSONObject calculateMemoryUsage(IntervalResults intervalResults) {
+        return calculateMemoryUsage(toColumns(intervalResults), 0);
+    }
 
-        recommendationConfigItem = new RecommendationConfigItem(memRec, format);
-        return recommendationConfigItem;
+    public static JSONObject calculateMemoryUsage(IntervalResultsColumns intervalResults, int index) {
+        double[] memUsage = new double[2];
+        fillMemoryUsage(intervalResults, index, memUsage, 0, memUsage, 1);
+        JSONObject jsonObject = toMinMaxJSONObject(memUsage[0], memUsage[1]);
+        LOGGER.debug("memRequestInterval : {}", jsonObject);
+        return jsonObject;
     }
 
-    // helper functions for getMemoryRequestRecommendation
+    /**
+     * Fills the per interval min and max memory usage of a container
+     *
+     * @param filteredResults interval results
+     * @param memMinValues    filled with the min usage, at least as long as the results
+     * @param memMaxValues    filled with the max usage, at least as long as the results
+     */
+    public static void fillMemoryUsage(IntervalResultsColumns filteredResults, double[] memMinValues, double[] memMaxValues) {
+        for (int i = 0; i < filteredResults.size(); i++) {
+            fillMemoryUsage(filteredResults, i, memMinValues, i, memMaxValues, i);
+        }
+    }
 
-    public static JSONObject calculateMemoryUsage(IntervalResults intervalResults) {
-        // create a JSON object which should be returned here having two values, Math.max and Collections.Min
-        JSONObject jsonObject = new JSONObject();
-        Optional<MetricResults> cpuUsageResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.cpuUsage));
-        double cpuUsageAvg = cpuUsageResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-        double cpuUsageSum = cpuUsageResults.map(m -> m.getAggregationInfoResult().getSum()).orElse(0.0);
-        Optional<MetricResults> memoryUsageResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.memoryUsage));
-        double memUsageAvg = memoryUsageResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-        double memUsageMax = memoryUsageResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-        double memUsageMin = memoryUsageResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
-        double memUsageSum = memoryUsageResults.map(m -> m.getAggregationInfoResult().getSum()).orElse(0.0);
+    private static void fillMemoryUsage(IntervalResultsColumns filteredResults, int index,
+                                        double[] memMinValues, int minIndex, double[] memMaxValues, int maxIndex) {
+        double memUsageMax = filteredResults.getValue(AnalyzerConstants.MetricName.memoryUsage, Aggregation.max, index, 0.0);
+        double memUsageMin = filteredResults.getValue(AnalyzerConstants.MetricName.memoryUsage, Aggregation.min, index, 0.0);
         double memUsage = 0;
-        double numPods = 0;
 
-        if (0 != cpuUsageAvg) {
-            numPods = cpuUsageSum / cpuUsageAvg;
-        }
-        if (0 == numPods && 0 != memUsageAvg) {
-            numPods = memUsageSum / memUsageAvg;
-        }
+        double numPods = getPodCount(filteredResults, index);
         if (0 < numPods) {
-            memUsage = (memUsageSum / numPods);
+            memUsage = filteredResults.getValue(AnalyzerConstants.MetricName.memoryUsage, Aggregation.sum, index, 0.0) / numPods;
         }
         memUsageMax = Math.max(memUsage, memUsageMax);
-        // traverse over a stream of positive values and find the minimum value
 
-        memUsageMin = Stream.of(memUsage, memUsageMax, memUsageMin)
-                .filter(value -> value > 0.0)
-                .min(Double::compare)
-                .orElse(0.0);
-
-        jsonObject.put(KruizeConstants.JSONKeys.MIN, memUsageMin);
-        jsonObject.put(KruizeConstants.JSONKeys.MAX, memUsageMax);
+        memMinValues[minIndex] = minPositive(memUsage, memUsageMax, memUsageMin);
+        memMaxValues[maxIndex] = memUsageMax;
+    }
 
-        LOGGER.debug("memRequestInterval : {}", jsonObject);
-        return jsonObject;
+    /**
+     * Fills the per interval memory spike of a container, the largest of the usage and RSS ranges
+     *
+     * @param filteredResults interval results
+     * @param spikeValues     filled with the spikes, at least as long as the results
+     */
+    public static void fillMemorySpikes(IntervalResultsColumns filteredResults, double[] spikeValues) {
+        fillMemorySpikes(filteredResults, AnalyzerConstants.MetricName.memoryUsage, AnalyzerConstants.MetricName.memoryRSS, spikeValues);
     }
 
-    private static double calculateIntervalSpike(IntervalResults intervalResults) {
-        Optional<MetricResults> memoryUsageResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.memoryUsage));
-        Optional<MetricResults> memoryRSSResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.memoryRSS));
-        double memUsageMax = memoryUsageResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-        double memUsageMin = memoryUsageResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
-        double memRSSMax = memoryRSSResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-        double memRSSMin = memoryRSSResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
+    private static void fillMemorySpikes(IntervalResultsColumns filteredResults, AnalyzerConstants.MetricName memoryUsage,
+                                         AnalyzerConstants.MetricName memoryRSS, double[] spikeValues) {
+        for (int i = 0; i < filteredResults.size(); i++) {
+            double memUsageMax = filteredResults.getValue(memoryUsage, Aggregation.max, i, 0.0);
+            double memUsageMin = filteredResults.getValue(memoryUsage, Aggregation.min, i, 0.0);
+            double memRSSMax = filteredResults.getValue(memoryRSS, Aggregation.max, i, 0.0);
+            double memRSSMin = filteredResults.getValue(memoryRSS, Aggregation.min, i, 0.0);
 
-        return Math.max(Math.ceil(memUsageMax - memUsageMin), Math.ceil(memRSSMax - memRSSMin));
+            spikeValues[i] = Math.max(Math.ceil(memUsageMax - memUsageMin), Math.ceil(memRSSMax - memRSSMin));
+        }
     }
 
 
     @Override
     public RecommendationConfigItem getCPURequestRecommendationForNamespace(Map<Timestamp, IntervalResults> filteredResultsMap, ArrayList<RecommendationNotification> notifications) {
+        return getCPURequestRecommendationForNamespace(new IntervalResultsColumns(filteredResultsMap), notifications);
+    }
+
+    @Override
+    public RecommendationConfigItem getCPURequestRecommendationForNamespace(IntervalResultsColumns filteredResults, ArrayList<RecommendationNotification> notifications) {
         boolean setNotification = true;
         if (null == notifications) {
             LOGGER.error(KruizeConstants.ErrorMsgs.RecommendationErrorMsgs.EMPTY_NOTIFICATIONS_OBJECT);
@@ -315,18 +444,10 @@ public class GenericRecommendationModel implements RecommendationModel{
         RecommendationConfigItem recommendationConfigItem = null;
         String format = "";
 
-        JSONArray namespaceCpuUsageList = getNamespaceCPUUsageList(filteredResultsMap);
+        UsageBuffers usageBuffers = UsageBuffers.get(filteredResults.size());
+        fillNamespaceCPUUsage(filteredResults, usageBuffers.min, usageBuffers.max);
 
-        // Extract 'max' values from cpuUsageList
-        List<Double> namespaceCpuMaxValues = getCPUMaxValues(namespaceCpuUsageList);
-
-        Double namespaceCpuRequest = 0.0;
-        Double namespaceCpuRequestMax = Collections.max(namespaceCpuMaxValues);
-        if (null != namespaceCpuRequestMax && CPU_ONE_CORE > namespaceCpuRequestMax) {
-            namespaceCpuRequest = namespaceCpuRequestMax;
-        } else {
-            namespaceCpuRequest = CommonUtils.percentile(modelCPUPercentile, namespaceCpuMaxValues);
-        }
+        Double namespaceCpuRequest = getCPURequest(usageBuffers.max, filteredResults.size(), modelCPUPercentile);
 
         if (null == namespaceCpuRequest) {
             namespaceCpuRequest = CPU_ZERO;
@@ -354,7 +475,7 @@ public class GenericRecommendationModel implements RecommendationModel{
             }
         }
 
-        format = getFormatValue(filteredResultsMap, AnalyzerConstants.MetricName.namespaceCpuUsage);
+        format = getFormatValue(filteredResults, AnalyzerConstants.MetricName.namespaceCpuUsage);
 
         recommendationConfigItem = new RecommendationConfigItem(namespaceCpuRequest, format);
         return recommendationConfigItem;
@@ -364,48 +485,52 @@ public class GenericRecommendationModel implements RecommendationModel{
     // helper functions for getCPURequestRecommendationForNamespace
 
     public static JSONArray getNamespaceCPUUsageList(Map<Timestamp, IntervalResults> filteredResultsMap) {
-        JSONArray namespaceCpuRequestIntervalArray = new JSONArray();
-        for (IntervalResults intervalResults : filteredResultsMap.values()) {
-            JSONObject namespaceCpuRequestInterval = new JSONObject();
-            Optional<MetricResults> namespaceCpuUsageResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.namespaceCpuUsage));
-            Optional<MetricResults> namespaceCpuThrottleResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.namespaceCpuThrottle));
+        return getNamespaceCPUUsageList(new IntervalResultsColumns(filteredResultsMap));
+    }
 
-            double namespaceCpuUsageAvg = namespaceCpuUsageResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-            double namespaceCpuUsageMax = namespaceCpuUsageResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-            double namespaceCpuUsageMin = namespaceCpuUsageResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
-            double namespaceCpuThrottleAvg = namespaceCpuThrottleResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(0.0);
-            double namespaceCpuThrottleMax = namespaceCpuThrottleResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-            double namespaceCpuThrottleMin = namespaceCpuThrottleResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
+    public static JSONArray getNamespaceCPUUsageList(IntervalResultsColumns filteredResults) {
+        double[] namespaceCpuMinValues = new double[filteredResults.size()];
+        double[] namespaceCpuMaxValues = new double[filteredResults.size()];
+        fillNamespaceCPUUsage(filteredResults, namespaceCpuMinValues, namespaceCpuMaxValues);
+        return toMinMaxJSONArray(namespaceCpuMinValues, namespaceCpuMaxValues, filteredResults.size());
+    }
 
-            double namespaceCpuRequestIntervalMax;
-            double namespaceCpuRequestIntervalMin;
+    /**
+     * Fills the per interval min and max cpu usage of a namespace, throttling included
+     *
+     * @param filteredResults       interval results
+     * @param namespaceCpuMinValues filled with the min usage, at least as long as the results
+     * @param namespaceCpuMaxValues filled with the max usage, at least as long as the results
+     */
+    public static void fillNamespaceCPUUsage(IntervalResultsColumns filteredResults, double[] namespaceCpuMinValues, double[] namespaceCpuMaxValues) {
+        for (int i = 0; i < filteredResults.size(); i++) {
+            double namespaceCpuUsageAvg = filteredResults.getValue(AnalyzerConstants.MetricName.namespaceCpuUsage, Aggregation.avg, i, 0.0);
+            double namespaceCpuUsageMax = filteredResults.getValue(AnalyzerConstants.MetricName.namespaceCpuUsage, Aggregation.max, i, 0.0);
+            double namespaceCpuUsageMin = filteredResults.getValue(AnalyzerConstants.MetricName.namespaceCpuUsage, Aggregation.min, i, 0.0);
+            double namespaceCpuThrottleAvg = filteredResults.getValue(AnalyzerConstants.MetricName.namespaceCpuThrottle, Aggregation.avg, i, 0.0);
+            double namespaceCpuThrottleMax = filteredResults.getValue(AnalyzerConstants.MetricName.namespaceCpuThrottle, Aggregation.max, i, 0.0);
+            double namespaceCpuThrottleMin = filteredResults.getValue(AnalyzerConstants.MetricName.namespaceCpuThrottle, Aggregation.min, i, 0.0);
 
             // Use the Max value when available, if not use the Avg
             double namespaceCpuUsage = (namespaceCpuUsageMax > 0) ? namespaceCpuUsageMax : namespaceCpuUsageAvg;
             double namespaceCpuThrottle = (namespaceCpuThrottleMax > 0) ? namespaceCpuThrottleMax : namespaceCpuThrottleAvg;
             double namespaceCpuUsageTotal = namespaceCpuUsage + namespaceCpuThrottle;
 
-            namespaceCpuRequestIntervalMax = namespaceCpuUsageTotal;
-
             double namespaceCpuMinTotal = namespaceCpuUsageMin + namespaceCpuThrottleMin;
 
-            // traverse over a stream of positive values and find the minimum value
-            namespaceCpuRequestIntervalMin = Stream.of(namespaceCpuUsageTotal, namespaceCpuMinTotal)
-                    .filter(value -> value > 0.0)
-                    .min(Double::compare)
-                    .orElse(0.0);
-
-            namespaceCpuRequestInterval.put(KruizeConstants.JSONKeys.MIN, namespaceCpuRequestIntervalMin);
-            namespaceCpuRequestInterval.put(KruizeConstants.JSONKeys.MAX, namespaceCpuRequestIntervalMax);
-            LOGGER.debug("cpuRequestInterval : {}", namespaceCpuRequestInterval);
-            namespaceCpuRequestIntervalArray.put(namespaceCpuRequestInterval);
+            namespaceCpuMinValues[i] = minPositive(namespaceCpuUsageTotal, namespaceCpuMinTotal);
+            namespaceCpuMaxValues[i] = namespaceCpuUsageTotal;
         }
-        return namespaceCpuRequestIntervalArray;
     }
 
 
     @Override
     public RecommendationConfigItem getMemoryRequestRecommendationForNamespace(Map<Timestamp, IntervalResults> filteredResultsMap, ArrayList<RecommendationNotification> notifications) {
+        return getMemoryRequestRecommendationForNamespace(new IntervalResultsColumns(filteredResultsMap), notifications);
+    }
+
+    @Override
+    public RecommendationConfigItem getMemoryRequestRecommendationForNamespace(IntervalResultsColumns filteredResults, ArrayList<RecommendationNotification> notifications) {
         boolean setNotification = true;
         if (null == notifications) {
             LOGGER.error(KruizeConstants.ErrorMsgs.RecommendationErrorMsgs.EMPTY_NOTIFICATIONS_OBJECT);
@@ -415,30 +540,12 @@ public class GenericRecommendationModel implements RecommendationModel{
         RecommendationConfigItem recommendationConfigItem = null;
         String format = "";
 
-        List<Double> namespaceMemUsageList = new ArrayList<>();
-        for (IntervalResults intervalResults: filteredResultsMap.values()) {
-            JSONObject jsonObject = calculateNamespaceMemoryUsage(intervalResults);
-            Double namespaceMemUsage = jsonObject.getDouble(KruizeConstants.JSONKeys.MAX);
-            namespaceMemUsageList.add(namespaceMemUsage);
-        }
+        UsageBuffers usageBuffers = UsageBuffers.get(filteredResults.size());
+        fillNamespaceMemoryUsage(filteredResults, usageBuffers.min, usageBuffers.max);
+        fillMemorySpikes(filteredResults, AnalyzerConstants.MetricName.namespaceMemoryUsage,
+                AnalyzerConstants.MetricName.namespaceMemoryRSS, usageBuffers.spike);
 
-        List<Double> spikeList = filteredResultsMap.values()
-                .stream()
-                .map(GenericRecommendationModel::calculateIntervalSpikeForNamespace)
-                .collect(Collectors.toList());
-
-
-        // Add a buffer to the current usage max
-        Double namespaceMemRecUsage = CommonUtils.percentile(modelMemoryPercentile, namespaceMemUsageList);
-        Double namespaceMemRecUsageBuf = namespaceMemRecUsage + (namespaceMemRecUsage * MEM_USAGE_BUFFER_DECIMAL);
-
-        // Add a small buffer to the current usage spike max and add it to the current usage max
-        Double namespaceMemRecSpike = CommonUtils.percentile(modelMemoryPercentile, spikeList);
-        namespaceMemRecSpike += (namespaceMemRecSpike * MEM_SPIKE_BUFFER_DECIMAL);
-        Double namespaceMemRecSpikeBuf = namespaceMemRecUsage + namespaceMemRecSpike;
-
-        // We'll use the minimum of the above two values
-        Double namespaceMemRec = Math.min(namespaceMemRecUsageBuf, namespaceMemRecSpikeBuf);
+        Double namespaceMemRec = getMemoryRequest(usageBuffers.max, usageBuffers.spike, filteredResults.size(), modelMemoryPercentile);
 
         // Set notifications only if notification object is available
         if (setNotification && 0.0 == namespaceMemRec) {
@@ -448,46 +555,64 @@ public class GenericRecommendationModel implements RecommendationModel{
             return null;
         }
 
-        format = getFormatValue(filteredResultsMap, AnalyzerConstants.MetricName.namespaceMemoryUsage);
+        format = getFormatValue(filteredResults, AnalyzerConstants.MetricName.namespaceMemoryUsage);
 
         recommendationConfigItem = new RecommendationConfigItem(namespaceMemRec, format);
         return recommendationConfigItem;
     }
 
-    // helper function 1 nsp
-
-    private static double calculateIntervalSpikeForNamespace(IntervalResults intervalResults) {
-        Optional<MetricResults> namespaceMemoryUsageResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.namespaceMemoryUsage));
-        Optional<MetricResults> namespaceMemoryRSSResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.namespaceMemoryRSS));
-        double namespaceMemUsageMax = namespaceMemoryUsageResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-        double namespaceMemUsageMin = namespaceMemoryUsageResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
-        double namespaceMemRSSMax = namespaceMemoryRSSResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-        double namespaceMemRSSMin = namespaceMemoryRSSResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
-
-        return Math.max(Math.ceil(namespaceMemUsageMax - namespaceMemUsageMin), Math.ceil(namespaceMemRSSMax - namespaceMemRSSMin));
-    }
-
-    // helper function 2 nsp
+    // helper function nsp
     public static JSONObject calculateNamespaceMemoryUsage(IntervalResults intervalResults) {
-        // create a JSON object which should be returned here having two values, Math.max and Collections.Min
-        JSONObject jsonObject = new JSONObject();
-
-        Optional<MetricResults> namespaceMemoryUsageResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(AnalyzerConstants.MetricName.namespaceMemoryUsage));
+        return calculateNamespaceMemoryUsage(toColumns(intervalResults), 0);
+    }
 
-        double namespaceMemUsageMax = namespaceMemoryUsageResults.map(m -> m.getAggregationInfoResult().getMax()).orElse(0.0);
-        double namespaceMemUsageMin = namespaceMemoryUsageResults.map(m -> m.getAggregationInfoResult().getMin()).orElse(0.0);
+    public static JSONObject calculateNamespaceMemoryUsage(IntervalResultsColumns intervalResults, int index) {
+        JSONObject jsonObject = toMinMaxJSONObject(
+                getNamespaceMemoryUsageMin(intervalResults, index),
+                intervalResults.getValue(AnalyzerConstants.MetricName.namespaceMemoryUsage, Aggregation.max, index, 0.0));
+        LOGGER.debug("memRequestInterval : {}", jsonObject);
+        return jsonObject;
+    }
 
-        // traverse over a stream of positive values and find the minimum value
-        namespaceMemUsageMin = Stream.of(namespaceMemUsageMax, namespaceMemUsageMin)
-                .filter(value -> value > 0.0)
-                .min(Double::compare)
-                .orElse(0.0);
+    /**
+     * Fills the per interval min and max memory usage of a namespace
+     *
+     * @param filteredResults       interval results
+     * @param namespaceMemMinValues filled with the min usage, at least as long as the results
+     * @param namespaceMemMaxValues filled with the max usage, at least as long as the results
+     */
+    public static void fillNamespaceMemoryUsage(IntervalResultsColumns filteredResults, double[] namespaceMemMinValues, double[] namespaceMemMaxValues) {
+        for (int i = 0; i < filteredResults.size(); i++) {
+            namespaceMemMinValues[i] = getNamespaceMemoryUsageMin(filteredResults, i);
+            namespaceMemMaxValues[i] = filteredResults.getValue(AnalyzerConstants.MetricName.namespaceMemoryUsage, Aggregation.max, i, 0.0);
+        }
+    }
 
-        jsonObject.put(KruizeConstants.JSONKeys.MIN, namespaceMemUsageMin);
-        jsonObject.put(KruizeConstants.JSONKeys.MAX, namespaceMemUsageMax);
+    private static double getNamespaceMemoryUsageMin(IntervalResultsColumns filteredResults, int index) {
+        return minPositive(filteredResults.getValue(AnalyzerConstants.MetricName.namespaceMemoryUsage, Aggregation.max, index, 0.0),
+                filteredResults.getValue(AnalyzerConstants.MetricName.namespaceMemoryUsage, Aggregation.min, index, 0.0));
+    }
 
-        LOGGER.debug("memRequestInterval : {}", jsonObject);
-        return jsonObject;
+    /**
+     * Per thread buffers holding the per interval values of the request computations, grown on demand so the
+     * computation doesn't allocate for every term, model and container
+     */
+    private static final class UsageBuffers {
+        private static final ThreadLocal<UsageBuffers> BUFFERS = ThreadLocal.withInitial(UsageBuffers::new);
+
+        private double[] min = new double[0];
+        private double[] max = new double[0];
+        private double[] spike = new double[0];
+
+        static UsageBuffers get(int size) {
+            UsageBuffers usageBuffers = BUFFERS.get();
+            if (usageBuffers.max.length < size) {
+                usageBuffers.min = new double[size];
+                usageBuffers.max = new double[size];
+                usageBuffers.spike = new double[size];
+            }
+            return usageBuffers;
+        }
     }
 
 
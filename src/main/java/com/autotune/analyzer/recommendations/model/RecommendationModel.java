@@ -2,8 +2,10 @@ package com.autotune.analyzer.recommendations.model;
 
 import com.autotune.analyzer.recommendations.RecommendationConfigItem;
 import com.autotune.analyzer.recommendations.RecommendationNotification;
+import com.autotune.analyzer.recommendations.term.TermAggregates;
 import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.common.data.result.IntervalResults;
+import com.autotune.common.data.result.IntervalResultsColumns;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -18,6 +20,16 @@ public interface RecommendationModel {
     // get namespace recommendations for Memory Request
     RecommendationConfigItem getMemoryRequestRecommendationForNamespace(Map<Timestamp, IntervalResults> filteredResultsMap, ArrayList<RecommendationNotification> notifications);
 
+    // columnar variants of the above, used when the results are already held as columns
+    RecommendationConfigItem getCPURequestRecommendation(IntervalResultsColumns filteredResults, ArrayList<RecommendationNotification> notifications);
+    RecommendationConfigItem getMemoryRequestRecommendation(IntervalResultsColumns filteredResults, ArrayList<RecommendationNotification> notifications);
+    RecommendationConfigItem getCPURequestRecommendationForNamespace(IntervalResultsColumns filteredResults, ArrayList<RecommendationNotification> notifications);
+    RecommendationConfigItem getMemoryRequestRecommendationForNamespace(IntervalResultsColumns filteredResults, ArrayList<RecommendationNotification> notifications);
+
+    // variants reading a term of a container from its incremental term state
+    RecommendationConfigItem getCPURequestRecommendation(TermAggregates.Window termWindow, ArrayList<RecommendationNotification> notifications);
+    RecommendationConfigItem getMemoryRequestRecommendation(TermAggregates.Window termWindow, ArrayList<RecommendationNotification> notifications);
+
     Map<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> getAcceleratorRequestRecommendation(Map<Timestamp, IntervalResults> filteredResultsMap, ArrayList<RecommendationNotification> notifications);
 
     // CPU and Memory Limit recommendation methods with ratio-based calculation
@@ -0,0 +1,549 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.analyzer.recommendations.term;
+
+import com.autotune.analyzer.recommendations.RecommendationConstants;
+import com.autotune.analyzer.recommendations.model.GenericRecommendationModel;
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.common.data.result.IntervalResultsColumns;
+import com.autotune.common.utils.PercentileSketch;
+import com.autotune.common.utils.PercentileUtils;
+import com.autotune.operator.KruizeDeploymentInfo;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Incremental per container state of the term computations.
+ * <p>
+ * Holds the per interval values the recommendation models work on (cpu and memory usage max, memory spike and pod
+ * count) for the intervals of the longest term, computed once when an interval is first folded in. The intervals are
+ * grouped in day buckets keeping their maxima and a {@link PercentileSketch} of each value, so the maxima of a term
+ * are read from its buckets, only the intervals of the buckets partly in the term are scanned. Terms of at least
+ * termPercentileSketchMinDays days merge the sketches of their buckets for their percentiles, shorter ones select
+ * them exactly from the interval values.
+ * <p>
+ * Each refresh folds in the intervals of the results newer than the latest one retained and evicts the ones that
+ * fell out of the longest term. The results are checked against the state first: the intervals overlapping the
+ * retained ones must be the same intervals with the same values, compared through their content hashes, else the
+ * state is rebuilt from the results. This catches late results as well as results whose values changed, e.g.
+ * fetched again from a datasource.
+ * <p>
+ * States are kept in memory per experiment and container, at most termAggregatesMaxContainers of them, the least
+ * recently used ones are dropped first. A state missing after a restart or dropped is rebuilt from the results of
+ * the next refresh.
+ */
+public class TermAggregates {
+    private static final long BUCKET_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int INITIAL_CAPACITY = 128;
+    private static final String KEY_SEPARATOR = "\u0000";
+    private static final LinkedHashMap<String, TermAggregates> STATES = new LinkedHashMap<>(16, 0.75f, true);
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[0]);
+
+    // retained intervals are at positions [first, last), ordered by end time
+    private long[] endTimes = new long[INITIAL_CAPACITY];
+    private double[] cpuUsageMaxValues = new double[INITIAL_CAPACITY];
+    private double[] memoryUsageMaxValues = new double[INITIAL_CAPACITY];
+    private double[] memorySpikeValues = new double[INITIAL_CAPACITY];
+    private double[] podCounts = new double[INITIAL_CAPACITY];
+    // running sums of the interval content hashes, up to and including each position
+    private long[] contentHashSums = new long[INITIAL_CAPACITY];
+    // running sum of the content hashes before the first retained interval
+    private long evictedContentHashSum;
+    private int first;
+    private int last;
+    // every interval of the folded results ending at or after this time is retained
+    private long retainedFrom = Long.MIN_VALUE;
+    // day buckets of the retained intervals, ordered by start time
+    private final List<Bucket> buckets = new ArrayList<>();
+    private String cpuFormat = "";
+    private String memoryFormat = "";
+    // intervals folded in since the state was created, rebuilds included
+    private long foldedCount;
+
+    /**
+     * @return the state of the container, created empty when there is none, null when termAggregatesMaxContainers
+     * is 0
+     */
+    public static TermAggregates get(String experimentName, String containerName) {
+        int maxContainers = (null == KruizeDeploymentInfo.term_aggregates_max_containers) ? 0
+                : KruizeDeploymentInfo.term_aggregates_max_containers;
+        if (maxContainers <= 0)
+            return null;
+        synchronized (STATES) {
+            TermAggregates termAggregates = STATES.computeIfAbsent(experimentName + KEY_SEPARATOR + containerName,
+                    key -> new TermAggregates());
+            Iterator<String> eldest = STATES.keySet().iterator();
+            while (STATES.size() > maxContainers && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+            return termAggregates;
+        }
+    }
+
+    /**
+     * Drops the states of all containers of the experiment
+     */
+    public static void remove(String experimentName) {
+        String prefix = experimentName + KEY_SEPARATOR;
+        synchronized (STATES) {
+            STATES.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Folds in the intervals of the results newer than the latest retained one, then evicts the intervals ending
+     * before the given time. The state is rebuilt from the results when the ones overlapping the retained
+     * intervals don't match them.
+     *
+     * @param results      interval results of the container
+     * @param retainedFrom start of the longest term
+     */
+    public synchronized void update(IntervalResultsColumns results, Timestamp retainedFrom) {
+        if (results.isEmpty())
+            return;
+        if (!isEmpty() && !matchesRetained(results))
+            reset();
+        IntervalResultsColumns newResults = isEmpty() ? results
+                : results.subRange(new Timestamp(endTimes[last - 1]), false,
+                new Timestamp(results.getIntervalEndTime(results.size() - 1)), true);
+        if (!newResults.isEmpty())
+            fold(newResults);
+        cpuFormat = getFormat(results, AnalyzerConstants.MetricName.cpuUsage, cpuFormat);
+        memoryFormat = getFormat(results, AnalyzerConstants.MetricName.memoryUsage, memoryFormat);
+        evictBefore(retainedFrom.getTime());
+    }
+
+    /**
+     * @param startTime window start, inclusive
+     * @param endTime   window end, inclusive
+     * @param days      days of the term the window is read for
+     * @return view of the retained intervals of the window
+     */
+    public Window getWindow(Timestamp startTime, Timestamp endTime, int days) {
+        Integer sketchMinDays = KruizeDeploymentInfo.term_percentile_sketch_min_days;
+        boolean sketched = null != sketchMinDays && sketchMinDays > 0 && days >= sketchMinDays;
+        return new Window(startTime.getTime(), endTime.getTime(), sketched);
+    }
+
+    public synchronized int size() {
+        return last - first;
+    }
+
+    public synchronized boolean isEmpty() {
+        return first == last;
+    }
+
+    /**
+     * @return number of day buckets the retained intervals fall in
+     */
+    synchronized int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * @return number of intervals folded in since the state was created
+     */
+    synchronized long getFoldedCount() {
+        return foldedCount;
+    }
+
+    /**
+     * The results from the retained start on must hold exactly the retained intervals up to the latest one, with
+     * the same values
+     */
+    private boolean matchesRetained(IntervalResultsColumns results) {
+        long latest = endTimes[last - 1];
+        if (results.getIntervalEndTime(results.size() - 1) < latest)
+            return false;
+        long from = Math.max(retainedFrom, results.getIntervalEndTime(0));
+        IntervalResultsColumns overlap = results.subRange(new Timestamp(from), true, new Timestamp(latest), true);
+        int position = lowerBound(from);
+        return overlap.size() == last - position
+                && overlap.getContentHash() == contentHashSums[last - 1] - getContentHashSumBefore(position);
+    }
+
+    private void fold(IntervalResultsColumns newResults) {
+        int count = newResults.size();
+        double[] cpuUsageMinValues = new double[count];
+        double[] newCpuUsageMaxValues = new double[count];
+        double[] memoryUsageMinValues = new double[count];
+        double[] newMemoryUsageMaxValues = new double[count];
+        double[] newMemorySpikeValues = new double[count];
+        GenericRecommendationModel.fillCPUUsage(newResults, cpuUsageMinValues, newCpuUsageMaxValues);
+        GenericRecommendationModel.fillMemoryUsage(newResults, memoryUsageMinValues, newMemoryUsageMaxValues);
+        GenericRecommendationModel.fillMemorySpikes(newResults, newMemorySpikeValues);
+
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            long endTime = newResults.getIntervalEndTime(i);
+            endTimes[last] = endTime;
+            cpuUsageMaxValues[last] = newCpuUsageMaxValues[i];
+            memoryUsageMaxValues[last] = newMemoryUsageMaxValues[i];
+            memorySpikeValues[last] = newMemorySpikeValues[i];
+            podCounts[last] = getPodCount(newResults, i);
+            contentHashSums[last] = getContentHashSumBefore(last) + newResults.getContentHash(i);
+
+            long bucketStart = Math.floorDiv(endTime, BUCKET_MILLIS) * BUCKET_MILLIS;
+            Bucket bucket = buckets.isEmpty() ? null : buckets.get(buckets.size() - 1);
+            if (null == bucket || bucket.start != bucketStart) {
+                bucket = new Bucket(bucketStart, last);
+                buckets.add(bucket);
+            }
+            bucket.add(last);
+            last++;
+        }
+        foldedCount += count;
+    }
+
+    private void evictBefore(long time) {
+        retainedFrom = Math.max(retainedFrom, time);
+        int evicted = lowerBound(time);
+        if (evicted == first)
+            return;
+        if (evicted == last) {
+            reset();
+            retainedFrom = time;
+            return;
+        }
+        evictedContentHashSum = contentHashSums[evicted - 1];
+        first = evicted;
+        while (buckets.get(0).to <= first) {
+            buckets.remove(0);
+        }
+        Bucket bucket = buckets.get(0);
+        if (bucket.from < first) {
+            bucket.from = first;
+            bucket.trimmed = true;
+        }
+    }
+
+    private void reset() {
+        first = 0;
+        last = 0;
+        evictedContentHashSum = 0;
+        retainedFrom = Long.MIN_VALUE;
+        buckets.clear();
+    }
+
+    private long getContentHashSumBefore(int position) {
+        return (position == first) ? evictedContentHashSum : contentHashSums[position - 1];
+    }
+
+    private void ensureCapacity(int count) {
+        if (last + count <= endTimes.length)
+            return;
+        int size = last - first;
+        // compact in place while at most half of the capacity is retained, grow otherwise
+        int capacity = endTimes.length;
+        while (size + count > capacity / 2) {
+            capacity *= 2;
+        }
+        endTimes = move(endTimes, capacity);
+        contentHashSums = move(contentHashSums, capacity);
+        cpuUsageMaxValues = move(cpuUsageMaxValues, capacity);
+        memoryUsageMaxValues = move(memoryUsageMaxValues, capacity);
+        memorySpikeValues = move(memorySpikeValues, capacity);
+        podCounts = move(podCounts, capacity);
+        for (Bucket bucket : buckets) {
+            bucket.from -= first;
+            bucket.to -= first;
+        }
+        first = 0;
+        last = size;
+    }
+
+    private long[] move(long[] values, int capacity) {
+        long[] moved = (capacity == values.length) ? values : new long[capacity];
+        System.arraycopy(values, first, moved, 0, last - first);
+        return moved;
+    }
+
+    private double[] move(double[] values, int capacity) {
+        double[] moved = (capacity == values.length) ? values : new double[capacity];
+        System.arraycopy(values, first, moved, 0, last - first);
+        return moved;
+    }
+
+    // first retained position with an end time at or after the given time
+    private int lowerBound(long time) {
+        int low = first;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (endTimes[mid] < time)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    // first retained position with an end time after the given time
+    private int upperBound(long time) {
+        int low = first;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (endTimes[mid] <= time)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    // index of the first bucket holding intervals at or after the given position
+    private int bucketIndex(int position) {
+        int low = 0;
+        int high = buckets.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buckets.get(mid).to <= position)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Max of the values at the positions [from, to), read from the buckets wholly in the range and scanned in the
+     * others
+     */
+    private double max(int from, int to, double[] values, ToDoubleFunction<Bucket> bucketMax) {
+        if (from == to)
+            return 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int index = bucketIndex(from); index < buckets.size() && buckets.get(index).from < to; index++) {
+            Bucket bucket = buckets.get(index);
+            if (bucket.isWithin(from, to)) {
+                max = Math.max(max, bucketMax.applyAsDouble(bucket));
+                continue;
+            }
+            for (int i = Math.max(bucket.from, from); i < Math.min(bucket.to, to); i++) {
+                max = Math.max(max, values[i]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Percentile of the values at the positions [from, to), from the sketches of the buckets wholly in the range
+     * merged with the values of the others
+     */
+    private double sketchPercentile(int from, int to, double[] values, Function<Bucket, PercentileSketch> bucketSketch,
+                                    double percentile) {
+        PercentileSketch sketch = new PercentileSketch(RecommendationConstants.RecommendationValueConstants.PERCENTILE_SKETCH_RELATIVE_ACCURACY);
+        for (int index = bucketIndex(from); index < buckets.size() && buckets.get(index).from < to; index++) {
+            Bucket bucket = buckets.get(index);
+            if (bucket.isWithin(from, to)) {
+                sketch.merge(bucketSketch.apply(bucket));
+                continue;
+            }
+            for (int i = Math.max(bucket.from, from); i < Math.min(bucket.to, to); i++) {
+                sketch.add(values[i]);
+            }
+        }
+        return sketch.getPercentile(percentile);
+    }
+
+    /**
+     * Percentile of the values at the positions [from, to), selected from a copy of them
+     */
+    private static double percentile(int from, int to, double[] values, double percentile) {
+        int length = to - from;
+        double[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new double[length];
+            SCRATCH.set(scratch);
+        }
+        System.arraycopy(values, from, scratch, 0, length);
+        return PercentileUtils.percentile(percentile, scratch, length);
+    }
+
+    /**
+     * Pods of the interval, from the sum and avg of the cpu usage
+     */
+    private static double getPodCount(IntervalResultsColumns results, int index) {
+        double cpuUsageSum = results.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.sum, index, 0.0);
+        double cpuUsageAvg = results.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.avg, index, 0.0);
+        if (0 == cpuUsageAvg)
+            return 0;
+        return (int) Math.ceil(cpuUsageSum / cpuUsageAvg);
+    }
+
+    private static String getFormat(IntervalResultsColumns results, AnalyzerConstants.MetricName metricName, String current) {
+        if (!current.isEmpty())
+            return current;
+        String format = results.getFormat(metricName);
+        return (null == format) ? current : format;
+    }
+
+    /**
+     * Intervals of the retained ones falling in a day, with their maxima and sketches
+     */
+    private final class Bucket {
+        private final long start;
+        // positions of the intervals of the bucket, [from, to)
+        private int from;
+        private int to;
+        // intervals were evicted from the bucket, its maxima no longer match its positions
+        private boolean trimmed;
+        private double cpuUsageMax = Double.NEGATIVE_INFINITY;
+        private double podMax = Double.NEGATIVE_INFINITY;
+        private final PercentileSketch cpuUsageSketch = newSketch();
+        private final PercentileSketch memoryUsageSketch = newSketch();
+        private final PercentileSketch memorySpikeSketch = newSketch();
+
+        private Bucket(long start, int from) {
+            this.start = start;
+            this.from = from;
+            this.to = from;
+        }
+
+        private void add(int position) {
+            cpuUsageMax = Math.max(cpuUsageMax, cpuUsageMaxValues[position]);
+            podMax = Math.max(podMax, podCounts[position]);
+            cpuUsageSketch.add(cpuUsageMaxValues[position]);
+            memoryUsageSketch.add(memoryUsageMaxValues[position]);
+            memorySpikeSketch.add(memorySpikeValues[position]);
+            to = position + 1;
+        }
+
+        private PercentileSketch newSketch() {
+            return new PercentileSketch(RecommendationConstants.RecommendationValueConstants.PERCENTILE_SKETCH_RELATIVE_ACCURACY);
+        }
+
+        private boolean isWithin(int from, int to) {
+            return !trimmed && this.from >= from && this.to <= to;
+        }
+    }
+
+    /**
+     * Intervals of a term, read from the state it was taken from
+     */
+    public final class Window {
+        private final long startTime;
+        private final long endTime;
+        // percentiles are read from the bucket sketches rather than selected from the interval values
+        private final boolean sketched;
+
+        private Window(long startTime, long endTime, boolean sketched) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.sketched = sketched;
+        }
+
+        public int size() {
+            synchronized (TermAggregates.this) {
+                return to() - from();
+            }
+        }
+
+        public boolean isEmpty() {
+            return 0 == size();
+        }
+
+        /**
+         * @return largest per interval cpu usage of the window, 0 when it is empty
+         */
+        public double getCpuUsageMax() {
+            synchronized (TermAggregates.this) {
+                return max(from(), to(), cpuUsageMaxValues, bucket -> bucket.cpuUsageMax);
+            }
+        }
+
+        /**
+         * @return largest pod count of the window, 0 when it is empty
+         */
+        public int getPodsCount() {
+            synchronized (TermAggregates.this) {
+                return (int) Math.ceil(max(from(), to(), podCounts, bucket -> bucket.podMax));
+            }
+        }
+
+        /**
+         * @return true if the percentiles are read from sketches, within their relative accuracy of the exact ones
+         */
+        public boolean isSketched() {
+            return sketched;
+        }
+
+        /**
+         * @param percentile percentile in the 0 - 100 range
+         * @return percentile of the per interval cpu usage max, 0 when the window is empty
+         */
+        public double getCpuUsagePercentile(double percentile) {
+            synchronized (TermAggregates.this) {
+                if (sketched)
+                    return sketchPercentile(from(), to(), cpuUsageMaxValues, bucket -> bucket.cpuUsageSketch, percentile);
+                return percentile(from(), to(), cpuUsageMaxValues, percentile);
+            }
+        }
+
+        /**
+         * @param percentile percentile in the 0 - 100 range
+         * @return percentile of the per interval memory usage max, 0 when the window is empty
+         */
+        public double getMemoryUsagePercentile(double percentile) {
+            synchronized (TermAggregates.this) {
+                if (sketched)
+                    return sketchPercentile(from(), to(), memoryUsageMaxValues, bucket -> bucket.memoryUsageSketch, percentile);
+                return percentile(from(), to(), memoryUsageMaxValues, percentile);
+            }
+        }
+
+        /**
+         * @param percentile percentile in the 0 - 100 range
+         * @return percentile of the per interval memory spikes, 0 when the window is empty
+         */
+        public double getMemorySpikePercentile(double percentile) {
+            synchronized (TermAggregates.this) {
+                if (sketched)
+                    return sketchPercentile(from(), to(), memorySpikeValues, bucket -> bucket.memorySpikeSketch, percentile);
+                return percentile(from(), to(), memorySpikeValues, percentile);
+            }
+        }
+
+        public String getCpuFormat() {
+            synchronized (TermAggregates.this) {
+                return cpuFormat;
+            }
+        }
+
+        public String getMemoryFormat() {
+            synchronized (TermAggregates.this) {
+                return memoryFormat;
+            }
+        }
+
+        private int from() {
+            return lowerBound(startTime);
+        }
+
+        private int to() {
+            return Math.max(from(), upperBound(endTime));
+        }
+    }
+}
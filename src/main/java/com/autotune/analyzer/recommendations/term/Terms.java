@@ -1,8 +1,8 @@
 package com.autotune.analyzer.recommendations.term;
 
 import com.autotune.analyzer.recommendations.objects.TermRecommendations;
-import com.autotune.common.data.result.ContainerData;
 import com.autotune.common.data.result.IntervalResults;
+import com.autotune.common.data.result.IntervalResultsColumns;
 import com.autotune.common.data.result.NamespaceData;
 import com.autotune.utils.KruizeConstants;
 import org.slf4j.Logger;
@@ -71,10 +71,10 @@ public class Terms {
         return maxTerms.map(term -> term.days).orElse(0); // Return the max days or 0 if terms is empty
     }
 
-    public static boolean checkIfMinDataAvailableForTerm(ContainerData containerData, Terms term, Timestamp monitoringEndTime,
+    public static boolean checkIfMinDataAvailableForTerm(IntervalResultsColumns containerResults, Terms term, Timestamp monitoringEndTime,
                                                          double measurementDuration) {
         // Check if data is available
-        if (null == containerData || null == containerData.getResults() || containerData.getResults().isEmpty()) {
+        if (null == containerResults || containerResults.isEmpty()) {
             return false;
         }
 
@@ -89,9 +89,9 @@ public class Terms {
                 for (LocalDateTime current = monitoringEndTime.toLocalDateTime(); current.isAfter(monitoringStartDateTime); current = current.minusSeconds((long) durationInSeconds)) {
                     Timestamp currentTimestamp = Timestamp.valueOf(current);
 
-                    // Check if the current timestamp exists in the resultsMap or within the tolerance range
-                    Double diffInSec = getTimestampWithinTolerance(currentTimestamp, containerData.getResults().keySet(), thresholdInMillis);
-                    if (containerData.getResults().containsKey(currentTimestamp) || diffInSec != null) {
+                    // Check if the current timestamp exists in the results or within the tolerance range
+                    Double diffInSec = getTimestampWithinTolerance(currentTimestamp, containerResults, thresholdInMillis);
+                    if (diffInSec != null) {
                         // If there's a change in the timestamp within the threshold value, add the difference in the duration
                         if (diffInSec != null) {
                             durationInSeconds += diffInSec;
@@ -199,19 +199,35 @@ public class Terms {
         return null;
     }
 
-    public static double getDurationSummation(ContainerData containerData) {
+    // nearest interval end time within the tolerance, the results are sorted by end time
+    private static Double getTimestampWithinTolerance(Timestamp currentTimestamp, IntervalResultsColumns results, long toleranceInMillis) {
+        long currentTime = currentTimestamp.getTime();
+        IntervalResultsColumns withinTolerance = results.subRange(new Timestamp(currentTime - toleranceInMillis), true,
+                new Timestamp(currentTime + toleranceInMillis), true);
+        Long timeDiff = null;
+        for (int i = 0; i < withinTolerance.size(); i++) {
+            long diff = currentTime - withinTolerance.getIntervalEndTime(i);
+            if (null == timeDiff || Math.abs(diff) < Math.abs(timeDiff))
+                timeDiff = diff;
+        }
+        return (null == timeDiff) ? null : (double) (timeDiff / KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC);
+    }
+
+    public static double getDurationSummation(IntervalResultsColumns containerResults) {
         // Loop over the data to check if there is min data available
         double sum = 0.0;
-        for (IntervalResults intervalResults : containerData.getResults().values()) {
-            sum = sum + intervalResults.getDurationInMinutes();
+        for (int i = 0; i < containerResults.size(); i++) {
+            double durationInMinutes = containerResults.getDurationInMinutes(i);
+            if (!Double.isNaN(durationInMinutes))
+                sum = sum + durationInMinutes;
         }
         return sum;
     }
 
-    public static void setDurationBasedOnTerm(ContainerData containerDataKruizeObject, TermRecommendations
+    public static void setDurationBasedOnTerm(IntervalResultsColumns containerResults, TermRecommendations
             mappedRecommendationForTerm, String recommendationTerm) {
 
-        double durationSummation = getDurationSummation(containerDataKruizeObject);
+        double durationSummation = getDurationSummation(containerResults);
         // Get the maximum duration allowed for the term
         double maxDurationInHours = getMaxDuration(recommendationTerm);
         double maxDurationInMinutes = maxDurationInHours * KruizeConstants.TimeConv.NO_OF_MINUTES_PER_HOUR;
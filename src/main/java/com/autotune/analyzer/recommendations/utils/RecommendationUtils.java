@@ -8,15 +8,17 @@ import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.common.data.metrics.MetricResults;
 import com.autotune.common.data.result.ContainerData;
 import com.autotune.common.data.result.IntervalResults;
+import com.autotune.common.data.result.IntervalResultsColumns;
 import com.autotune.common.data.system.info.device.ContainerDeviceList;
 import com.autotune.common.data.system.info.device.accelerator.NvidiaAcceleratorDeviceData;
 import com.autotune.common.data.system.info.device.accelerator.metadata.AcceleratorMetaDataService;
 import com.autotune.common.data.system.info.device.accelerator.metadata.AcceleratorProfile;
 import com.autotune.common.datasource.DataSourceInfo;
+import com.autotune.common.datasource.prometheus.PrometheusQueryResult;
+import com.autotune.common.datasource.prometheus.PrometheusSeries;
 import com.autotune.utils.GenericRestApiClient;
 import com.autotune.utils.KruizeConstants;
 import com.google.gson.*;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,19 +37,16 @@ import static com.autotune.analyzer.utils.AnalyzerConstants.ServiceConstants.CHA
 public class RecommendationUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(RecommendationUtils.class);
 
-    public static RecommendationConfigItem getCurrentValue(Map<Timestamp, IntervalResults> filteredResultsMap,
+    public static RecommendationConfigItem getCurrentValue(IntervalResultsColumns containerResults,
                                                            Timestamp timestampToExtract,
                                                            AnalyzerConstants.ResourceSetting resourceSetting,
                                                            AnalyzerConstants.RecommendationItem recommendationItem,
                                                            ArrayList<RecommendationConstants.RecommendationNotification> notifications) {
         Double currentValue = null;
         String format = null;
-        RecommendationConfigItem recommendationConfigItem = null;
         AnalyzerConstants.MetricName metricName = null;
-        for (Timestamp timestamp : filteredResultsMap.keySet()) {
-            if (!timestamp.equals(timestampToExtract))
-                continue;
-            IntervalResults intervalResults = filteredResultsMap.get(timestamp);
+        IntervalResultsColumns intervalResults = containerResults.subRange(timestampToExtract, true, timestampToExtract, true);
+        if (!intervalResults.isEmpty()) {
             if (resourceSetting == AnalyzerConstants.ResourceSetting.requests) {
                 if (recommendationItem == AnalyzerConstants.RecommendationItem.CPU)
                     metricName = AnalyzerConstants.MetricName.cpuRequest;
@@ -61,10 +60,10 @@ public class RecommendationUtils {
                     metricName = AnalyzerConstants.MetricName.memoryLimit;
             }
             if (null != metricName) {
-                if (intervalResults.getMetricResultsMap().containsKey(metricName)) {
-                    Optional<MetricResults> metricResults = Optional.ofNullable(intervalResults.getMetricResultsMap().get(metricName));
-                    currentValue = metricResults.map(m -> m.getAggregationInfoResult().getAvg()).orElse(null);
-                    format = metricResults.map(m -> m.getAggregationInfoResult().getFormat()).orElse(null);
+                double value = intervalResults.getValue(metricName, IntervalResultsColumns.Aggregation.avg, 0);
+                if (!Double.isNaN(value)) {
+                    currentValue = value;
+                    format = intervalResults.getFormat(metricName);
                 }
                 if (null == currentValue) {
                     setNotificationsFor(resourceSetting, recommendationItem, notifications);
@@ -187,19 +186,15 @@ public class RecommendationUtils {
         LOGGER.debug(dateMetricsUrl);
         GenericRestApiClient client = new GenericRestApiClient(dataSourceInfo);
         client.setBaseURL(dateMetricsUrl);
-        JSONObject genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-        JsonObject jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-        JsonArray resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
+        PrometheusQueryResult queryResult = client.fetchPrometheusQueryResult(KruizeConstants.APIMessages.GET, "");
 
-        if (null == resultArray || resultArray.isEmpty()) {
+        if (queryResult.isEmpty()) {
             // Need to alert that container max duration is not detected
             // Ignoring it here, as we take care of it at generate recommendations
             return false;
         }
 
-        resultArray = resultArray.get(0)
-                .getAsJsonObject().getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.VALUE);
-        long epochTime = resultArray.get(0).getAsLong();
+        long epochTime = queryResult.getSeries().get(0).getTimestamp(0);
         String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
         Date date = sdf.parse(timestamp);
         Timestamp dateTS = new Timestamp(date.getTime());
@@ -227,35 +222,23 @@ public class RecommendationUtils {
                     measurementDurationMinutesInDouble.intValue() * KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE);
             LOGGER.debug(podMetricsUrl);
             client.setBaseURL(podMetricsUrl);
-            genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-
-            jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-            resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
-
-            if (null != resultArray && !resultArray.isEmpty()) {
-                for (JsonElement result : resultArray) {
-                    JsonObject resultObject = result.getAsJsonObject();
-                    JsonArray valuesArray = resultObject.getAsJsonArray(KruizeConstants.DataSourceConstants
-                            .DataSourceQueryJSONKeys.VALUES);
-
-                    for (JsonElement element : valuesArray) {
-                        JsonArray valueArray = element.getAsJsonArray();
-                        double value = valueArray.get(1).getAsDouble();
-                        // TODO: Check for non-zero values to mark as GPU workload
-                        break;
-                    }
+            queryResult = client.fetchPrometheusQueryResult(KruizeConstants.APIMessages.GET, "");
+
+            if (!queryResult.isEmpty()) {
+                for (PrometheusSeries series : queryResult.getSeries()) {
+                    // TODO: Check for non-zero values to mark as GPU workload
 
-                    JsonObject metricObject = resultObject.getAsJsonObject(KruizeConstants.JSONKeys.METRIC);
-                    String modelName = metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME).getAsString();
+                    Map<String, String> metricObject = series.getLabels();
+                    String modelName = metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME);
                     if (null == modelName)
                         continue;
 
                     boolean isSupportedMig = checkIfModelIsKruizeSupportedMIG(modelName);
                     if (isSupportedMig) {
-                        NvidiaAcceleratorDeviceData acceleratorDeviceData = new NvidiaAcceleratorDeviceData(metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME).getAsString(),
-                                metricObject.get(KruizeConstants.JSONKeys.HOSTNAME).getAsString(),
-                                metricObject.get(KruizeConstants.JSONKeys.UUID).getAsString(),
-                                metricObject.get(KruizeConstants.JSONKeys.DEVICE).getAsString(),
+                        NvidiaAcceleratorDeviceData acceleratorDeviceData = new NvidiaAcceleratorDeviceData(modelName,
+                                metricObject.get(KruizeConstants.JSONKeys.HOSTNAME),
+                                metricObject.get(KruizeConstants.JSONKeys.UUID),
+                                metricObject.get(KruizeConstants.JSONKeys.DEVICE),
                                 null, isSupportedMig, false);
 
 
@@ -311,19 +294,15 @@ public class RecommendationUtils {
         LOGGER.debug(dateMetricsUrl);
         GenericRestApiClient client = new GenericRestApiClient(dataSourceInfo);
         client.setBaseURL(dateMetricsUrl);
-        JSONObject genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-        JsonObject jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-        JsonArray resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
+        PrometheusQueryResult queryResult = client.fetchPrometheusQueryResult(KruizeConstants.APIMessages.GET, "");
 
-        if (null == resultArray || resultArray.isEmpty()) {
+        if (queryResult.isEmpty()) {
             // Need to alert that container max duration is not detected
             // Ignoring it here, as we take care of it at generate recommendations
             return false;
         }
 
-        resultArray = resultArray.get(0)
-                .getAsJsonObject().getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.VALUE);
-        long epochTime = resultArray.get(0).getAsLong();
+        long epochTime = queryResult.getSeries().get(0).getTimestamp(0);
         String timestamp = sdf.format(new Date(epochTime * KruizeConstants.TimeConv.NO_OF_MSECS_IN_SEC));
         Date date = sdf.parse(timestamp);
         Timestamp dateTS = new Timestamp(date.getTime());
@@ -349,37 +328,25 @@ public class RecommendationUtils {
                     measurementDurationMinutesInDouble.intValue() * KruizeConstants.TimeConv.NO_OF_SECONDS_PER_MINUTE);
             LOGGER.debug(podMetricsUrl);
             client.setBaseURL(podMetricsUrl);
-            genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-
-            jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-            resultArray = jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
-
-            if (null != resultArray && !resultArray.isEmpty()) {
-                for (JsonElement result : resultArray) {
-                    JsonObject resultObject = result.getAsJsonObject();
-                    JsonArray valuesArray = resultObject.getAsJsonArray(KruizeConstants.DataSourceConstants
-                            .DataSourceQueryJSONKeys.VALUES);
-
-                    for (JsonElement element : valuesArray) {
-                        JsonArray valueArray = element.getAsJsonArray();
-                        double value = valueArray.get(1).getAsDouble();
-                        // TODO: Check for non-zero values to mark as GPU workload
-                        break;
-                    }
+            queryResult = client.fetchPrometheusQueryResult(KruizeConstants.APIMessages.GET, "");
+
+            if (!queryResult.isEmpty()) {
+                for (PrometheusSeries series : queryResult.getSeries()) {
+                    // TODO: Check for non-zero values to mark as GPU workload
 
-                    JsonObject metricObject = resultObject.getAsJsonObject(KruizeConstants.JSONKeys.METRIC);
-                    String modelName = metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME).getAsString();
-                    String profile = metricObject.get(KruizeConstants.JSONKeys.GPU_PROFILE).getAsString();
+                    Map<String, String> metricObject = series.getLabels();
+                    String modelName = metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME);
+                    String profile = metricObject.get(KruizeConstants.JSONKeys.GPU_PROFILE);
                     System.out.println("GPU MIG Profile: " + profile);
                     if (null == modelName)
                         continue;
 
                     boolean isSupportedMig = checkIfModelIsKruizeSupportedMIG(modelName);
                     if (isSupportedMig) {
-                        NvidiaAcceleratorDeviceData acceleratorDeviceData = new NvidiaAcceleratorDeviceData(metricObject.get(KruizeConstants.JSONKeys.MODEL_NAME).getAsString(),
-                                metricObject.get(KruizeConstants.JSONKeys.HOSTNAME).getAsString(),
-                                metricObject.get(KruizeConstants.JSONKeys.UUID).getAsString(),
-                                metricObject.get(KruizeConstants.JSONKeys.DEVICE).getAsString(),
+                        NvidiaAcceleratorDeviceData acceleratorDeviceData = new NvidiaAcceleratorDeviceData(modelName,
+                                metricObject.get(KruizeConstants.JSONKeys.HOSTNAME),
+                                metricObject.get(KruizeConstants.JSONKeys.UUID),
+                                metricObject.get(KruizeConstants.JSONKeys.DEVICE),
                                 profile,
                                 isSupportedMig,
                                 true);
@@ -420,25 +387,9 @@ public class RecommendationUtils {
         return A100_CHECK || H100_CHECK;
     }
 
-    public static Timestamp getNearestTimestamp(HashMap<Timestamp, IntervalResults> containerDataResults, Timestamp targetTime, int minutesRange) {
+    public static Timestamp getNearestTimestamp(IntervalResultsColumns.Builder containerResults, Timestamp targetTime, int minutesRange) {
         long rangeInMillis = (long) minutesRange * 60 * 1000;
-        long targetTimeMillis = targetTime.getTime();
-
-        Timestamp nearestTimestamp = null;
-        long nearestDistance = Long.MAX_VALUE;
-
-        for (Map.Entry<Timestamp, IntervalResults> entry : containerDataResults.entrySet()) {
-            Timestamp currentTimestamp = entry.getKey();
-            long currentTimeMillis = currentTimestamp.getTime();
-            long distance = Math.abs(targetTimeMillis - currentTimeMillis);
-
-            if (distance <= rangeInMillis && distance < nearestDistance) {
-                nearestDistance = distance;
-                nearestTimestamp = currentTimestamp;
-            }
-        }
-
-        return nearestTimestamp;
+        return containerResults.getNearestIntervalEndTime(targetTime.getTime(), rangeInMillis);
     }
 
     public static HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> getMapWithOptimalProfile(
@@ -15,20 +15,29 @@
  *******************************************************************************/
 package com.autotune.analyzer.services;
 
+import com.autotune.analyzer.kruizeObject.KruizeObject;
 import com.autotune.analyzer.serviceObjects.BulkInput;
 import com.autotune.analyzer.serviceObjects.BulkJobStatus;
+import com.autotune.analyzer.serviceObjects.Converters;
+import com.autotune.analyzer.serviceObjects.ListRecommendationsAPIObject;
 import com.autotune.analyzer.workerimpl.BulkJobManager;
+import com.autotune.analyzer.workerimpl.BulkJobScheduler;
+import com.autotune.analyzer.workerimpl.KruizeKafkaManager;
+import com.autotune.common.data.ValidationOutputData;
 import com.autotune.database.dao.ExperimentDAO;
 import com.autotune.database.dao.ExperimentDAOImpl;
+import com.autotune.database.service.ExperimentDBService;
 import com.autotune.database.table.lm.KruizeBulkJobEntry;
 import com.autotune.operator.KruizeDeploymentInfo;
-import com.autotune.utils.GenericRestApiClient;
 import com.autotune.utils.MetricsConfig;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.google.gson.Gson;
 import io.micrometer.core.instrument.Timer;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -41,13 +50,9 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static com.autotune.analyzer.utils.AnalyzerConstants.ServiceConstants.*;
 import static com.autotune.utils.KruizeConstants.KRUIZE_BULK_API.*;
@@ -60,7 +65,7 @@ public class BulkService extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(BulkService.class);
     private static Map<String, BulkJobStatus> jobStatusMap = new ConcurrentHashMap<>();
-    private ExecutorService executorService = Executors.newFixedThreadPool(10);
+    private static final ObjectMapper JOB_MAPPER = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
     /**
      * Filters the JSON representation of a BulkJobStatus object based on the specified include and exclude fields.
@@ -77,11 +82,31 @@ public class BulkService extends HttpServlet {
      * @throws Exception If there is an error during JSON processing.
      */
     public static String filterJson(BulkJobStatus jsonInput, Set<String> includeFields, Set<String> excludeFields, String experiment_name) throws Exception {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return filterJson(jsonInput, jobWriter(includeFields, excludeFields), experiment_name);
+    }
+
+    /**
+     * Same as {@link #filterJson(BulkJobStatus, Set, Set, String)} with a writer built once by {@link #jobWriter}
+     */
+    public static String filterJson(BulkJobStatus jsonInput, ObjectWriter jobWriter, String experiment_name) throws Exception {
+        // the copied experiments are shared by all the callers serializing the job
+        synchronized (jsonInput) {
+            jsonInput.copyByPattern(experiment_name);
+            return jobWriter.writeValueAsString(jsonInput);
+        }
+    }
+
+    /**
+     * Builds the writer applying the include and exclude fields of {@link #filterJson}. The writer is immutable and
+     * can be kept and shared by callers always serializing with the same fields.
+     *
+     * @param includeFields Fields to be included, optionally prefixed with "SUMMARY|" or "EXPERIMENTS|".
+     * @param excludeFields Fields to be excluded, only applied when includeFields is empty.
+     * @return writer of BulkJobStatus objects
+     */
+    public static ObjectWriter jobWriter(Set<String> includeFields, Set<String> excludeFields) {
         SimpleFilterProvider filters = new SimpleFilterProvider();
         try {
-            jsonInput.copyByPattern(experiment_name);
             if (!includeFields.isEmpty()) {
                 Set<String> jobFields = new HashSet<>();
                 for (String field : includeFields) {
@@ -116,18 +141,38 @@ public class BulkService extends HttpServlet {
                 LOGGER.debug("excludeFields : {}", excludeFields);
                 filters.addFilter(JOB_FILTER, SimpleBeanPropertyFilter.serializeAllExcept(excludeFields));
             }
-
-            // Assuming the input JSON has a filter identifier like @JsonFilter("dynamicFilter")
-            mapper.setFilterProvider(filters);
         } catch (Exception e) {
             LOGGER.error("Not able to filter experiments due to {}", e.getMessage());
             e.printStackTrace();
-        } finally {
-            synchronized (jsonInput) {
-                return mapper.writeValueAsString(jsonInput);
-            }
         }
+        // Assuming the input JSON has a filter identifier like @JsonFilter("dynamicFilter")
+        return JOB_MAPPER.writer(filters);
+    }
 
+    /**
+     * Serializes a single experiment of a job, keeping the experiment fields selected by the "EXPERIMENTS|..."
+     * entries of the include fields the way {@link #filterJson} does for the whole job.
+     *
+     * @param experiment    The experiment to be serialized to JSON.
+     * @param includeFields Fields of the job to be included, other than the experiment ones are ignored.
+     * @return A JSON string representation of the filtered experiment.
+     * @throws Exception If there is an error during JSON processing.
+     */
+    public static String filterExperimentJson(BulkJobStatus.Experiment experiment, Set<String> includeFields) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        SimpleFilterProvider filters = new SimpleFilterProvider();
+        filters.addFilter(EXPERIMENTS_FILTER, SimpleBeanPropertyFilter.serializeAll());
+        for (String field : includeFields) {
+            if (field.startsWith(EXPERIMENTS + "|")) {
+                filters.addFilter(EXPERIMENTS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(
+                        new HashSet<>(Arrays.asList(field.split("\\|")))));
+            }
+        }
+        mapper.setFilterProvider(filters);
+        synchronized (experiment) {
+            return mapper.writeValueAsString(experiment);
+        }
     }
 
     @Override
@@ -173,7 +218,7 @@ public class BulkService extends HttpServlet {
                 jobDetails = jobStatusMap.get(jobID);
             } else {
                 ExperimentDAO experimentDAO = new ExperimentDAOImpl();
-                KruizeBulkJobEntry kruizeBulkJobEntry = experimentDAO.findBulkJobById(jobID);
+                KruizeBulkJobEntry kruizeBulkJobEntry = experimentDAO.findBulkJobSummaryById(jobID);
                 if (null == kruizeBulkJobEntry) {
                     sendErrorResponse(
                             resp,
@@ -183,47 +228,46 @@ public class BulkService extends HttpServlet {
                     );
                     return;
                 } else {
+                    // the experiments can run to megabytes, they are only read when asked for, a page at a time
+                    boolean withExperiments = includeFields.isEmpty() ? !excludeFields.contains(EXPERIMENTS)
+                            : includeFields.stream().anyMatch(field -> field.startsWith(EXPERIMENTS));
+                    if (withExperiments) {
+                        int offset;
+                        int limit;
+                        try {
+                            offset = parsePagingParameter(req.getParameter(EXPERIMENTS_OFFSET));
+                            limit = parsePagingParameter(req.getParameter(EXPERIMENTS_LIMIT));
+                        } catch (IllegalArgumentException e) {
+                            sendErrorResponse(resp, null, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                            return;
+                        }
+                        String experimentNameFilter = (experiment_name != null && !experiment_name.isEmpty()) ? experiment_name : null;
+                        ObjectNode experiments = new ObjectMapper().createObjectNode();
+                        experiments.set(EXPERIMENTS, experimentDAO.loadBulkJobExperiments(jobID, experimentNameFilter, offset, limit));
+                        kruizeBulkJobEntry.setExperiments(experiments);
+                    }
                     jobDetails = kruizeBulkJobEntry.getBulkJobStatus();
 
-                    GenericRestApiClient recommendationApiClient = new GenericRestApiClient();
-                    String listRecommendationsURL = String.format(
-                            KruizeDeploymentInfo.recommendations_url.replaceAll("generateRecommendations.*", "listRecommendations") + "?" + JOB_ID
-                                    + "=%s", jobID);
-                    if (experiment_name != null && !experiment_name.equals("")) {
-                        String encodedExperimentName = URLEncoder.encode(experiment_name, StandardCharsets.UTF_8);
-                        listRecommendationsURL = listRecommendationsURL + "&experiment_name=" + encodedExperimentName;
-                    }
-                    recommendationApiClient.setBaseURL(listRecommendationsURL);
-                    GenericRestApiClient.HttpResponseWrapper recommendationResponseCode = null;
-                    Map<String, JsonNode> recommendationResponse = new HashMap<>();
-                    try {
-                        recommendationResponseCode = recommendationApiClient.getKruizeAPI(null);
-                        // Parse JSON using Jackson
-                        ObjectMapper objectMapper = new ObjectMapper();
-                        JsonNode rootArray = objectMapper.readTree(recommendationResponseCode.getResponseBody().toString());
-                        // Extract "experiment_name" values
-                        for (JsonNode node : rootArray) {
-                            String experimentName = node.get("experiment_name").asText();
-                            recommendationResponse.put(experimentName, node);
-                        }
-                        if (!includeFields.isEmpty() && includeFields.contains("experiments")) {
-                            if (jobDetails != null && jobDetails.getExperimentMap() != null) {
-                                jobDetails.getExperimentMap().forEach(
-                                        (experimentName, experiment) -> {
-                                            BulkJobStatus.GenerateRecommendationsAPIResponse bresp =
-                                                    new BulkJobStatus.GenerateRecommendationsAPIResponse();
-                                            if (recommendationResponse.containsKey(experimentName)) {
-                                                bresp.setResponse(
-                                                        new ArrayList<>(Arrays.asList(recommendationResponse.get(experimentName)))
-                                                );
-                                                experiment.getApis().setRecommendations(bresp);
-                                            }
+                    // only the recommendations of the experiments of the page are read
+                    if (withExperiments && includeFields.contains("experiments")
+                            && jobDetails != null && jobDetails.getExperimentMap() != null) {
+                        try {
+                            Map<String, JsonNode> recommendationResponse = loadRecommendations(jobID, jobDetails.getExperimentMap().keySet());
+                            jobDetails.getExperimentMap().forEach(
+                                    (experimentName, experiment) -> {
+                                        BulkJobStatus.GenerateRecommendationsAPIResponse bresp =
+                                                new BulkJobStatus.GenerateRecommendationsAPIResponse();
+                                        if (recommendationResponse.containsKey(experimentName)) {
+                                            bresp.setResponse(
+                                                    new ArrayList<>(Arrays.asList(recommendationResponse.get(experimentName)))
+                                            );
+                                            experiment.getApis().setRecommendations(bresp);
                                         }
-                                );
-                            }
+                                    }
+                            );
+                        } catch (Exception e) {
+                            LOGGER.error("Not able to fetch recommedations from database due to {}", e.getMessage());
                         }
-                    } catch (Exception e) {
-                        LOGGER.error("Not able to fetch recommedations from database due to {}", e.getMessage());
                     }
                 }
 
@@ -281,21 +325,7 @@ public class BulkService extends HttpServlet {
             // Read the request payload and map to RequestPayload class
             BulkInput payload = objectMapper.readValue(request.getInputStream(), BulkInput.class);
 
-            // Generate a unique jobID
-            String jobID = UUID.randomUUID().toString();
-            BulkJobStatus jobStatus = new BulkJobStatus(jobID, IN_PROGRESS, Instant.now(), payload);
-
-            if (KruizeDeploymentInfo.TEST_USE_ONLY_CACHE_JOB_IN_MEM)
-                jobStatusMap.put(jobID, jobStatus);
-            else {
-                try {
-                    new ExperimentDAOImpl().bulkJobSave(jobStatus.getBulkJobForDB("{}"));
-                } catch (Exception e) {
-                    LOGGER.error("Not able to save jb details into DB {} due to {}", jobStatus, e.getMessage());
-                }
-            }
-            // Submit the job to be processed asynchronously
-            executorService.submit(new BulkJobManager(jobID, jobStatus, payload));      //TOdo remove payload as it is part of jobStatus object
+            String jobID = submitJob(payload, false);
 
             // Just sending a simple success response back
             // Return the jobID to the user
@@ -303,6 +333,10 @@ public class BulkService extends HttpServlet {
             jsonObject.put(JOB_ID, jobID);
             response.getWriter().write(jsonObject.toString());
             statusValue = "success";
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            sendErrorResponse(response, e, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
         } finally {
             if (null != timerCreateBulkJob) {
                 MetricsConfig.timerCreateBulkJob = MetricsConfig.timerBCreateBulkJob.tag("status", statusValue).register(MetricsConfig.meterRegistry());
@@ -311,9 +345,103 @@ public class BulkService extends HttpServlet {
         }
     }
 
+    /**
+     * Creates a job for the payload and submits it to be processed asynchronously.
+     *
+     * @param payload      The bulk request.
+     * @param requireSaved Whether the job must be saved to the database before being submitted.
+     * @return The id of the job.
+     * @throws Exception If the job is required to be saved and could not be, it is not submitted then.
+     */
+    public static String submitJob(BulkInput payload, boolean requireSaved) throws Exception {
+        // Generate a unique jobID
+        String jobID = UUID.randomUUID().toString();
+        createJob(jobID, payload, requireSaved);
+        return jobID;
+    }
+
+    /**
+     * Creates a job with the given id for the payload, once saved to the database, and submits it to be processed
+     * asynchronously, unless a job with this id already exists. Lets a request delivered more than once create a
+     * single job, its id being derived from the request.
+     *
+     * @param jobID   The id of the job.
+     * @param payload The bulk request.
+     * @return true if the job was submitted, false if it already existed.
+     * @throws Exception If the job could not be looked up or saved, it is not submitted then.
+     */
+    public static boolean submitJob(String jobID, BulkInput payload) throws Exception {
+        boolean exists = KruizeDeploymentInfo.TEST_USE_ONLY_CACHE_JOB_IN_MEM
+                ? jobStatusMap.containsKey(jobID)
+                : null != new ExperimentDAOImpl().findBulkJobSummaryById(jobID);
+        if (exists)
+            return false;
+        createJob(jobID, payload, true);
+        return true;
+    }
+
+    private static void createJob(String jobID, BulkInput payload, boolean requireSaved) throws Exception {
+        BulkJobStatus jobStatus = new BulkJobStatus(jobID, IN_PROGRESS, Instant.now(), payload);
+
+        if (KruizeDeploymentInfo.TEST_USE_ONLY_CACHE_JOB_IN_MEM)
+            jobStatusMap.put(jobID, jobStatus);
+        else {
+            ValidationOutputData saved;
+            try {
+                saved = new ExperimentDAOImpl().bulkJobSave(jobStatus.getBulkJobForDB("{}"));
+            } catch (Exception e) {
+                LOGGER.error("Not able to save jb details into DB {} due to {}", jobStatus, e.getMessage());
+                saved = new ValidationOutputData(false, e.getMessage(), null);
+            }
+            if (requireSaved && !saved.isSuccess())
+                throw new Exception(saved.getMessage());
+        }
+        // Submit the job to be processed asynchronously
+        BulkJobScheduler.submitJob(jobID, new BulkJobManager(jobID, jobStatus, payload));      //TOdo remove payload as it is part of jobStatus object
+    }
+
     @Override
     public void destroy() {
-        executorService.shutdown();
+        BulkJobScheduler.shutdown();
+        KruizeKafkaManager.shutdown();
+    }
+
+    /**
+     * Reads the latest recommendations of the given experiments of the job from the DB, the way listRecommendations
+     * returns them
+     *
+     * @param jobID           the bulk job the recommendations were generated by
+     * @param experimentNames the experiments of the requested page
+     * @return recommendations by experiment name
+     */
+    private static Map<String, JsonNode> loadRecommendations(String jobID, Set<String> experimentNames) throws Exception {
+        Map<String, JsonNode> recommendations = new HashMap<>();
+        if (experimentNames.isEmpty())
+            return recommendations;
+        ExperimentDBService experimentDBService = new ExperimentDBService();
+        Map<String, KruizeObject> experiments = new HashMap<>();
+        experimentDBService.loadLMExperimentsAndRecommendationsFromDBByNames(experiments, experimentNames, jobID);
+        Gson gson = ListRecommendations.createGson();
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (KruizeObject kruizeObject : experiments.values()) {
+            ListRecommendationsAPIObject listRecommendationsAPIObject = Converters.KruizeObjectConverters
+                    .convertKruizeObjectToListRecommendationSO(kruizeObject, true, false, null);
+            recommendations.put(kruizeObject.getExperimentName(), objectMapper.readTree(gson.toJson(listRecommendationsAPIObject)));
+        }
+        return recommendations;
+    }
+
+    private static int parsePagingParameter(String value) {
+        if (null == value || value.isEmpty())
+            return 0;
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 0)
+                return parsed;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(String.format(INVALID_PAGING_PARAMETER, value));
     }
 
     public void sendErrorResponse(HttpServletResponse response, Exception e, int httpStatusCode, String errorMsg) throws
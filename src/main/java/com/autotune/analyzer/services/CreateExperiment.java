@@ -16,21 +16,17 @@
 
 package com.autotune.analyzer.services;
 
-import com.autotune.analyzer.exceptions.InvalidExperimentType;
 import com.autotune.analyzer.exceptions.KruizeResponse;
-import com.autotune.analyzer.experiment.ExperimentInitiator;
+import com.autotune.analyzer.experiment.ExperimentService;
 import com.autotune.analyzer.kruizeObject.KruizeObject;
-import com.autotune.analyzer.serviceObjects.Converters;
+import com.autotune.analyzer.recommendations.term.TermAggregates;
 import com.autotune.analyzer.serviceObjects.CreateExperimentAPIObject;
-import com.autotune.analyzer.serviceObjects.KubernetesAPIObject;
 import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.analyzer.utils.AnalyzerErrorConstants;
 import com.autotune.common.data.ValidationOutputData;
-import com.autotune.database.dao.ExperimentDAO;
 import com.autotune.database.dao.ExperimentDAOImpl;
 import com.autotune.database.service.ExperimentDBService;
 import com.autotune.utils.MetricsConfig;
-import com.autotune.utils.Utils;
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
@@ -46,7 +42,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -70,9 +65,9 @@ public class CreateExperiment extends HttpServlet {
     }
 
     /**
-     * It reads the input data from the request, converts it into a List of "KruizeObject" objects using the GSON library.
-     * It then calls the validateAndAddNewExperiments method of the "ExperimentInitiator" class, passing in the mainKruizeExperimentMap and kruizeExpList as arguments.
-     * If the validateAndAddNewExperiments method returns an ValidationOutputData object with the success flag set to true, it sends a success response to the client with a message "Experiment registered successfully with Kruize."
+     * It reads the input data from the request, converts it into a List of "CreateExperimentAPIObject" objects using the GSON library.
+     * It then calls the createExperiment method of the "ExperimentService" class, which validates the experiment and adds it to the DB.
+     * If the experiment was created, it sends a success response to the client with a message "Experiment registered successfully with Kruize."
      * Otherwise, it sends an error response to the client with the appropriate error message.
      * If an exception is thrown, it prints the stack trace and sends an error response to the client with the appropriate error message.
      *
@@ -86,7 +81,6 @@ public class CreateExperiment extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
         String statusValue = "failure";
         Timer.Sample timerCreateExp = Timer.start(MetricsConfig.meterRegistry());
-        Map<String, KruizeObject> mKruizeExperimentMap = new ConcurrentHashMap<String, KruizeObject>();
         String inputData = "";
         try {
             // Set the character encoding of the request to UTF-8
@@ -98,60 +92,15 @@ public class CreateExperiment extends HttpServlet {
                 LOGGER.error(AnalyzerErrorConstants.AutotuneObjectErrors.UNSUPPORTED_EXPERIMENT);
                 sendErrorResponse(inputData, response, null, HttpServletResponse.SC_BAD_REQUEST, AnalyzerErrorConstants.AutotuneObjectErrors.UNSUPPORTED_EXPERIMENT);
             } else {
-                List<KruizeObject> kruizeExpList = new ArrayList<>();
-                for (CreateExperimentAPIObject createExperimentAPIObject : createExperimentAPIObjects) {
-                    createExperimentAPIObject.setExperiment_id(Utils.generateID(createExperimentAPIObject.toString()));
-                    createExperimentAPIObject.setStatus(AnalyzerConstants.ExperimentStatus.IN_PROGRESS);
-                    // validating the kubernetes objects and experiment type
-                    for (KubernetesAPIObject kubernetesAPIObject : createExperimentAPIObject.getKubernetesObjects()) {
-                        if (createExperimentAPIObject.isContainerExperiment()) {
-                            createExperimentAPIObject.setExperimentType(AnalyzerConstants.ExperimentType.CONTAINER);
-                            // check if namespace data is also set for container-type experiments
-                            if (null != kubernetesAPIObject.getNamespaceAPIObject()) {
-                                throw new InvalidExperimentType(AnalyzerErrorConstants.APIErrors.CreateExperimentAPI.NAMESPACE_DATA_NOT_NULL_FOR_CONTAINER_EXP);
-                            }
-                            if ((AnalyzerConstants.AUTO.equalsIgnoreCase(createExperimentAPIObject.getMode())
-                                    || AnalyzerConstants.RECREATE.equalsIgnoreCase(createExperimentAPIObject.getMode())) &&
-                                            AnalyzerConstants.REMOTE.equalsIgnoreCase(createExperimentAPIObject.getTargetCluster())) {
-                                throw new InvalidExperimentType(AnalyzerErrorConstants.APIErrors.CreateExperimentAPI.AUTO_EXP_NOT_SUPPORTED_FOR_REMOTE);
-                            }
-                        } else if (createExperimentAPIObject.isNamespaceExperiment()) {
-                            if (null != kubernetesAPIObject.getContainerAPIObjects()) {
-                                throw new InvalidExperimentType(AnalyzerErrorConstants.APIErrors.CreateExperimentAPI.CONTAINER_DATA_NOT_NULL_FOR_NAMESPACE_EXP);
-                            }
-                        } else {
-                            LOGGER.debug("Missing container/namespace data from the input json {}", createExperimentAPIObject);
-                        }
-                    }
-                    KruizeObject kruizeObject = Converters.KruizeObjectConverters.convertCreateExperimentAPIObjToKruizeObject(createExperimentAPIObject);
-                    if (null != kruizeObject)
-                        kruizeExpList.add(kruizeObject);
-                }
-                new ExperimentInitiator().validateAndAddNewExperiments(mKruizeExperimentMap, kruizeExpList);
-                //TODO: UX needs to be modified - Handle response for the multiple objects
-                KruizeObject invalidKruizeObject = kruizeExpList.stream().filter((ko) -> (!ko.getValidation_data().isSuccess())).findAny().orElse(null);
-                if (null == invalidKruizeObject) {
-                    ValidationOutputData addedToDB = null;  // TODO savetoDB should move to queue and bulk upload not considered here
-                    for (KruizeObject ko : kruizeExpList) {
-                        CreateExperimentAPIObject validAPIObj = createExperimentAPIObjects.stream()
-                                .filter(createObj -> ko.getExperimentName().equals(createObj.getExperimentName()))
-                                .findAny()
-                                .orElse(null);
-                        validAPIObj.setValidationData(ko.getValidation_data());
-                        ExperimentDAO experimentDAO = new ExperimentDAOImpl();
-                        addedToDB = new ExperimentDBService().addExperimentToDB(validAPIObj);
-                    }
-                    if (addedToDB.isSuccess()) {
-                        sendSuccessResponse(response, "Experiment registered successfully with Kruize.");
-                        statusValue = "success";
-                    } else {
-                        sendErrorResponse(inputData, response, null, HttpServletResponse.SC_BAD_REQUEST, addedToDB.getMessage());
-                    }
+                KruizeResponse kruizeResponse = new ExperimentService().createExperiment(createExperimentAPIObjects.get(0));
+                if (kruizeResponse.getHttpcode() == HttpServletResponse.SC_CREATED) {
+                    sendSuccessResponse(response, kruizeResponse);
+                    statusValue = "success";
                 } else {
-                    sendErrorResponse(inputData, response, null, invalidKruizeObject.getValidation_data().getErrorCode(), invalidKruizeObject.getValidation_data().getMessage());
+                    sendErrorResponse(inputData, response, null, kruizeResponse.getHttpcode(), kruizeResponse.getMessage());
                 }
             }
-        } catch (InvalidExperimentType | JsonParseException e) {
+        } catch (JsonParseException e) {
             sendErrorResponse(inputData, response, null, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
@@ -210,13 +159,15 @@ public class CreateExperiment extends HttpServlet {
                         }
                         if (validationOutputData.isSuccess()) {
                             mKruizeExperimentMap.remove(ko.getExperimentName());
+                            TermAggregates.remove(ko.getExperimentName());
                         } else {
                             throw new Exception("Experiment not deleted due to : " + validationOutputData.getMessage());
                         }
                     } else
                         throw new Exception("Experiment not found!");
                 }
-                sendSuccessResponse(response, "Experiment deleted successfully.");
+                sendSuccessResponse(response, new KruizeResponse("Experiment deleted successfully. View registered experiments at /listExperiments",
+                        HttpServletResponse.SC_CREATED, "", "SUCCESS"));
             }
         } catch (Exception e) {
             LOGGER.error("Exception occurred while deleting the experiment: {}", e.getMessage());
@@ -224,16 +175,12 @@ public class CreateExperiment extends HttpServlet {
         }
     }
 
-    private void sendSuccessResponse(HttpServletResponse response, String message) throws IOException {
+    private void sendSuccessResponse(HttpServletResponse response, KruizeResponse kruizeResponse) throws IOException {
         response.setContentType(JSON_CONTENT_TYPE);
         response.setCharacterEncoding(CHARACTER_ENCODING);
         response.setStatus(HttpServletResponse.SC_CREATED);
         PrintWriter out = response.getWriter();
-        out.append(
-                new Gson().toJson(
-                        new KruizeResponse(message + " View registered experiments at /listExperiments", HttpServletResponse.SC_CREATED, "", "SUCCESS")
-                )
-        );
+        out.append(new Gson().toJson(kruizeResponse));
         out.flush();
     }
 
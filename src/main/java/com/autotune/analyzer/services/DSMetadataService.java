@@ -299,12 +299,19 @@ public class DSMetadataService extends HttpServlet {
      * datasource	name of the datasource(required)
      * cluster_name	name of the cluster(optional)
      * namespace	The namespace(optional)
+     * workload_name	name of the workload(optional)
+     * container_name	name of the container(optional)
+     * offset	    index of the first container returned, 0 by default(optional)
+     * limit	    max containers returned, all of them by default(optional)
      * verbose	    Flag to retrieve container-level metadata(optional)
      *
      * When the verbose parameter is set to true, the API response includes granular container-level details in the metadata,
      * offering a more comprehensive view of the clusters, namespaces, workloads and containers associated with the
      * specified datasource. When the verbose parameter is not provided or set to false, the API response provides basic
      * information like list of clusters, namespaces associated with the specified datasource
+     *
+     * The namespace, workload_name, container_name, offset and limit parameters select container-level metadata,
+     * they are applied by the DB so that only the matching containers are read.
      */
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException{
@@ -318,6 +325,10 @@ public class DSMetadataService extends HttpServlet {
         String dataSourceName = request.getParameter(AnalyzerConstants.ServiceConstants.DATASOURCE);
         String clusterName = request.getParameter(AnalyzerConstants.ServiceConstants.CLUSTER_NAME);
         String namespace = request.getParameter(AnalyzerConstants.ServiceConstants.NAMESPACE);
+        String workloadName = request.getParameter(AnalyzerConstants.ServiceConstants.WORKLOAD_NAME);
+        String containerName = request.getParameter(AnalyzerConstants.ServiceConstants.CONTAINER_NAME);
+        String offsetParam = request.getParameter(AnalyzerConstants.ServiceConstants.OFFSET);
+        String limitParam = request.getParameter(AnalyzerConstants.ServiceConstants.LIMIT);
         String verbose = request.getParameter(AnalyzerConstants.ServiceConstants.VERBOSE);
         String internalVerbose = "false";
         //Key = dataSource name
@@ -337,7 +348,17 @@ public class DSMetadataService extends HttpServlet {
                     internalVerbose = verbose;
                 }
 
-                if (isValidBooleanValue(internalVerbose)) {
+                int offset = parsePagingParameter(offsetParam);
+                int limit = parsePagingParameter(limitParam);
+                if (offset < 0 || limit < 0) {
+                    sendErrorResponse(
+                            response,
+                            new Exception(AnalyzerErrorConstants.APIErrors.DSMetadataAPI.INVALID_QUERY_PARAM_EXCPTN),
+                            HttpServletResponse.SC_BAD_REQUEST,
+                            String.format(AnalyzerErrorConstants.APIErrors.DSMetadataAPI.INVALID_QUERY_PARAM_VALUE,
+                                    (offset < 0) ? AnalyzerConstants.ServiceConstants.OFFSET : AnalyzerConstants.ServiceConstants.LIMIT)
+                    );
+                } else if (isValidBooleanValue(internalVerbose)) {
                     try {
                         if (null == dataSourceName || dataSourceName.isEmpty()) {
                             error = true;
@@ -350,13 +371,17 @@ public class DSMetadataService extends HttpServlet {
                         } else {
                             try {
                                 DataSourceMetadataInfo dataSourceMetadata = null;
-                                if (null == clusterName) {
+                                // filters below the cluster and pages only apply to the container-level metadata
+                                boolean containerLevel = null != namespace || null != workloadName || null != containerName
+                                        || offset > 0 || limit > 0;
+                                if (null == clusterName && !containerLevel) {
                                     dataSourceMetadata = new ExperimentDBService().loadMetadataFromDBByName(dataSourceName, internalVerbose);
-                                } else if (null != clusterName && null == namespace) {
+                                } else if (null != clusterName && !containerLevel) {
                                     dataSourceMetadata = new ExperimentDBService().loadMetadataFromDBByClusterName(dataSourceName, clusterName, internalVerbose);
-                                } else if (null != clusterName && null != namespace) {
+                                } else {
                                     internalVerbose = "true";
-                                    dataSourceMetadata = new ExperimentDBService().loadMetadataFromDBByNamespace(dataSourceName, clusterName, namespace);
+                                    dataSourceMetadata = new ExperimentDBService().loadMetadataFromDB(dataSourceName, clusterName, namespace,
+                                            workloadName, containerName, offset, limit);
                                 }
 
                                 if (null == dataSourceMetadata) {
@@ -453,6 +478,19 @@ public class DSMetadataService extends HttpServlet {
         return value != null && (value.equals("true") || value.equals("false"));
     }
 
+    /**
+     * @return the offset or limit given, 0 if not given and -1 if not a number or negative
+     */
+    private static int parsePagingParameter(String value) {
+        if (null == value || value.isEmpty())
+            return 0;
+        try {
+            return Math.max(-1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * TODO temp solution to delete metadata, Need to evaluate use cases
      * Handles the DELETE request for deleting metadata - DELETE /dsmetadata
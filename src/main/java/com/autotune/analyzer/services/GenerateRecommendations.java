@@ -15,26 +15,10 @@
  *******************************************************************************/
 package com.autotune.analyzer.services;
 
-import com.autotune.analyzer.adapters.DeviceDetailsAdapter;
-import com.autotune.analyzer.adapters.RecommendationItemAdapter;
-import com.autotune.analyzer.exceptions.FetchMetricsError;
-import com.autotune.analyzer.kruizeObject.KruizeObject;
-import com.autotune.analyzer.recommendations.engine.RecommendationEngine;
-import com.autotune.analyzer.serviceObjects.ContainerAPIObject;
-import com.autotune.analyzer.serviceObjects.Converters;
+import com.autotune.analyzer.experiment.ExperimentService;
 import com.autotune.analyzer.serviceObjects.ListRecommendationsAPIObject;
-import com.autotune.analyzer.utils.AnalyzerConstants;
-import com.autotune.analyzer.utils.AnalyzerErrorConstants;
-import com.autotune.analyzer.utils.GsonUTCDateAdapter;
-import com.autotune.common.data.result.ContainerData;
-import com.autotune.common.data.system.info.device.DeviceDetails;
 import com.autotune.utils.KruizeConstants;
 import com.autotune.utils.MetricsConfig;
-import com.autotune.utils.Utils;
-import com.google.gson.ExclusionStrategy;
-import com.google.gson.FieldAttributes;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,9 +30,6 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.sql.Timestamp;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 import static com.autotune.analyzer.utils.AnalyzerConstants.ServiceConstants.CHARACTER_ENCODING;
@@ -62,7 +43,6 @@ import static com.autotune.utils.KruizeConstants.KRUIZE_BULK_API.JOB_ID;
 public class GenerateRecommendations extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(GenerateRecommendations.class);
-    private static int requestCount = 0;
 
 
     @Override
@@ -85,8 +65,6 @@ public class GenerateRecommendations extends HttpServlet {
      */
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        int calCount = ++requestCount;
-        LOGGER.debug("GenerateRecommendations API request count: {}", calCount);
         String statusValue = "failure";
         Timer.Sample timerBUpdateRecommendations = Timer.start(MetricsConfig.meterRegistry());
         try {
@@ -97,31 +75,15 @@ public class GenerateRecommendations extends HttpServlet {
             String intervalEndTimeStr = request.getParameter(KruizeConstants.JSONKeys.INTERVAL_END_TIME);
             String intervalStartTimeStr = request.getParameter(KruizeConstants.JSONKeys.INTERVAL_START_TIME);
             String bulkJobID = request.getParameter(JOB_ID);
-            Timestamp interval_end_time, interval_start_time;
 
-            // create recommendation engine object
-            RecommendationEngine recommendationEngine = new RecommendationEngine(experiment_name, intervalEndTimeStr, intervalStartTimeStr);
-            // validate and create KruizeObject if successful
-            String validationMessage = recommendationEngine.validate_local();
-            if (validationMessage.isEmpty()) {
-                KruizeObject kruizeObject = recommendationEngine.prepareRecommendations(calCount, AnalyzerConstants.LOCAL, bulkJobID);   // todo target cluster is set to LOCAL always
-                if (kruizeObject.getValidation_data().isSuccess()) {
-                    LOGGER.debug("UpdateRecommendations API request count: {} success", calCount);
-                    interval_end_time = Utils.DateUtils.getTimeStampFrom(KruizeConstants.DateFormats.STANDARD_JSON_DATE_FORMAT,
-                            intervalEndTimeStr);
-                    sendSuccessResponse(response, kruizeObject, interval_end_time);
-                    statusValue = "success";
-                } else {
-                    LOGGER.debug("UpdateRecommendations API request count: {} failed", calCount);
-                    sendErrorResponse(response, null, kruizeObject.getValidation_data().getErrorCode(), kruizeObject.getValidation_data().getMessage());
-                }
+            ExperimentService.RecommendationsResult result = new ExperimentService().generateRecommendations(experiment_name,
+                    intervalEndTimeStr, intervalStartTimeStr, bulkJobID);
+            if (result.isSuccess()) {
+                sendSuccessResponse(response, result.getRecommendations());
+                statusValue = "success";
             } else {
-                LOGGER.error("Validation failed: {}", validationMessage);
-                sendErrorResponse(response, null, HttpServletResponse.SC_BAD_REQUEST, validationMessage);
+                sendErrorResponse(response, null, result.getStatusCode(), result.getMessage());
             }
-        } catch (FetchMetricsError e) {
-            LOGGER.error(AnalyzerErrorConstants.APIErrors.generateRecommendationsAPI.ERROR_FETCHING_METRICS);
-            sendErrorResponse(response, new Exception(e), HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             LOGGER.error("Exception occurred while processing request: " + e.getMessage());
             sendErrorResponse(response, e, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
@@ -133,48 +95,14 @@ public class GenerateRecommendations extends HttpServlet {
         }
     }
 
-    private void sendSuccessResponse(HttpServletResponse response, KruizeObject ko, Timestamp interval_end_time) throws IOException {
+    private void sendSuccessResponse(HttpServletResponse response, List<ListRecommendationsAPIObject> recommendationList) throws IOException {
         LOGGER.debug("sendSuccessResponse");
         response.setContentType(JSON_CONTENT_TYPE);
         response.setCharacterEncoding(CHARACTER_ENCODING);
         response.setStatus(HttpServletResponse.SC_CREATED);
-        List<ListRecommendationsAPIObject> recommendationList = new ArrayList<>();              //TODO: Executing two identical SQL SELECT queries against the database instead of just one is causing a performance issue. set 'showSQL' flag is set to true to debug.
-        try {
-            //LOGGER.debug(ko.getKubernetes_objects().toString());
-            ListRecommendationsAPIObject listRecommendationsAPIObject = Converters.KruizeObjectConverters.
-                    convertKruizeObjectToListRecommendationSO(
-                            ko,
-                            false,
-                            false,
-                            interval_end_time);
-            recommendationList.add(listRecommendationsAPIObject);
-        } catch (Exception e) {
-            LOGGER.error("Not able to generate recommendation for expName : {} due to {}", ko.getExperimentName(), e.getMessage());
-        }
-        ExclusionStrategy strategy = new ExclusionStrategy() {
-            @Override
-            public boolean shouldSkipField(FieldAttributes field) {
-                return field.getDeclaringClass() == ContainerData.class && (field.getName().equals("results"))
-                        || (field.getDeclaringClass() == ContainerAPIObject.class && (field.getName().equals("metrics")));
-            }
-
-            @Override
-            public boolean shouldSkipClass(Class<?> clazz) {
-                return false;
-            }
-        };
         String gsonStr = "[]";
         if (recommendationList.size() > 0) {
-            Gson gsonObj = new GsonBuilder()
-                    .disableHtmlEscaping()
-                    .setPrettyPrinting()
-                    .enableComplexMapKeySerialization()
-                    .registerTypeAdapter(Date.class, new GsonUTCDateAdapter())
-                    .registerTypeAdapter(AnalyzerConstants.RecommendationItem.class, new RecommendationItemAdapter())
-                    .registerTypeAdapter(DeviceDetails.class, new DeviceDetailsAdapter())
-                    .setExclusionStrategies(strategy)
-                    .create();
-            gsonStr = gsonObj.toJson(recommendationList);
+            gsonStr = ExperimentService.RECOMMENDATIONS_GSON.toJson(recommendationList);
         }
         response.getWriter().println(gsonStr);
         response.getWriter().close();
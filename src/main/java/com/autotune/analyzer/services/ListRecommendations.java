@@ -224,29 +224,9 @@ public class ListRecommendations extends HttpServlet {
                     }
                 }
 
-                ExclusionStrategy strategy = new ExclusionStrategy() {
-                    @Override
-                    public boolean shouldSkipField(FieldAttributes field) {
-                        return field.getDeclaringClass() == ContainerData.class && (field.getName().equals("results"))
-                                || (field.getDeclaringClass() == ContainerAPIObject.class && (field.getName().equals("metrics")));
-                    }
-
-                    @Override
-                    public boolean shouldSkipClass(Class<?> clazz) {
-                        return false;
-                    }
-                };
                 String gsonStr = "[]";
                 if (recommendationList.size() > 0) {
-                    Gson gsonObj = new GsonBuilder()
-                            .disableHtmlEscaping()
-                            .setPrettyPrinting()
-                            .enableComplexMapKeySerialization()
-                            .registerTypeAdapter(Date.class, new GsonUTCDateAdapter())
-                            .registerTypeAdapter(AnalyzerConstants.RecommendationItem.class, new RecommendationItemAdapter())
-                            .registerTypeAdapter(DeviceDetails.class, new DeviceDetailsAdapter())
-                            .setExclusionStrategies(strategy)
-                            .create();
+                    Gson gsonObj = createGson();
                     gsonStr = gsonObj.toJson(recommendationList);
                 }
                 response.getWriter().println(gsonStr);
@@ -287,4 +267,31 @@ public class ListRecommendations extends HttpServlet {
         response.sendError(httpStatusCode, errorMsg);
     }
 
+    /**
+     * Gson writing the recommendations the way this API returns them, without the results and the metrics
+     */
+    static Gson createGson() {
+        ExclusionStrategy strategy = new ExclusionStrategy() {
+            @Override
+            public boolean shouldSkipField(FieldAttributes field) {
+                return field.getDeclaringClass() == ContainerData.class && (field.getName().equals("results"))
+                        || (field.getDeclaringClass() == ContainerAPIObject.class && (field.getName().equals("metrics")));
+            }
+
+            @Override
+            public boolean shouldSkipClass(Class<?> clazz) {
+                return false;
+            }
+        };
+        return new GsonBuilder()
+                .disableHtmlEscaping()
+                .setPrettyPrinting()
+                .enableComplexMapKeySerialization()
+                .registerTypeAdapter(Date.class, new GsonUTCDateAdapter())
+                .registerTypeAdapter(AnalyzerConstants.RecommendationItem.class, new RecommendationItemAdapter())
+                .registerTypeAdapter(DeviceDetails.class, new DeviceDetailsAdapter())
+                .setExclusionStrategies(strategy)
+                .create();
+    }
+
 }
@@ -62,6 +62,13 @@ public class UpdateResults extends HttpServlet {
     private static final Logger LOGGER = LoggerFactory.getLogger(UpdateResults.class);
     public static ConcurrentHashMap<String, PerformanceProfile> performanceProfilesMap = new ConcurrentHashMap<>();
     private static int requestCount = 0;
+    private static final Gson RESULTS_GSON = new GsonBuilder()
+            .registerTypeAdapter(Double.class, new CustomNumberDeserializer())
+            .registerTypeAdapter(Integer.class, new CustomNumberDeserializer())
+            .registerTypeAdapter(AnalyzerConstants.RecommendationItem.class, new RecommendationItemAdapter())
+            .registerTypeAdapter(DeviceDetails.class, new DeviceDetailsAdapter())
+            .registerTypeAdapter(MetricMetadata.class, new MetricMetadataAdapter())
+            .create();
 
     @Override
     public void init(ServletConfig config) throws ServletException {
@@ -80,16 +87,9 @@ public class UpdateResults extends HttpServlet {
             request.setCharacterEncoding(CHARACTER_ENCODING);
             inputData = request.getReader().lines().collect(Collectors.joining());
             List<UpdateResultsAPIObject> updateResultsAPIObjects;
-            Gson gson = new GsonBuilder()
-                    .registerTypeAdapter(Double.class, new CustomNumberDeserializer())
-                    .registerTypeAdapter(Integer.class, new CustomNumberDeserializer())
-                    .registerTypeAdapter(AnalyzerConstants.RecommendationItem.class, new RecommendationItemAdapter())
-                    .registerTypeAdapter(DeviceDetails.class, new DeviceDetailsAdapter())
-                    .registerTypeAdapter(MetricMetadata.class, new MetricMetadataAdapter())
-                    .create();
             LOGGER.debug("updateResults API request payload for requestID {} is {}", calCount, inputData);
             try {
-                updateResultsAPIObjects = Arrays.asList(gson.fromJson(inputData, UpdateResultsAPIObject[].class));
+                updateResultsAPIObjects = parseResults(inputData);
             } catch (JsonParseException e) {
                 LOGGER.error("{} : {}", AnalyzerErrorConstants.AutotuneObjectErrors.JSON_PARSING_ERROR, e.getMessage());
                 sendErrorResponse(inputData, request, response, null, HttpServletResponse.SC_BAD_REQUEST, AnalyzerErrorConstants.AutotuneObjectErrors.JSON_PARSING_ERROR);
@@ -106,27 +106,10 @@ public class UpdateResults extends HttpServlet {
                 sendErrorResponse(inputData, request, response, null, HttpServletResponse.SC_BAD_REQUEST, AnalyzerErrorConstants.AutotuneObjectErrors.UNSUPPORTED_EXPERIMENT_RESULTS);
                 return;
             }
-            ExperimentInitiator experimentInitiator = new ExperimentInitiator();
-            experimentInitiator.validateAndAddExperimentResults(updateResultsAPIObjects);
-            List<UpdateResultsAPIObject> failureAPIObjs = experimentInitiator.getFailedUpdateResultsAPIObjects();
-            List<FailedUpdateResultsAPIObject> jsonObjectList = new ArrayList<>();
-            if (!failureAPIObjs.isEmpty()) {
-                failureAPIObjs.forEach(
-                        (failObj) -> {
-                            FailedUpdateResultsAPIObject failJSONObj = new FailedUpdateResultsAPIObject(
-                                    failObj.getApiVersion(),
-                                    failObj.getExperimentName(),
-                                    failObj.getStartTimestamp(),
-                                    failObj.getEndTimestamp(),
-                                    failObj.getErrors()
-                            );
-                            jsonObjectList.add(
-                                    failJSONObj
-                            );
-                        }
-                );
+            List<FailedUpdateResultsAPIObject> jsonObjectList = saveResults(updateResultsAPIObjects);
+            if (!jsonObjectList.isEmpty()) {
                 request.setAttribute("data", jsonObjectList);
-                String errorMessage = String.format("Out of a total of %s records, %s failed to save", updateResultsAPIObjects.size(), failureAPIObjs.size());
+                String errorMessage = String.format("Out of a total of %s records, %s failed to save", updateResultsAPIObjects.size(), jsonObjectList.size());
                 LOGGER.error("updateResults API request payload for requestID {} failed", calCount);
                 sendErrorResponse(inputData, request, response, null, HttpServletResponse.SC_BAD_REQUEST, errorMessage);
             } else {
@@ -149,6 +132,37 @@ public class UpdateResults extends HttpServlet {
         }
     }
 
+    /**
+     * Parses the results of an updateResults request
+     *
+     * @throws JsonParseException    if the payload is not an array of results
+     * @throws NumberFormatException if a metric value is not a number
+     */
+    public static List<UpdateResultsAPIObject> parseResults(String inputData) {
+        return Arrays.asList(RESULTS_GSON.fromJson(inputData, UpdateResultsAPIObject[].class));
+    }
+
+    /**
+     * Validates the results and saves the valid ones to the database
+     *
+     * @return the results which were not saved, with the reasons
+     */
+    public static List<FailedUpdateResultsAPIObject> saveResults(List<UpdateResultsAPIObject> updateResultsAPIObjects) throws Exception {
+        ExperimentInitiator experimentInitiator = new ExperimentInitiator();
+        experimentInitiator.validateAndAddExperimentResults(updateResultsAPIObjects);
+        List<FailedUpdateResultsAPIObject> jsonObjectList = new ArrayList<>();
+        for (UpdateResultsAPIObject failObj : experimentInitiator.getFailedUpdateResultsAPIObjects()) {
+            jsonObjectList.add(new FailedUpdateResultsAPIObject(
+                    failObj.getApiVersion(),
+                    failObj.getExperimentName(),
+                    failObj.getStartTimestamp(),
+                    failObj.getEndTimestamp(),
+                    failObj.getErrors()
+            ));
+        }
+        return jsonObjectList;
+    }
+
     private void sendSuccessResponse(HttpServletResponse response, String message) throws IOException {
         response.setContentType(JSON_CONTENT_TYPE);
         response.setCharacterEncoding(CHARACTER_ENCODING);
@@ -416,6 +416,10 @@ public class AnalyzerConstants {
 
         }
 
+        // times a workload is read and patched again after it changed in between
+        public static final int MAX_PATCH_CONFLICT_RETRIES = 3;
+        public static final long JOB_DELETION_TIMEOUT_SECS = 60;
+
         public static final class AcceleratorAutoscalerLabels {
             private AcceleratorAutoscalerLabels() {
 
@@ -574,6 +578,9 @@ public class AnalyzerConstants {
         public static final String DATASOURCE = "datasource";
         public static final String DATASOURCE_PROVIDER = "provider";
         public static final String CLUSTER_NAME = "cluster_name";
+        public static final String WORKLOAD_NAME = "workload_name";
+        public static final String OFFSET = "offset";
+        public static final String LIMIT = "limit";
         public static final String VERBOSE = "verbose";
         public static final String FALSE = "false";
         public static final String RM = "rm";
@@ -858,6 +865,8 @@ public class AnalyzerConstants {
 
         public static final int DEFAULT_SLEEP_INTERVAL = 60;
         public static final int DEFAULT_INITIAL_DELAY = 30;
+        // recommendations left unchanged are applied again after this many seconds
+        public static final int DEFAULT_RESYNC_INTERVAL = 1800;
 
         public static final String REGEX_FOR_DRY_RUN_ERROR = "Message: (.*?)(?=\\. Received status:)";
 
@@ -878,6 +887,7 @@ public class AnalyzerConstants {
             public static final String VPA_API_VERSION = "autoscaling.k8s.io/v1";
             public static final String VPA_TARGET_REF_API_VERSION = "apps/v1";
             public static final String VPA_TARGET_REF_KIND = "Deployment";
+            public static final String VPA_CRD_NAME = "verticalpodautoscalers.autoscaling.k8s.io";
 
 
             private VPA() {
@@ -897,11 +907,18 @@ public class AnalyzerConstants {
             public static final String VPA_PATCHED = "VPA object with name %s is patched successfully with recommendations.";
             public static final String CREATEING_VPA = "Creating VPA with name: %s";
             public static final String CREATED_VPA = "Created VPA with name: %s";
+            public static final String VPA_INFORMER_STARTED = "Started the informer of the VPA objects.";
             public static final String STARTING_SERVICE = "Starting recommendation updater.";
             public static final String CHECKING_AUTO_EXP = "Searching for experiments with auto or recreate mode.";
+            public static final String EXPERIMENTS_NOT_LOADED = "Experiments with auto or recreate mode couldn't be loaded, skipping this tick.";
+            public static final String EXPERIMENTS_DUE = "{} out of {} experiments with auto or recreate mode are due.";
+            public static final String RECOMMENDATIONS_UNCHANGED = "Recommendations of experiment {} are unchanged, not applied again.";
             public static final String FOUND_INSTASLICE = "Found Instaslice: {}";
-            public static final String NO_INSTASLICE_OBJECTS = "No Instaslice objects found in namespace: {}";
+            public static final String NO_INSTASLICE_OBJECTS = "No Instaslice allocations found for namespace: {}";
+            public static final String INSTASLICE_INFORMER_NOT_STARTED = "Instaslice objects can't be watched, Instaslice may not be installed: {}";
             public static final String POD_READY = "Pod is ready to schedule.";
+            public static final String WORKLOAD_PATCHED = "Resources of workload {}/{} updated for container {}.";
+            public static final String WORKLOAD_CHANGED = "Workload {}/{} changed while being patched, attempt {}.";
             private InfoMsgs() {
 
             }
@@ -388,9 +388,11 @@ public class AnalyzerErrorConstants {
         public static final String UPDATER_SERVICE_START_ERROR = "Error occurred while initializing RecommendationUpdaterService.";
         public static final String UNSUPPORTED_UPDATER_TYPE = "Updater type %s is not supported.";
         public static final String GENERATE_RECOMMENDATION_FAILED = "Failed to generate recommendations for experiment: {}";
+        public static final String RECONCILE_EXPERIMENT_FAILED = "Failed to apply the recommendations of experiment {}: {}";
         public static final String UPDATER_NOT_INSTALLED = "Updater is not installed.";
         public static final String RECOMMENDATION_DATA_NOT_PRESENT = "Recommendations are not present for the experiment: {}";
         public static final String INVALID_VPA_NAME = "VPA name cannot be null or empty.";
+        public static final String VPA_INFORMER_START_FAILED = "Failed to start the informer of the VPA objects, looking them up from the API server: {}";
         public static final String MISSING_REQUIRED_VALUES = "Recommended resource values (CPU or Memory) are missing in resourceMap";
 
         public static final class AcceleratorAutoscaler {
@@ -399,6 +401,9 @@ public class AnalyzerErrorConstants {
             }
             public static final String NAMESPACE_NULL = "Namespace cannot be null";
             public static final String CONTAINER_NULL = "Container cannot be null";
+            public static final String UNSUPPORTED_WORKLOAD_TYPE = "Workload type %s is not supported by the accelerator autoscaler.";
+            public static final String WORKLOAD_NOT_FOUND = "Workload {}/{} not found.";
+            public static final String CONTAINER_NOT_FOUND = "Container {} not found in workload {}/{}.";
 
         }
     }
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.analyzer.workerimpl;
+
+import com.autotune.utils.KruizeConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Semaphore like limit on the calls made concurrently to a backend, adjusted to what the backend sustains.
+ * <p>
+ * The limit grows by one for every limit calls completing in time (additive increase) and is cut by
+ * {@link KruizeConstants.KRUIZE_BULK_API#CONCURRENCY_BACKOFF_RATIO} when a call fails or takes far longer than the
+ * smoothed latency (multiplicative decrease). Calls already running when the limit was cut don't cut it again.
+ * <p>
+ * Calls either wait for the limit in {@link #acquire()}, or are submitted with {@link #submit(Executor, Consumer)}
+ * and queued without holding a thread until they fit within the limit, so that calls to a saturated backend don't
+ * hold up the workers shared with other backends.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    // guarded by this
+    private double limit;
+    private int inFlight;
+    private double smoothedLatencyNanos;
+    private long lastDecreaseNanos;
+    private final Deque<QueuedCall> queuedCalls = new ArrayDeque<>();
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int maxLimit) {
+        this.name = name;
+        this.minLimit = KruizeConstants.KRUIZE_BULK_API.CONCURRENCY_MIN_LIMIT;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.limit = Math.max(minLimit, Math.min(initialLimit, this.maxLimit));
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    /**
+     * Waits until the call fits within the limit
+     *
+     * @return start time of the call, to be passed to {@link #release(long, boolean)}
+     */
+    public synchronized long acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+        return System.nanoTime();
+    }
+
+    /**
+     * Runs the call on the executor once it fits within the limit, in the order submitted. The call is handed its
+     * permit, to be released once done with the backend, and released as overloaded if the call throws without
+     * releasing it. The call is run on the current thread if the executor rejects it.
+     *
+     * @param executor runs the call
+     * @param call     call to the backend
+     */
+    public void submit(Executor executor, Consumer<Permit> call) {
+        Permit permit;
+        synchronized (this) {
+            if (!queuedCalls.isEmpty() || inFlight >= (int) limit) {
+                queuedCalls.add(new QueuedCall(executor, call));
+                return;
+            }
+            inFlight++;
+            permit = new Permit(System.nanoTime());
+        }
+        dispatch(executor, call, permit);
+    }
+
+    /**
+     * Ends a call and adjusts the limit to its outcome, then runs the queued calls that fit within the limit
+     *
+     * @param startNanos value returned by {@link #acquire()}
+     * @param overloaded true when the call failed in a way that indicates the backend is struggling
+     */
+    public void release(long startNanos, boolean overloaded) {
+        List<QueuedCall> readyCalls = new ArrayList<>();
+        List<Permit> readyPermits = new ArrayList<>();
+        synchronized (this) {
+            adjust(startNanos, overloaded);
+            while (!queuedCalls.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                readyCalls.add(queuedCalls.poll());
+                readyPermits.add(new Permit(System.nanoTime()));
+            }
+            notifyAll();
+        }
+        for (int i = 0; i < readyCalls.size(); i++) {
+            dispatch(readyCalls.get(i).executor, readyCalls.get(i).call, readyPermits.get(i));
+        }
+    }
+
+    private void adjust(long startNanos, boolean overloaded) {
+        long now = System.nanoTime();
+        long latencyNanos = now - startNanos;
+        inFlight--;
+        boolean slow = smoothedLatencyNanos > 0
+                && latencyNanos > smoothedLatencyNanos * KruizeConstants.KRUIZE_BULK_API.CONCURRENCY_LATENCY_TOLERANCE;
+        if (overloaded || slow) {
+            // calls started before the last cut reflect the old limit
+            if (startNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(minLimit, limit * KruizeConstants.KRUIZE_BULK_API.CONCURRENCY_BACKOFF_RATIO);
+                lastDecreaseNanos = now;
+                LOGGER.debug(KruizeConstants.KRUIZE_BULK_API.CONCURRENCY_LIMIT_DECREASED, name, (int) limit);
+            }
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        if (!overloaded) {
+            smoothedLatencyNanos = (smoothedLatencyNanos == 0) ? latencyNanos : smoothedLatencyNanos
+                    + (latencyNanos - smoothedLatencyNanos) * KruizeConstants.KRUIZE_BULK_API.CONCURRENCY_LATENCY_SMOOTHING;
+        }
+    }
+
+    private static void dispatch(Executor executor, Consumer<Permit> call, Permit permit) {
+        Runnable task = () -> {
+            try {
+                call.accept(permit);
+            } finally {
+                permit.release(true);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return number of submitted calls waiting for the limit
+     */
+    public synchronized int getQueued() {
+        return queuedCalls.size();
+    }
+
+    /**
+     * Permit of a submitted call, released once
+     */
+    public final class Permit {
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Ends the call, see {@link AdaptiveConcurrencyLimiter#release(long, boolean)}. Only the first release counts.
+         */
+        public void release(boolean overloaded) {
+            if (released.compareAndSet(false, true))
+                AdaptiveConcurrencyLimiter.this.release(startNanos, overloaded);
+        }
+    }
+
+    private static final class QueuedCall {
+        private final Executor executor;
+        private final Consumer<Permit> call;
+
+        private QueuedCall(Executor executor, Consumer<Permit> call) {
+            this.executor = executor;
+            this.call = call;
+        }
+    }
+}
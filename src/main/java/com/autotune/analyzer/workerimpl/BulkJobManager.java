@@ -15,33 +15,28 @@
  *******************************************************************************/
 package com.autotune.analyzer.workerimpl;
 
-import com.autotune.analyzer.adapters.DeviceDetailsAdapter;
-import com.autotune.analyzer.adapters.RecommendationItemAdapter;
 import com.autotune.analyzer.exceptions.KruizeResponse;
+import com.autotune.analyzer.experiment.ExperimentService;
 import com.autotune.analyzer.kruizeObject.RecommendationSettings;
 import com.autotune.analyzer.metadataProfiles.MetadataProfile;
 import com.autotune.analyzer.metadataProfiles.MetadataProfileCollection;
 import com.autotune.analyzer.serviceObjects.*;
 import com.autotune.analyzer.utils.AnalyzerConstants;
-import com.autotune.analyzer.utils.GsonUTCDateAdapter;
 import com.autotune.common.data.dataSourceMetadata.*;
-import com.autotune.common.data.result.ContainerData;
-import com.autotune.common.data.system.info.device.DeviceDetails;
 import com.autotune.common.datasource.DataSourceInfo;
 import com.autotune.common.datasource.DataSourceManager;
+import com.autotune.common.datasource.prometheus.BulkJobQueryBatcher;
 import com.autotune.common.k8sObjects.TrialSettings;
 import com.autotune.common.utils.CommonUtils;
 import com.autotune.database.dao.ExperimentDAOImpl;
+import com.autotune.database.table.lm.KruizeBulkJobEntry;
 import com.autotune.operator.KruizeDeploymentInfo;
 import com.autotune.utils.GenericRestApiClient;
 import com.autotune.utils.KruizeConstants;
 import com.autotune.utils.MetricsConfig;
 import com.autotune.utils.Utils;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.gson.ExclusionStrategy;
-import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import io.micrometer.core.instrument.Timer;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.json.JSONObject;
@@ -51,24 +46,21 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.autotune.operator.KruizeDeploymentInfo.*;
+import static com.autotune.analyzer.services.BulkService.filterExperimentJson;
 import static com.autotune.analyzer.services.BulkService.filterJson;
-import static com.autotune.operator.KruizeDeploymentInfo.bulk_thread_pool_size;
 import static com.autotune.operator.KruizeDeploymentInfo.job_filter_to_db;
 import static com.autotune.utils.KruizeConstants.KRUIZE_BULK_API.*;
 import static com.autotune.utils.KruizeConstants.KRUIZE_BULK_API.NotificationConstants.*;
@@ -76,8 +68,8 @@ import static com.autotune.utils.KruizeConstants.KRUIZE_BULK_API.NotificationCon
 
 /**
  * The `run` method processes bulk input to create experiments and generates resource optimization recommendations.
- * It handles the creation of experiment names based on various data source components, makes HTTP POST requests
- * to generate recommendations, and updates job statuses based on the progress of the recommendations.
+ * It handles the creation of experiment names based on various data source components, generates recommendations
+ * for them in process, and updates job statuses based on the progress of the recommendations.
  *
  * <p>
  * Key operations include:
@@ -87,7 +79,7 @@ import static com.autotune.utils.KruizeConstants.KRUIZE_BULK_API.NotificationCon
  *     <li>Extracting time range from the input and converting it to epoch time format.</li>
  *     <li>Fetching metadata information from the data source for the specified time range and labels.</li>
  *     <li>Creating experiments for each data source component such as clusters, namespaces, workloads, and containers.</li>
- *     <li>Submitting HTTP POST requests to retrieve recommendations for each created experiment.</li>
+ *     <li>Generating recommendations for each created experiment.</li>
  *     <li>Updating the job status and progress based on the completion of recommendations.</li>
  * </ul>
  * </p>
@@ -101,14 +93,16 @@ import static com.autotune.utils.KruizeConstants.KRUIZE_BULK_API.NotificationCon
  */
 public class BulkJobManager implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(BulkJobManager.class);
-    ExecutorService createExecutor = Executors.newFixedThreadPool(bulk_thread_pool_size);
-    ExecutorService generateExecutor = Executors.newFixedThreadPool(bulk_thread_pool_size);
+    private final BulkJobScheduler.TaskGroup tasks = BulkJobScheduler.newTaskGroup();
+    private final ExperimentService experimentService = new ExperimentService();
     private String jobID;
     private BulkInput bulkInput;
     private BulkJobStatus jobData;
     private KruizeKafkaManager kruizeKafkaManager;
     private final Set<String> kafkaIncludeFilter;
     private final Set<String> kafkaExcludeFilter;
+    // experiments whose latest state is in the database
+    private final Set<String> checkpointedExperiments = ConcurrentHashMap.newKeySet();
 
     public BulkJobManager(String jobID, BulkJobStatus jobData, BulkInput payload) {
         this.jobID = jobID;
@@ -117,6 +111,12 @@ public class BulkJobManager implements Runnable {
         this.kruizeKafkaManager = KruizeDeploymentInfo.is_kafka_enabled ? KruizeKafkaManager.getInstance() : null;
         this.kafkaIncludeFilter = KruizeDeploymentInfo.getKafkaIncludeFilter();
         this.kafkaExcludeFilter = KruizeDeploymentInfo.getKafkaExcludeFilter();
+        // a job resumed from the database may have no experiments checkpointed yet
+        if (null == jobData.getExperimentMap()) {
+            jobData.setExperimentMap(Collections.synchronizedMap(new HashMap<>()));
+        } else {
+            jobData.setExperimentMap(Collections.synchronizedMap(new HashMap<>(jobData.getExperimentMap())));
+        }
     }
 
     public static List<String> appendExperiments(List<String> allExperiments, String experimentName) {
@@ -192,43 +192,38 @@ public class BulkJobManager implements Runnable {
                         Map<String, CreateExperimentAPIObject> createExperimentAPIObjectMap = getExperimentMap(labelString, jobData, metadataInfo, datasource); //Todo Store this map in buffer and use it if BulkAPI pods restarts and support experiment_type
                         //  TODO: Remove getExperimentMap and instead collect all metadata, process it, and create experiments dynamically during metadata iteration.
                         jobData.getSummary().setTotal_experiments(createExperimentAPIObjectMap.size());
-                        jobData.getSummary().setProcessed_experiments(0);
+                        // experiments completed before the job was resumed keep their outcome
+                        Set<String> completedExperiments = getCompletedExperiments(createExperimentAPIObjectMap.keySet());
+                        jobData.getSummary().setProcessed_experiments(completedExperiments.size());
+                        checkpointedExperiments.addAll(completedExperiments);
+                        if (!completedExperiments.isEmpty()) {
+                            LOGGER.info(BULK_JOB_RESUMED, jobID, completedExperiments.size(), createExperimentAPIObjectMap.size());
+                        }
                         if (jobData.getSummary().getTotal_experiments() > KruizeDeploymentInfo.bulk_api_limit) {
                             setFinalJobStatus(FAILED, String.valueOf(HttpURLConnection.HTTP_BAD_REQUEST), LIMIT_INFO, datasource);
                         } else {
-                            if (!KruizeDeploymentInfo.TEST_USE_ONLY_CACHE_JOB_IN_MEM) {                       // Todo Try to avoid this check in multiple places
-                                new ExperimentDAOImpl().bulkJobSave(jobData.getBulkJobForDB("{}"));
-                            }
+                            saveJob(true);
+                            // the experiments of the job share their metrics queries across the containers of a namespace
+                            BulkJobQueryBatcher.register(jobID, getNamespaceContainers(createExperimentAPIObjectMap, completedExperiments),
+                                    Instant.now().getEpochSecond());
                             try {
-                                processExperiments(datasource, createExperimentAPIObjectMap);
+                                processExperiments(datasource, createExperimentAPIObjectMap, completedExperiments);
                             } finally {
-                                // Shutdown createExecutor and wait for it to finish
-                                createExecutor.shutdown();
-                                while (!createExecutor.isTerminated()) {
-                                    try {
-                                        createExecutor.awaitTermination(1, TimeUnit.MINUTES);
-                                    } catch (InterruptedException e) {
-                                        Thread.currentThread().interrupt();
-                                        break;
-                                    }
+                                // Wait for the experiments to be created and their recommendations generated
+                                try {
+                                    tasks.await();
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
                                 }
-                                // Shutdown generateExecutor and wait for it to finish
-                                generateExecutor.shutdown();
-                                while (!generateExecutor.isTerminated()) {
-                                    try {
-                                        generateExecutor.awaitTermination(1, TimeUnit.MINUTES);
-                                    } catch (InterruptedException e) {
-                                        Thread.currentThread().interrupt();
-                                        break;
-                                    }
-                                }
-                                // Shutdown kafkaExecutor
-                                if (kruizeKafkaManager != null) {
-                                    kruizeKafkaManager.shutdownKafkaManager();
-                                }
-
+                                BulkJobQueryBatcher.unregister(jobID);
                                 if (jobData.getSummary().getTotal_experiments() == jobData.getSummary().getProcessed_experiments().get()) {
                                     statusValue = "success";
+                                    // nothing was left to run when every experiment completed before a resume
+                                    synchronized (jobData) {
+                                        if (IN_PROGRESS.equals(jobData.getSummary().getStatus())) {
+                                            setFinalJobStatus(COMPLETED, null, null, datasource);
+                                        }
+                                    }
                                 }
                             }
                         }
@@ -293,14 +288,37 @@ public class BulkJobManager implements Runnable {
                 jobData.setWebhook(webhook);
             }
         }
+        // experiments left unfinished, or whose checkpoint failed, are saved as they are
+        if (null != jobData.getExperimentMap()) {
+            List<BulkJobStatus.Experiment> experiments;
+            synchronized (jobData.getExperimentMap()) {
+                experiments = new ArrayList<>(jobData.getExperimentMap().values());
+            }
+            for (BulkJobStatus.Experiment experiment : experiments) {
+                if (!checkpointedExperiments.contains(experiment.getName()))
+                    checkpoint(experiment);
+            }
+        }
+        saveJob(false);
+    }
+
+    /**
+     * Saves the summary of the job, the experiments are saved one by one by {@link #checkpoint}
+     */
+    private void saveJob(boolean withMetadata) {
         if (!KruizeDeploymentInfo.TEST_USE_ONLY_CACHE_JOB_IN_MEM) {               //toDO avoid this check
             try {
-                if (null == jobData.getExperimentMap() || jobData.getExperimentMap().isEmpty()) {
-                    new ExperimentDAOImpl().bulkJobSave(jobData.getBulkJobForDB("{}"));
-                } else {
+                KruizeBulkJobEntry kruizeBulkJobEntry = jobData.getBulkJobForDB("{}");
+                ExperimentDAOImpl experimentDAO = new ExperimentDAOImpl();
+                if (!withMetadata)
+                    kruizeBulkJobEntry.setMetadata(null);
+                // the payload is saved at submission and never changes
+                kruizeBulkJobEntry.setPayload(null);
+                if (!experimentDAO.updateBulkJobSummary(kruizeBulkJobEntry).isSuccess()) {
+                    // not saved at submission, the whole job is saved instead
                     Set<String> includeFields = new HashSet<>(Arrays.asList(job_filter_to_db));
                     String experimentJSONString = filterJson(jobData, includeFields, Collections.emptySet(), null);
-                    new ExperimentDAOImpl().bulkJobSave(jobData.getBulkJobForDB(experimentJSONString));
+                    experimentDAO.bulkJobSave(jobData.getBulkJobForDB(experimentJSONString));
                 }
             } catch (Exception e) {
                 LOGGER.error(e.getMessage());
@@ -308,21 +326,82 @@ public class BulkJobManager implements Runnable {
         }
     }
 
+    /**
+     * @return experiments of the job already processed or failed, by an earlier run of a resumed job
+     */
+    private Set<String> getCompletedExperiments(Set<String> experimentNames) {
+        Set<String> completedExperiments = new HashSet<>();
+        for (String experimentName : experimentNames) {
+            BulkJobStatus.Experiment experiment = jobData.getExperimentMap().get(experimentName);
+            if (null != experiment && isCompleted(experiment)) {
+                completedExperiments.add(experimentName);
+            }
+        }
+        return completedExperiments;
+    }
+
+    private static boolean isCompleted(BulkJobStatus.Experiment experiment) {
+        return null != experiment.getStatus()
+                && experiment.getStatus() != NotificationConstants.Status.UNPROCESSED
+                && experiment.getStatus() != NotificationConstants.Status.PROCESSING;
+    }
+
+    /**
+     * Stores the outcome of a completed experiment, so that the job skips it if resumed
+     */
+    private void checkpoint(BulkJobStatus.Experiment experiment) {
+        if (KruizeDeploymentInfo.TEST_USE_ONLY_CACHE_JOB_IN_MEM)
+            return;
+        try {
+            Set<String> includeFields = new HashSet<>(Arrays.asList(job_filter_to_db));
+            new ExperimentDAOImpl().checkpointBulkJobExperiment(jobID, experiment.getName(),
+                    filterExperimentJson(experiment, includeFields), jobData.getSummary().getProcessed_experiments().get());
+            checkpointedExperiments.add(experiment.getName());
+        } catch (Exception e) {
+            // the experiment is run again if the job is resumed
+            LOGGER.error(BULK_JOB_CHECKPOINT_ERROR, experiment.getName(), jobID, e.getMessage());
+        }
+    }
 
-    private void processExperiments(DataSourceInfo datasource, Map<String, CreateExperimentAPIObject> createExperimentAPIObjectMap) {
+    /**
+     * @return names of the containers of the experiments left to process, by namespace
+     */
+    private static Map<String, Set<String>> getNamespaceContainers(Map<String, CreateExperimentAPIObject> createExperimentAPIObjectMap,
+                                                                   Set<String> completedExperiments) {
+        Map<String, Set<String>> namespaceContainers = new HashMap<>();
         for (CreateExperimentAPIObject apiObject : createExperimentAPIObjectMap.values()) {
+            if (completedExperiments.contains(apiObject.getExperimentName()) || null == apiObject.getKubernetesObjects())
+                continue;
+            for (KubernetesAPIObject kubernetesAPIObject : apiObject.getKubernetesObjects()) {
+                if (null == kubernetesAPIObject.getContainerAPIObjects())
+                    continue;
+                for (ContainerAPIObject containerAPIObject : kubernetesAPIObject.getContainerAPIObjects()) {
+                    namespaceContainers.computeIfAbsent(kubernetesAPIObject.getNamespace(), namespace -> new HashSet<>())
+                            .add(containerAPIObject.getContainer_name());
+                }
+            }
+        }
+        return namespaceContainers;
+    }
+
+    private void processExperiments(DataSourceInfo datasource, Map<String, CreateExperimentAPIObject> createExperimentAPIObjectMap,
+                                    Set<String> completedExperiments) {
+        for (CreateExperimentAPIObject apiObject : createExperimentAPIObjectMap.values()) {
+            if (completedExperiments.contains(apiObject.getExperimentName()))
+                continue;
             DataSourceInfo finalDatasource = datasource;
-            createExecutor.submit(() -> handleExperimentCreation(apiObject, finalDatasource));
+            tasks.submit(BulkJobScheduler.dbLimiter(), permit -> handleExperimentCreation(apiObject, finalDatasource, permit));
         }
     }
 
-    private void handleExperimentCreation(CreateExperimentAPIObject apiObject, DataSourceInfo datasource) {
+    private void handleExperimentCreation(CreateExperimentAPIObject apiObject, DataSourceInfo datasource,
+                                          AdaptiveConcurrencyLimiter.Permit permit) {
         String experimentName = apiObject.getExperimentName();
         BulkJobStatus.Experiment experiment = jobData.addExperiment(experimentName);
 
         try {
             experiment.getApis().getCreate().setRequest(apiObject);
-            boolean experimentExists = createExperiment(apiObject, experiment, datasource);
+            boolean experimentExists = createExperiment(apiObject, experiment, permit);
 
             if (!experimentExists) {
                 markExperimentAsFailed(experiment, null);
@@ -330,7 +409,9 @@ public class BulkJobManager implements Runnable {
 
             if (experimentExists) {
                 try {
-                    generateExecutor.submit(() -> handleRecommendationGeneration(experimentName, datasource, experiment));
+                    // the metrics queries to the datasource dominate the generation
+                    tasks.submit(BulkJobScheduler.datasourceLimiter(datasource.getName()),
+                            generationPermit -> handleRecommendationGeneration(apiObject, datasource, experiment, generationPermit));
                 } catch (Exception e) {
                     LOGGER.error(e.getMessage());
                     handleException(e, experiment);
@@ -339,33 +420,14 @@ public class BulkJobManager implements Runnable {
         } catch (Exception e) {
             handleException(e, experiment);
         } finally {
-            checkAndFinalizeJob(datasource, experiment);
-        }
-    }
-
-    private List<?> parseRecommendationResponse(GenericRestApiClient.HttpResponseWrapper response) {
-        ExclusionStrategy strategy = new ExclusionStrategy() {
-            @Override
-            public boolean shouldSkipField(FieldAttributes field) {
-                return field.getDeclaringClass() == ContainerData.class && (field.getName().equals("results"))
-                        || (field.getDeclaringClass() == ContainerAPIObject.class && (field.getName().equals("metrics")));
-            }
-
-            @Override
-            public boolean shouldSkipClass(Class<?> clazz) {
-                return false;
+            // only a failed creation completes the experiment here, the generation task completes the others
+            if (isCompleted(experiment)) {
+                releaseContainerResults(apiObject);
+                completeExperiment(KruizeConstants.KAFKA_CONSTANTS.ERROR_TOPIC, datasource, experiment);
+            } else {
+                checkAndFinalizeJob(datasource, experiment);
             }
-        };
-        Gson gson = new GsonBuilder()
-                .disableHtmlEscaping()
-                .setPrettyPrinting()
-                .enableComplexMapKeySerialization()
-                .registerTypeAdapter(Date.class, new GsonUTCDateAdapter())
-                .registerTypeAdapter(AnalyzerConstants.RecommendationItem.class, new RecommendationItemAdapter())
-                .registerTypeAdapter(DeviceDetails.class, new DeviceDetailsAdapter())
-                .setExclusionStrategies(strategy)
-                .create();
-        return gson.fromJson(response.getResponseBody().toString(), List.class);
+        }
     }
 
     private void markExperimentAsFailed(BulkJobStatus.Experiment experiment, Exception e) {
@@ -383,11 +445,6 @@ public class BulkJobManager implements Runnable {
         experiment.setNotification(
                 String.valueOf(notification.getCode()), notification
         );
-        // if kafka is enabled, push the response in the respective topic
-        if (kruizeKafkaManager != null) {
-            kruizeKafkaManager.publishKafkaMessage(KruizeConstants.KAFKA_CONSTANTS.ERROR_TOPIC, jobData, experiment.getName(),
-                    experiment, kafkaIncludeFilter, kafkaExcludeFilter);
-        }
     }
 
     private void handleException(Exception e, BulkJobStatus.Experiment experiment) {
@@ -396,6 +453,24 @@ public class BulkJobManager implements Runnable {
         markExperimentAsFailed(experiment, e);
     }
 
+    /**
+     * Publishes the outcome of the experiment if kafka is enabled, then checkpoints it and finalizes the job if it
+     * was the last one. The checkpoint waits for the delivery so that it records whether it was published.
+     */
+    private void completeExperiment(String topic, DataSourceInfo datasource, BulkJobStatus.Experiment experiment) {
+        if (kruizeKafkaManager == null) {
+            checkpoint(experiment);
+            checkAndFinalizeJob(datasource, experiment);
+            return;
+        }
+        CompletableFuture<Void> published = kruizeKafkaManager.publishKafkaMessage(topic, jobData, experiment.getName(),
+                experiment, kafkaIncludeFilter, kafkaExcludeFilter);
+        tasks.submitAfter(published, () -> {
+            checkpoint(experiment);
+            checkAndFinalizeJob(datasource, experiment);
+        });
+    }
+
     private void checkAndFinalizeJob(DataSourceInfo datasource, BulkJobStatus.Experiment experiment) {
         synchronized (jobData) {
             if (jobData.getSummary().getTotal_experiments() == jobData.getSummary().getProcessed_experiments().get()) {
@@ -409,36 +484,55 @@ public class BulkJobManager implements Runnable {
         }
     }
 
-    private void handleRecommendationGeneration(String experimentName, DataSourceInfo datasource, BulkJobStatus.Experiment experiment) {
-        String topic = "";
+    private void handleRecommendationGeneration(CreateExperimentAPIObject apiObject, DataSourceInfo datasource, BulkJobStatus.Experiment experiment,
+                                                AdaptiveConcurrencyLimiter.Permit permit) {
+        String experimentName = apiObject.getExperimentName();
+        String topic = KruizeConstants.KAFKA_CONSTANTS.ERROR_TOPIC;
         try {
-            String recommendationURL = String.format(KruizeDeploymentInfo.recommendations_url + "&" + JOB_ID + "=%s",
-                    URLEncoder.encode(experimentName, StandardCharsets.UTF_8), jobID);
-
-            GenericRestApiClient recommendationApiClient = new GenericRestApiClient(datasource);
-            recommendationApiClient.setBaseURL(recommendationURL);
-
-            GenericRestApiClient.HttpResponseWrapper recommendationResponse = recommendationApiClient.callKruizeAPI(null);
-
+            ExperimentService.RecommendationsResult result = null;
+            try {
+                result = experimentService.generateRecommendations(experimentName, null, null, jobID);
+            } finally {
+                // failing to fetch the metrics is the datasource struggling as well
+                permit.release(null == result || result.getStatusCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR
+                        || result.isMetricsFetchFailed());
+            }
 
-            if (recommendationResponse.getStatusCode() == HttpURLConnection.HTTP_CREATED) {
-                experiment.getApis().getRecommendations().setResponse(parseRecommendationResponse(recommendationResponse));
+            if (result.isSuccess()) {
+                // keep the bulk status and kafka output in the shape of the parsed API response
+                experiment.getApis().getRecommendations().setResponse(ExperimentService.RECOMMENDATIONS_GSON.fromJson(
+                        ExperimentService.RECOMMENDATIONS_GSON.toJsonTree(result.getRecommendations()), List.class));
                 experiment.setStatus(NotificationConstants.Status.PROCESSED);
                 jobData.getSummary().incrementProcessed_experiments();
                 topic = KruizeConstants.KAFKA_CONSTANTS.RECOMMENDATIONS_TOPIC;
             } else {
-                markExperimentAsFailed(experiment, new Exception(recommendationResponse.getResponseBody().toString()));
-                LOGGER.error(recommendationResponse.getResponseBody().toString());
-                topic = KruizeConstants.KAFKA_CONSTANTS.ERROR_TOPIC;
+                String errorResponse = new Gson().toJson(new KruizeResponse(result.getMessage(), result.getStatusCode(), "", "ERROR"));
+                markExperimentAsFailed(experiment, new Exception(errorResponse));
+                LOGGER.error(errorResponse);
             }
         } catch (Exception e) {
             handleException(e, experiment);
         } finally {
+            releaseContainerResults(apiObject);
             // if kafka is enabled, push the response in the respective topic
-            if (kruizeKafkaManager != null) {
-                kruizeKafkaManager.publishKafkaMessage(topic, jobData, experimentName, experiment, kafkaIncludeFilter, kafkaExcludeFilter);
+            completeExperiment(topic, datasource, experiment);
+        }
+    }
+
+    /**
+     * Drops the series fetched for the containers of the experiment by the other experiments of the job and not
+     * picked up, which happens when it failed before running all its queries
+     */
+    private void releaseContainerResults(CreateExperimentAPIObject apiObject) {
+        BulkJobQueryBatcher bulkJobQueryBatcher = BulkJobQueryBatcher.get(jobID);
+        if (null == bulkJobQueryBatcher || null == apiObject.getKubernetesObjects())
+            return;
+        for (KubernetesAPIObject kubernetesAPIObject : apiObject.getKubernetesObjects()) {
+            if (null == kubernetesAPIObject.getContainerAPIObjects())
+                continue;
+            for (ContainerAPIObject containerAPIObject : kubernetesAPIObject.getContainerAPIObjects()) {
+                bulkJobQueryBatcher.release(kubernetesAPIObject.getNamespace(), containerAPIObject.getContainer_name());
             }
-            checkAndFinalizeJob(datasource, experiment);
         }
     }
 
@@ -488,17 +582,23 @@ public class BulkJobManager implements Runnable {
     }
 
 
-    private boolean createExperiment(CreateExperimentAPIObject apiObject, BulkJobStatus.Experiment experiment, DataSourceInfo datasource) {
+    private boolean createExperiment(CreateExperimentAPIObject apiObject, BulkJobStatus.Experiment experiment,
+                                     AdaptiveConcurrencyLimiter.Permit permit) {
         try {
-            GenericRestApiClient apiClient = new GenericRestApiClient(datasource);
-            apiClient.setBaseURL(KruizeDeploymentInfo.experiments_url);
-
-            LOGGER.debug("[{}]", new Gson().toJson(apiObject));
-            GenericRestApiClient.HttpResponseWrapper response = apiClient.callKruizeAPI("[" + new Gson().toJson(apiObject) + "]");
-            experiment.getApis().getCreate().setResponse(new Gson().fromJson(response.getResponseBody().toString(), KruizeResponse.class));
+            Gson gson = new Gson();
+            LOGGER.debug("[{}]", gson.toJson(apiObject));
+            // the service fills in the object it creates, keep the request recorded in the job status as sent
+            CreateExperimentAPIObject createObject = gson.fromJson(gson.toJsonTree(apiObject), CreateExperimentAPIObject.class);
+            KruizeResponse response = null;
+            try {
+                response = experimentService.createExperiment(createObject);
+            } finally {
+                permit.release(null == response || response.getHttpcode() >= HttpURLConnection.HTTP_INTERNAL_ERROR);
+            }
+            experiment.getApis().getCreate().setResponse(response);
 
-            LOGGER.debug("API Response code: {}", response);
-            return response.getStatusCode() == HttpURLConnection.HTTP_CREATED || response.getStatusCode() == HttpURLConnection.HTTP_CONFLICT;
+            LOGGER.debug("Create experiment response code: {}", response.getHttpcode());
+            return response.getHttpcode() == HttpURLConnection.HTTP_CREATED || response.getHttpcode() == HttpURLConnection.HTTP_CONFLICT;
         } catch (Exception e) {
             handleException(e, experiment);
             return false;
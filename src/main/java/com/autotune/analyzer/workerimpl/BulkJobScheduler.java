@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.analyzer.workerimpl;
+
+import com.autotune.analyzer.serviceObjects.BulkJobStatus;
+import com.autotune.database.dao.ExperimentDAO;
+import com.autotune.database.dao.ExperimentDAOImpl;
+import com.autotune.database.table.lm.KruizeBulkJobEntry;
+import com.autotune.operator.KruizeDeploymentInfo;
+import com.autotune.utils.KruizeConstants;
+import com.autotune.utils.MetricsConfig;
+import io.micrometer.core.instrument.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the bulk jobs, and the experiment tasks of all of them on one shared pool of workers.
+ * <p>
+ * The work is mostly blocking calls to the datasources and the database, so how many of them run at a time is
+ * decided by an {@link AdaptiveConcurrencyLimiter} per datasource and one for the database rather than by the
+ * number of workers. The tasks wait for their limiter without holding a worker, so that a saturated backend doesn't
+ * hold up the tasks calling the others. Jobs against the same datasource share its limit.
+ * <p>
+ * Jobs saved to the database are kept alive by a periodic heartbeat. Jobs left in progress by a pod that stopped
+ * are claimed by another pod, or by the same one once restarted, and resumed from their checkpoints.
+ */
+public final class BulkJobScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkJobScheduler.class);
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+    private static final Map<String, AdaptiveConcurrencyLimiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final ExecutorService JOB_EXECUTOR = Executors.newFixedThreadPool(10);
+    private static final Set<String> RUNNING_JOBS = ConcurrentHashMap.newKeySet();
+    private static volatile ThreadPoolExecutor executor;
+    private static ScheduledExecutorService recoveryExecutor;
+
+    private BulkJobScheduler() {
+    }
+
+    /**
+     * Runs the job, keeping it alive in the database while it runs
+     */
+    public static void submitJob(String jobID, Runnable job) {
+        RUNNING_JOBS.add(jobID);
+        try {
+            JOB_EXECUTOR.submit(() -> {
+                try {
+                    job.run();
+                } finally {
+                    RUNNING_JOBS.remove(jobID);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            RUNNING_JOBS.remove(jobID);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts refreshing the checkpoint time of the running jobs and resuming the abandoned ones
+     */
+    public static synchronized void startRecovery() {
+        if (null != recoveryExecutor)
+            return;
+        recoveryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-job-recovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        recoveryExecutor.scheduleWithFixedDelay(BulkJobScheduler::heartbeatAndResume, 0,
+                KruizeConstants.KRUIZE_BULK_API.BULK_JOB_HEARTBEAT_INTERVAL_SECS, TimeUnit.SECONDS);
+    }
+
+    public static synchronized void shutdown() {
+        if (null != recoveryExecutor) {
+            recoveryExecutor.shutdownNow();
+            recoveryExecutor = null;
+        }
+        JOB_EXECUTOR.shutdown();
+    }
+
+    private static void heartbeatAndResume() {
+        ExperimentDAO experimentDAO = new ExperimentDAOImpl();
+        try {
+            experimentDAO.heartbeatBulkJobs(new ArrayList<>(RUNNING_JOBS));
+            for (String jobID : experimentDAO.claimStaleBulkJobs(KruizeConstants.KRUIZE_BULK_API.BULK_JOB_STALE_AFTER_SECS)) {
+                // still listed when the claim raced with the end of a job run here
+                if (RUNNING_JOBS.contains(jobID))
+                    continue;
+                KruizeBulkJobEntry kruizeBulkJobEntry = experimentDAO.findBulkJobById(jobID);
+                if (null == kruizeBulkJobEntry)
+                    continue;
+                LOGGER.info(KruizeConstants.KRUIZE_BULK_API.BULK_JOB_RESUMING, jobID);
+                BulkJobStatus jobData = kruizeBulkJobEntry.getBulkJobStatus();
+                submitJob(jobID, new BulkJobManager(jobID, jobData, jobData.getSummary().getInput()));
+            }
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage());
+        }
+    }
+
+    /**
+     * @return limiter of the calls made to the datasource
+     */
+    public static AdaptiveConcurrencyLimiter datasourceLimiter(String datasourceName) {
+        return limiter(KruizeConstants.KRUIZE_BULK_API.DATASOURCE_LIMITER_PREFIX + datasourceName,
+                KruizeDeploymentInfo.bulk_max_concurrency);
+    }
+
+    /**
+     * @return limiter of the calls made to the database, never above the size of its connection pool
+     */
+    public static AdaptiveConcurrencyLimiter dbLimiter() {
+        int maxLimit = KruizeDeploymentInfo.bulk_max_concurrency;
+        try {
+            maxLimit = Math.min(maxLimit, Integer.parseInt(KruizeDeploymentInfo.settings_hibernate_c3p0_max_size));
+        } catch (NumberFormatException e) {
+            // pool size not configured, keep the bulk maximum
+        }
+        return limiter(KruizeConstants.KRUIZE_BULK_API.DB_LIMITER, maxLimit);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(String name, int maxLimit) {
+        return LIMITERS.computeIfAbsent(name, key -> {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(key,
+                    KruizeDeploymentInfo.bulk_thread_pool_size, maxLimit);
+            Gauge.builder(MetricsConfig.BULK_CONCURRENCY_METRIC, limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description(MetricsConfig.BULK_CONCURRENCY_METRIC_DESC)
+                    .tags("limiter", key, "state", "limit").register(MetricsConfig.meterRegistry());
+            Gauge.builder(MetricsConfig.BULK_CONCURRENCY_METRIC, limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description(MetricsConfig.BULK_CONCURRENCY_METRIC_DESC)
+                    .tags("limiter", key, "state", "inflight").register(MetricsConfig.meterRegistry());
+            return limiter;
+        });
+    }
+
+    /**
+     * @return a new group to submit the tasks of one job to
+     */
+    public static TaskGroup newTaskGroup() {
+        return new TaskGroup();
+    }
+
+    private static ThreadPoolExecutor executor() {
+        ThreadPoolExecutor current = executor;
+        if (null == current) {
+            synchronized (BulkJobScheduler.class) {
+                current = executor;
+                if (null == current) {
+                    // tasks are only handed to the workers once their limiter lets them call their backend, enough
+                    // workers to fill the limits of a few backends
+                    int workers = Math.max(KruizeDeploymentInfo.bulk_thread_pool_size, KruizeDeploymentInfo.bulk_max_concurrency) * 2;
+                    current = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "bulk-worker-" + WORKER_COUNT.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    current.allowCoreThreadTimeOut(true);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Tasks of one job, which can wait for all of them, including the ones submitted by its tasks, to finish
+     */
+    public static final class TaskGroup {
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private TaskGroup() {
+        }
+
+        public void submit(Runnable task) {
+            pending.incrementAndGet();
+            try {
+                executor().execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        done();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                done();
+                throw e;
+            }
+        }
+
+        /**
+         * Submits the task once it fits within the limit of the backend it calls, see
+         * {@link AdaptiveConcurrencyLimiter#submit}. The task releases its permit once done with the backend.
+         */
+        public void submit(AdaptiveConcurrencyLimiter limiter, Consumer<AdaptiveConcurrencyLimiter.Permit> task) {
+            ThreadPoolExecutor workers = executor();
+            pending.incrementAndGet();
+            limiter.submit(workers, permit -> {
+                try {
+                    task.accept(permit);
+                } finally {
+                    done();
+                }
+            });
+        }
+
+        /**
+         * Submits the task once the stage completes, however it completes. The group waits for the stage as well.
+         */
+        public void submitAfter(CompletionStage<?> stage, Runnable task) {
+            pending.incrementAndGet();
+            stage.whenComplete((result, error) -> {
+                try {
+                    submit(task);
+                } finally {
+                    done();
+                }
+            });
+        }
+
+        /**
+         * Waits until every task submitted to the group has finished
+         */
+        public void await() throws InterruptedException {
+            synchronized (pending) {
+                while (pending.get() > 0) {
+                    pending.wait();
+                }
+            }
+        }
+
+        private void done() {
+            if (pending.decrementAndGet() == 0) {
+                synchronized (pending) {
+                    pending.notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.analyzer.workerimpl;
+
+import com.autotune.analyzer.exceptions.KruizeResponse;
+import com.autotune.analyzer.serviceObjects.BulkInput;
+import com.autotune.analyzer.serviceObjects.FailedUpdateResultsAPIObject;
+import com.autotune.analyzer.serviceObjects.UpdateResultsAPIObject;
+import com.autotune.analyzer.services.BulkService;
+import com.autotune.analyzer.services.UpdateResults;
+import com.autotune.common.kafka.KruizeKafka;
+import com.autotune.common.kafka.KruizeKafkaConsumer;
+import com.autotune.operator.KruizeDeploymentInfo;
+import com.autotune.utils.KruizeConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Takes the bulk requests and the updateResults payloads sent to the Kafka input topics, as the bulk and
+ * updateResults APIs do. A record is done with once its bulk job is saved or its results are saved to the database,
+ * an input that can't be parsed or results that fail validation are reported in the error topic instead.
+ * <p>
+ * When the database can't be reached the record is not done with, it is processed again from its offset. Results
+ * saved by an earlier attempt of the record are then found to already exist, they count as saved, and the bulk job
+ * of a record gets an id derived from the record, so that it is created only once.
+ */
+public final class KafkaInputProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaInputProcessor.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static KruizeKafkaConsumer consumer;
+
+    private KafkaInputProcessor() {
+    }
+
+    /**
+     * Starts consuming the input topics configured, if any
+     */
+    public static synchronized void start() {
+        if (null != consumer)
+            return;
+        Map<String, KruizeKafkaConsumer.RecordHandler> handlers = new HashMap<>();
+        if (null != KruizeDeploymentInfo.bulk_input_topic && !KruizeDeploymentInfo.bulk_input_topic.isEmpty())
+            handlers.put(KruizeDeploymentInfo.bulk_input_topic, KafkaInputProcessor::processBulkInput);
+        if (null != KruizeDeploymentInfo.results_input_topic && !KruizeDeploymentInfo.results_input_topic.isEmpty())
+            handlers.put(KruizeDeploymentInfo.results_input_topic, KafkaInputProcessor::processResultsInput);
+        if (handlers.isEmpty())
+            return;
+        consumer = KruizeKafkaConsumer.create(handlers);
+        Thread thread = new Thread(consumer, "kafka-input-consumer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static synchronized void shutdown() {
+        if (null != consumer) {
+            consumer.shutdown();
+            consumer = null;
+        }
+    }
+
+    /**
+     * Submits the bulk job of the record, once saved to the database
+     */
+    static void processBulkInput(ConsumerRecord<String, String> record) throws Exception {
+        BulkInput payload;
+        try {
+            payload = OBJECT_MAPPER.readValue(record.value(), BulkInput.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            reject(record, e.getMessage(), null);
+            return;
+        }
+        String jobID = getBulkJobID(record);
+        if (BulkService.submitJob(jobID, payload))
+            LOGGER.info(KruizeConstants.KAFKA_CONSTANTS.BULK_JOB_SUBMITTED, jobID, record.key());
+        else
+            LOGGER.info(KruizeConstants.KAFKA_CONSTANTS.BULK_JOB_ALREADY_SUBMITTED, jobID, record.key());
+    }
+
+    /**
+     * @return id of the bulk job of the record, the same each time the record is delivered
+     */
+    static String getBulkJobID(ConsumerRecord<String, String> record) {
+        String recordID = record.topic() + "/" + record.partition() + "/" + record.offset() + "/" + record.timestamp();
+        return UUID.nameUUIDFromBytes(recordID.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Saves the results of the record, in batches of the size accepted by the updateResults API
+     */
+    static void processResultsInput(ConsumerRecord<String, String> record) throws Exception {
+        List<UpdateResultsAPIObject> updateResultsAPIObjects;
+        try {
+            if (null == record.value() || record.value().isBlank())
+                throw new JsonParseException(String.format(KruizeConstants.KAFKA_CONSTANTS.EMPTY_INPUT, record.topic()));
+            updateResultsAPIObjects = UpdateResults.parseResults(record.value());
+        } catch (JsonParseException | NumberFormatException e) {
+            reject(record, e.getMessage(), null);
+            return;
+        }
+        List<FailedUpdateResultsAPIObject> failedResults = new ArrayList<>();
+        int batchSize = Math.max(1, KruizeDeploymentInfo.bulk_update_results_limit);
+        for (int from = 0; from < updateResultsAPIObjects.size(); from += batchSize) {
+            int to = Math.min(updateResultsAPIObjects.size(), from + batchSize);
+            // a transient DB failure is thrown, for the record to be retried instead of rejected
+            for (FailedUpdateResultsAPIObject failedResult : UpdateResults.saveResults(updateResultsAPIObjects.subList(from, to))) {
+                if (!isAlreadySaved(failedResult))
+                    failedResults.add(failedResult);
+            }
+        }
+        if (!failedResults.isEmpty()) {
+            reject(record, String.format("Out of a total of %s records, %s failed to save",
+                    updateResultsAPIObjects.size(), failedResults.size()), failedResults);
+        }
+    }
+
+    /**
+     * @return true if the only reason the result was not saved is that it already exists
+     */
+    static boolean isAlreadySaved(FailedUpdateResultsAPIObject failedResult) {
+        if (null == failedResult.getErrors() || failedResult.getErrors().isEmpty())
+            return false;
+        for (KruizeResponse error : failedResult.getErrors()) {
+            if (HttpURLConnection.HTTP_CONFLICT != error.getHttpcode())
+                return false;
+        }
+        return true;
+    }
+
+    private static void reject(ConsumerRecord<String, String> record, String message, List<FailedUpdateResultsAPIObject> data) {
+        LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_INPUT_REJECTED, record.key(), record.topic(), message);
+        try {
+            String errorResponse = new Gson().toJson(new KruizeResponse(message, HttpURLConnection.HTTP_BAD_REQUEST,
+                    "", "ERROR", data));
+            KruizeKafkaManager.getInstance().publish(new KruizeKafka(KruizeConstants.KAFKA_CONSTANTS.ERROR_TOPIC, errorResponse));
+        } catch (Exception e) {
+            // the record is not processed again for the report to be published
+            LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_PUBLISH_FAILED, e.getMessage());
+        }
+    }
+}
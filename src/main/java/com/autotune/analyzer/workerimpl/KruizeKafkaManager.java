@@ -21,29 +21,32 @@ import com.autotune.operator.KruizeDeploymentInfo;
 import com.autotune.utils.KruizeConstants;
 import com.autotune.common.kafka.KruizeKafka;
 import com.autotune.common.kafka.KruizeKafkaProducer;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Manages Kafka message publishing using an executor service.
- * Ensures messages are published to valid Kafka topics and processed asynchronously.
+ * Manages Kafka message publishing through the shared {@link KruizeKafkaProducer}.
+ * Ensures messages are published to valid Kafka topics and sent asynchronously.
  */
 public class KruizeKafkaManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(KruizeKafkaManager.class);
     private static KruizeKafkaManager instance;
-    private final ExecutorService kafkaExecutorService = Executors.newFixedThreadPool(KruizeDeploymentInfo.kafka_thread_pool_size);
+    private final KruizeKafkaProducer kruizeKafkaProducer;
     private final Set<String> validTopics;
+    // writers by include and exclude filters, which come from the deployment config and hardly ever differ
+    private final Map<List<Set<String>>, ObjectWriter> jobWriters = new ConcurrentHashMap<>();
 
     /**
      * Constructs a KruizeKafkaManager instance.
-     * Initializes an executor service and loads valid Kafka topics from the configuration.
+     * Validates the connection and loads valid Kafka topics from the configuration.
      */
     public KruizeKafkaManager() {
         // validate the Kafka Connection
@@ -51,6 +54,12 @@ public class KruizeKafkaManager {
         validateKafkaConnection();
         // Load valid topics from config
         validTopics = KruizeDeploymentInfo.loadKafkaTopicsFromConfig();
+        kruizeKafkaProducer = KruizeKafkaProducer.getInstance();
+    }
+
+    KruizeKafkaManager(KruizeKafkaProducer kruizeKafkaProducer, Set<String> validTopics) {
+        this.kruizeKafkaProducer = kruizeKafkaProducer;
+        this.validTopics = validTopics;
     }
 
     /**
@@ -66,7 +75,8 @@ public class KruizeKafkaManager {
     }
 
     /**
-     * Publishes a Kafka message after filtering and validation.
+     * Publishes a Kafka message after filtering and validation. The status of the experiment is set to
+     * PUBLISHED or PUBLISH_FAILED once the delivery is known.
      *
      * @param topic              the Kafka topic
      * @param jobData            the bulkJobStatus object containing the response data
@@ -74,48 +84,52 @@ public class KruizeKafkaManager {
      * @param experiment         the experiment object
      * @param kafkaIncludeFilter filters to include in the Kafka message
      * @param kafkaExcludeFilter filters to exclude from the Kafka message
+     * @return completes, never exceptionally, once the status of the experiment is set
      */
-    void publishKafkaMessage(String topic, BulkJobStatus jobData, String experimentName, BulkJobStatus.Experiment experiment, Set<String> kafkaIncludeFilter, Set<String> kafkaExcludeFilter) {
+    CompletableFuture<Void> publishKafkaMessage(String topic, BulkJobStatus jobData, String experimentName, BulkJobStatus.Experiment experiment, Set<String> kafkaIncludeFilter, Set<String> kafkaExcludeFilter) {
         try {
             if (!validTopics.contains(topic)) {
                 throw new Exception(String.format(KruizeConstants.KAFKA_CONSTANTS.MISSING_KAFKA_TOPIC, topic));
             }
-            String kafkaMessage = BulkService.filterJson(jobData, kafkaIncludeFilter, kafkaExcludeFilter, experimentName);
+            ObjectWriter jobWriter = jobWriters.computeIfAbsent(List.of(kafkaIncludeFilter, kafkaExcludeFilter),
+                    filters -> BulkService.jobWriter(kafkaIncludeFilter, kafkaExcludeFilter));
+            String kafkaMessage = BulkService.filterJson(jobData, jobWriter, experimentName);
             LOGGER.debug("Publishing Kafka Message for experiment {} in topic : {}", experimentName, topic);
-            // synchronize the publish call to avoid inter-leaving of messages
-            synchronized (this) {
-                publish(new KruizeKafka(topic, kafkaMessage));
-            }
-            experiment.setStatus(KruizeConstants.KRUIZE_BULK_API.NotificationConstants.Status.PUBLISHED);
+            return publish(new KruizeKafka(topic, kafkaMessage)).handle((metadata, e) -> {
+                experiment.setStatus((null == e) ? KruizeConstants.KRUIZE_BULK_API.NotificationConstants.Status.PUBLISHED
+                        : KruizeConstants.KRUIZE_BULK_API.NotificationConstants.Status.PUBLISH_FAILED);
+                return null;
+            });
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
             experiment.setStatus(KruizeConstants.KRUIZE_BULK_API.NotificationConstants.Status.PUBLISH_FAILED);
+            return CompletableFuture.completedFuture(null);
         }
     }
 
     /**
-     * Publishes a Kafka message asynchronously using the executor service.
+     * Publishes a Kafka message asynchronously, waiting only while too many messages are in flight.
      *
      * @param kruizeKafka the Kafka message containing the topic and message content
+     * @return completes once the message is acknowledged, or exceptionally if it was not delivered
      */
-    public void publish(KruizeKafka kruizeKafka) {
+    public CompletableFuture<RecordMetadata> publish(KruizeKafka kruizeKafka) {
         try {
-            // Call Kafka producer based on topic
             switch (kruizeKafka.getTopic()) {
                 case KruizeConstants.KAFKA_CONSTANTS.RECOMMENDATIONS_TOPIC:
-                    kafkaExecutorService.submit(new KruizeKafkaProducer.ValidRecommendationMessageProducer(kruizeKafka.getMessage()));
-                    break;
                 case KruizeConstants.KAFKA_CONSTANTS.ERROR_TOPIC:
-                    kafkaExecutorService.submit(new KruizeKafkaProducer.ErrorMessageProducer(kruizeKafka.getMessage()));
-                    break;
                 case KruizeConstants.KAFKA_CONSTANTS.SUMMARY_TOPIC:
-                    kafkaExecutorService.submit(new KruizeKafkaProducer.SummaryResponseMessageProducer(kruizeKafka.getMessage()));
-                    break;
+                    return kruizeKafkaProducer.send(kruizeKafka.getTopic(), kruizeKafka.getMessage());
                 default:
                     throw new IllegalArgumentException(String.format(KruizeConstants.KAFKA_CONSTANTS.UNKNOWN_TOPIC, kruizeKafka.getTopic()));
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_PUBLISH_FAILED, e.getMessage());
+            return CompletableFuture.failedFuture(e);
         } catch (Exception e) {
             LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_PUBLISH_FAILED, e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
@@ -142,16 +156,14 @@ public class KruizeKafkaManager {
         }
     }
 
-    public void shutdownKafkaManager() {
-        LOGGER.debug("Shutting down Kafka Executor Service...");
-        kafkaExecutorService.shutdown();
-        try {
-            if (!kafkaExecutorService.awaitTermination(1, TimeUnit.MINUTES)) {
-                kafkaExecutorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            kafkaExecutorService.shutdownNow();
-            Thread.currentThread().interrupt();
+    /**
+     * Closes the shared producer once the messages in flight are sent
+     */
+    public static synchronized void shutdown() {
+        if (null != instance) {
+            LOGGER.debug("Shutting down Kafka producer...");
+            KruizeKafkaProducer.close();
+            instance = null;
         }
     }
 
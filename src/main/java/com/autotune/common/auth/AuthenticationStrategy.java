@@ -2,4 +2,14 @@ package com.autotune.common.auth;
 
 public interface AuthenticationStrategy {
     String applyAuthentication();
+
+    /**
+     * Called when the datasource rejected the credentials, so the ones it issues can be renewed
+     *
+     * @param authorization value of the Authorization header that was rejected
+     * @return true when retrying the request may succeed with new credentials
+     */
+    default boolean invalidate(String authorization) {
+        return false;
+    }
 }
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.auth;
+
+import com.autotune.utils.KruizeConstants;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Client credentials access tokens of a token endpoint and client, shared by all the datasource clients using them.
+ * <p>
+ * A token is reused until shortly before it expires. Once past its refresh point, the first caller starts a
+ * refresh in the background and keeps using the current token; callers finding no valid token wait for the
+ * refresh. Concurrent callers share the single in-flight refresh. A token the datasource rejects is invalidated,
+ * so the next caller fetches a new one.
+ */
+public class OAuth2TokenManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2TokenManager.class);
+    private static final String KEY_SEPARATOR = "\u0000";
+    private static final Map<String, OAuth2TokenManager> MANAGERS = new ConcurrentHashMap<>();
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_TIMEOUT_SECS))
+            .build();
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "oauth2-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String tokenEndpoint;
+    private final String clientId;
+    private final String clientSecret;
+    private volatile Token token;
+    // guarded by this
+    private CompletableFuture<Token> refresh;
+
+    OAuth2TokenManager(String tokenEndpoint, String clientId, String clientSecret) {
+        this.tokenEndpoint = tokenEndpoint;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+    }
+
+    /**
+     * @return the manager of the tokens of the endpoint and client, shared by all their callers
+     */
+    public static OAuth2TokenManager get(String tokenEndpoint, String clientId, String clientSecret) {
+        String key = tokenEndpoint + KEY_SEPARATOR + clientId + KEY_SEPARATOR + clientSecret;
+        return MANAGERS.computeIfAbsent(key, k -> new OAuth2TokenManager(tokenEndpoint, clientId, clientSecret));
+    }
+
+    /**
+     * @return a valid access token, fetched only when the current one is missing or about to expire
+     */
+    public String getAccessToken() {
+        Token current = token;
+        long now = System.nanoTime();
+        if (null != current && now - current.refreshAtNanos < 0)
+            return current.value;
+        CompletableFuture<Token> pendingRefresh = refresh();
+        if (null != current && now - current.expiresAtNanos < 0)
+            return current.value;
+        try {
+            return pendingRefresh.join().value;
+        } catch (CompletionException e) {
+            Throwable cause = (null != e.getCause()) ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new RuntimeException(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_FETCH_ERROR, cause);
+        }
+    }
+
+    /**
+     * Drops the token if it is still the current one, e.g. after the datasource rejected it, the next caller
+     * fetches a new one. A token already replaced by another caller is left alone.
+     *
+     * @param accessToken token that was rejected
+     * @return true if the token was dropped or already replaced, so that a retry uses a different one, false if
+     * there is no token to drop
+     */
+    public synchronized boolean invalidate(String accessToken) {
+        Token current = token;
+        if (null == current)
+            return false;
+        if (current.value.equals(accessToken))
+            token = null;
+        return true;
+    }
+
+    private synchronized CompletableFuture<Token> refresh() {
+        if (null == refresh || refresh.isDone()) {
+            refresh = CompletableFuture.supplyAsync(this::fetchToken, REFRESH_EXECUTOR)
+                    .whenComplete((fetched, error) -> {
+                        if (null != fetched)
+                            token = fetched;
+                        else
+                            LOGGER.error(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_FETCH_ERROR + ": {}", error.getMessage());
+                    });
+        }
+        return refresh;
+    }
+
+    /**
+     * Fetches a token, retrying with backoff when the endpoint is unreachable or fails on its side
+     */
+    private Token fetchToken() {
+        long backoffMillis = KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return requestToken();
+            } catch (RetryableTokenException | IOException e) {
+                if (attempt >= KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_FETCH_ATTEMPTS)
+                    throw new RuntimeException(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_FETCH_ERROR, e);
+                LOGGER.warn(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_FETCH_RETRY, attempt, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_FETCH_ERROR, e);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_FETCH_ERROR, e);
+            }
+            backoffMillis *= 2;
+        }
+    }
+
+    private Token requestToken() throws IOException, InterruptedException {
+        String form = "grant_type=client_credentials"
+                + "&client_id=" + URLEncoder.encode(clientId, StandardCharsets.UTF_8)
+                + "&client_secret=" + URLEncoder.encode(clientSecret, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(tokenEndpoint))
+                .timeout(Duration.ofSeconds(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_TIMEOUT_SECS))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        long requestedAt = System.nanoTime();
+        HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        int statusCode = response.statusCode();
+        if (statusCode == 200)
+            return parseToken(response.body(), requestedAt);
+        String message = KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_FETCH_FAILED + statusCode + " " + response.body();
+        // throttled or failing on the endpoint side, anything else won't succeed on retry
+        if (statusCode == 429 || statusCode >= 500)
+            throw new RetryableTokenException(message);
+        throw new RuntimeException(message);
+    }
+
+    /**
+     * Reads the token from a JSON response, or a form encoded one as returned by GitHub
+     *
+     * @param requestedAt time the request was sent, the lifetime is counted from it
+     */
+    static Token parseToken(String responseBody, long requestedAt) {
+        String accessToken = null;
+        long expiresInSecs = KruizeConstants.AuthenticationConstants.OAUTH2_DEFAULT_TOKEN_LIFETIME_SECS;
+        String body = (null == responseBody) ? "" : responseBody.trim();
+        if (body.startsWith("{")) {
+            JSONObject json = new JSONObject(body);
+            accessToken = json.optString(KruizeConstants.AuthenticationConstants.OAUTH2_ACCESS_TOKEN, null);
+            expiresInSecs = json.optLong(KruizeConstants.AuthenticationConstants.OAUTH2_EXPIRES_IN, expiresInSecs);
+        } else {
+            for (String pair : body.split("&")) {
+                String[] keyValue = pair.split("=", 2);
+                if (keyValue.length < 2)
+                    continue;
+                String value = URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8);
+                if (keyValue[0].equals(KruizeConstants.AuthenticationConstants.OAUTH2_ACCESS_TOKEN)) {
+                    accessToken = value;
+                } else if (keyValue[0].equals(KruizeConstants.AuthenticationConstants.OAUTH2_EXPIRES_IN)) {
+                    try {
+                        expiresInSecs = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        LOGGER.debug(e.getMessage());
+                    }
+                }
+            }
+        }
+        if (null == accessToken || accessToken.isEmpty())
+            throw new RuntimeException(KruizeConstants.AuthenticationConstants.OAUTH2_NO_ACCESS_TOKEN);
+        return new Token(accessToken, requestedAt, Math.max(1, expiresInSecs));
+    }
+
+    /**
+     * Access token with the times it should be refreshed at and stops being used at
+     */
+    static final class Token {
+        private final String value;
+        private final long refreshAtNanos;
+        private final long expiresAtNanos;
+
+        Token(String value, long fetchedAtNanos, long expiresInSecs) {
+            this.value = value;
+            long lifetimeNanos = TimeUnit.SECONDS.toNanos(expiresInSecs);
+            // stop using the token a little before the endpoint says it expires, refresh it well before that
+            this.expiresAtNanos = fetchedAtNanos + lifetimeNanos - Math.min(lifetimeNanos / 10,
+                    TimeUnit.SECONDS.toNanos(KruizeConstants.AuthenticationConstants.OAUTH2_TOKEN_EXPIRY_MARGIN_SECS));
+            this.refreshAtNanos = fetchedAtNanos + lifetimeNanos * 4 / 5;
+        }
+
+        String getValue() {
+            return value;
+        }
+
+        long getRefreshAtNanos() {
+            return refreshAtNanos;
+        }
+
+        long getExpiresAtNanos() {
+            return expiresAtNanos;
+        }
+    }
+
+    private static final class RetryableTokenException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private RetryableTokenException(String message) {
+            super(message);
+        }
+    }
+}
@@ -29,7 +29,10 @@ public class ContainerData {
     private String container_image_name;
     private String container_name;
     //key is intervalEndTime
+    // for results fetched from a datasource it only holds the accelerator metrics, the others are in resultsColumns
     private HashMap<Timestamp, IntervalResults> results;
+    // results fetched from a datasource for recommendations, held as columns instead of in the results map
+    private transient IntervalResultsColumns resultsColumns;
     private ContainerDeviceList containerDeviceList;
     @SerializedName(KruizeConstants.JSONKeys.RECOMMENDATIONS)
     private ContainerRecommendations containerRecommendations;
@@ -72,6 +75,14 @@ public class ContainerData {
         this.results = results;
     }
 
+    public IntervalResultsColumns getResultsColumns() {
+        return resultsColumns;
+    }
+
+    public void setResultsColumns(IntervalResultsColumns resultsColumns) {
+        this.resultsColumns = resultsColumns;
+    }
+
     public ContainerRecommendations getContainerRecommendations() {
         return containerRecommendations;
     }
@@ -0,0 +1,430 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.data.result;
+
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.common.data.metrics.MetricAggregationInfoResults;
+import com.autotune.common.data.metrics.MetricResults;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columnar, read only view of interval results.
+ * <p>
+ * Interval end times are held in one sorted long[], the interval durations in a double[] and the aggregation values
+ * of every metric in a double[] column per aggregation, indexed the same way as the end times. Missing values are
+ * NaN. Columns of metrics or aggregations absent from all the intervals are not allocated.
+ * <p>
+ * Sub ranges share the arrays of the view they are taken from, so narrowing down to a term or a plot datapoint
+ * doesn't copy anything.
+ * <p>
+ * A content hash of every interval is computed once when the columns are built, the hash of any view is then read
+ * from their running sums, so that state derived from earlier results can be checked against new ones.
+ * <p>
+ * Fetched metrics are added to a {@link Builder} as they are read, without an {@link IntervalResults} per interval.
+ */
+public class IntervalResultsColumns {
+
+    /**
+     * Aggregations held in {@link MetricAggregationInfoResults}
+     */
+    public enum Aggregation {
+        avg,
+        count,
+        max,
+        median,
+        min,
+        mode,
+        range,
+        sum
+    }
+
+    private static final AnalyzerConstants.MetricName[] METRIC_NAMES = AnalyzerConstants.MetricName.values();
+    private static final Aggregation[] AGGREGATIONS = Aggregation.values();
+
+    private final long[] intervalEndTimes;
+    private final double[] durations;
+    // indexed by metric name ordinal then aggregation ordinal, null when the column has no values
+    private final double[][][] columns;
+    private final String[] formats;
+    // running sums of the interval content hashes, the hashes of the intervals before each position
+    private final long[] contentHashSums;
+    private final int from;
+    private final int to;
+
+    /**
+     * Builds the columns from the results map, the intervals are sorted by their end time
+     *
+     * @param resultsMap interval results keyed by the interval end time
+     */
+    public IntervalResultsColumns(Map<Timestamp, IntervalResults> resultsMap) {
+        int size = (null == resultsMap) ? 0 : resultsMap.size();
+        Timestamp[] endTimes = new Timestamp[size];
+        if (size > 0) {
+            resultsMap.keySet().toArray(endTimes);
+            Arrays.sort(endTimes);
+        }
+
+        this.intervalEndTimes = new long[size];
+        this.durations = new double[size];
+        this.columns = new double[METRIC_NAMES.length][][];
+        this.formats = new String[METRIC_NAMES.length];
+        this.from = 0;
+        this.to = size;
+
+        for (int i = 0; i < size; i++) {
+            intervalEndTimes[i] = endTimes[i].getTime();
+            IntervalResults intervalResults = resultsMap.get(endTimes[i]);
+            durations[i] = (null == intervalResults || null == intervalResults.getDurationInMinutes()) ? Double.NaN
+                    : intervalResults.getDurationInMinutes();
+            if (null == intervalResults || null == intervalResults.getMetricResultsMap())
+                continue;
+            for (Map.Entry<AnalyzerConstants.MetricName, MetricResults> metricEntry : intervalResults.getMetricResultsMap().entrySet()) {
+                if (null == metricEntry.getKey() || null == metricEntry.getValue())
+                    continue;
+                MetricAggregationInfoResults aggregationInfoResult = metricEntry.getValue().getAggregationInfoResult();
+                if (null == aggregationInfoResult)
+                    continue;
+                int metric = metricEntry.getKey().ordinal();
+                setValue(metric, Aggregation.avg, i, size, aggregationInfoResult.getAvg());
+                setValue(metric, Aggregation.count, i, size, (null == aggregationInfoResult.getCount()) ? null : aggregationInfoResult.getCount().doubleValue());
+                setValue(metric, Aggregation.max, i, size, aggregationInfoResult.getMax());
+                setValue(metric, Aggregation.median, i, size, aggregationInfoResult.getMedian());
+                setValue(metric, Aggregation.min, i, size, aggregationInfoResult.getMin());
+                setValue(metric, Aggregation.mode, i, size, aggregationInfoResult.getMode());
+                setValue(metric, Aggregation.range, i, size, aggregationInfoResult.getRange());
+                setValue(metric, Aggregation.sum, i, size, aggregationInfoResult.getSum());
+                String format = aggregationInfoResult.getFormat();
+                if (null == formats[metric] || formats[metric].isEmpty())
+                    formats[metric] = format;
+            }
+        }
+        this.contentHashSums = hashContents(intervalEndTimes, durations, columns);
+    }
+
+    private IntervalResultsColumns(long[] intervalEndTimes, double[] durations, double[][][] columns, String[] formats) {
+        this.intervalEndTimes = intervalEndTimes;
+        this.durations = durations;
+        this.columns = columns;
+        this.formats = formats;
+        this.contentHashSums = hashContents(intervalEndTimes, durations, columns);
+        this.from = 0;
+        this.to = intervalEndTimes.length;
+    }
+
+    private IntervalResultsColumns(IntervalResultsColumns parent, int from, int to) {
+        this.intervalEndTimes = parent.intervalEndTimes;
+        this.durations = parent.durations;
+        this.columns = parent.columns;
+        this.formats = parent.formats;
+        this.contentHashSums = parent.contentHashSums;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Hashes the end time, duration and values of every interval. Missing values are left out along with the metric
+     * and aggregation they belong to, so the hash of an interval doesn't depend on the columns the other intervals
+     * allocate.
+     */
+    private static long[] hashContents(long[] intervalEndTimes, double[] durations, double[][][] columns) {
+        long[] hashSums = new long[intervalEndTimes.length + 1];
+        for (int i = 0; i < intervalEndTimes.length; i++) {
+            long hash = 31 * intervalEndTimes[i] + Double.doubleToLongBits(durations[i]);
+            for (int metric = 0; metric < columns.length; metric++) {
+                if (null == columns[metric])
+                    continue;
+                for (int aggregation = 0; aggregation < columns[metric].length; aggregation++) {
+                    double[] column = columns[metric][aggregation];
+                    if (null == column || Double.isNaN(column[i]))
+                        continue;
+                    hash = 31 * hash + metric * AGGREGATIONS.length + aggregation;
+                    hash = 31 * hash + Double.doubleToLongBits(column[i]);
+                }
+            }
+            hashSums[i + 1] = hashSums[i] + mix(hash);
+        }
+        return hashSums;
+    }
+
+    // murmur3 finalizer, spreads the interval hashes before they are summed
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void setValue(int metric, Aggregation aggregation, int index, int size, Double value) {
+        if (null == value)
+            return;
+        if (null == columns[metric])
+            columns[metric] = new double[AGGREGATIONS.length][];
+        double[] column = columns[metric][aggregation.ordinal()];
+        if (null == column) {
+            column = new double[size];
+            Arrays.fill(column, Double.NaN);
+            columns[metric][aggregation.ordinal()] = column;
+        }
+        column[index] = value;
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    /**
+     * @param index position of the interval in this view
+     * @return interval end time in epoch millis
+     */
+    public long getIntervalEndTime(int index) {
+        return intervalEndTimes[from + index];
+    }
+
+    /**
+     * @param index position of the interval in this view
+     * @return duration of the interval in minutes, NaN if unknown
+     */
+    public double getDurationInMinutes(int index) {
+        return durations[from + index];
+    }
+
+    /**
+     * @return true if the metric has a value for any of the intervals
+     */
+    public boolean hasMetric(AnalyzerConstants.MetricName metricName) {
+        return null != columns[metricName.ordinal()];
+    }
+
+    /**
+     * @param metricName  metric name
+     * @param aggregation aggregation of the metric
+     * @param index       position of the interval in this view
+     * @return the value, NaN if the interval has no value for it
+     */
+    public double getValue(AnalyzerConstants.MetricName metricName, Aggregation aggregation, int index) {
+        double[][] metricColumns = columns[metricName.ordinal()];
+        if (null == metricColumns || null == metricColumns[aggregation.ordinal()])
+            return Double.NaN;
+        return metricColumns[aggregation.ordinal()][from + index];
+    }
+
+    /**
+     * Same as {@link #getValue(AnalyzerConstants.MetricName, Aggregation, int)} with missing values replaced
+     */
+    public double getValue(AnalyzerConstants.MetricName metricName, Aggregation aggregation, int index, double missingValue) {
+        double value = getValue(metricName, aggregation, index);
+        return Double.isNaN(value) ? missingValue : value;
+    }
+
+    /**
+     * @return sum of the content hashes of the intervals of this view, equal for views holding the same intervals
+     * with the same values
+     */
+    public long getContentHash() {
+        return contentHashSums[to] - contentHashSums[from];
+    }
+
+    /**
+     * @param index position of the interval in this view
+     * @return content hash of the interval
+     */
+    public long getContentHash(int index) {
+        return contentHashSums[from + index + 1] - contentHashSums[from + index];
+    }
+
+    /**
+     * @return first non empty format reported for the metric, null if the metric has none
+     */
+    public String getFormat(AnalyzerConstants.MetricName metricName) {
+        return formats[metricName.ordinal()];
+    }
+
+    /**
+     * Narrows the view down to the intervals ending within the given bounds
+     *
+     * @param startTime      lower bound of the interval end time
+     * @param startInclusive true if intervals ending at the lower bound are part of the range
+     * @param endTime        upper bound of the interval end time
+     * @param endInclusive   true if intervals ending at the upper bound are part of the range
+     * @return view over the matching intervals, sharing the columns of this view
+     */
+    public IntervalResultsColumns subRange(Timestamp startTime, boolean startInclusive, Timestamp endTime, boolean endInclusive) {
+        int start = startInclusive ? lowerBound(startTime.getTime()) : upperBound(startTime.getTime());
+        int end = endInclusive ? upperBound(endTime.getTime()) : lowerBound(endTime.getTime());
+        if (end < start)
+            end = start;
+        return new IntervalResultsColumns(this, start, end);
+    }
+
+    // index of the first interval ending at or after the given time
+    private int lowerBound(long time) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (intervalEndTimes[mid] < time)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    // index of the first interval ending after the given time
+    private int upperBound(long time) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (intervalEndTimes[mid] <= time)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Collects the values of the intervals in any order, {@link #build()} sorts them by end time.
+     * Values added again for the same interval, metric and aggregation replace the previous ones.
+     */
+    public static class Builder {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private long[] intervalEndTimes = new long[INITIAL_CAPACITY];
+        private double[] durations = new double[INITIAL_CAPACITY];
+        private final double[][][] columns = new double[METRIC_NAMES.length][][];
+        private final String[] formats = new String[METRIC_NAMES.length];
+        private int size;
+
+        /**
+         * @param intervalEndTime   interval end time in epoch millis
+         * @param durationInMinutes duration of the interval
+         * @param metricName        metric name
+         * @param aggregation       aggregation of the metric
+         * @param value             value of the aggregation
+         * @param format            format of the metric values
+         */
+        public void add(long intervalEndTime, double durationInMinutes, AnalyzerConstants.MetricName metricName,
+                        Aggregation aggregation, double value, String format) {
+            int position = getPosition(intervalEndTime);
+            durations[position] = durationInMinutes;
+            int metric = metricName.ordinal();
+            if (null == columns[metric])
+                columns[metric] = new double[AGGREGATIONS.length][];
+            double[] column = columns[metric][aggregation.ordinal()];
+            if (null == column || column.length < intervalEndTimes.length) {
+                column = grow(column, intervalEndTimes.length);
+                columns[metric][aggregation.ordinal()] = column;
+            }
+            column[position] = value;
+            if (null == formats[metric] || formats[metric].isEmpty())
+                formats[metric] = format;
+        }
+
+        /**
+         * @param time          time in epoch millis
+         * @param rangeInMillis max distance to the time
+         * @return end time of the interval closest to the time within the range, null if there is none
+         */
+        public Timestamp getNearestIntervalEndTime(long time, long rangeInMillis) {
+            Timestamp nearest = null;
+            long nearestDistance = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                long distance = Math.abs(time - intervalEndTimes[i]);
+                if (distance <= rangeInMillis && distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = new Timestamp(intervalEndTimes[i]);
+                }
+            }
+            return nearest;
+        }
+
+        public boolean isEmpty() {
+            return 0 == size;
+        }
+
+        /**
+         * @return the intervals added so far, sorted by end time
+         */
+        public IntervalResultsColumns build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(intervalEndTimes[a], intervalEndTimes[b]));
+
+            long[] sortedEndTimes = new long[size];
+            double[] sortedDurations = new double[size];
+            for (int i = 0; i < size; i++) {
+                sortedEndTimes[i] = intervalEndTimes[order[i]];
+                sortedDurations[i] = durations[order[i]];
+            }
+            double[][][] sortedColumns = new double[METRIC_NAMES.length][][];
+            for (int metric = 0; metric < columns.length; metric++) {
+                if (null == columns[metric])
+                    continue;
+                sortedColumns[metric] = new double[AGGREGATIONS.length][];
+                for (int aggregation = 0; aggregation < AGGREGATIONS.length; aggregation++) {
+                    double[] column = columns[metric][aggregation];
+                    if (null == column)
+                        continue;
+                    // a column only grows when written to, it falls behind the intervals added after its last value
+                    if (column.length < size)
+                        column = grow(column, size);
+                    double[] sortedColumn = new double[size];
+                    for (int i = 0; i < size; i++) {
+                        sortedColumn[i] = column[order[i]];
+                    }
+                    sortedColumns[metric][aggregation] = sortedColumn;
+                }
+            }
+            return new IntervalResultsColumns(sortedEndTimes, sortedDurations, sortedColumns, formats.clone());
+        }
+
+        private int getPosition(long intervalEndTime) {
+            Integer position = positions.get(intervalEndTime);
+            if (null != position)
+                return position;
+            if (size == intervalEndTimes.length) {
+                intervalEndTimes = Arrays.copyOf(intervalEndTimes, size * 2);
+                durations = Arrays.copyOf(durations, size * 2);
+            }
+            intervalEndTimes[size] = intervalEndTime;
+            durations[size] = Double.NaN;
+            positions.put(intervalEndTime, size);
+            return size++;
+        }
+
+        private static double[] grow(double[] column, int capacity) {
+            int length = (null == column) ? 0 : column.length;
+            double[] grown = (null == column) ? new double[capacity] : Arrays.copyOf(column, capacity);
+            Arrays.fill(grown, length, capacity, Double.NaN);
+            return grown;
+        }
+    }
+}
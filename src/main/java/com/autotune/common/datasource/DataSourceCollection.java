@@ -21,6 +21,7 @@ import com.autotune.common.exceptions.datasource.*;
 import com.autotune.common.utils.CommonUtils;
 import com.autotune.database.service.ExperimentDBService;
 import com.autotune.operator.KruizeDeploymentInfo;
+import com.autotune.utils.HttpClientPool;
 import com.autotune.utils.KruizeConstants;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -265,6 +266,8 @@ public class DataSourceCollection {
         }
         if (dataSourceCollection.containsKey(name)) {
             dataSourceCollection.remove(name);
+            HttpClientPool.evict(name);
+            DataSourceQueryExecutor.evict(name);
         } else {
             throw new DataSourceDoesNotExist(KruizeConstants.DataSourceConstants.DataSourceErrorMsgs.DATASOURCE_NOT_EXIST);
         }
@@ -282,6 +285,7 @@ public class DataSourceCollection {
 
         if (dataSourceCollection.containsKey(name)) {
             dataSourceCollection.remove(name);
+            HttpClientPool.evict(name);
             addDataSource(newDataSource);
         } else {
             throw new DataSourceDoesNotExist(name + ": " + KruizeConstants.DataSourceConstants.DataSourceErrorMsgs.DATASOURCE_NOT_EXIST);
@@ -19,12 +19,10 @@ import com.autotune.analyzer.metadataProfiles.MetadataProfile;
 import com.autotune.analyzer.metadataProfiles.MetadataProfileCollection;
 import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.common.data.dataSourceMetadata.*;
+import com.autotune.common.datasource.prometheus.PrometheusQueryResult;
 import com.autotune.utils.GenericRestApiClient;
 import com.autotune.utils.KruizeConstants;
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -334,8 +332,7 @@ public class DataSourceMetadataOperator {
 
         LOGGER.debug("MetricsUrl: {}", metricsUrl);
         client.setBaseURL(metricsUrl);
-        JSONObject genericJsonObject = client.fetchMetricsJson(KruizeConstants.APIMessages.GET, "");
-        JsonObject jsonObject = new Gson().fromJson(genericJsonObject.toString(), JsonObject.class);
-        return jsonObject.getAsJsonObject(KruizeConstants.JSONKeys.DATA).getAsJsonArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
+        PrometheusQueryResult queryResult = client.fetchPrometheusQueryResult(KruizeConstants.APIMessages.GET, "");
+        return queryResult.toMetricJsonArray();
     }
 }
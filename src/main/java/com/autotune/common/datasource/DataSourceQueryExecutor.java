@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.datasource;
+
+import com.autotune.operator.KruizeDeploymentInfo;
+import com.autotune.utils.KruizeConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs datasource queries concurrently on one bounded executor per datasource.
+ * <p>
+ * The pool size caps the number of in-flight queries a single Kruize instance sends to a datasource,
+ * across all the experiments being processed, so fanning out the per-experiment queries doesn't
+ * overload the datasource. Threads are released when idle.
+ */
+public final class DataSourceQueryExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSourceQueryExecutor.class);
+    private static final ConcurrentHashMap<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    private DataSourceQueryExecutor() {
+    }
+
+    /**
+     * Submits the query to the executor of the given datasource
+     *
+     * @param dataSourceName name of the datasource the query is sent to
+     * @param query          task running the query
+     * @return future completed with the query result, or exceptionally with the failure of the query
+     */
+    public static <T> CompletableFuture<T> submit(String dataSourceName, Callable<T> query) {
+        if (null == dataSourceName)
+            dataSourceName = KruizeConstants.DataSourceConstants.KRUIZE_DATASOURCE;
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executors.computeIfAbsent(dataSourceName, DataSourceQueryExecutor::createExecutor).execute(() -> {
+                if (future.isDone())
+                    return;
+                try {
+                    future.complete(query.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Shuts down the executor of the given datasource, used when a datasource is deleted
+     *
+     * @param dataSourceName datasource name
+     */
+    public static void evict(String dataSourceName) {
+        if (null == dataSourceName)
+            return;
+        ThreadPoolExecutor executor = executors.remove(dataSourceName);
+        if (null != executor)
+            executor.shutdown();
+    }
+
+    /**
+     * Shuts down all the executors, invoked on shutdown
+     */
+    public static void shutdown() {
+        for (String dataSourceName : executors.keySet()) {
+            evict(dataSourceName);
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor(String dataSourceName) {
+        int poolSize = Math.max(1, KruizeDeploymentInfo.datasource_query_concurrency);
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, KruizeConstants.DataSourceConstants.QUERY_THREAD_NAME_PREFIX
+                    + dataSourceName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize,
+                KruizeConstants.DataSourceConstants.QUERY_THREAD_KEEP_ALIVE_SECS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        LOGGER.debug(KruizeConstants.DataSourceConstants.QUERY_EXECUTOR_CREATED, dataSourceName, poolSize);
+        return executor;
+    }
+}
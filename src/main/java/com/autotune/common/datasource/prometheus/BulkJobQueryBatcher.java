@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.datasource.prometheus;
+
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.operator.KruizeDeploymentInfo;
+import com.autotune.utils.KruizeConstants;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batches the container queries of a bulk job across its experiments.
+ * <p>
+ * A bulk job creates one experiment per container, so the containers are only batched when their experiments share
+ * the queries. The containers of the job are registered per namespace before its experiments are processed. The
+ * first experiment needing a batchable query for one of them sends it for the whole slice of up to
+ * containerQueryBatchSize containers of the namespace it falls in, the experiments of the other containers of the
+ * slice then pick their series from that result.
+ * <p>
+ * The experiments of a job evaluate their queries at the time the job was registered rather than when each of them
+ * runs, so that they all query the same range and their queries can be shared. The data of a container that arrives
+ * while the job runs is left to the next job.
+ * <p>
+ * Once the experiment of a container is done with, failed or not, the series of the container not picked up are
+ * dropped and the container is left out of the slice queries sent afterwards.
+ */
+public final class BulkJobQueryBatcher {
+    private static final ConcurrentHashMap<String, BulkJobQueryBatcher> jobs = new ConcurrentHashMap<>();
+    private static final String CONTAINER_LABEL = KruizeConstants.DataSourceConstants.DataSourceQueryMetricKeys.CONTAINER_NAME;
+    private final long evaluationTime;
+    private final int batchSize;
+    // containers of the job by namespace, in the order the slices are cut
+    private final Map<String, List<String>> namespaceContainers = new HashMap<>();
+    // series of the containers of each sent slice not picked up yet, by query and slice
+    private final ConcurrentHashMap<String, Map<String, CompletableFuture<PrometheusQueryResult>>> sliceResults = new ConcurrentHashMap<>();
+    // containers whose experiment is done with, by namespace and container name
+    private final Set<String> releasedContainers = ConcurrentHashMap.newKeySet();
+
+    private BulkJobQueryBatcher(Map<String, ? extends Collection<String>> namespaceContainers, long evaluationTime) {
+        this.evaluationTime = evaluationTime;
+        this.batchSize = Math.max(1, KruizeDeploymentInfo.container_query_batch_size);
+        for (Map.Entry<String, ? extends Collection<String>> entry : namespaceContainers.entrySet()) {
+            this.namespaceContainers.put(entry.getKey(), entry.getValue().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Registers the containers of a bulk job before its experiments are processed
+     *
+     * @param jobID               bulk job id
+     * @param namespaceContainers names of the containers of the job by namespace
+     * @param evaluationTime      time in epoch seconds the queries of the job are evaluated at
+     * @return batcher of the job
+     */
+    public static BulkJobQueryBatcher register(String jobID, Map<String, ? extends Collection<String>> namespaceContainers,
+                                               long evaluationTime) {
+        BulkJobQueryBatcher batcher = new BulkJobQueryBatcher(namespaceContainers, evaluationTime);
+        jobs.put(jobID, batcher);
+        return batcher;
+    }
+
+    /**
+     * @param jobID bulk job id, may be null
+     * @return batcher of the job, null if the job is not registered
+     */
+    public static BulkJobQueryBatcher get(String jobID) {
+        return null == jobID ? null : jobs.get(jobID);
+    }
+
+    /**
+     * Drops the batcher of a job once all its experiments are processed, along with the results not picked up
+     *
+     * @param jobID bulk job id
+     */
+    public static void unregister(String jobID) {
+        jobs.remove(jobID);
+    }
+
+    /**
+     * @return time in epoch seconds the queries of the job are evaluated at
+     */
+    public long getEvaluationTime() {
+        return evaluationTime;
+    }
+
+    /**
+     * Returns the series of a container, sending the query for the slice of the namespace it falls in if none of the
+     * experiments of the slice did yet. The series of a container are handed out once.
+     *
+     * @param queryKey      identifies the query along with its range, the same for all the experiments of the job
+     * @param promQL        batchable query with all the variables but the container one substituted
+     * @param namespace     namespace of the container
+     * @param containerName container name
+     * @param queryRunner   sends the given query and returns its future result
+     * @return future completed with the series of the container, null if the container is not part of the job or
+     * its series were already handed out
+     */
+    public CompletableFuture<PrometheusQueryResult> getContainerResult(String queryKey, String promQL, String namespace,
+                                                                       String containerName,
+                                                                       Function<String, CompletableFuture<PrometheusQueryResult>> queryRunner) {
+        List<String> containerNames = namespaceContainers.get(namespace);
+        if (null == containerNames)
+            return null;
+        int index = Collections.binarySearch(containerNames, containerName);
+        if (index < 0)
+            return null;
+        int from = index - index % batchSize;
+        List<String> sliceContainerNames = new ArrayList<>();
+        for (String sliceContainerName : containerNames.subList(from, Math.min(from + batchSize, containerNames.size()))) {
+            if (sliceContainerName.equals(containerName) || !releasedContainers.contains(namespace + "/" + sliceContainerName))
+                sliceContainerNames.add(sliceContainerName);
+        }
+        String sliceKey = namespace + "/" + from + "@" + queryKey;
+
+        Map<String, CompletableFuture<PrometheusQueryResult>> containerResults = sliceResults.computeIfAbsent(sliceKey,
+                key -> sendSliceQuery(promQL, sliceContainerNames, queryRunner));
+        CompletableFuture<PrometheusQueryResult> containerResult = containerResults.remove(containerName);
+        if (containerResults.isEmpty())
+            sliceResults.remove(sliceKey, containerResults);
+        return containerResult;
+    }
+
+    /**
+     * Drops the series of a container not picked up once its experiment is done with, e.g. when it failed before
+     * running all its queries, and leaves the container out of the slice queries sent afterwards
+     *
+     * @param namespace     namespace of the container
+     * @param containerName container name
+     */
+    public void release(String namespace, String containerName) {
+        List<String> containerNames = namespaceContainers.get(namespace);
+        int index = (null == containerNames) ? -1 : Collections.binarySearch(containerNames, containerName);
+        if (index < 0)
+            return;
+        releasedContainers.add(namespace + "/" + containerName);
+        String slicePrefix = namespace + "/" + (index - index % batchSize) + "@";
+        for (Map.Entry<String, Map<String, CompletableFuture<PrometheusQueryResult>>> entry : sliceResults.entrySet()) {
+            if (!entry.getKey().startsWith(slicePrefix))
+                continue;
+            Map<String, CompletableFuture<PrometheusQueryResult>> containerResults = entry.getValue();
+            containerResults.remove(containerName);
+            if (containerResults.isEmpty())
+                sliceResults.remove(entry.getKey(), containerResults);
+        }
+    }
+
+    /**
+     * @return number of slices sent with series not picked up yet
+     */
+    int getPendingSliceCount() {
+        return sliceResults.size();
+    }
+
+    private static Map<String, CompletableFuture<PrometheusQueryResult>> sendSliceQuery(String promQL, List<String> sliceContainerNames,
+                                                                                      Function<String, CompletableFuture<PrometheusQueryResult>> queryRunner) {
+        Map<String, CompletableFuture<PrometheusQueryResult>> containerResults = new ConcurrentHashMap<>();
+        for (String containerName : sliceContainerNames) {
+            containerResults.put(containerName, new CompletableFuture<>());
+        }
+        boolean isSingleContainer = sliceContainerNames.size() == 1;
+        String slicePromQL = isSingleContainer
+                ? promQL.replace(AnalyzerConstants.CONTAINER_VARIABLE, sliceContainerNames.get(0))
+                : PrometheusQueryBatcher.toBatchedQuery(promQL, sliceContainerNames);
+        Map<String, CompletableFuture<PrometheusQueryResult>> pendingResults = new HashMap<>(containerResults);
+        queryRunner.apply(slicePromQL).whenComplete((queryResult, error) -> {
+            for (Map.Entry<String, CompletableFuture<PrometheusQueryResult>> entry : pendingResults.entrySet()) {
+                if (null != error)
+                    entry.getValue().completeExceptionally(error);
+                else if (isSingleContainer)
+                    entry.getValue().complete(queryResult);
+                else
+                    entry.getValue().complete(queryResult.filterByLabel(CONTAINER_LABEL, entry.getKey()));
+            }
+        });
+        return containerResults;
+    }
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.datasource.prometheus;
+
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.utils.KruizeConstants;
+
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites single container metric profile queries into one query covering several containers.
+ * <p>
+ * A query can be batched when it selects the container with an exact {@code container="$CONTAINER_NAME$"}
+ * matcher and keeps the container label in its {@code by (...)} grouping, the matcher is then replaced by
+ * a {@code container=~"a|b|c"} regex matcher and the series of the response are told apart by their
+ * container label.
+ */
+public final class PrometheusQueryBatcher {
+    private static final String CONTAINER_LABEL = KruizeConstants.DataSourceConstants.DataSourceQueryMetricKeys.CONTAINER_NAME;
+    private static final Pattern CONTAINER_MATCHER = Pattern.compile(
+            CONTAINER_LABEL + "\\s*=\\s*\"" + Pattern.quote(AnalyzerConstants.CONTAINER_VARIABLE) + "\"");
+    private static final Pattern BY_CONTAINER = Pattern.compile("\\bby\\s*\\(([^)]*)\\)");
+    private static final String REGEX_METACHARACTERS = "\\.+*?()|[]{}^$";
+
+    private PrometheusQueryBatcher() {
+    }
+
+    /**
+     * @param promQL metric profile query, before the variables are substituted
+     * @return true if the query can be rewritten to cover several containers
+     */
+    public static boolean isBatchable(String promQL) {
+        if (null == promQL || !CONTAINER_MATCHER.matcher(promQL).find())
+            return false;
+        Matcher byMatcher = BY_CONTAINER.matcher(promQL);
+        if (!byMatcher.find())
+            return false;
+        // every grouping of the query has to keep the container label, else series of different containers merge
+        do {
+            boolean groupsByContainer = false;
+            for (String label : byMatcher.group(1).split(",")) {
+                if (label.trim().equals(CONTAINER_LABEL)) {
+                    groupsByContainer = true;
+                    break;
+                }
+            }
+            if (!groupsByContainer)
+                return false;
+        } while (byMatcher.find());
+        return true;
+    }
+
+    /**
+     * Replaces the container matcher of a batchable query by a regex matcher covering all the given containers
+     *
+     * @param promQL         batchable metric profile query
+     * @param containerNames containers to cover
+     * @return query with the container variable replaced
+     */
+    public static String toBatchedQuery(String promQL, Collection<String> containerNames) {
+        String containerRegex = containerNames.stream()
+                .map(PrometheusQueryBatcher::escapeRegex)
+                .collect(Collectors.joining("|"));
+        return CONTAINER_MATCHER.matcher(promQL).replaceAll(Matcher.quoteReplacement(
+                CONTAINER_LABEL + "=~\"" + containerRegex + "\""));
+    }
+
+    /**
+     * Escapes regex metacharacters, doubling the backslash as it is embedded in a PromQL string literal
+     */
+    private static String escapeRegex(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (REGEX_METACHARACTERS.indexOf(c) >= 0)
+                escaped.append("\\\\");
+            if (c == '"')
+                escaped.append('\\');
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.datasource.prometheus;
+
+import com.autotune.utils.KruizeConstants;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoded Prometheus query / query_range response.
+ * Series are kept in response order and indexed by their label set.
+ */
+public class PrometheusQueryResult {
+    private String status;
+    private String resultType;
+    private final List<PrometheusSeries> series = new ArrayList<>();
+    private final Map<Map<String, String>, PrometheusSeries> seriesByLabels = new HashMap<>();
+    private final List<String> warnings = new ArrayList<>();
+
+    void setStatus(String status) {
+        this.status = status;
+    }
+
+    void setResultType(String resultType) {
+        this.resultType = resultType;
+    }
+
+    void addSeries(PrometheusSeries prometheusSeries) {
+        series.add(prometheusSeries);
+        seriesByLabels.put(prometheusSeries.getLabels(), prometheusSeries);
+    }
+
+    void addWarning(String warning) {
+        warnings.add(warning);
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getResultType() {
+        return resultType;
+    }
+
+    public List<PrometheusSeries> getSeries() {
+        return Collections.unmodifiableList(series);
+    }
+
+    /**
+     * @param labels full label set of the series
+     * @return the matching series or null
+     */
+    public PrometheusSeries getSeries(Map<String, String> labels) {
+        return seriesByLabels.get(labels);
+    }
+
+    public List<String> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    public boolean isEmpty() {
+        return series.isEmpty();
+    }
+
+    /**
+     * Splits out the series of one member of a batched query
+     *
+     * @param labelName  label telling the members apart, e.g. container
+     * @param labelValue value of the label for the member
+     * @return result holding only the series having the label value, along with the status and warnings
+     */
+    public PrometheusQueryResult filterByLabel(String labelName, String labelValue) {
+        PrometheusQueryResult filteredResult = new PrometheusQueryResult();
+        filteredResult.setStatus(status);
+        filteredResult.setResultType(resultType);
+        filteredResult.warnings.addAll(warnings);
+        for (PrometheusSeries prometheusSeries : series) {
+            if (null != labelValue && labelValue.equals(prometheusSeries.getLabel(labelName)))
+                filteredResult.addSeries(prometheusSeries);
+        }
+        return filteredResult;
+    }
+
+    /**
+     * Builds the label-only view of data.result ([{"metric": {...}}, ...]) for callers
+     * that only look at the series labels.
+     *
+     * @return JsonArray of metric objects
+     */
+    public JsonArray toMetricJsonArray() {
+        JsonArray resultArray = new JsonArray(series.size());
+        for (PrometheusSeries prometheusSeries : series) {
+            JsonObject metricObject = new JsonObject();
+            for (Map.Entry<String, String> label : prometheusSeries.getLabels().entrySet()) {
+                metricObject.addProperty(label.getKey(), label.getValue());
+            }
+            JsonObject resultObject = new JsonObject();
+            resultObject.add(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.METRIC, metricObject);
+            resultArray.add(resultObject);
+        }
+        return resultArray;
+    }
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.datasource.prometheus;
+
+import com.autotune.utils.KruizeConstants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single pass streaming decoder for Prometheus HTTP API responses.
+ * <p>
+ * Reads vector / matrix / scalar results straight from the response stream into {@link PrometheusSeries}
+ * primitive arrays and collects the top level warnings on the way, without building a JSON tree.
+ */
+public final class PrometheusResponseParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private PrometheusResponseParser() {
+    }
+
+    public static PrometheusQueryResult parse(InputStream inputStream) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            return parse(parser);
+        }
+    }
+
+    public static PrometheusQueryResult parse(String response) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(response)) {
+            return parse(parser);
+        }
+    }
+
+    private static PrometheusQueryResult parse(JsonParser parser) throws IOException {
+        PrometheusQueryResult queryResult = new PrometheusQueryResult();
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (fieldName) {
+                case KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.STATUS:
+                    queryResult.setStatus(parser.getValueAsString());
+                    break;
+                case KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.DATA:
+                    if (token == JsonToken.START_OBJECT)
+                        parseData(parser, queryResult);
+                    else
+                        parser.skipChildren();
+                    break;
+                case KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.WARNINGS:
+                    if (token == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            queryResult.addWarning(parser.getValueAsString());
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return queryResult;
+    }
+
+    private static void parseData(JsonParser parser, PrometheusQueryResult queryResult) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT_TYPE.equals(fieldName)) {
+                queryResult.setResultType(parser.getValueAsString());
+            } else if (KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT.equals(fieldName)) {
+                if (token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                // vector and matrix results are an array of series objects, scalar and string results
+                // are a bare [ts, "value"] pair, the first token tells them apart regardless of resultType order
+                token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    do {
+                        queryResult.addSeries(parseSeries(parser));
+                    } while (parser.nextToken() == JsonToken.START_OBJECT);
+                } else if (token != JsonToken.END_ARRAY) {
+                    PrometheusSeries prometheusSeries = new PrometheusSeries(new HashMap<>());
+                    readSample(parser, prometheusSeries);
+                    queryResult.addSeries(prometheusSeries);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static PrometheusSeries parseSeries(JsonParser parser) throws IOException {
+        Map<String, String> labels = new HashMap<>();
+        PrometheusSeries prometheusSeries = null;
+        // metric normally precedes value(s), buffer the labels until we know them
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.METRIC.equals(fieldName) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String labelName = parser.currentName();
+                    parser.nextToken();
+                    labels.put(labelName, parser.getValueAsString());
+                }
+            } else if (KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.VALUE.equals(fieldName) && token == JsonToken.START_ARRAY) {
+                if (null == prometheusSeries)
+                    prometheusSeries = new PrometheusSeries(labels);
+                readSamplePairBody(parser, prometheusSeries);
+            } else if (KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.VALUES.equals(fieldName) && token == JsonToken.START_ARRAY) {
+                if (null == prometheusSeries)
+                    prometheusSeries = new PrometheusSeries(labels);
+                while (parser.nextToken() == JsonToken.START_ARRAY) {
+                    readSamplePairBody(parser, prometheusSeries);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return null == prometheusSeries ? new PrometheusSeries(labels) : prometheusSeries;
+    }
+
+    /**
+     * Reads "ts, value]" of a [ts, "value"] pair, the opening bracket must already be consumed.
+     */
+    private static void readSamplePairBody(JsonParser parser, PrometheusSeries prometheusSeries) throws IOException {
+        parser.nextToken();
+        readSample(parser, prometheusSeries);
+    }
+
+    /**
+     * Reads the rest of a [ts, "value"] pair, the parser must be positioned on the timestamp.
+     */
+    private static void readSample(JsonParser parser, PrometheusSeries prometheusSeries) throws IOException {
+        long timestamp = (long) parser.getValueAsDouble();
+        parser.nextToken();
+        double value = parseSampleValue(parser.getText());
+        expect(parser, parser.nextToken(), JsonToken.END_ARRAY);
+        prometheusSeries.addSample(timestamp, value);
+    }
+
+    private static double parseSampleValue(String text) {
+        if (KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.POSITIVE_INF.equals(text))
+            return Double.POSITIVE_INFINITY;
+        if (KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.NEGATIVE_INF.equals(text))
+            return Double.NEGATIVE_INFINITY;
+        return Double.parseDouble(text);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected)
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+    }
+}
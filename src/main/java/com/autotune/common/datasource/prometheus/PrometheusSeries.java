@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.datasource.prometheus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A single Prometheus series (one entry of data.result) decoded into primitive arrays.
+ * Timestamps are epoch seconds, values are doubles with NaN / +-Infinity kept as is.
+ */
+public class PrometheusSeries {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, String> labels;
+    private long[] timestamps;
+    private double[] values;
+    private int size;
+
+    public PrometheusSeries(Map<String, String> labels) {
+        this.labels = Collections.unmodifiableMap(labels);
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.values = new double[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    void addSample(long timestamp, double value) {
+        if (size == timestamps.length) {
+            int newCapacity = timestamps.length << 1;
+            timestamps = Arrays.copyOf(timestamps, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        timestamps[size] = timestamp;
+        values[size] = value;
+        size++;
+    }
+
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    public String getLabel(String name) {
+        return labels.get(name);
+    }
+
+    /**
+     * @return number of samples in the series
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index sample index, 0 based
+     * @return sample timestamp in epoch seconds
+     */
+    public long getTimestamp(int index) {
+        if (index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return timestamps[index];
+    }
+
+    /**
+     * @param index sample index, 0 based
+     * @return sample value
+     */
+    public double getValue(int index) {
+        if (index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return values[index];
+    }
+
+    @Override
+    public String toString() {
+        return "PrometheusSeries{" +
+                "labels=" + labels +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -17,85 +17,318 @@ package com.autotune.common.kafka;
 
 import com.autotune.operator.KruizeDeploymentInfo;
 import com.autotune.utils.KruizeConstants;
-import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
+import com.autotune.utils.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import org.apache.kafka.clients.consumer.*;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Properties;
-import java.util.Scanner;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
-//TODO: This class is not being used for now, will be updated later
 /**
- * KruizeKafkaConsumer class is responsible for consuming messages from a Kafka topic.
- * It implements the Runnable interface to allow execution in a separate thread.
- * The consumer listens for messages and logs the received recommendations.
+ * KruizeKafkaConsumer class is responsible for consuming the input messages of Kruize from Kafka topics.
+ * <p>
+ * The consumer joins the consumer group and hands the records of each topic to its {@link RecordHandler}. The records
+ * of a partition are processed in order by one worker at a time, while the partition is paused, and the records of
+ * different partitions in parallel on a fixed number of workers. The offset of a record is committed once its
+ * handler returned, a handler failing leaves the record to be processed again after a backoff, up to maxAttempts
+ * times. A record still failing then is logged, counted as skipped and committed, so that it doesn't block its
+ * partition forever.
  */
 public class KruizeKafkaConsumer implements Runnable {
-    private static KafkaConsumer<String, String> consumer;
     private static final Logger LOGGER = LoggerFactory.getLogger(KruizeKafkaConsumer.class);
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+    private final Consumer<String, String> consumer;
+    private final Map<String, RecordHandler> handlers;
+    private final ExecutorService workers;
+    private final int maxAttempts;
+    // partitions being processed by a worker, only used by the polling thread
+    private final Map<TopicPartition, Future<?>> inProgress = new HashMap<>();
+    // partitions processed by the workers, to be committed and resumed by the polling thread
+    private final Map<TopicPartition, PartitionResult> processed = new ConcurrentHashMap<>();
+    // partitions waiting to retry a failed record, by time to resume them at
+    private final Map<TopicPartition, Long> retryAt = new HashMap<>();
+    // record failing at the head of each partition, with the attempts made at it
+    private final Map<TopicPartition, FailedRecord> failedRecords = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * @param consumer    consumer of the group, not shared with anything else
+     * @param handlers    handlers by topic, the consumer subscribes to these topics
+     * @param workerCount number of partitions processed at the same time
+     * @param maxAttempts attempts at processing a record before it is skipped
+     */
+    public KruizeKafkaConsumer(Consumer<String, String> consumer, Map<String, RecordHandler> handlers, int workerCount,
+                               int maxAttempts) {
+        this.consumer = consumer;
+        this.handlers = Map.copyOf(handlers);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        // never more tasks queued than partitions assigned, as these are paused until processed
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), runnable -> {
+            Thread thread = new Thread(runnable, "kafka-input-" + WORKER_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a consumer of the Kruize consumer group for the topics of the handlers
+     */
+    public static KruizeKafkaConsumer create(Map<String, RecordHandler> handlers) {
+        return new KruizeKafkaConsumer(new KafkaConsumer<>(getConsumerProperties()), handlers,
+                KruizeDeploymentInfo.kafka_consumer_threads, KruizeDeploymentInfo.kafka_max_record_attempts);
+    }
+
+    /**
+     * Retrieves Kafka consumer properties.
+     *
+     * @return Properties object containing Kafka consumer configuration.
+     */
+    private static Properties getConsumerProperties() {
+        Properties consumerProps = new Properties();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, KruizeDeploymentInfo.kafka_bootstrap_servers);
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, (null == KruizeDeploymentInfo.kafka_group_id)
+                ? KruizeConstants.KAFKA_CONSTANTS.DEFAULT_CONSUMER_GROUP_ID : KruizeDeploymentInfo.kafka_group_id);
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        // offsets are committed once the records are processed
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, KruizeConstants.KAFKA_CONSTANTS.EARLIEST);
+        return consumerProps;
+    }
 
     /**
      * The main execution method of the Kafka consumer.
-     * The consumer subscribes to a Kafka topic and continuously polls for new input.
+     * The consumer subscribes to the topics and polls for new input until shut down.
      */
     @Override
     public void run() {
-
-        // Flag to control the loop and terminate when needed
-        boolean continueListening = true;
-
         try {
-            consumer = getKafkaConsumerConfig();
-            consumer.subscribe(java.util.Collections.singletonList(KruizeDeploymentInfo.bulk_input_topic));
-            while (continueListening) {
-                consumer.poll(java.time.Duration.ofMillis(100)).forEach(record -> {
-                    LOGGER.debug(KruizeConstants.KAFKA_CONSTANTS.MESSAGE_RECEIVED_SUCCESSFULLY,
-                            record.key(), record.value(), record.partition(), record.offset());
-                });
-                if (isTerminationSignalReceived()) {
-                    continueListening = false;
-                }
+            subscribe();
+            while (!closed) {
+                pollOnce();
             }
+        } catch (WakeupException e) {
+            // shutting down
         } catch (Exception e) {
-            e.printStackTrace();
+            LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_CONSUMER_ERROR, e.getMessage(), e);
+        } finally {
+            workers.shutdown();
+            try {
+                if (workers.awaitTermination(KruizeConstants.KAFKA_CONSTANTS.CONSUMER_SHUTDOWN_TIMEOUT_SECS, TimeUnit.SECONDS)) {
+                    commitProcessed();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_CONSUMER_ERROR, e.getMessage(), e);
+            }
+            consumer.close();
+            LOGGER.debug(KruizeConstants.KAFKA_CONSTANTS.KAFKA_CONSUMER_CLOSED);
         }
     }
 
     /**
-     * Configures and returns a Kafka consumer instance.
-     *
-     * @return a configured {@code KafkaConsumer} instance.
+     * Stops polling, lets the records being processed finish and commits them
      */
-    private KafkaConsumer<String, String> getKafkaConsumerConfig() {
-        Properties consumerProps = new Properties();
-        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, KruizeDeploymentInfo.kafka_bootstrap_servers);
-        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, KruizeDeploymentInfo.kafka_group_id);
-        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+    public void shutdown() {
+        closed = true;
+        consumer.wakeup();
+    }
 
-        return new KafkaConsumer<>(consumerProps);
+    void subscribe() {
+        consumer.subscribe(handlers.keySet(), new ConsumerRebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                // commit what was processed before another consumer of the group takes the partitions over
+                for (TopicPartition partition : partitions) {
+                    Future<?> future = inProgress.get(partition);
+                    if (null != future) {
+                        try {
+                            future.get();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } catch (ExecutionException e) {
+                            // reported as the result of the partition
+                        }
+                    }
+                }
+                commitProcessed();
+                forget(partitions);
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            }
+
+            @Override
+            public void onPartitionsLost(Collection<TopicPartition> partitions) {
+                forget(partitions);
+            }
+        });
     }
 
     /**
-     * Adds a shutdown hook to close the Kafka consumer gracefully.
+     * Hands the polled records to the workers, and commits and resumes the partitions they processed
      */
-    private static void addConsumerShutdownHook() {
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            if (consumer != null) {
-                consumer.close();
+    void pollOnce() {
+        ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(KruizeConstants.KAFKA_CONSTANTS.POLL_TIMEOUT_MILLIS));
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<String, String>> partitionRecords = records.records(partition);
+            consumer.pause(List.of(partition));
+            inProgress.put(partition, workers.submit(() -> process(partition, partitionRecords)));
+        }
+        commitProcessed();
+    }
+
+    private void process(TopicPartition partition, List<ConsumerRecord<String, String>> records) {
+        long nextOffset = -1;
+        for (ConsumerRecord<String, String> record : records) {
+            if (closed) {
+                // left to the next consumer of the partition
+                processed.put(partition, new PartitionResult(nextOffset, record.offset(), false));
+                return;
             }
-        }));
+            LOGGER.debug(KruizeConstants.KAFKA_CONSTANTS.MESSAGE_RECEIVED_SUCCESSFULLY,
+                    record.key(), record.value(), record.partition(), record.offset());
+            try {
+                RecordHandler handler = handlers.get(record.topic());
+                if (null == handler) {
+                    throw new IllegalArgumentException(String.format(KruizeConstants.KAFKA_CONSTANTS.UNKNOWN_TOPIC, record.topic()));
+                }
+                handler.handle(record);
+                countRecord(record.topic(), "success");
+            } catch (Exception e) {
+                countRecord(record.topic(), "failure");
+                int attempts = countAttempt(partition, record.offset());
+                if (attempts < maxAttempts) {
+                    LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_RECORD_FAILED, record.topic(), record.partition(),
+                            record.offset(), e.getMessage(), e);
+                    processed.put(partition, new PartitionResult(nextOffset, record.offset(), true));
+                    return;
+                }
+                LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_RECORD_SKIPPED, record.topic(), record.partition(),
+                        record.offset(), attempts, e.getMessage(), e);
+                countRecord(record.topic(), "skipped");
+            }
+            failedRecords.remove(partition);
+            nextOffset = record.offset() + 1;
+        }
+        processed.put(partition, new PartitionResult(nextOffset, -1, false));
     }
 
     /**
-     * Checks if a termination signal has been received.
-     *
-     * @return {@code true} if termination input is detected; {@code false} otherwise.
+     * @return attempts made at the record, counting the failed one, since it first failed on this consumer
+     */
+    private int countAttempt(TopicPartition partition, long offset) {
+        FailedRecord failedRecord = failedRecords.get(partition);
+        if (null == failedRecord || failedRecord.offset != offset) {
+            failedRecord = new FailedRecord(offset);
+            failedRecords.put(partition, failedRecord);
+        }
+        return ++failedRecord.attempts;
+    }
+
+    private void commitProcessed() {
+        Set<TopicPartition> assignment = consumer.assignment();
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        List<TopicPartition> resumed = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<TopicPartition, PartitionResult>> it = processed.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<TopicPartition, PartitionResult> entry = it.next();
+            it.remove();
+            TopicPartition partition = entry.getKey();
+            PartitionResult result = entry.getValue();
+            inProgress.remove(partition);
+            // the partition was taken away meanwhile, its records are processed again by its new consumer
+            if (!assignment.contains(partition))
+                continue;
+            if (result.nextOffset >= 0)
+                offsets.put(partition, new OffsetAndMetadata(result.nextOffset));
+            if (result.retryOffset >= 0) {
+                consumer.seek(partition, result.retryOffset);
+                retryAt.put(partition, result.backoff ? now + KruizeConstants.KAFKA_CONSTANTS.RETRY_BACKOFF_MILLIS : now);
+            } else {
+                resumed.add(partition);
+            }
+        }
+        for (Iterator<Map.Entry<TopicPartition, Long>> it = retryAt.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<TopicPartition, Long> entry = it.next();
+            if (entry.getValue() <= now) {
+                it.remove();
+                if (assignment.contains(entry.getKey()))
+                    resumed.add(entry.getKey());
+            }
+        }
+        if (!offsets.isEmpty()) {
+            try {
+                consumer.commitSync(offsets);
+            } catch (CommitFailedException e) {
+                // the group rebalanced, the records are processed again by the new consumer of the partitions
+                LOGGER.warn(KruizeConstants.KAFKA_CONSTANTS.KAFKA_COMMIT_FAILED, e.getMessage());
+            }
+        }
+        if (!resumed.isEmpty())
+            consumer.resume(resumed);
+    }
+
+    private void forget(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            inProgress.remove(partition);
+            processed.remove(partition);
+            retryAt.remove(partition);
+            failedRecords.remove(partition);
+        }
+    }
+
+    private static void countRecord(String topic, String status) {
+        Counter.builder(MetricsConfig.KAFKA_INPUT_METRIC).description(MetricsConfig.KAFKA_INPUT_METRIC_DESC)
+                .tags("topic", topic, "status", status).register(MetricsConfig.meterRegistry()).increment();
+    }
+
+    /**
+     * Processes one record. Returning means the record is safely stored and its offset can be committed, throwing
+     * means it is to be processed again.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void handle(ConsumerRecord<String, String> record) throws Exception;
+    }
+
+    /**
+     * Outcome of the records of a partition processed by a worker
      */
-    private static boolean isTerminationSignalReceived() {
-        Scanner scanner = new Scanner(System.in);
-        return scanner.hasNext(); // This will return true if any input arrives
+    private static final class PartitionResult {
+        // offset to commit, -1 if no record was processed
+        private final long nextOffset;
+        // offset to consume again from, -1 if all the records were processed
+        private final long retryOffset;
+        // whether to wait before consuming again
+        private final boolean backoff;
+
+        private PartitionResult(long nextOffset, long retryOffset, boolean backoff) {
+            this.nextOffset = nextOffset;
+            this.retryOffset = retryOffset;
+            this.backoff = backoff;
+        }
+    }
+
+    /**
+     * Record failing at the head of a partition, only used by the worker processing the partition
+     */
+    private static final class FailedRecord {
+        private final long offset;
+        private int attempts;
+
+        private FailedRecord(long offset) {
+            this.offset = offset;
+        }
     }
 }
@@ -17,7 +17,11 @@ package com.autotune.common.kafka;
 
 import com.autotune.operator.KruizeDeploymentInfo;
 import com.autotune.utils.KruizeConstants;
+import com.autotune.utils.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
@@ -26,21 +30,57 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Properties;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * KruizeKafkaProducer class is responsible for producing messages to Kafka topics.
- * It provides methods to send different types of messages, such as recommendations, errors, and summaries.
+ * <p>
+ * Messages are sent without waiting for the broker, the producer batches them and reports each delivery through
+ * the returned future. At most {@code kafkaMaxInFlightMessages} messages are unacknowledged at a time, senders wait
+ * beyond that so that a slow broker holds back the bulk jobs rather than filling the heap.
  */
 public class KruizeKafkaProducer {
     private static final Logger LOGGER = LoggerFactory.getLogger(KruizeKafkaProducer.class);
 
     // Singleton Kafka Producer Instance
-    private static final KafkaProducer<String, String> producer = new KafkaProducer<>(getProducerProperties());
+    private static KruizeKafkaProducer instance;
+
+    private final Producer<String, String> producer;
+    private final Semaphore inFlightPermits;
+    private final int maxInFlight;
+
+    /**
+     * @param producer    producer the messages are sent with
+     * @param maxInFlight highest number of messages sent and not yet acknowledged
+     */
+    public KruizeKafkaProducer(Producer<String, String> producer, int maxInFlight) {
+        this.producer = producer;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlightPermits = new Semaphore(this.maxInFlight);
+        Gauge.builder(MetricsConfig.KAFKA_PRODUCER_METRIC, this, KruizeKafkaProducer::getInFlight)
+                .description(MetricsConfig.KAFKA_PRODUCER_METRIC_DESC)
+                .tags("state", "inflight").register(MetricsConfig.meterRegistry());
+        Gauge.builder(MetricsConfig.KAFKA_PRODUCER_METRIC, inFlightPermits, Semaphore::getQueueLength)
+                .description(MetricsConfig.KAFKA_PRODUCER_METRIC_DESC)
+                .tags("state", "waiting").register(MetricsConfig.meterRegistry());
+    }
+
+    /**
+     * @return the producer shared by the whole Kruize instance
+     */
+    public static synchronized KruizeKafkaProducer getInstance() {
+        if (null == instance) {
+            instance = new KruizeKafkaProducer(new KafkaProducer<>(getProducerProperties()),
+                    KruizeDeploymentInfo.kafka_max_in_flight_messages);
+        }
+        return instance;
+    }
 
     /**
-     * Retrieves Kafka producer properties.     *
+     * Retrieves Kafka producer properties.
+     *
      * @return Properties object containing Kafka producer configuration.
      */
     private static Properties getProducerProperties() {
@@ -49,107 +89,71 @@ public class KruizeKafkaProducer {
         producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
         producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
         producerProps.put(ProducerConfig.ACKS_CONFIG, KruizeConstants.KAFKA_CONSTANTS.ALL);
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, KruizeDeploymentInfo.kafka_linger_ms);
+        producerProps.put(ProducerConfig.BATCH_SIZE_CONFIG, KruizeDeploymentInfo.kafka_batch_size);
+        producerProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, KruizeDeploymentInfo.kafka_compression_type);
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, KruizeDeploymentInfo.kafka_enable_idempotence);
         return producerProps;
     }
 
     /**
-     * Sends a message to the specified Kafka topic.
+     * Sends a message to the specified Kafka topic, waiting only while the most messages allowed are in flight.
      *
      * @param topic   The Kafka topic to send the message to.
      * @param payload The message payload.
+     * @return completes with the metadata of the record once acknowledged, or exceptionally if it was not delivered
+     * @throws InterruptedException if interrupted while waiting for an in flight message to be acknowledged
      */
-    private static void sendMessage(String topic, String payload) {
+    public CompletableFuture<RecordMetadata> send(String topic, String payload) throws InterruptedException {
+        CompletableFuture<RecordMetadata> delivery = new CompletableFuture<>();
+        // the producer fails some sends by calling back and others by throwing, only the first one counts
+        AtomicBoolean completed = new AtomicBoolean();
+        inFlightPermits.acquire();
         try {
             LOGGER.debug("Sending message to client...");
-            RecordMetadata metadata = producer.send(new ProducerRecord<>(topic, payload))
-                    .get(5, TimeUnit.SECONDS); //todo : set the timeout value via ENV
-            // todo: get the status of message whether its delivered or failed
-            LOGGER.debug(KruizeConstants.KAFKA_CONSTANTS.MESSAGE_SENT_SUCCESSFULLY, metadata.topic(), metadata.partition(), metadata.offset());
-        } catch (TimeoutException te) {
-            LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_MESSAGE_TIMEOUT_ERROR, topic, te.getMessage());
-        } catch (Exception e) {
-            LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_MESSAGE_FAILED, topic, e.getMessage(), e);
+            producer.send(new ProducerRecord<>(topic, payload), (metadata, exception) -> {
+                if (completed.compareAndSet(false, true))
+                    complete(delivery, topic, metadata, exception);
+            });
+        } catch (RuntimeException e) {
+            if (completed.compareAndSet(false, true))
+                complete(delivery, topic, null, e);
         }
+        return delivery;
     }
 
-    /**
-     * Produces valid recommendation messages.
-     */
-    public static class ValidRecommendationMessageProducer implements Runnable {
-        private final String payload;
-
-        /**
-         * Constructs a new producer for valid recommendation messages.
-         *
-         * @param payload The recommendation message payload.
-         */
-        public ValidRecommendationMessageProducer(String payload) {
-            this.payload = payload;
-        }
-
-        /**
-         * Runs the producer to send the recommendation message.
-         */
-        @Override
-        public void run() {
-            sendMessage(KruizeConstants.KAFKA_CONSTANTS.RECOMMENDATIONS_TOPIC, payload);
+    private void complete(CompletableFuture<RecordMetadata> delivery, String topic, RecordMetadata metadata, Exception exception) {
+        inFlightPermits.release();
+        if (null == exception) {
+            LOGGER.debug(KruizeConstants.KAFKA_CONSTANTS.MESSAGE_SENT_SUCCESSFULLY, metadata.topic(), metadata.partition(), metadata.offset());
+            countMessage(topic, "success");
+            delivery.complete(metadata);
+        } else {
+            LOGGER.error(KruizeConstants.KAFKA_CONSTANTS.KAFKA_MESSAGE_FAILED, topic, exception.getMessage());
+            countMessage(topic, "failure");
+            delivery.completeExceptionally(exception);
         }
     }
 
-    /**
-     * Produces error messages.
-     */
-    public static class ErrorMessageProducer implements Runnable {
-        private final String errorDetails;
-
-        /**
-         * Constructs a new producer for error messages.
-         *
-         * @param errorDetails The error message payload.
-         */
-        public ErrorMessageProducer(String errorDetails) {
-            this.errorDetails = errorDetails;
-        }
-
-        /**
-         * Runs the producer to send the error message.
-         */
-        @Override
-        public void run() {
-            sendMessage(KruizeConstants.KAFKA_CONSTANTS.ERROR_TOPIC, errorDetails);
-        }
+    private static void countMessage(String topic, String status) {
+        Counter.builder(MetricsConfig.KAFKA_MESSAGES_METRIC).description(MetricsConfig.KAFKA_MESSAGES_METRIC_DESC)
+                .tags("topic", topic, "status", status).register(MetricsConfig.meterRegistry()).increment();
     }
 
     /**
-     * Produces summary response messages.
+     * @return number of messages sent and not yet acknowledged
      */
-    public static class SummaryResponseMessageProducer implements Runnable {
-        private final String payload;
-
-        /**
-         * Constructs a new producer for summary response messages.
-         *
-         * @param payload The summary message payload.
-         */
-        public SummaryResponseMessageProducer(String payload) {
-            this.payload = payload;
-        }
-
-        /**
-         * Runs the producer to send the summary message.
-         */
-        @Override
-        public void run() {
-            sendMessage(KruizeConstants.KAFKA_CONSTANTS.SUMMARY_TOPIC, payload);
-        }
+    public int getInFlight() {
+        return maxInFlight - inFlightPermits.availablePermits();
     }
 
     /**
-     * Closes the Kafka producer instance.
+     * Closes the Kafka producer instance, after sending the messages in flight.
      */
-    public static void close() {
-        if (producer != null) {
-            producer.close();
+    public static synchronized void close() {
+        if (instance != null) {
+            instance.producer.close();
+            instance = null;
             LOGGER.debug(KruizeConstants.KAFKA_CONSTANTS.KAFKA_PRODUCER_CLOSED);
         }
     }
@@ -21,6 +21,7 @@ import com.autotune.common.target.common.exception.TargetHandlerException;
 import com.autotune.common.target.kubernetes.service.KubernetesServices;
 import com.autotune.common.trials.ContainerConfigData;
 import com.autotune.common.utils.ExponentialBackOff;
+import com.autotune.utils.KubernetesClientProvider;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpec;
@@ -55,7 +56,7 @@ public class KubernetesServicesImpl implements KubernetesServices {
      */
     public void initialize() {
         try {
-            this.kubernetesClient = new DefaultKubernetesClient();
+            this.kubernetesClient = KubernetesClientProvider.getClient();
         } catch (Exception e) {
             new TargetHandlerConnectException(e, "Default connection to kubernetes failed!");
         }
@@ -604,20 +605,14 @@ public class KubernetesServicesImpl implements KubernetesServices {
     }
 
     /**
-     * Close connection with Kubernetes.
+     * Releases this service's use of the Kubernetes client. The client is shared across Kruize and is only
+     * closed by KubernetesClientProvider on shutdown, so that other users keep their connections.
      *
-     * @return
+     * @return true
      */
     @Override
     public boolean shutdownClient() {
-        boolean closed = false;
-        try {
-            kubernetesClient.close();
-            closed = true;
-        } catch (Exception e) {
-            new TargetHandlerException(e, "shutdownClient failed!");
-        }
-        return closed;
+        return true;
     }
 
 }
@@ -289,9 +289,17 @@ public class CommonUtils {
         return new Timestamp(cal.getTime().getTime());
     }
 
+    /**
+     * @param percentile percentile in the 0 - 100 range
+     * @param items      values, left unchanged
+     * @return the percentile of the values, 0 when there are none
+     */
     public static Double percentile(double percentile, List<Double> items) {
-        Collections.sort(items);
-        return items.get((int) Math.round(percentile / 100.0 * (items.size() - 1)));
+        double[] values = new double[items.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = items.get(i);
+        }
+        return PercentileUtils.percentile(percentile, values, values.length);
     }
 
     public static double getPercentage(double newer, double older) {
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.utils;
+
+import com.autotune.utils.KruizeConstants;
+
+/**
+ * Mergeable percentile sketch with a relative accuracy guarantee, in the manner of DDSketch.
+ * <p>
+ * Positive values are counted in logarithmic buckets of ratio gamma = (1 + a) / (1 - a), so any percentile is
+ * returned within a relative error a of the exact value at the same rank. Values that are zero or negative,
+ * e.g. idle usage, are counted apart and reported as 0. Sketches of the same accuracy merge by adding their
+ * bucket counts, which lets long windows be assembled from the sketches of shorter ones without keeping
+ * the raw values.
+ */
+public class PercentileSketch {
+    // smallest value given its own bucket, smaller positive values share it
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+    private static final int INITIAL_BUCKETS = 64;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] bucketCounts = new long[0];
+    // bucket index of bucketCounts[0]
+    private int bucketOffset;
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param relativeAccuracy relative error of the percentiles, between 0 and 1 exclusive
+     */
+    public PercentileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1))
+            throw new IllegalArgumentException(KruizeConstants.ErrorMsgs.RecommendationErrorMsgs.INVALID_SKETCH_ACCURACY + relativeAccuracy);
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * @param value      value to count, NaN is ignored
+     * @param occurrences number of times the value is counted
+     */
+    public void add(double value, long occurrences) {
+        if (Double.isNaN(value) || occurrences <= 0)
+            return;
+        if (value <= 0) {
+            zeroCount += occurrences;
+        } else {
+            int index = bucketIndex(value);
+            ensureBucket(index);
+            bucketCounts[index - bucketOffset] += occurrences;
+        }
+        count += occurrences;
+        sum += value * occurrences;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the counts of another sketch to this one
+     *
+     * @param other sketch of the same relative accuracy
+     */
+    public void merge(PercentileSketch other) {
+        if (null == other || 0 == other.count)
+            return;
+        if (other.relativeAccuracy != relativeAccuracy)
+            throw new IllegalArgumentException(KruizeConstants.ErrorMsgs.RecommendationErrorMsgs.SKETCH_ACCURACY_MISMATCH);
+        for (int i = 0; i < other.bucketCounts.length; i++) {
+            if (0 != other.bucketCounts[i]) {
+                int index = other.bucketOffset + i;
+                ensureBucket(index);
+                bucketCounts[index - bucketOffset] += other.bucketCounts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param percentile percentile in the 0 - 100 range
+     * @return the percentile, using the same rank rule as {@link PercentileUtils}, 0 when the sketch is empty
+     */
+    public double getPercentile(double percentile) {
+        if (0 == count)
+            return 0.0;
+        long rank = Math.round(percentile / 100.0 * (count - 1));
+        // the extremes are known exactly
+        if (0 == rank)
+            return min;
+        if (count - 1 == rank)
+            return max;
+        if (rank < zeroCount)
+            return Math.min(0.0, max);
+        long seen = zeroCount;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen > rank) {
+                double value = 2 * Math.pow(gamma, bucketOffset + i) / (gamma + 1);
+                return Math.max(min, Math.min(max, value));
+            }
+        }
+        return max;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return 0 == count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return smallest value added, NaN when the sketch is empty
+     */
+    public double getMin() {
+        return (0 == count) ? Double.NaN : min;
+    }
+
+    /**
+     * @return largest value added, NaN when the sketch is empty
+     */
+    public double getMax() {
+        return (0 == count) ? Double.NaN : max;
+    }
+
+    private int bucketIndex(double value) {
+        return (int) Math.ceil(Math.log(Math.max(value, MIN_INDEXABLE_VALUE)) / logGamma);
+    }
+
+    private void ensureBucket(int index) {
+        if (0 == bucketCounts.length) {
+            bucketCounts = new long[INITIAL_BUCKETS];
+            bucketOffset = index - INITIAL_BUCKETS / 2;
+            return;
+        }
+        if (index >= bucketOffset && index < bucketOffset + bucketCounts.length)
+            return;
+        int newStart = Math.min(bucketOffset, index);
+        int newEnd = Math.max(bucketOffset + bucketCounts.length, index + 1);
+        // grow by at least half the current size to keep the copies amortized
+        int newLength = Math.max(newEnd - newStart, bucketCounts.length + bucketCounts.length / 2);
+        if (index < bucketOffset)
+            newStart = newEnd - newLength;
+        long[] newCounts = new long[newLength];
+        System.arraycopy(bucketCounts, 0, newCounts, bucketOffset - newStart, bucketCounts.length);
+        bucketCounts = newCounts;
+        bucketOffset = newStart;
+    }
+
+    @Override
+    public String toString() {
+        return "PercentileSketch{" +
+                "relativeAccuracy=" + relativeAccuracy +
+                ", count=" + count +
+                ", zeroCount=" + zeroCount +
+                ", min=" + getMin() +
+                ", max=" + getMax() +
+                ", buckets=" + bucketCounts.length +
+                '}';
+    }
+}
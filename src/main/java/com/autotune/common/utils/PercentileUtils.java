@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.common.utils;
+
+import java.util.Arrays;
+
+/**
+ * Exact percentiles over primitive arrays.
+ * <p>
+ * The percentile p of n values is the value at rank round(p / 100 * (n - 1)) of the sorted values. A single
+ * percentile is found by selection in linear time, several percentiles of the same values by one sort.
+ * Both reorder the values in place.
+ */
+public final class PercentileUtils {
+    // below this size sorting the remaining range is faster than partitioning it further
+    private static final int SORT_THRESHOLD = 16;
+
+    private PercentileUtils() {
+    }
+
+    /**
+     * @param percentile percentile in the 0 - 100 range
+     * @param length     number of values
+     * @return rank of the percentile in the sorted values
+     */
+    public static int rank(double percentile, int length) {
+        return (int) Math.round(percentile / 100.0 * (length - 1));
+    }
+
+    /**
+     * Selects a single percentile, the values are partially reordered
+     *
+     * @param percentile percentile in the 0 - 100 range
+     * @param values     values, only the first length of them are considered
+     * @param length     number of values
+     * @return the percentile, 0 when there are no values
+     */
+    public static double percentile(double percentile, double[] values, int length) {
+        if (length <= 0)
+            return 0.0;
+        return select(values, length, rank(percentile, length));
+    }
+
+    /**
+     * Computes several percentiles of the same values with one sort, the values are left sorted
+     *
+     * @param values      values, only the first length of them are considered
+     * @param length      number of values
+     * @param percentiles percentiles in the 0 - 100 range
+     * @return the percentiles in the order they are asked for, 0 when there are no values
+     */
+    public static double[] percentiles(double[] values, int length, double... percentiles) {
+        double[] result = new double[percentiles.length];
+        if (length <= 0)
+            return result;
+        Arrays.sort(values, 0, length);
+        for (int i = 0; i < percentiles.length; i++) {
+            result[i] = values[rank(percentiles[i], length)];
+        }
+        return result;
+    }
+
+    /**
+     * Quickselect with a median of three pivot, places the value of rank k at index k
+     */
+    private static double select(double[] values, int length, int k) {
+        int left = 0;
+        int right = length - 1;
+        while (right > left) {
+            if (right - left < SORT_THRESHOLD) {
+                Arrays.sort(values, left, right + 1);
+                return values[k];
+            }
+            int mid = (left + right) >>> 1;
+            if (values[mid] < values[left])
+                swap(values, left, mid);
+            if (values[right] < values[left])
+                swap(values, left, right);
+            if (values[right] < values[mid])
+                swap(values, mid, right);
+            double pivot = values[mid];
+
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot)
+                    i++;
+                while (values[j] > pivot)
+                    j--;
+                if (i <= j) {
+                    swap(values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // values between j and i are equal to the pivot
+            if (k <= j)
+                right = j;
+            else if (k >= i)
+                left = i;
+            else
+                return values[k];
+        }
+        return values[k];
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
@@ -9,8 +9,10 @@ import com.autotune.database.table.lm.KruizeBulkJobEntry;
 import com.autotune.database.table.lm.KruizeLMExperimentEntry;
 import com.autotune.database.table.lm.KruizeLMMetadataProfileEntry;
 import com.autotune.database.table.lm.KruizeLMRecommendationEntry;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -86,6 +88,9 @@ public interface ExperimentDAO {
     // Load a single experiment based on experimentName
     List<KruizeLMExperimentEntry> loadLMExperimentByName(String experimentName) throws Exception;
 
+    // Load the experiments with the given names at once
+    List<KruizeLMExperimentEntry> loadLMExperimentsByNames(Collection<String> experimentNames) throws Exception;
+
 
     // Load a single data source based on name
     List<KruizeDataSourceEntry> loadDataSourceByName(String name) throws Exception;
@@ -100,6 +105,9 @@ public interface ExperimentDAO {
     // Load all recommendations of a particular experiment
     List<KruizeLMRecommendationEntry> loadLMRecommendationsByExperimentName(String experimentName, String bulkJobId) throws Exception;
 
+    // Load the recommendations generated by a bulk job for the given experiments at once
+    List<KruizeLMRecommendationEntry> loadLMRecommendationsByExperimentNames(Collection<String> experimentNames, String bulkJobId) throws Exception;
+
     // Load a single Performance Profile based on name
     List<KruizePerformanceProfileEntry> loadPerformanceProfileByName(String performanceProfileName) throws Exception;
 
@@ -143,8 +151,15 @@ public interface ExperimentDAO {
     // Load data source metadata by namespace
     List<KruizeDSMetadataEntry> loadMetadataByNamespace(String dataSourceName, String clusterName, String namespace) throws Exception;
 
-    // add metadata
-    ValidationOutputData addMetadataToDB(KruizeDSMetadataEntry kruizeDSMetadataEntry);
+    // Load data source metadata matching the filters, a page of it when maxResults is positive
+    List<KruizeDSMetadataEntry> loadMetadata(String dataSourceName, String clusterName, String namespace, String workloadName,
+                                             String containerName, int firstResult, int maxResults) throws Exception;
+
+    // Load the clusters of a data source, or the namespaces of one of its clusters
+    List<KruizeDSMetadataEntry> loadMetadataSummary(String dataSourceName, String clusterName) throws Exception;
+
+    // add or update the metadata rows of an import in one transaction
+    ValidationOutputData addMetadataToDB(List<KruizeDSMetadataEntry> kruizeDSMetadataEntries);
 
     // Delete metadata
     public ValidationOutputData deleteKruizeDSMetadataEntryByName(String dataSourceName);
@@ -160,6 +175,23 @@ public interface ExperimentDAO {
 
     void deleteBulkJobByID(String jobId);
 
+    // get a BulkJob without its experiments, and a page of its experiments
+    KruizeBulkJobEntry findBulkJobSummaryById(String jobId) throws Exception;
+
+    JsonNode loadBulkJobExperiments(String jobId, String experimentName, int offset, int limit) throws Exception;
+
+    // update a BulkJob, leaving the checkpointed experiments as they are
+    ValidationOutputData updateBulkJobSummary(KruizeBulkJobEntry kruizeBulkJobEntry) throws Exception;
+
+    // record the outcome of one experiment of a running bulk job
+    ValidationOutputData checkpointBulkJobExperiment(String jobId, String experimentName, String experimentJson, int processedCount) throws Exception;
+
+    // mark bulk jobs as still being run
+    void heartbeatBulkJobs(Collection<String> jobIds) throws Exception;
+
+    // take over the in progress bulk jobs no pod has checkpointed lately
+    List<String> claimStaleBulkJobs(int staleAfterSecs) throws Exception;
+
     boolean updateExperimentDates(Set<String> experimentNames, Timestamp currentTimestamp) throws Exception;
 
     // Delete performance profile
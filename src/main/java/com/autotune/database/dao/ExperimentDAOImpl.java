@@ -22,14 +22,20 @@ import com.autotune.analyzer.utils.AnalyzerConstants;
 import com.autotune.analyzer.utils.AnalyzerErrorConstants;
 import com.autotune.common.data.ValidationOutputData;
 import com.autotune.database.helper.DBConstants;
+import com.autotune.database.helper.DBHelpers;
+import com.autotune.database.helper.ExperimentEntryCache;
 import com.autotune.database.init.KruizeHibernateUtil;
 import com.autotune.database.table.*;
 import com.autotune.database.table.lm.KruizeBulkJobEntry;
 import com.autotune.database.table.lm.KruizeLMExperimentEntry;
 import com.autotune.database.table.lm.KruizeLMMetadataProfileEntry;
 import com.autotune.database.table.lm.KruizeLMRecommendationEntry;
+import com.autotune.operator.KruizeDeploymentInfo;
 import com.autotune.utils.KruizeConstants;
 import com.autotune.utils.MetricsConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceException;
@@ -38,13 +44,17 @@ import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.exception.ConstraintViolationException;
 import org.hibernate.query.Query;
+import org.hibernate.type.StandardBasicTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.IntStream;
@@ -58,6 +68,7 @@ import static com.autotune.utils.KruizeConstants.KRUIZE_BULK_API.*;
 public class ExperimentDAOImpl implements ExperimentDAO {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(ExperimentDAOImpl.class);
+    private static final DateTimeFormatter PARTITION_DATE_FORMATTER = DateTimeFormatter.ofPattern(DBConstants.PARTITION_TYPES.PARTITION_DATE_FORMAT);
 
     @Override
     public synchronized ValidationOutputData addExperimentToDB(KruizeExperimentEntry kruizeExperimentEntry) {
@@ -71,6 +82,7 @@ public class ExperimentDAOImpl implements ExperimentDAO {
                     tx = session.beginTransaction();
                     session.persist(kruizeExperimentEntry);
                     tx.commit();
+                    ExperimentEntryCache.EXPERIMENTS.invalidate(kruizeExperimentEntry.getExperiment_name());
                     // TODO: remove native sql query and transient
                     //updateExperimentTypeInKruizeExperimentEntry(kruizeExperimentEntry);  #Todo this function no more required and see if it can applied without using update sql
                     validationOutputData.setSuccess(true);
@@ -108,6 +120,7 @@ public class ExperimentDAOImpl implements ExperimentDAO {
                     tx = session.beginTransaction();
                     session.persist(kruizeLMExperimentEntry);
                     tx.commit();
+                    ExperimentEntryCache.LM_EXPERIMENTS.invalidate(kruizeLMExperimentEntry.getExperiment_name());
                     // TODO: remove native sql query and transient
                     //updateExperimentTypeInKruizeExperimentEntry(kruizeLMExperimentEntry);
                     validationOutputData.setSuccess(true);
@@ -267,60 +280,43 @@ public class ExperimentDAOImpl implements ExperimentDAO {
     }
 
 
+    /**
+     * Inserts the results in batches of multi row INSERT ... ON CONFLICT DO NOTHING statements. The rows missing
+     * from the keys an insert returns already existed. A batch failing as a whole, e.g. on a result outside of the
+     * existing partitions, is inserted again one result at a time to report the failure of each one.
+     * <p>
+     * A failure that may go away by itself, the database being unreachable, is thrown instead of being reported
+     * against the results, so that callers can send them again.
+     *
+     * @param kruizeResultsEntries results to add
+     * @return the results that could not be added, with their error reasons
+     * @throws PersistenceException if the database failed transiently, see {@link DBHelpers#isTransientFailure}
+     */
     @Override
     public List<KruizeResultsEntry> addToDBAndFetchFailedResults(List<KruizeResultsEntry> kruizeResultsEntries) {
         List<KruizeResultsEntry> failedResultsEntries = new ArrayList<>();
-        Transaction tx = null;
         String statusValue = "failure";
         Timer.Sample timerAddBulkResultsDB = Timer.start(MetricsConfig.meterRegistry());
         try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
-            for (KruizeResultsEntry entry : kruizeResultsEntries) {
-                tx = session.beginTransaction();
+            createMissingResultsPartitions(session, kruizeResultsEntries);
+            for (int from = 0; from < kruizeResultsEntries.size(); from += DBConstants.BATCH_SIZES.RESULTS_INSERT) {
+                List<KruizeResultsEntry> batch = kruizeResultsEntries.subList(from,
+                        Math.min(from + DBConstants.BATCH_SIZES.RESULTS_INSERT, kruizeResultsEntries.size()));
                 try {
-                    session.persist(entry);
-                    session.flush();
-                } catch (PersistenceException e) {
-                    ConstraintViolationException constraintViolationException = null;
-                    String message = "";
-                    if (null != e.getCause()) {
-                        constraintViolationException = (ConstraintViolationException) e.getCause();
-                        message = constraintViolationException.getCause().getMessage();
-                    } else {
-                        message = e.getMessage();
-                    }
-                    LOGGER.debug(message);
-                    if (message.contains(DUPLICATE_KEY) || message.contains(DUPLICATE_KEY_ALT)) {
-                        entry.setErrorReasons(List.of(AnalyzerErrorConstants.APIErrors.updateResultsAPI.RESULTS_ALREADY_EXISTS));
-                        failedResultsEntries.add(entry);
-                    } else if (message.contains(DBConstants.DB_MESSAGES.NO_PARTITION_RELATION)) {
-                        try {
-                            LOGGER.debug(DBConstants.DB_MESSAGES.CREATE_PARTITION_RETRY);
-                            tx.commit();
-                            tx = session.beginTransaction();
-                            // create partitions based on entry object
-                            synchronized (new Object()) {
-                                createPartitions(entry);
-                            }
-                            session.persist(entry);
-                            session.flush();
-                        } catch (Exception partitionException) {
-                            LOGGER.error(partitionException.getMessage());
-                            entry.setErrorReasons(List.of(partitionException.getMessage()));
-                            failedResultsEntries.add(entry);
-                        }
-                    } else {
-                        entry.setErrorReasons(List.of(e.getMessage()));
-                        failedResultsEntries.add(entry);
-                    }
+                    failedResultsEntries.addAll(insertResultsBatch(session, batch));
                 } catch (Exception e) {
-                    entry.setErrorReasons(List.of(e.getMessage()));
-                    failedResultsEntries.add(entry);
-                } finally {
-                    tx.commit();
+                    if (DBHelpers.isTransientFailure(e))
+                        throw e;
+                    LOGGER.debug(DBConstants.DB_MESSAGES.RESULTS_BATCH_INSERT_FAILED, e.getMessage());
+                    failedResultsEntries.addAll(insertResultsOneByOne(session, batch));
                 }
             }
             statusValue = "success";
         } catch (Exception e) {
+            if (DBHelpers.isTransientFailure(e)) {
+                LOGGER.error(DBConstants.DB_MESSAGES.RESULTS_INSERT_TRANSIENT_FAILURE, e.getMessage());
+                throw e;
+            }
             LOGGER.error("Not able to save experiment due to {}", e.getMessage());
             failedResultsEntries.addAll(kruizeResultsEntries);
             failedResultsEntries.forEach((entry) -> {
@@ -335,6 +331,190 @@ public class ExperimentDAOImpl implements ExperimentDAO {
         return failedResultsEntries;
     }
 
+    /**
+     * Creates the daily results partitions the entries need and that don't exist yet, checked with one query
+     */
+    private void createMissingResultsPartitions(Session session, List<KruizeResultsEntry> kruizeResultsEntries) {
+        Map<String, KruizeResultsEntry> entryByPartition = new HashMap<>();
+        for (KruizeResultsEntry entry : kruizeResultsEntries) {
+            if (null != entry.getInterval_end_time())
+                entryByPartition.putIfAbsent(getResultsPartitionName(entry), entry);
+        }
+        if (entryByPartition.isEmpty())
+            return;
+        try {
+            List<String> existingPartitions = session.createNativeQuery(SELECT_EXISTING_PARTITIONS, String.class)
+                    .setParameter("tableName", DBConstants.TABLE_NAMES.KRUIZE_RESULTS)
+                    .setParameterList("partitionNames", entryByPartition.keySet())
+                    .getResultList();
+            for (String existingPartition : existingPartitions) {
+                entryByPartition.remove(existingPartition);
+            }
+        } catch (Exception e) {
+            // the inserts still create the partitions they miss, one result at a time
+            LOGGER.debug(e.getMessage());
+            return;
+        }
+        for (KruizeResultsEntry entry : entryByPartition.values()) {
+            LOGGER.debug(DBConstants.DB_MESSAGES.CREATE_PARTITION_RETRY);
+            createPartitions(entry);
+        }
+    }
+
+    private static String getResultsPartitionName(KruizeResultsEntry entry) {
+        return DBConstants.TABLE_NAMES.KRUIZE_RESULTS + "_" + entry.getInterval_end_time().toLocalDateTime().format(PARTITION_DATE_FORMATTER);
+    }
+
+    /**
+     * @return the entries of the batch that already existed, in one transaction
+     */
+    private List<KruizeResultsEntry> insertResultsBatch(Session session, List<KruizeResultsEntry> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_RESULTS);
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0)
+                sql.append(", ");
+            sql.append(INSERT_RESULTS_ROW);
+        }
+        sql.append(INSERT_RESULTS_ON_CONFLICT);
+
+        Map<String, Integer> insertedKeys;
+        Transaction tx = session.beginTransaction();
+        try {
+            insertedKeys = session.doReturningWork(connection -> {
+                Map<String, Integer> keys = new HashMap<>();
+                Calendar jdbcCalendar = getJdbcCalendar();
+                try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                    int index = 1;
+                    for (KruizeResultsEntry entry : batch) {
+                        statement.setString(index++, entry.getExperiment_name());
+                        statement.setTimestamp(index++, entry.getInterval_start_time(), jdbcCalendar);
+                        statement.setTimestamp(index++, entry.getInterval_end_time(), jdbcCalendar);
+                        statement.setString(index++, entry.getCluster_name());
+                        statement.setDouble(index++, entry.getDuration_minutes());
+                        statement.setString(index++, (null == entry.getExtended_data()) ? null : entry.getExtended_data().toString());
+                        statement.setString(index++, (null == entry.getMeta_data()) ? null : entry.getMeta_data().toString());
+                        statement.setString(index++, entry.getVersion());
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            keys.merge(getResultsKey(resultSet.getString(1), resultSet.getTimestamp(2, jdbcCalendar),
+                                    resultSet.getTimestamp(3, jdbcCalendar)), 1, Integer::sum);
+                        }
+                    }
+                }
+                return keys;
+            });
+            tx.commit();
+        } catch (RuntimeException e) {
+            if (tx.isActive())
+                tx.rollback();
+            throw e;
+        }
+
+        // a key is inserted once, any other entry with it is a duplicate
+        List<KruizeResultsEntry> duplicateEntries = new ArrayList<>();
+        for (KruizeResultsEntry entry : batch) {
+            String key = getResultsKey(entry.getExperiment_name(), entry.getInterval_start_time(), entry.getInterval_end_time());
+            Integer inserted = insertedKeys.get(key);
+            if (null != inserted && inserted > 0) {
+                insertedKeys.put(key, inserted - 1);
+            } else {
+                entry.setErrorReasons(List.of(AnalyzerErrorConstants.APIErrors.updateResultsAPI.RESULTS_ALREADY_EXISTS));
+                duplicateEntries.add(entry);
+            }
+        }
+        return duplicateEntries;
+    }
+
+    /**
+     * Calendar of the time zone hibernate reads and writes timestamps in, so that the rows inserted through JDBC
+     * line up with the ones written by hibernate
+     */
+    private static Calendar getJdbcCalendar() {
+        String timeZone = KruizeDeploymentInfo.settings_hibernate_time_zone;
+        return (null == timeZone || timeZone.isBlank()) ? Calendar.getInstance() : Calendar.getInstance(TimeZone.getTimeZone(timeZone));
+    }
+
+    private static String getResultsKey(String experimentName, Timestamp intervalStartTime, Timestamp intervalEndTime) {
+        return experimentName + "|" + ((null == intervalStartTime) ? null : intervalStartTime.getTime())
+                + "|" + ((null == intervalEndTime) ? null : intervalEndTime.getTime());
+    }
+
+    /**
+     * Inserts the results one at a time, each in its own transaction, creating the partitions they miss
+     *
+     * @return the entries that could not be added
+     */
+    private List<KruizeResultsEntry> insertResultsOneByOne(Session session, List<KruizeResultsEntry> kruizeResultsEntries) {
+        List<KruizeResultsEntry> failedResultsEntries = new ArrayList<>();
+        Transaction tx = null;
+        for (KruizeResultsEntry entry : kruizeResultsEntries) {
+            tx = session.beginTransaction();
+            try {
+                session.persist(entry);
+                session.flush();
+            } catch (PersistenceException e) {
+                if (DBHelpers.isTransientFailure(e)) {
+                    rollbackQuietly(tx);
+                    throw e;
+                }
+                ConstraintViolationException constraintViolationException = null;
+                String message = "";
+                if (null != e.getCause()) {
+                    constraintViolationException = (ConstraintViolationException) e.getCause();
+                    message = constraintViolationException.getCause().getMessage();
+                } else {
+                    message = e.getMessage();
+                }
+                LOGGER.debug(message);
+                if (message.contains(DUPLICATE_KEY) || message.contains(DUPLICATE_KEY_ALT)) {
+                    entry.setErrorReasons(List.of(AnalyzerErrorConstants.APIErrors.updateResultsAPI.RESULTS_ALREADY_EXISTS));
+                    failedResultsEntries.add(entry);
+                } else if (message.contains(DBConstants.DB_MESSAGES.NO_PARTITION_RELATION)) {
+                    try {
+                        LOGGER.debug(DBConstants.DB_MESSAGES.CREATE_PARTITION_RETRY);
+                        tx.commit();
+                        tx = session.beginTransaction();
+                        // create partitions based on entry object
+                        synchronized (new Object()) {
+                            createPartitions(entry);
+                        }
+                        session.persist(entry);
+                        session.flush();
+                    } catch (Exception partitionException) {
+                        LOGGER.error(partitionException.getMessage());
+                        entry.setErrorReasons(List.of(partitionException.getMessage()));
+                        failedResultsEntries.add(entry);
+                    }
+                } else {
+                    entry.setErrorReasons(List.of(e.getMessage()));
+                    failedResultsEntries.add(entry);
+                }
+            } catch (Exception e) {
+                if (DBHelpers.isTransientFailure(e)) {
+                    rollbackQuietly(tx);
+                    throw e;
+                }
+                entry.setErrorReasons(List.of(e.getMessage()));
+                failedResultsEntries.add(entry);
+            } finally {
+                if (tx.isActive())
+                    tx.commit();
+            }
+        }
+        return failedResultsEntries;
+    }
+
+    private static void rollbackQuietly(Transaction tx) {
+        try {
+            if (null != tx && tx.isActive())
+                tx.rollback();
+        } catch (Exception e) {
+            // the connection is already lost, the exception that caused the rollback is the one reported
+            LOGGER.debug(e.getMessage());
+        }
+    }
+
     private void createPartitions(KruizeResultsEntry entry) {
         try {
             LocalDateTime localDateTime = entry.getInterval_end_time().toLocalDateTime();
@@ -682,22 +862,44 @@ public class ExperimentDAOImpl implements ExperimentDAO {
     }
 
     /**
-     * @param kruizeDSMetadataEntry
+     * Upserts the metadata rows of an import with JDBC batches in a single transaction, a row already stored for
+     * the same datasource, cluster, namespace, workload and container is updated in place
+     *
+     * @param kruizeDSMetadataEntries metadata rows of the import
      * @return
      */
     @Override
-    public ValidationOutputData addMetadataToDB(KruizeDSMetadataEntry kruizeDSMetadataEntry) {
+    public ValidationOutputData addMetadataToDB(List<KruizeDSMetadataEntry> kruizeDSMetadataEntries) {
         ValidationOutputData validationOutputData = new ValidationOutputData(false, null, null);
         Transaction tx = null;
         try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
             try {
                 tx = session.beginTransaction();
-                session.persist(kruizeDSMetadataEntry);
+                session.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(UPSERT_DSMETADATA)) {
+                        int batched = 0;
+                        for (KruizeDSMetadataEntry entry : kruizeDSMetadataEntries) {
+                            statement.setString(1, entry.getVersion());
+                            statement.setString(2, entry.getDataSourceName());
+                            statement.setString(3, entry.getClusterName());
+                            statement.setString(4, entry.getNamespace());
+                            statement.setString(5, entry.getWorkloadType());
+                            statement.setString(6, entry.getWorkloadName());
+                            statement.setString(7, entry.getContainerName());
+                            statement.setString(8, entry.getContainerImageName());
+                            statement.addBatch();
+                            if (++batched % DBConstants.BATCH_SIZES.DSMETADATA_UPSERT == 0)
+                                statement.executeBatch();
+                        }
+                        if (batched % DBConstants.BATCH_SIZES.DSMETADATA_UPSERT != 0)
+                            statement.executeBatch();
+                    }
+                });
                 tx.commit();
                 validationOutputData.setSuccess(true);
             } catch (HibernateException e) {
                 LOGGER.error("Not able to save metadata due to {}", e.getMessage());
-                if (tx != null) tx.rollback();
+                if (tx != null && tx.isActive()) tx.rollback();
                 e.printStackTrace();
                 validationOutputData.setSuccess(false);
                 validationOutputData.setMessage(e.getMessage());
@@ -818,6 +1020,140 @@ public class ExperimentDAOImpl implements ExperimentDAO {
         return kruizeBulkJobEntry;
     }
 
+    /**
+     * Retrieves a bulk job without its experiments, which can run to megabytes for large jobs and are loaded a page
+     * at a time by {@link #loadBulkJobExperiments}.
+     *
+     * @param jobId
+     * @return the bulk job with its experiments left null, null if not found
+     * @throws Exception
+     */
+    @Override
+    public KruizeBulkJobEntry findBulkJobSummaryById(String jobId) throws Exception {
+        KruizeBulkJobEntry kruizeBulkJobEntry = null;
+        String statusValue = "failure";
+        Timer.Sample timerGetBulkJobDB = Timer.start(MetricsConfig.meterRegistry());
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            Object[] row = session.createQuery(SELECT_BULKJOB_SUMMARY_BY_JOB_ID, Object[].class)
+                    .setParameter("jobId", jobId).getSingleResult();
+            kruizeBulkJobEntry = new KruizeBulkJobEntry();
+            kruizeBulkJobEntry.setJobId(jobId);
+            kruizeBulkJobEntry.setStatus((String) row[0]);
+            kruizeBulkJobEntry.setTotalExperiments((Integer) row[1]);
+            kruizeBulkJobEntry.setProcessedExperiments((Integer) row[2]);
+            kruizeBulkJobEntry.setJobStartTime((Timestamp) row[3]);
+            kruizeBulkJobEntry.setJobEndTime((Timestamp) row[4]);
+            kruizeBulkJobEntry.setWebhook((JsonNode) row[5]);
+            kruizeBulkJobEntry.setNotifications((JsonNode) row[6]);
+            kruizeBulkJobEntry.setMetadata((JsonNode) row[7]);
+            kruizeBulkJobEntry.setPayload((JsonNode) row[8]);
+            statusValue = "success";
+        } catch (NoResultException e) {
+            statusValue = "success";
+        } catch (Exception e) {
+            LOGGER.error(BULK_JOB_LOAD_ERROR, jobId, e.getMessage());
+            throw new Exception(e.getMessage());
+        } finally {
+            if (null != timerGetBulkJobDB) {
+                MetricsConfig.timerLoadBulkJobId = MetricsConfig.timerBLoadBulkJobId.tag("status", statusValue).register(MetricsConfig.meterRegistry());
+                timerGetBulkJobDB.stop(MetricsConfig.timerLoadBulkJobId);
+            }
+        }
+        return kruizeBulkJobEntry;
+    }
+
+    /**
+     * Retrieves a page of the experiments of a bulk job, ordered by name, read from the experiments column in the
+     * database rather than by loading it whole.
+     *
+     * @param jobId          bulk job to read
+     * @param experimentName part of the names of the experiments to return, null for all of them
+     * @param offset         experiments to skip, 0 for none
+     * @param limit          experiments to return, 0 for all of them
+     * @return the experiments keyed by name, as stored by the job
+     * @throws Exception
+     */
+    @Override
+    public JsonNode loadBulkJobExperiments(String jobId, String experimentName, int offset, int limit) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode experiments = objectMapper.createObjectNode();
+        StringBuilder sql = new StringBuilder(SELECT_BULKJOB_EXPERIMENTS);
+        if (null != experimentName)
+            sql.append(BULKJOB_EXPERIMENT_NAME_FILTER);
+        sql.append(BULKJOB_EXPERIMENTS_ORDER_BY_NAME);
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createNativeQuery(sql.toString(), Object[].class)
+                    .setParameter("jobId", jobId);
+            if (null != experimentName)
+                query.setParameter("experimentName", experimentName);
+            if (offset > 0)
+                query.setFirstResult(offset);
+            if (limit > 0)
+                query.setMaxResults(limit);
+            for (Object[] row : query.getResultList()) {
+                experiments.set((String) row[0], objectMapper.readTree((String) row[1]));
+            }
+        } catch (Exception e) {
+            LOGGER.error(BULK_JOB_LOAD_ERROR, jobId, e.getMessage());
+            throw new Exception(e.getMessage());
+        }
+        return experiments;
+    }
+
+    /**
+     * Updates the summary, webhook and notifications of a bulk job. Its experiments, written by their checkpoints,
+     * are left as they are; the metadata and payload are only written when set in the entry.
+     *
+     * @param kruizeBulkJobEntry
+     * @return validation object containing the status
+     * @throws Exception
+     */
+    @Override
+    public ValidationOutputData updateBulkJobSummary(KruizeBulkJobEntry kruizeBulkJobEntry) throws Exception {
+        ValidationOutputData validationOutputData = new ValidationOutputData(false, null, null);
+        String statusValue = "failure";
+        Timer.Sample timerSaveBulkJobDB = Timer.start(MetricsConfig.meterRegistry());
+        Transaction tx = null;
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            try {
+                tx = session.beginTransaction();
+                int updated = session.createNativeMutationQuery(UPDATE_BULKJOB_SUMMARY)
+                        .setParameter("status", kruizeBulkJobEntry.getStatus())
+                        .setParameter("totalCount", kruizeBulkJobEntry.getTotalExperiments())
+                        .setParameter("processedCount", kruizeBulkJobEntry.getProcessedExperiments())
+                        .setParameter("startTime", kruizeBulkJobEntry.getJobStartTime(), StandardBasicTypes.TIMESTAMP)
+                        .setParameter("endTime", kruizeBulkJobEntry.getJobEndTime(), StandardBasicTypes.TIMESTAMP)
+                        .setParameter("webhook", toJsonString(kruizeBulkJobEntry.getWebhook()), StandardBasicTypes.STRING)
+                        .setParameter("notifications", toJsonString(kruizeBulkJobEntry.getNotifications()), StandardBasicTypes.STRING)
+                        .setParameter("metadata", toJsonString(kruizeBulkJobEntry.getMetadata()), StandardBasicTypes.STRING)
+                        .setParameter("payload", toJsonString(kruizeBulkJobEntry.getPayload()), StandardBasicTypes.STRING)
+                        .setParameter("jobId", kruizeBulkJobEntry.getJobId())
+                        .executeUpdate();
+                tx.commit();
+                // no row when the job could not be saved at submission
+                validationOutputData.setSuccess(updated > 0);
+                statusValue = "success";
+            } catch (HibernateException e) {
+                if (null != tx) tx.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            LOGGER.error(BULK_JOB_SAVE_ERROR, e.getMessage());
+            validationOutputData.setMessage(e.getMessage());
+            throw new Exception(e.getMessage());
+        } finally {
+            if (null != timerSaveBulkJobDB) {
+                MetricsConfig.timerSaveBulkJobDB = MetricsConfig.timerBSaveBulkJobDB.tag("status", statusValue).register(MetricsConfig.meterRegistry());
+                timerSaveBulkJobDB.stop(MetricsConfig.timerSaveBulkJobDB);
+            }
+        }
+        return validationOutputData;
+    }
+
+    private static String toJsonString(JsonNode jsonNode) {
+        return (null == jsonNode) ? null : jsonNode.toString();
+    }
+
     /**
      * Updates the notification and recommendation fields of a bulk job for a specific experiment.
      *
@@ -886,6 +1222,108 @@ public class ExperimentDAOImpl implements ExperimentDAO {
         //todo
     }
 
+    /**
+     * Stores the status of one experiment of a running bulk job under its key in the experiments column, along with
+     * the processed count, without rewriting the rest of the job. The processed count never goes back, checkpoints
+     * of concurrent experiments may commit out of order.
+     *
+     * @param jobId          bulk job the experiment belongs to
+     * @param experimentName experiment to store
+     * @param experimentJson experiment status, filtered as for the final save of the job
+     * @param processedCount processed experiments of the job
+     * @return validation object containing the status
+     */
+    @Override
+    public ValidationOutputData checkpointBulkJobExperiment(String jobId, String experimentName, String experimentJson, int processedCount) throws Exception {
+        ValidationOutputData validationOutputData = new ValidationOutputData(false, null, null);
+        String statusValue = "failure";
+        Timer.Sample timerUpdateBulkJobDB = Timer.start(MetricsConfig.meterRegistry());
+        Transaction tx = null;
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            try {
+                tx = session.beginTransaction();
+                session.createNativeMutationQuery(CHECKPOINT_BULKJOB_EXPERIMENT)
+                        .setParameter("experimentName", experimentName)
+                        .setParameter("experiment", experimentJson)
+                        .setParameter("processedCount", processedCount)
+                        .setParameter("jobId", jobId)
+                        .executeUpdate();
+                tx.commit();
+                validationOutputData.setSuccess(true);
+                statusValue = "success";
+            } catch (HibernateException e) {
+                if (null != tx) tx.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            LOGGER.error(BULK_JOB_CHECKPOINT_ERROR, experimentName, jobId, e.getMessage());
+            throw new Exception(e.getMessage());
+        } finally {
+            if (null != timerUpdateBulkJobDB) {
+                MetricsConfig.timerUpdateBulkJobId = MetricsConfig.timerBUpdateBulkJobId.tag("status", statusValue).register(MetricsConfig.meterRegistry());
+                timerUpdateBulkJobDB.stop(MetricsConfig.timerUpdateBulkJobId);
+            }
+        }
+        return validationOutputData;
+    }
+
+    /**
+     * Refreshes the checkpoint time of bulk jobs this pod is running, so that no other pod takes them over
+     *
+     * @param jobIds jobs being run
+     */
+    @Override
+    public void heartbeatBulkJobs(Collection<String> jobIds) throws Exception {
+        if (null == jobIds || jobIds.isEmpty())
+            return;
+        Transaction tx = null;
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            try {
+                tx = session.beginTransaction();
+                session.createNativeMutationQuery(HEARTBEAT_BULKJOBS)
+                        .setParameterList("jobIds", jobIds)
+                        .executeUpdate();
+                tx.commit();
+            } catch (HibernateException e) {
+                if (null != tx) tx.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            LOGGER.error(BULK_JOB_HEARTBEAT_ERROR, e.getMessage());
+            throw new Exception(e.getMessage());
+        }
+    }
+
+    /**
+     * Takes over the in progress bulk jobs whose checkpoint time is older than the given age, i.e. the pod running
+     * them is gone. Claiming refreshes their checkpoint time in the same statement, so each job is claimed by one pod.
+     *
+     * @param staleAfterSecs age of the last checkpoint after which a job is considered abandoned
+     * @return ids of the claimed jobs
+     */
+    @Override
+    public List<String> claimStaleBulkJobs(int staleAfterSecs) throws Exception {
+        List<String> jobIds;
+        Transaction tx = null;
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            try {
+                tx = session.beginTransaction();
+                jobIds = session.createNativeQuery(CLAIM_STALE_BULKJOBS, String.class)
+                        .setParameter("status", IN_PROGRESS)
+                        .setParameter("staleAfterSecs", staleAfterSecs)
+                        .getResultList();
+                tx.commit();
+            } catch (HibernateException e) {
+                if (null != tx) tx.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            LOGGER.error(BULK_JOB_CLAIM_ERROR, e.getMessage());
+            throw new Exception(e.getMessage());
+        }
+        return jobIds;
+    }
+
     /**
      * Updates the {@code update_date} column in the {@code kruize_experiments} table for the specified experiments.
      *
@@ -917,6 +1355,8 @@ public class ExperimentDAOImpl implements ExperimentDAO {
                     .executeUpdate();
 
             session.getTransaction().commit();
+            // update_date changes with every updateResults call, the cached rows are updated instead of invalidated
+            ExperimentEntryCache.EXPERIMENTS.update(experimentNames, entry -> entry.setUpdate_date(currentTimestamp));
             statusValue = "success";
         } catch (Exception e) {
             LOGGER.error("Failed to update update_date for experiments: {}", e.getMessage());
@@ -1036,6 +1476,7 @@ public class ExperimentDAOImpl implements ExperimentDAO {
                     validationOutputData.setSuccess(true);
                 }
                 tx.commit();
+                ExperimentEntryCache.EXPERIMENTS.invalidate(experimentName);
             } catch (HibernateException e) {
                 LOGGER.error("Not able to delete experiment {} due to {}", experimentName, e.getMessage());
                 if (tx != null) tx.rollback();
@@ -1080,6 +1521,7 @@ public class ExperimentDAOImpl implements ExperimentDAO {
                     validationOutputData.setSuccess(true);
                 }
                 tx.commit();
+                ExperimentEntryCache.LM_EXPERIMENTS.invalidate(experimentName);
             } catch (HibernateException e) {
                 LOGGER.error("Not able to delete experiment {} due to {}", experimentName, e.getMessage());
                 if (tx != null) tx.rollback();
@@ -1409,7 +1851,7 @@ public class ExperimentDAOImpl implements ExperimentDAO {
             statusValue = "success";
         } catch (Exception e) {
             LOGGER.error("Not able to load experiment {} due to {}", experimentName, e.getMessage());
-            throw new Exception("Error while loading existing experiment from database due to : " + e.getMessage());
+            throw new Exception("Error while loading existing experiment from database due to : " + e.getMessage(), e);
         } finally {
             if (null != timerLoadExpName) {
                 MetricsConfig.timerLoadExpName = MetricsConfig.timerBLoadExpName.tag("status", statusValue).register(MetricsConfig.meterRegistry());
@@ -1420,6 +1862,27 @@ public class ExperimentDAOImpl implements ExperimentDAO {
         return entries;
     }
 
+    @Override
+    public List<KruizeLMExperimentEntry> loadLMExperimentsByNames(Collection<String> experimentNames) throws Exception {
+        List<KruizeLMExperimentEntry> entries = null;
+        String statusValue = "failure";
+        Timer.Sample timerLoadExpName = Timer.start(MetricsConfig.meterRegistry());
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            entries = session.createQuery(DBConstants.SQLQUERY.SELECT_FROM_LM_EXPERIMENTS_BY_EXP_NAMES, KruizeLMExperimentEntry.class)
+                    .setParameterList("experimentNames", experimentNames).list();
+            statusValue = "success";
+        } catch (Exception e) {
+            LOGGER.error("Not able to load experiments {} due to {}", experimentNames, e.getMessage());
+            throw new Exception("Error while loading existing experiments from database due to : " + e.getMessage(), e);
+        } finally {
+            if (null != timerLoadExpName) {
+                MetricsConfig.timerLoadExpName = MetricsConfig.timerBLoadExpName.tag("status", statusValue).register(MetricsConfig.meterRegistry());
+                timerLoadExpName.stop(MetricsConfig.timerLoadExpName);
+            }
+        }
+        return entries;
+    }
+
     @Override
     public List<KruizeExperimentEntry> loadExperimentByName(String experimentName) throws Exception {
         //todo load only experimentStatus=inprogress , playback may not require completed experiments
@@ -1434,7 +1897,7 @@ public class ExperimentDAOImpl implements ExperimentDAO {
             statusValue = "success";
         } catch (Exception e) {
             LOGGER.error("Not able to load experiment {} due to {}", experimentName, e.getMessage());
-            throw new Exception("Error while loading existing experiment from database due to : " + e.getMessage());
+            throw new Exception("Error while loading existing experiment from database due to : " + e.getMessage(), e);
         } finally {
             if (null != timerLoadExpName) {
                 MetricsConfig.timerLoadExpName = MetricsConfig.timerBLoadExpName.tag("status", statusValue).register(MetricsConfig.meterRegistry());
@@ -1603,6 +2066,29 @@ public class ExperimentDAOImpl implements ExperimentDAO {
         return recommendationEntries;
     }
 
+    @Override
+    public List<KruizeLMRecommendationEntry> loadLMRecommendationsByExperimentNames(Collection<String> experimentNames, String bulkJobId) throws Exception {
+        List<KruizeLMRecommendationEntry> recommendationEntries = null;
+        String statusValue = "failure";
+        Timer.Sample timerLoadRecExpName = Timer.start(MetricsConfig.meterRegistry());
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            recommendationEntries = session.createQuery(SELECT_FROM_LM_RECOMMENDATIONS_BY_EXP_NAMES_BY_JOB_ID, KruizeLMRecommendationEntry.class)
+                    .setParameterList("experimentNames", experimentNames)
+                    .setParameter(JOB_ID, bulkJobId)
+                    .list();
+            statusValue = "success";
+        } catch (Exception e) {
+            LOGGER.error("Not able to load recommendations due to {}", e.getMessage());
+            throw new Exception("Error while loading existing recommendations from database due to : " + e.getMessage());
+        } finally {
+            if (null != timerLoadRecExpName) {
+                MetricsConfig.timerLoadRecExpName = MetricsConfig.timerBLoadRecExpName.tag("status", statusValue).register(MetricsConfig.meterRegistry());
+                timerLoadRecExpName.stop(MetricsConfig.timerLoadRecExpName);
+            }
+        }
+        return recommendationEntries;
+    }
+
     @Override
     public KruizeRecommendationEntry loadRecommendationsByExperimentNameAndDate(String experimentName, String cluster_name, Timestamp interval_end_time) throws Exception {
         KruizeRecommendationEntry recommendationEntries = null;
@@ -1792,15 +2278,7 @@ public class ExperimentDAOImpl implements ExperimentDAO {
      */
     @Override
     public List<KruizeDSMetadataEntry> loadMetadataByName(String dataSourceName) throws Exception {
-        List<KruizeDSMetadataEntry> kruizeMetadataList;
-        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
-            kruizeMetadataList = session.createQuery(SELECT_FROM_METADATA_BY_DATASOURCE_NAME, KruizeDSMetadataEntry.class)
-                    .setParameter("dataSourceName", dataSourceName).list();
-        } catch (Exception e) {
-            LOGGER.error("Unable to load metadata with dataSourceName: {} : {}", dataSourceName, e.getMessage());
-            throw new Exception("Error while loading existing metadata object from database : " + e.getMessage());
-        }
-        return kruizeMetadataList;
+        return loadMetadata(dataSourceName, null, null, null, null, 0, 0);
     }
 
     /**
@@ -1813,18 +2291,7 @@ public class ExperimentDAOImpl implements ExperimentDAO {
      */
     @Override
     public List<KruizeDSMetadataEntry> loadMetadataByClusterName(String dataSourceName, String clusterName) throws Exception {
-        List<KruizeDSMetadataEntry> kruizeMetadataList;
-        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
-            Query<KruizeDSMetadataEntry> kruizeMetadataQuery = session.createQuery(SELECT_FROM_METADATA_BY_DATASOURCE_NAME_AND_CLUSTER_NAME, KruizeDSMetadataEntry.class)
-                    .setParameter("datasource_name", dataSourceName)
-                    .setParameter("cluster_name", clusterName);
-
-            kruizeMetadataList = kruizeMetadataQuery.list();
-        } catch (Exception e) {
-            LOGGER.error("Unable to load metadata with dataSourceName: {} and clusterName : {} : {}", dataSourceName, clusterName, e.getMessage());
-            throw new Exception("Error while loading existing metadata object from database : " + e.getMessage());
-        }
-        return kruizeMetadataList;
+        return loadMetadata(dataSourceName, clusterName, null, null, null, 0, 0);
     }
 
     /**
@@ -1838,16 +2305,91 @@ public class ExperimentDAOImpl implements ExperimentDAO {
      * @throws Exception If there is an error while loading metadata from the database.
      */
     public List<KruizeDSMetadataEntry> loadMetadataByNamespace(String dataSourceName, String clusterName, String namespace) throws Exception {
+        return loadMetadata(dataSourceName, clusterName, namespace, null, null, 0, 0);
+    }
+
+    /**
+     * Retrieves the metadata rows of a datasource matching the given filters, the filtering and the paging are
+     * done by the DB.
+     *
+     * @param dataSourceName The name of the datasource.
+     * @param clusterName    The name of the cluster, null for all clusters.
+     * @param namespace      namespace, null for all namespaces.
+     * @param workloadName   workload name, null for all workloads.
+     * @param containerName  container name, null for all containers.
+     * @param firstResult    index of the first row returned, rows are ordered by id.
+     * @param maxResults     max rows returned, 0 or less for all of them.
+     * @return A list of KruizeDSMetadataEntry objects matching the filters.
+     * @throws Exception If there is an error while loading metadata from the database.
+     */
+    @Override
+    public List<KruizeDSMetadataEntry> loadMetadata(String dataSourceName, String clusterName, String namespace, String workloadName,
+                                                    String containerName, int firstResult, int maxResults) throws Exception {
         List<KruizeDSMetadataEntry> kruizeMetadataList;
+        StringBuilder hql = new StringBuilder(SELECT_FROM_METADATA_BY_DATASOURCE_NAME);
+        if (null != clusterName)
+            hql.append(METADATA_CLUSTER_NAME_FILTER);
+        if (null != namespace)
+            hql.append(METADATA_NAMESPACE_FILTER);
+        if (null != workloadName)
+            hql.append(METADATA_WORKLOAD_NAME_FILTER);
+        if (null != containerName)
+            hql.append(METADATA_CONTAINER_NAME_FILTER);
+        hql.append(METADATA_ORDER_BY_ID);
         try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
-            Query<KruizeDSMetadataEntry> kruizeMetadataQuery = session.createQuery(SELECT_FROM_METADATA_BY_DATASOURCE_NAME_CLUSTER_NAME_AND_NAMESPACE, KruizeDSMetadataEntry.class)
-                    .setParameter("datasource_name", dataSourceName)
-                    .setParameter("cluster_name", clusterName)
-                    .setParameter("namespace", namespace);
+            Query<KruizeDSMetadataEntry> kruizeMetadataQuery = session.createQuery(hql.toString(), KruizeDSMetadataEntry.class)
+                    .setParameter("dataSourceName", dataSourceName);
+            if (null != clusterName)
+                kruizeMetadataQuery.setParameter(KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.CLUSTER_NAME, clusterName);
+            if (null != namespace)
+                kruizeMetadataQuery.setParameter(KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.NAMESPACE, namespace);
+            if (null != workloadName)
+                kruizeMetadataQuery.setParameter(KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.WORKLOAD_NAME, workloadName);
+            if (null != containerName)
+                kruizeMetadataQuery.setParameter(KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.CONTAINER_NAME, containerName);
+            if (firstResult > 0)
+                kruizeMetadataQuery.setFirstResult(firstResult);
+            if (maxResults > 0)
+                kruizeMetadataQuery.setMaxResults(maxResults);
 
             kruizeMetadataList = kruizeMetadataQuery.list();
         } catch (Exception e) {
-            LOGGER.error("Unable to load metadata with dataSourceName: {}, clusterName : {} and namespace : {} : {}", dataSourceName, clusterName, namespace, e.getMessage());
+            LOGGER.error("Unable to load metadata with dataSourceName: {}, clusterName : {}, namespace : {}, workloadName : {} and containerName : {} : {}",
+                    dataSourceName, clusterName, namespace, workloadName, containerName, e.getMessage());
+            throw new Exception("Error while loading existing metadata object from database : " + e.getMessage());
+        }
+        return kruizeMetadataList;
+    }
+
+    /**
+     * Retrieves the distinct clusters of a datasource, or the distinct namespaces of one of its clusters, without
+     * loading the workload and container rows under them.
+     *
+     * @param dataSourceName The name of the datasource.
+     * @param clusterName    The name of the cluster whose namespaces are returned, null to return the clusters.
+     * @return one KruizeDSMetadataEntry per cluster or namespace, with only the datasource, cluster and namespace set.
+     * @throws Exception If there is an error while loading metadata from the database.
+     */
+    @Override
+    public List<KruizeDSMetadataEntry> loadMetadataSummary(String dataSourceName, String clusterName) throws Exception {
+        List<KruizeDSMetadataEntry> kruizeMetadataList = new ArrayList<>();
+        try (Session session = KruizeHibernateUtil.getSessionFactory().openSession()) {
+            if (null == clusterName) {
+                List<String> clusterNames = session.createQuery(SELECT_METADATA_CLUSTER_NAMES, String.class)
+                        .setParameter("dataSourceName", dataSourceName).list();
+                for (String name : clusterNames) {
+                    kruizeMetadataList.add(new KruizeDSMetadataEntry(null, dataSourceName, name, null, null, null, null, null));
+                }
+            } else {
+                List<String> namespaces = session.createQuery(SELECT_METADATA_NAMESPACES, String.class)
+                        .setParameter("dataSourceName", dataSourceName)
+                        .setParameter(KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.CLUSTER_NAME, clusterName).list();
+                for (String namespace : namespaces) {
+                    kruizeMetadataList.add(new KruizeDSMetadataEntry(null, dataSourceName, clusterName, namespace, null, null, null, null));
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Unable to load metadata summary with dataSourceName: {} and clusterName : {} : {}", dataSourceName, clusterName, e.getMessage());
             throw new Exception("Error while loading existing metadata object from database : " + e.getMessage());
         }
         return kruizeMetadataList;
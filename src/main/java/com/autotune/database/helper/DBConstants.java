@@ -10,6 +10,7 @@ public class DBConstants {
         public static final String SELECT_FROM_EXPERIMENTS_BY_EXP_NAME = "from KruizeExperimentEntry k WHERE k.experiment_name = :experimentName";
         public static final String SELECT_COUNT_FROM_EXPERIMENTS_BY_PROFILE_NAME = "SELECT count(k) FROM KruizeExperimentEntry k WHERE k.performance_profile = :performanceProfile";
         public static final String SELECT_FROM_LM_EXPERIMENTS_BY_EXP_NAME = "from KruizeLMExperimentEntry k WHERE k.experiment_name = :experimentName";
+        public static final String SELECT_FROM_LM_EXPERIMENTS_BY_EXP_NAMES = "from KruizeLMExperimentEntry k WHERE k.experiment_name IN (:experimentNames)";
         public static final String SELECT_FROM_BULKJOBS_BY_JOB_ID = "from KruizeBulkJobEntry k WHERE k.jobId = :jobId";
         public static final String UPDATE_BULKJOB_BY_ID = "UPDATE kruize_bulkjobs " +
                 "SET experiments = jsonb_set(" +
@@ -17,27 +18,45 @@ public class DBConstants {
                 "    :recommendationPath, :newRecommendation::jsonb, true" +
                 ") " +
                 "WHERE job_id = :jobId";
+        // checkpoint_time is refreshed by every checkpoint and heartbeat of the pod running the job
+        public static final String CHECKPOINT_BULKJOB_EXPERIMENT = "UPDATE kruize_bulkjobs " +
+                "SET experiments = jsonb_set(" +
+                "    coalesce(experiments, cast('{}' as jsonb)) || jsonb_build_object('experiments', coalesce(experiments -> 'experiments', cast('{}' as jsonb))), " +
+                "    ARRAY['experiments', cast(:experimentName as text)], cast(:experiment as jsonb), true" +
+                "), processed_count = greatest(coalesce(processed_count, 0), :processedCount), checkpoint_time = now() " +
+                "WHERE job_id = :jobId";
+        public static final String SELECT_BULKJOB_SUMMARY_BY_JOB_ID = "select k.status, k.totalExperiments, k.processedExperiments, " +
+                "k.jobStartTime, k.jobEndTime, k.webhook, k.notifications, k.metadata, k.payload from KruizeBulkJobEntry k WHERE k.jobId = :jobId";
+        public static final String SELECT_BULKJOB_EXPERIMENTS = "SELECT e.key, cast(e.value as text) FROM kruize_bulkjobs b " +
+                "CROSS JOIN LATERAL jsonb_each(b.experiments -> 'experiments') e WHERE b.job_id = :jobId";
+        public static final String BULKJOB_EXPERIMENT_NAME_FILTER = " AND strpos(e.key, :experimentName) > 0";
+        public static final String BULKJOB_EXPERIMENTS_ORDER_BY_NAME = " ORDER BY e.key";
+        // the experiments are written by their checkpoints, metadata and payload only when given
+        public static final String UPDATE_BULKJOB_SUMMARY = "UPDATE kruize_bulkjobs SET status = :status, total_count = :totalCount, " +
+                "processed_count = greatest(coalesce(processed_count, 0), :processedCount), start_time = :startTime, end_time = :endTime, " +
+                "webhook = cast(:webhook as jsonb), notifications = cast(:notifications as jsonb), " +
+                "metadata = coalesce(cast(:metadata as jsonb), metadata), payload = coalesce(cast(:payload as jsonb), payload), " +
+                "checkpoint_time = now() WHERE job_id = :jobId";
+        public static final String HEARTBEAT_BULKJOBS = "UPDATE kruize_bulkjobs SET checkpoint_time = now() WHERE job_id IN (:jobIds)";
+        public static final String CLAIM_STALE_BULKJOBS = "UPDATE kruize_bulkjobs SET checkpoint_time = now() " +
+                "WHERE status = :status AND checkpoint_time < now() - make_interval(secs => :staleAfterSecs) RETURNING job_id";
         public static final String UPDATE_EXPERIMENTS_DATE = "UPDATE kruize_experiments " +
                 "SET update_date = :updateDate WHERE experiment_name IN (:experimentNames) ";
         public static final String SELECT_FROM_RESULTS = "from KruizeResultsEntry";
         public static final String SELECT_FROM_RESULTS_BY_EXP_NAME = "from KruizeResultsEntry k WHERE k.experiment_name = :experimentName";
         public static final String SELECT_FROM_DATASOURCE = "from KruizeDataSourceEntry";
         public static final String SELECT_FROM_DATASOURCE_BY_NAME = "from KruizeDataSourceEntry kd WHERE kd.name = :name";
+        // the filters and the distinct lookups are served by the uk_dsmetadata_container index
         public static final String SELECT_FROM_METADATA_BY_DATASOURCE_NAME = "from KruizeDSMetadataEntry km WHERE km.datasource_name = :dataSourceName";
-        public static final String SELECT_FROM_METADATA_BY_DATASOURCE_NAME_AND_CLUSTER_NAME =
-                String.format("from KruizeDSMetadataEntry km " +
-                                "WHERE km.datasource_name = :%s and " +
-                                "km.cluster_name = :%s",
-                        KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.DATASOURCE_NAME,
-                        KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.CLUSTER_NAME);
-        public static final String SELECT_FROM_METADATA_BY_DATASOURCE_NAME_CLUSTER_NAME_AND_NAMESPACE =
-                String.format("from KruizeDSMetadataEntry km " +
-                                "WHERE km.datasource_name = :%s and " +
-                                "km.cluster_name = :%s and " +
-                                "km.namespace = :%s",
-                        KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.DATASOURCE_NAME,
-                        KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.CLUSTER_NAME,
-                        KruizeConstants.DataSourceConstants.DataSourceMetadataInfoJSONKeys.NAMESPACE);
+        public static final String METADATA_CLUSTER_NAME_FILTER = " and km.cluster_name = :cluster_name";
+        public static final String METADATA_NAMESPACE_FILTER = " and km.namespace = :namespace";
+        public static final String METADATA_WORKLOAD_NAME_FILTER = " and km.workload_name = :workload_name";
+        public static final String METADATA_CONTAINER_NAME_FILTER = " and km.container_name = :container_name";
+        public static final String METADATA_ORDER_BY_ID = " order by km.id";
+        public static final String SELECT_METADATA_CLUSTER_NAMES = "select distinct km.cluster_name from KruizeDSMetadataEntry km " +
+                "WHERE km.datasource_name = :dataSourceName";
+        public static final String SELECT_METADATA_NAMESPACES = "select distinct km.namespace from KruizeDSMetadataEntry km " +
+                "WHERE km.datasource_name = :dataSourceName and km.cluster_name = :cluster_name";
         public static final String SELECT_FROM_RESULTS_BY_EXP_NAME_AND_DATE_RANGE_AND_LIMIT =
                 String.format("from KruizeResultsEntry k " +
                                 "WHERE k.experiment_name = :%s and " +
@@ -66,6 +85,9 @@ public class DBConstants {
                 String.format(
                         "from KruizeLMRecommendationEntry k WHERE k.experiment_name = :experimentName " +
                                 "AND function('jsonb_extract_path_text', extended_data, 'job_id') = :job_id");
+        public static final String SELECT_FROM_LM_RECOMMENDATIONS_BY_EXP_NAMES_BY_JOB_ID =
+                "from KruizeLMRecommendationEntry k WHERE k.experiment_name IN (:experimentNames) " +
+                        "AND function('jsonb_extract_path_text', extended_data, 'job_id') = :job_id";
         public static final String SELECT_FROM_RECOMMENDATIONS_BY_EXP_NAME_AND_END_TIME = String.format(
                 "from KruizeRecommendationEntry k WHERE " +
                         "k.experiment_name = :%s and " +
@@ -119,6 +141,19 @@ public class DBConstants {
                 "km.k8s_type = :k8sType, km.datasource = :datasource, km.query_variables = :queryVariables " +
                 "WHERE km.name = :metadataProfileName";
         public static final String DELETE_FROM_PERFORMANCE_PROFILE_BY_NAME = "DELETE FROM KruizePerformanceProfileEntry kpp WHERE kpp.name = :perfProfileName";
+        // multi row insert of results, the rows that already exist are skipped and left out of the returned keys
+        public static final String INSERT_RESULTS = "INSERT INTO kruize_results (experiment_name, interval_start_time, interval_end_time, " +
+                "cluster_name, duration_minutes, extended_data, meta_data, version) VALUES ";
+        public static final String INSERT_RESULTS_ROW = "(?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?)";
+        public static final String INSERT_RESULTS_ON_CONFLICT = " ON CONFLICT DO NOTHING RETURNING experiment_name, interval_start_time, interval_end_time";
+        // keyed on the uk_dsmetadata_container index, workload and container are null for namespaces / workloads without them
+        public static final String UPSERT_DSMETADATA = "INSERT INTO kruize_dsmetadata (version, datasource_name, cluster_name, namespace, " +
+                "workload_type, workload_name, container_name, container_image_name) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (datasource_name, cluster_name, namespace, (COALESCE(workload_type, '')), (COALESCE(workload_name, '')), " +
+                "(COALESCE(container_name, ''))) DO UPDATE SET version = EXCLUDED.version, container_image_name = EXCLUDED.container_image_name";
+        public static final String SELECT_EXISTING_PARTITIONS = "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = :tableName AND c.relname IN (:partitionNames)";
     }
 
     public static final class TABLE_NAMES {
@@ -136,14 +171,29 @@ public class DBConstants {
         public static final String BY_DAY = "by_day";
         public static final int PARTITION_DAY = 25;
         public static final int LAST_N_DAYS = 15;
+        // suffix of the daily partition tables, e.g. kruize_results_20250131
+        public static final String PARTITION_DATE_FORMAT = "yyyyMMdd";
     }
 
+    public static final class BATCH_SIZES {
+        // results inserted with one statement, 8 parameters each
+        public static final int RESULTS_INSERT = 500;
+        // metadata rows sent to the DB with one JDBC batch
+        public static final int DSMETADATA_UPSERT = 1000;
+    }
+
+    // SQLSTATE classes worth retrying: connection exception, transaction rollback (serialization failure and
+    // deadlock), insufficient resources and operator intervention (admin shutdown, cannot connect now)
+    public static final String[] TRANSIENT_SQL_STATE_CLASSES = {"08", "40", "53", "57P"};
+
     public static final class DB_MESSAGES {
         public static final String RECORD_ALREADY_EXISTS = "A record with the name %s already exists within the timestamp range starting from %s and ending on %s.";
         public static final String DUPLICATE_KEY = "duplicate key value";
         public static final String DUPLICATE_KEY_ALT = "A different object with the same identifier value was already associated with the session";
         public static final String NO_PARTITION_RELATION = "no partition of relation";
         public static final String CREATE_PARTITION_RETRY = "Create partition and retry !";
+        public static final String RESULTS_BATCH_INSERT_FAILED = "Batch insert of results failed, inserting them one by one: {}";
+        public static final String RESULTS_INSERT_TRANSIENT_FAILURE = "Results not saved as the database is unavailable: {}";
         public static final String INVALID_PARTITION_TYPE = "Invalid Partition Type";
         public static final String DATA_NOT_FOUND_KRUIZE_RESULTS = "Data not found in kruizeResultsEntry for exp_name : {} interval_end_time : {} ";
         public static final String ADD_CONSTRAINT = "add constraint";
@@ -55,11 +55,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import org.hibernate.exception.JDBCConnectionException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
 import java.sql.Timestamp;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -78,6 +82,28 @@ public class DBHelpers {
     private DBHelpers() {
     }
 
+    /**
+     * Tells the failures that may go away by themselves, the database being unreachable, restarting, out of
+     * resources or a transaction losing a conflict, from the ones caused by the data written
+     *
+     * @param failure exception thrown while accessing the database
+     * @return true if the same operation may succeed when tried again
+     */
+    public static boolean isTransientFailure(Throwable failure) {
+        for (Throwable cause = failure; null != cause; cause = (cause.getCause() == cause) ? null : cause.getCause()) {
+            if (cause instanceof JDBCConnectionException || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException)
+                return true;
+            if (cause instanceof SQLException sqlException && null != sqlException.getSQLState()) {
+                for (String sqlStateClass : DBConstants.TRANSIENT_SQL_STATE_CLASSES) {
+                    if (sqlException.getSQLState().startsWith(sqlStateClass))
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
     // Sets the recommendations in recommendation entry to kruize object
     // The caller should call the function in a try / catch block to catch and act on the
     // InvalidConversionOfRecommendationEntryException
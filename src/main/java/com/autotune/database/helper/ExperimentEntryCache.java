@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.database.helper;
+
+import com.autotune.database.table.KruizeExperimentEntry;
+import com.autotune.database.table.lm.KruizeLMExperimentEntry;
+import com.autotune.operator.KruizeDeploymentInfo;
+import com.autotune.utils.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Size bounded LRU cache of the experiment rows loaded by name, with a TTL.
+ * <p>
+ * The rows are cached rather than KruizeObjects as every caller mutates the KruizeObject it gets (results,
+ * recommendations, status), a fresh one is still built from the cached rows for each load. Writes to the
+ * experiment tables invalidate the name they touch, a load that started before an invalidation is returned
+ * to its caller but not cached, so a concurrent load can't put back the rows an invalidation removed. The TTL
+ * bounds how long changes made by other Kruize instances go unseen.
+ *
+ * @param <E> experiment table entry
+ */
+public class ExperimentEntryCache<E> {
+    public static final ExperimentEntryCache<KruizeExperimentEntry> EXPERIMENTS = new ExperimentEntryCache<>("experiments");
+    public static final ExperimentEntryCache<KruizeLMExperimentEntry> LM_EXPERIMENTS = new ExperimentEntryCache<>("lmExperiments");
+
+    /**
+     * Loads the rows of an experiment from the DB
+     */
+    @FunctionalInterface
+    public interface Loader<E> {
+        List<E> load(String experimentName) throws Exception;
+    }
+
+    private static final class CachedEntries<E> {
+        private final List<E> entries;
+        private final long loadedAtNanos;
+
+        private CachedEntries(List<E> entries, long loadedAtNanos) {
+            this.entries = entries;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    private final LinkedHashMap<String, CachedEntries<E>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    // bumped by every invalidation
+    private long version;
+    private final Counter hits;
+    private final Counter misses;
+
+    ExperimentEntryCache(String name) {
+        hits = Counter.builder(MetricsConfig.EXPERIMENT_CACHE_METRIC).description(MetricsConfig.EXPERIMENT_CACHE_METRIC_DESC)
+                .tags("cache", name, "result", "hit")
+                .register(MetricsConfig.meterRegistry());
+        misses = Counter.builder(MetricsConfig.EXPERIMENT_CACHE_METRIC).description(MetricsConfig.EXPERIMENT_CACHE_METRIC_DESC)
+                .tags("cache", name, "result", "miss")
+                .register(MetricsConfig.meterRegistry());
+        Gauge.builder(MetricsConfig.EXPERIMENT_CACHE_SIZE_METRIC, this, ExperimentEntryCache::size)
+                .description(MetricsConfig.EXPERIMENT_CACHE_METRIC_DESC)
+                .tags("cache", name)
+                .register(MetricsConfig.meterRegistry());
+    }
+
+    /**
+     * @param experimentName name of the experiment
+     * @param loader         loads the rows when they aren't cached
+     * @return the rows of the experiment, not to be modified, empty or null when the loader finds none
+     */
+    public List<E> get(String experimentName, Loader<E> loader) throws Exception {
+        int maxSize = (null == KruizeDeploymentInfo.experiment_cache_size) ? 0 : KruizeDeploymentInfo.experiment_cache_size;
+        if (null == experimentName || maxSize <= 0)
+            return loader.load(experimentName);
+
+        long loadVersion;
+        synchronized (this) {
+            CachedEntries<E> cached = cache.get(experimentName);
+            if (null != cached && !isExpired(cached)) {
+                hits.increment();
+                return cached.entries;
+            }
+            if (null != cached)
+                cache.remove(experimentName);
+            loadVersion = version;
+        }
+        misses.increment();
+        List<E> entries = loader.load(experimentName);
+        // unknown experiments are not cached, they may be created at any time
+        if (null == entries || entries.isEmpty())
+            return entries;
+        List<E> loaded = Collections.unmodifiableList(new ArrayList<>(entries));
+        synchronized (this) {
+            if (loadVersion == version) {
+                cache.put(experimentName, new CachedEntries<>(loaded, System.nanoTime()));
+                Iterator<String> eldest = cache.keySet().iterator();
+                while (cache.size() > maxSize && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the rows of the experiment, to be called after the experiment is created, updated or deleted
+     */
+    public synchronized void invalidate(String experimentName) {
+        version++;
+        cache.remove(experimentName);
+    }
+
+    /**
+     * Applies a change already written to the DB to the cached rows of the experiments, for the columns that
+     * change too often to invalidate on
+     */
+    public synchronized void update(Collection<String> experimentNames, Consumer<E> change) {
+        for (String experimentName : experimentNames) {
+            CachedEntries<E> cached = cache.get(experimentName);
+            if (null != cached)
+                cached.entries.forEach(change);
+        }
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    private static boolean isExpired(CachedEntries<?> cached) {
+        Integer ttl = KruizeDeploymentInfo.experiment_cache_ttl_in_secs;
+        if (null == ttl || ttl <= 0)
+            return false;
+        return System.nanoTime() - cached.loadedAtNanos > TimeUnit.SECONDS.toNanos(ttl);
+    }
+}
@@ -34,6 +34,7 @@ import com.autotune.database.dao.ExperimentDAO;
 import com.autotune.database.dao.ExperimentDAOImpl;
 import com.autotune.database.helper.DBConstants;
 import com.autotune.database.helper.DBHelpers;
+import com.autotune.database.helper.ExperimentEntryCache;
 import com.autotune.database.table.*;
 import com.autotune.database.table.lm.KruizeLMExperimentEntry;
 import com.autotune.database.table.lm.KruizeLMMetadataProfileEntry;
@@ -478,7 +479,7 @@ public class ExperimentDBService {
 
     public void loadLMExperimentFromDBByName(Map<String, KruizeObject> mainKruizeExperimentMap, String experimentName) throws Exception {
         ExperimentInterface experimentInterface = new ExperimentInterfaceImpl();
-        List<KruizeLMExperimentEntry> entries = experimentDAO.loadLMExperimentByName(experimentName);
+        List<KruizeLMExperimentEntry> entries = ExperimentEntryCache.LM_EXPERIMENTS.get(experimentName, experimentDAO::loadLMExperimentByName);
         if (null != entries && !entries.isEmpty()) {
             List<CreateExperimentAPIObject> createExperimentAPIObjects = DBHelpers.Converters.KruizeObjectConverters.convertLMExperimentEntryToCreateExperimentAPIObject(entries);
             if (null != createExperimentAPIObjects && !createExperimentAPIObjects.isEmpty()) {
@@ -504,7 +505,7 @@ public class ExperimentDBService {
 
     public void loadExperimentFromDBByName(Map<String, KruizeObject> mainKruizeExperimentMap, String experimentName) throws Exception {
         ExperimentInterface experimentInterface = new ExperimentInterfaceImpl();
-        List<KruizeExperimentEntry> entries = experimentDAO.loadExperimentByName(experimentName);
+        List<KruizeExperimentEntry> entries = ExperimentEntryCache.EXPERIMENTS.get(experimentName, experimentDAO::loadExperimentByName);
         if (null != entries && !entries.isEmpty()) {
             List<CreateExperimentAPIObject> createExperimentAPIObjects = DBHelpers.Converters.KruizeObjectConverters.convertExperimentEntryToCreateExperimentAPIObject(entries);
             if (null != createExperimentAPIObjects && !createExperimentAPIObjects.isEmpty()) {
@@ -589,6 +590,49 @@ public class ExperimentDBService {
         loadLMRecommendationsFromDBByName(mainKruizeExperimentMap, experimentName, bulkJobId);
     }
 
+    /**
+     * Loads the given experiments along with the recommendations generated for them by a bulk job, with one query for
+     * the experiments and one for the recommendations
+     *
+     * @param mainKruizeExperimentMap map the experiments are added to
+     * @param experimentNames         names of the experiments to load
+     * @param bulkJobId               bulk job the recommendations were generated by
+     */
+    public void loadLMExperimentsAndRecommendationsFromDBByNames(Map<String, KruizeObject> mainKruizeExperimentMap, Collection<String> experimentNames, String bulkJobId) throws Exception {
+        if (null == experimentNames || experimentNames.isEmpty())
+            return;
+        ExperimentInterface experimentInterface = new ExperimentInterfaceImpl();
+        List<KruizeLMExperimentEntry> entries = experimentDAO.loadLMExperimentsByNames(experimentNames);
+        if (null == entries || entries.isEmpty())
+            return;
+        List<CreateExperimentAPIObject> createExperimentAPIObjects = DBHelpers.Converters.KruizeObjectConverters.convertLMExperimentEntryToCreateExperimentAPIObject(entries);
+        if (null == createExperimentAPIObjects || createExperimentAPIObjects.isEmpty())
+            return;
+        List<KruizeObject> kruizeExpList = new ArrayList<>();
+        for (CreateExperimentAPIObject createExperimentAPIObject : createExperimentAPIObjects) {
+            KruizeObject kruizeObject = Converters.KruizeObjectConverters.convertCreateExperimentAPIObjToKruizeObject(createExperimentAPIObject);
+            if (null != kruizeObject)
+                kruizeExpList.add(kruizeObject);
+        }
+        experimentInterface.addExperimentToLocalStorage(mainKruizeExperimentMap, kruizeExpList);
+
+        List<KruizeLMRecommendationEntry> recommendationEntries = experimentDAO.loadLMRecommendationsByExperimentNames(experimentNames, bulkJobId);
+        if (null != recommendationEntries && !recommendationEntries.isEmpty()) {
+            List<ListRecommendationsAPIObject> recommendationsAPIObjects = null;
+            try {
+                recommendationsAPIObjects = DBHelpers.Converters.KruizeObjectConverters
+                        .convertLMRecommendationEntryToRecommendationAPIObject(recommendationEntries);
+            } catch (InvalidConversionOfRecommendationEntryException e) {
+                LOGGER.error(e.getMessage());
+            }
+            if (null != recommendationsAPIObjects && !recommendationsAPIObjects.isEmpty()) {
+                experimentInterface.addRecommendationsToLocalStorage(mainKruizeExperimentMap,
+                        recommendationsAPIObjects,
+                        true);
+            }
+        }
+    }
+
     public void loadPerformanceProfileFromDBByName(Map<String, PerformanceProfile> performanceProfileMap, String performanceProfileName) throws Exception {
         List<KruizePerformanceProfileEntry> entries = experimentDAO.loadPerformanceProfileByName(performanceProfileName);
         if (null != entries && !entries.isEmpty()) {
@@ -756,9 +800,8 @@ public class ExperimentDBService {
         ValidationOutputData validationOutputData = new ValidationOutputData(false, null, null);
         try {
             List<KruizeDSMetadataEntry> kruizeMetadataList = DBHelpers.Converters.KruizeObjectConverters.convertDataSourceMetadataToMetadataObj(dataSourceMetadataInfo);
-            for (KruizeDSMetadataEntry kruizeMetadata : kruizeMetadataList) {
-                validationOutputData = this.experimentDAO.addMetadataToDB(kruizeMetadata);
-            }
+            if (null != kruizeMetadataList && !kruizeMetadataList.isEmpty())
+                validationOutputData = this.experimentDAO.addMetadataToDB(kruizeMetadataList);
         } catch (Exception e) {
             LOGGER.error("Not able to save metadata due to {}", e.getMessage());
         }
@@ -773,10 +816,13 @@ public class ExperimentDBService {
      * @return DataSourceMetadataInfo object containing metadata
      */
     public DataSourceMetadataInfo loadMetadataFromDBByName(String dataSourceName, String verbose) throws Exception {
-        List<KruizeDSMetadataEntry> kruizeMetadataList = experimentDAO.loadMetadataByName(dataSourceName);
+        // the cluster level view only needs the clusters, not the rows of every container
+        boolean clusterLevel = verbose.equals(AnalyzerConstants.ServiceConstants.FALSE);
+        List<KruizeDSMetadataEntry> kruizeMetadataList = clusterLevel ? experimentDAO.loadMetadataSummary(dataSourceName, null)
+                : experimentDAO.loadMetadataByName(dataSourceName);
         List<DataSourceMetadataInfo> dataSourceDetailsInfoList = new ArrayList<>();
         if (null != kruizeMetadataList && !kruizeMetadataList.isEmpty()) {
-            if (verbose.equals(AnalyzerConstants.ServiceConstants.FALSE)) {
+            if (clusterLevel) {
                 dataSourceDetailsInfoList = DBHelpers.Converters.KruizeObjectConverters
                         .convertKruizeMetadataToClusterLevelDataSourceMetadata(kruizeMetadataList);
             } else {
@@ -799,10 +845,13 @@ public class ExperimentDBService {
      * @return DataSourceMetadataInfo object containing metadata
      */
     public DataSourceMetadataInfo loadMetadataFromDBByClusterName(String dataSourceName, String clusterName, String verbose) throws Exception {
-        List<KruizeDSMetadataEntry> kruizeMetadataList = experimentDAO.loadMetadataByClusterName(dataSourceName, clusterName);
+        // the namespace level view only needs the namespaces of the cluster
+        boolean namespaceLevel = verbose.equals(AnalyzerConstants.ServiceConstants.FALSE);
+        List<KruizeDSMetadataEntry> kruizeMetadataList = namespaceLevel ? experimentDAO.loadMetadataSummary(dataSourceName, clusterName)
+                : experimentDAO.loadMetadataByClusterName(dataSourceName, clusterName);
         List<DataSourceMetadataInfo> dataSourceMetadataInfoList = new ArrayList<>();
         if (null != kruizeMetadataList && !kruizeMetadataList.isEmpty()) {
-            if (verbose.equals(AnalyzerConstants.ServiceConstants.FALSE)) {
+            if (namespaceLevel) {
                 dataSourceMetadataInfoList = DBHelpers.Converters.KruizeObjectConverters
                         .convertKruizeMetadataToNamespaceLevelDataSourceMetadata(kruizeMetadataList);
             } else {
@@ -826,7 +875,27 @@ public class ExperimentDBService {
      * @throws Exception
      */
     public DataSourceMetadataInfo loadMetadataFromDBByNamespace(String dataSourceName, String clusterName, String namespace) throws Exception {
-        List<KruizeDSMetadataEntry> kruizeMetadataList = experimentDAO.loadMetadataByNamespace(dataSourceName, clusterName, namespace);
+        return loadMetadataFromDB(dataSourceName, clusterName, namespace, null, null, 0, 0);
+    }
+
+    /**
+     * fetches the container level metadata of the specified datasource matching the given filters from database,
+     * a page of the container rows at a time
+     *
+     * @param dataSourceName String containing the name of datasource
+     * @param clusterName    String containing the cluster name, null for all clusters
+     * @param namespace      String containing the namespace, null for all namespaces
+     * @param workloadName   String containing the workload name, null for all workloads
+     * @param containerName  String containing the container name, null for all containers
+     * @param offset         index of the first container row returned
+     * @param limit          max container rows returned, 0 for all of them
+     * @return DataSourceMetadataInfo object containing metadata, null if no row matches
+     * @throws Exception
+     */
+    public DataSourceMetadataInfo loadMetadataFromDB(String dataSourceName, String clusterName, String namespace, String workloadName,
+                                                     String containerName, int offset, int limit) throws Exception {
+        List<KruizeDSMetadataEntry> kruizeMetadataList = experimentDAO.loadMetadata(dataSourceName, clusterName, namespace,
+                workloadName, containerName, offset, limit);
         List<DataSourceMetadataInfo> dataSourceMetadataInfoList = new ArrayList<>();
         if (null != kruizeMetadataList && !kruizeMetadataList.isEmpty()) {
             dataSourceMetadataInfoList = DBHelpers.Converters.KruizeObjectConverters
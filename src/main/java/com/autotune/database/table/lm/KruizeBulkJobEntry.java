@@ -206,7 +206,7 @@ public class KruizeBulkJobEntry {
                         jobEndTime,
                         convertJsonNodeToMap(notifications),
                         convertJsonNodeToBulkInput(payload)),
-                convertJsonNodeToExperimentsMap(experiments.get("experiments")),
+                convertJsonNodeToExperimentsMap((null == experiments) ? null : experiments.get("experiments")),
                 null,
                 convertJsonNodeToMetaData(metadata)
         );
@@ -3,7 +3,7 @@ package com.autotune.experimentManager.transitions;
 import com.autotune.experimentManager.data.EMMapper;
 import com.autotune.experimentManager.data.ExperimentTrialData;
 import com.autotune.experimentManager.utils.EMUtil;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import com.autotune.utils.KubernetesClientProvider;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,7 +15,7 @@ public class TransitionToCleanDeployment implements BaseTransition{
         LOGGER.info("Executing transition - TransitionToCleanDeployment on thread - {} For RunId - ", Thread.currentThread().getId(), runId);
         ExperimentTrialData trialData = (ExperimentTrialData) EMMapper.getInstance().getMap().get(runId);
         trialData.setStatus(EMUtil.EMExpStatus.TRIAL_COMPLETED);
-        KubernetesClient client = new DefaultKubernetesClient();
+        KubernetesClient client = KubernetesClientProvider.getClient();
         LOGGER.info("Rolling back the pod to old config... ");
         client.apps().deployments().inNamespace(trialData.getConfig().getDeploymentNamespace()).createOrReplace(trialData.getDefaultDeployment());
         LOGGER.info("Done.");
@@ -3,12 +3,12 @@ package com.autotune.experimentManager.transitions;
 import com.autotune.experimentManager.data.EMMapper;
 import com.autotune.experimentManager.data.ExperimentTrialData;
 import com.autotune.experimentManager.transitions.util.TransistionHelper;
+import com.autotune.utils.KubernetesClientProvider;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpec;
 import io.fabric8.kubernetes.api.model.apps.DeploymentStrategy;
 import io.fabric8.kubernetes.api.model.apps.RollingUpdateDeployment;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -28,7 +28,7 @@ public class TransitionToCreateConfig extends AbstractBaseTransition {
     public void transit(String runId) {
         ExperimentTrialData trialData = (ExperimentTrialData) EMMapper.getInstance().getMap().get(runId);
         JSONArray containerConfigs = trialData.getConfig().getTrainingContainers();
-        KubernetesClient client = new DefaultKubernetesClient();
+        KubernetesClient client = KubernetesClientProvider.getClient();
         RollingUpdateDeployment rud = new RollingUpdateDeployment();
         IntOrString maxSurge = new IntOrString(1);
         IntOrString maxUnavailable = new IntOrString(0);
@@ -4,8 +4,8 @@ import com.autotune.experimentManager.core.EMIterationManager;
 import com.autotune.experimentManager.data.EMMapper;
 import com.autotune.experimentManager.data.ExperimentTrialData;
 import com.autotune.experimentManager.utils.EMConstants;
+import com.autotune.utils.KubernetesClientProvider;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +17,7 @@ public class TransitionToDeployConfig extends AbstractBaseTransition{
     public void transit(String runId) {
         ExperimentTrialData trialData = (ExperimentTrialData) EMMapper.getInstance().getMap().get(runId);
         EMIterationManager emIterationManager = trialData.getEmIterationManager();
-        KubernetesClient client = new DefaultKubernetesClient();
+        KubernetesClient client = KubernetesClientProvider.getClient();
         if(emIterationManager.getCurrentIteration() == 1) {
             LOGGER.info("Launching new config to the deployment");
             Deployment createdDeployment = client.apps().deployments().inNamespace(trialData.getConfig().getDeploymentNamespace()).createOrReplace(trialData.getTrailDeployment());
@@ -76,6 +76,14 @@ public class KruizeDeploymentInfo {
     public static String cloudwatch_logs_region;
     public static String cloudwatch_logs_log_level;
     public static String cloudwatch_logs_log_stream;
+    // log events buffered for CloudWatch, events logged while it is full are dropped
+    public static Integer cloudwatch_logs_queue_size = 10000;
+    // max log events sent to CloudWatch in one request, at most 10000
+    public static Integer cloudwatch_logs_batch_size = 1000;
+    // max time a log event waits in the buffer before it is sent to CloudWatch
+    public static Integer cloudwatch_logs_flush_interval_in_millis = 2000;
+    // time a logging thread waits for room in a full CloudWatch buffer before dropping its event, 0 drops at once
+    public static Integer cloudwatch_logs_block_on_full_in_millis = 0;
 
     public static Boolean settings_save_to_db;
     public static String em_only_mode;
@@ -85,7 +93,10 @@ public class KruizeDeploymentInfo {
     public static String recommendations_url;
     public static String experiments_url;
     public static Integer bulk_api_limit = 1000;
+    // concurrent calls the bulk jobs start with, per datasource and to the database
     public static Integer bulk_thread_pool_size = 3;
+    // highest number of concurrent calls the bulk jobs adapt up to, per datasource and to the database
+    public static Integer bulk_max_concurrency = 32;
     public static int generate_recommendations_date_range_limit_in_days = 15;
     public static Integer delete_partition_threshold_in_days = DELETE_PARTITION_THRESHOLD_IN_DAYS;
     public static String experiment_name_format = "%datasource%|%clustername%|%namespace%|%workloadname%(%workloadtype%)|%containername%";
@@ -98,14 +109,50 @@ public class KruizeDeploymentInfo {
     public static String kafka_bootstrap_servers = System.getenv("KAFKA_BOOTSTRAP_SERVERS");
     ;
     public static String bulk_input_topic = System.getenv("BULK_INPUT_TOPIC");
+    public static String results_input_topic = System.getenv("RESULTS_INPUT_TOPIC");
     public static String kafka_group_id = System.getenv("KAFKA_CONSUMER_GROUP_ID");
     public static String metadata_profile_file_path;
     public static String metric_profile_file_path;
     public static String kafka_topics = System.getenv("KAFKA_TOPICS");
     public static String kafka_response_filter_include = System.getenv("KAFKA_RESPONSE_FILTER_INCLUDE");
     public static String kafka_response_filter_exclude = System.getenv("KAFKA_RESPONSE_FILTER_EXCLUDE");
-    public static Integer kafka_thread_pool_size = 3;
+    // producer batching of the bulk results published to kafka
+    public static Integer kafka_linger_ms = 20;
+    public static Integer kafka_batch_size = 65536;
+    public static String kafka_compression_type = "lz4";
+    public static Boolean kafka_enable_idempotence = true;
+    // highest number of kafka messages sent and not yet acknowledged, publishing waits beyond it
+    public static Integer kafka_max_in_flight_messages = 1000;
+    // partitions of the kafka input topics processed at the same time
+    public static Integer kafka_consumer_threads = 4;
+    // attempts at processing a kafka input record before it is skipped
+    public static Integer kafka_max_record_attempts = 5;
+    // namespaces the autoscaler reconciles the experiments of at the same time
+    public static Integer autoscaler_threads = 4;
+    // requests per second and burst allowed to the shared Kubernetes client, watches are not limited
+    public static Integer kubernetes_client_qps = 50;
+    public static Integer kubernetes_client_burst = 100;
+    // max requests the shared Kubernetes client has in flight to the API server
+    public static Integer kubernetes_client_max_concurrent_requests = 64;
     public static Boolean adjust_mem_usage = false;  // Default: false (maintain current behavior where Request = Limit)
+    // connection pool settings for the shared datasource / Kruize API http clients
+    public static Integer http_max_connections_per_route = 20;
+    public static Integer http_max_connections_total = 100;
+    public static Integer http_idle_connection_timeout_in_secs = 60;
+    public static Integer http_connect_timeout_in_millis = 10000;
+    public static Integer http_socket_timeout_in_millis = 300000;
+    // max in-flight queries per datasource while fetching metrics for recommendations
+    public static Integer datasource_query_concurrency = 8;
+    // max containers of an experiment, or of a namespace in a bulk job, fetched with one query, 1 sends one query per container
+    public static Integer container_query_batch_size = 50;
+    // experiments cached by name in front of the DB, 0 disables the cache
+    public static Integer experiment_cache_size = 1000;
+    // max age of a cached experiment, bounds how long changes made by other Kruize instances go unseen
+    public static Integer experiment_cache_ttl_in_secs = 300;
+    // containers whose incremental term state is kept in memory between recommendation refreshes, 0 disables it
+    public static Integer term_aggregates_max_containers = 1000;
+    // terms of at least this many days read their percentiles from per day sketches of the term state, 0 keeps them exact
+    public static Integer term_percentile_sketch_min_days = 15;
 
 
     private KruizeDeploymentInfo() {
@@ -1,5 +1,7 @@
 package com.autotune.utils;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Filter;
@@ -19,57 +21,281 @@ import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient;
 import software.amazon.awssdk.services.cloudwatchlogs.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import static com.autotune.operator.KruizeDeploymentInfo.*;
 
+/**
+ * Ships the Kruize logs to CloudWatch.
+ * <p>
+ * Logging threads only serialize their event into a bounded queue, a single flusher thread sends the queued
+ * events in batches once a batch is full or the oldest event waited the flush interval. Sending from one thread
+ * keeps the batches in order and the sequence token consistent. When the queue is full a logging thread waits
+ * up to the configured time for room, then drops its event, so request latency never depends on CloudWatch.
+ * <p>
+ * Errors of the appender itself are reported through the log4j status logger, logging them through the
+ * application loggers would feed them back into this appender.
+ */
 public class CloudWatchAppender extends AbstractAppender {
     private static final Logger LOGGER = LoggerFactory.getLogger(CloudWatchAppender.class);
+    private static final org.apache.logging.log4j.Logger STATUS_LOGGER = org.apache.logging.log4j.status.StatusLogger.getLogger();
+    // PutLogEvents limits
+    private static final int MAX_BATCH_EVENTS = 10000;
+    private static final int MAX_BATCH_BYTES = 1048576;
+    private static final int EVENT_OVERHEAD_BYTES = 26;
+    private static final int MAX_EVENT_BYTES = 262144 - EVENT_OVERHEAD_BYTES;
+    private static final int SEND_ATTEMPTS = 3;
+    private static final long SEND_RETRY_BACKOFF_MILLIS = 500;
+    // time given to the flusher to send the queued events on shutdown
+    private static final long DEFAULT_STOP_TIMEOUT_MILLIS = 10000;
+
     private final String logGroupName;
     private final String logStreamName;
     private final CloudWatchLogsAsyncClient cloudWatchLogsClient;
+    private final BlockingQueue<QueuedEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long blockOnFullMillis;
+    private final Counter queuedEvents;
+    private final Counter sentEvents;
+    private final Counter droppedEvents;
+    private final Thread flusher;
+    private volatile boolean stopping;
+    // only used by the flusher thread
     private String sequenceToken = null;
+    private QueuedEvent carriedOver;
 
     public CloudWatchAppender(String name, Filter filter, Layout<?> layout, String logGroupName, String logStreamName, String region, String awsAccessKeyId, String awsSecretKey) {
+        this(name, filter, layout, logGroupName, logStreamName,
+                CloudWatchLogsAsyncClient.builder()
+                        .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(awsAccessKeyId, awsSecretKey)))
+                        .region(Region.of(region))
+                        .build(),
+                valueOrDefault(cloudwatch_logs_queue_size, 10000),
+                valueOrDefault(cloudwatch_logs_batch_size, 1000),
+                valueOrDefault(cloudwatch_logs_flush_interval_in_millis, 2000),
+                valueOrDefault(cloudwatch_logs_block_on_full_in_millis, 0));
+    }
+
+    CloudWatchAppender(String name, Filter filter, Layout<?> layout, String logGroupName, String logStreamName,
+                       CloudWatchLogsAsyncClient cloudWatchLogsClient, int queueSize, int batchSize,
+                       long flushIntervalMillis, long blockOnFullMillis) {
         super(name, filter, layout, false, null);
         this.logGroupName = logGroupName;
         this.logStreamName = logStreamName;
-        this.cloudWatchLogsClient = CloudWatchLogsAsyncClient.builder()
-                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(awsAccessKeyId, awsSecretKey)))
-                .region(Region.of(region))
-                .build();
+        this.cloudWatchLogsClient = cloudWatchLogsClient;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_EVENTS));
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.blockOnFullMillis = Math.max(0, blockOnFullMillis);
+        this.queuedEvents = eventCounter(name, "queued");
+        this.sentEvents = eventCounter(name, "sent");
+        this.droppedEvents = eventCounter(name, "dropped");
+        Gauge.builder(MetricsConfig.CLOUDWATCH_LOG_QUEUE_METRIC, queue, BlockingQueue::size)
+                .description(MetricsConfig.CLOUDWATCH_LOG_METRIC_DESC)
+                .tags("appender", name)
+                .register(MetricsConfig.meterRegistry());
+        this.flusher = new Thread(this::flushLoop, "cloudwatch-log-flusher");
+        this.flusher.setDaemon(true);
     }
 
     @Override
     public void start() {
         super.start();
+        flusher.start();
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        setStopping();
+        stopping = true;
+        long timeoutMillis = (timeout > 0) ? timeUnit.toMillis(timeout) : DEFAULT_STOP_TIMEOUT_MILLIS;
+        boolean stopped = true;
+        if (flusher.isAlive()) {
+            try {
+                flusher.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stopped = !flusher.isAlive();
+        }
+        cloudWatchLogsClient.close();
+        setStopped();
+        return stopped;
     }
 
     @Override
     public void append(LogEvent event) {
-        String message = getLayout().toSerializable(event).toString();
-        List<InputLogEvent> logEvents = new ArrayList<>();
-        logEvents.add(InputLogEvent.builder()
-                .timestamp(event.getTimeMillis())
-                .message(message)
-                .build());
-
-        PutLogEventsRequest request = PutLogEventsRequest.builder()
-                .logGroupName(logGroupName)
-                .logStreamName(logStreamName)
-                .logEvents(logEvents)
-                .sequenceToken(sequenceToken)
-                .build();
+        // the event is serialized here, log4j may reuse it once append returns
+        QueuedEvent queuedEvent = new QueuedEvent(event.getTimeMillis(), getLayout().toSerializable(event).toString());
+        boolean queued = queue.offer(queuedEvent);
+        if (!queued && blockOnFullMillis > 0) {
+            try {
+                queued = queue.offer(queuedEvent, blockOnFullMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (queued)
+            queuedEvents.increment();
+        else
+            droppedEvents.increment();
+    }
+
+    double getQueuedCount() {
+        return queuedEvents.count();
+    }
+
+    double getSentCount() {
+        return sentEvents.count();
+    }
+
+    double getDroppedCount() {
+        return droppedEvents.count();
+    }
+
+    private void flushLoop() {
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+        while (!stopping || null != carriedOver || !queue.isEmpty()) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                // keep going until stopped, the queued events are still sent
+                Thread.interrupted();
+            }
+            if (!batch.isEmpty()) {
+                sendBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Collects events until the batch reaches its count or byte limit, or the flush interval elapsed since its
+     * first event
+     */
+    private void fillBatch(List<QueuedEvent> batch) throws InterruptedException {
+        QueuedEvent event = (null != carriedOver) ? carriedOver : queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        carriedOver = null;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        int batchBytes = 0;
+        while (null != event) {
+            int eventBytes = event.prepare();
+            if (!batch.isEmpty() && batchBytes + eventBytes > MAX_BATCH_BYTES) {
+                carriedOver = event;
+                return;
+            }
+            batch.add(event);
+            batchBytes += eventBytes;
+            if (batch.size() >= batchSize)
+                return;
+            long remaining = deadline - System.nanoTime();
+            event = (stopping || remaining <= 0) ? queue.poll() : queue.poll(remaining, TimeUnit.NANOSECONDS);
+        }
+    }
 
-        CompletableFuture<PutLogEventsResponse> futureResponse = cloudWatchLogsClient.putLogEvents(request);
-        futureResponse.whenComplete((response, error) -> {
-            if (error != null) {
-                error.printStackTrace();
-            } else {
+    private void sendBatch(List<QueuedEvent> batch) {
+        // events of concurrent threads may be queued slightly out of order, CloudWatch wants them in order
+        batch.sort(Comparator.comparingLong(event -> event.timestamp));
+        List<InputLogEvent> logEvents = new ArrayList<>(batch.size());
+        for (QueuedEvent event : batch) {
+            logEvents.add(InputLogEvent.builder()
+                    .timestamp(event.timestamp)
+                    .message(event.message)
+                    .build());
+        }
+        long backoffMillis = SEND_RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; attempt <= SEND_ATTEMPTS; attempt++) {
+            PutLogEventsRequest request = PutLogEventsRequest.builder()
+                    .logGroupName(logGroupName)
+                    .logStreamName(logStreamName)
+                    .logEvents(logEvents)
+                    .sequenceToken(sequenceToken)
+                    .build();
+            try {
+                PutLogEventsResponse response = cloudWatchLogsClient.putLogEvents(request).join();
                 sequenceToken = response.nextSequenceToken();
+                sentEvents.increment(logEvents.size());
+                return;
+            } catch (CompletionException e) {
+                Throwable cause = (null != e.getCause()) ? e.getCause() : e;
+                if (cause instanceof DataAlreadyAcceptedException alreadyAccepted) {
+                    sequenceToken = alreadyAccepted.expectedSequenceToken();
+                    sentEvents.increment(logEvents.size());
+                    return;
+                }
+                if (cause instanceof InvalidSequenceTokenException invalidToken) {
+                    // retried at once with the token CloudWatch expects
+                    sequenceToken = invalidToken.expectedSequenceToken();
+                    continue;
+                }
+                STATUS_LOGGER.warn("Failed to send {} log events to CloudWatch, attempt {}: {}", logEvents.size(), attempt, cause.getMessage());
+            } catch (RuntimeException e) {
+                STATUS_LOGGER.warn("Failed to send {} log events to CloudWatch, attempt {}: {}", logEvents.size(), attempt, e.getMessage());
+            }
+            if (attempt < SEND_ATTEMPTS && !sleep(backoffMillis))
+                break;
+            backoffMillis *= 2;
+        }
+        droppedEvents.increment(logEvents.size());
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter eventCounter(String appenderName, String status) {
+        return Counter.builder(MetricsConfig.CLOUDWATCH_LOG_EVENTS_METRIC)
+                .description(MetricsConfig.CLOUDWATCH_LOG_METRIC_DESC)
+                .tags("appender", appenderName, "status", status)
+                .register(MetricsConfig.meterRegistry());
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return (null == value) ? defaultValue : value;
+    }
+
+    /**
+     * Serialized log event waiting in the queue
+     */
+    private static final class QueuedEvent {
+        private final long timestamp;
+        private String message;
+
+        private QueuedEvent(long timestamp, String message) {
+            this.timestamp = timestamp;
+            this.message = message;
+        }
+
+        /**
+         * Truncates the message to the CloudWatch event size limit, measured on the flusher thread
+         *
+         * @return size of the event counted against the batch size limit
+         */
+        private int prepare() {
+            byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_EVENT_BYTES) {
+                int end = MAX_EVENT_BYTES;
+                // don't split a multi-byte character
+                while (end > 0 && (bytes[end] & 0xC0) == 0x80)
+                    end--;
+                message = new String(bytes, 0, end, StandardCharsets.UTF_8);
+                return end + EVENT_OVERHEAD_BYTES;
             }
-        });
+            return bytes.length + EVENT_OVERHEAD_BYTES;
+        }
     }
 
     public static void configureLoggerForCloudWatchLog() {
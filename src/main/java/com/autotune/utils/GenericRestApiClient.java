@@ -18,38 +18,40 @@ package com.autotune.utils;
 import com.autotune.common.auth.AuthenticationStrategy;
 import com.autotune.common.auth.AuthenticationStrategyFactory;
 import com.autotune.common.datasource.DataSourceInfo;
+import com.autotune.common.datasource.prometheus.PrometheusQueryResult;
+import com.autotune.common.datasource.prometheus.PrometheusResponseParser;
 import com.autotune.utils.authModels.APIKeysAuthentication;
 import com.autotune.utils.authModels.BasicAuthentication;
 import com.autotune.utils.authModels.BearerAccessToken;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.ssl.SSLContexts;
 import org.apache.http.util.EntityUtils;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.SSLContext;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This is generic wrapper class used to retrieve RESTAPI response.
@@ -64,6 +66,7 @@ public class GenericRestApiClient {
     private BearerAccessToken bearerAccessToken;
     private APIKeysAuthentication apiKeysAuthentication;
     private AuthenticationStrategy authenticationStrategy;
+    private String poolName = HttpClientPool.KRUIZE_POOL;
 
     /**
      * constructor to set the authentication based on the datasourceInfo object
@@ -74,6 +77,8 @@ public class GenericRestApiClient {
         // TODO: add partial URL as well as part of this constructor
         this.authenticationStrategy = AuthenticationStrategyFactory.createAuthenticationStrategy(
                 dataSourceInfo.getAuthenticationConfig());
+        if (null != dataSourceInfo.getName())
+            this.poolName = dataSourceInfo.getName();
     }
 
     public GenericRestApiClient() {
@@ -88,64 +93,150 @@ public class GenericRestApiClient {
      * @throws IOException
      */
     public JSONObject fetchMetricsJson(String methodType, String queryString) throws IOException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
-        String jsonResponse;
-        try (CloseableHttpClient httpclient = setupHttpClient()) {
+        JSONObject jsonObject;
+        CloseableHttpClient httpclient = HttpClientPool.getClient(poolName);
 
-            HttpRequestBase httpRequestBase;
-            if (methodType.equalsIgnoreCase("GET")) {
-                httpRequestBase = new HttpGet(baseURL + URLEncoder.encode(queryString, StandardCharsets.UTF_8));
-            } else {
-                throw new UnsupportedOperationException("Unsupported method type: " + methodType);
-            }
-
-            // Apply authentication
-            applyAuthentication(httpRequestBase);
-
-            LOGGER.debug("Executing Prometheus metrics request: {}", httpRequestBase.getRequestLine());
-
-            // Execute the request and get the HttpResponse
-            HttpResponse response = httpclient.execute(httpRequestBase);
+        // Execute the request and get the HttpResponse, closing it hands the connection back to the pool
+        try (CloseableHttpResponse response = executeMetricsRequest(httpclient, methodType, baseURL + URLEncoder.encode(queryString, StandardCharsets.UTF_8))) {
 
             // Get and print the response code
             int responseCode = response.getStatusLine().getStatusCode();
             LOGGER.debug("Response code: {}", responseCode);
 
             // Get the response body if needed
-            jsonResponse = new StringResponseHandler().handleResponse(response);
+            String jsonResponse = new StringResponseHandler().handleResponse(response);
 
-            // Parse the JSON response
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode rootNode = objectMapper.readTree(jsonResponse);
-            JsonNode resultNode = rootNode.path("data").path("result");
-            JsonNode warningsNode = rootNode.path("warnings");
+            // Parse the JSON response once and check the warnings on the parsed object
+            jsonObject = new JSONObject(jsonResponse);
+            JSONObject dataObject = jsonObject.optJSONObject(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.DATA);
+            JSONArray resultArray = null == dataObject ? null : dataObject.optJSONArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.RESULT);
+            JSONArray warningsArray = jsonObject.optJSONArray(KruizeConstants.DataSourceConstants.DataSourceQueryJSONKeys.WARNINGS);
 
             // Check if the result is empty and if there are specific warnings
-            if (resultNode.isArray() && resultNode.size() == 0) {
-                for (JsonNode warning : warningsNode) {
-                    String warningMessage = warning.asText();
-                    if (warningMessage.contains("error reading from server") || warningMessage.contains("Please reduce your request rate")) {
-                        LOGGER.warn("Warning detected: {}", warningMessage);
-                        throw new IOException(warningMessage);
-                    }
+            if (null != resultArray && resultArray.isEmpty() && null != warningsArray) {
+                List<String> warnings = new ArrayList<>();
+                for (int i = 0; i < warningsArray.length(); i++) {
+                    warnings.add(warningsArray.optString(i));
                 }
+                checkWarnings(warnings);
+            }
+        }
+        return jsonObject;
+    }
+
+    /**
+     * Same as fetchMetricsJson but decodes the Prometheus response straight from the response stream
+     * into primitive series, avoiding the intermediate String and JSON trees.
+     *
+     * @param methodType  Http methods like GET
+     * @param queryString query appended to the base URL
+     * @return PrometheusQueryResult holding the series and warnings of the response
+     * @throws IOException
+     */
+    public PrometheusQueryResult fetchPrometheusQueryResult(String methodType, String queryString) throws IOException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
+        return fetchPrometheusQueryResultFromURL(methodType, baseURL + URLEncoder.encode(queryString, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Same as fetchPrometheusQueryResult but takes the complete query URL instead of using the base URL,
+     * so a single client can be shared by concurrent queries.
+     *
+     * @param methodType Http methods like GET
+     * @param metricsURL complete query URL
+     * @return PrometheusQueryResult holding the series and warnings of the response
+     * @throws IOException
+     */
+    public PrometheusQueryResult fetchPrometheusQueryResultFromURL(String methodType, String metricsURL) throws IOException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
+        PrometheusQueryResult queryResult;
+        CloseableHttpClient httpclient = HttpClientPool.getClient(poolName);
+
+        // Execute the request and get the HttpResponse, closing it hands the connection back to the pool
+        try (CloseableHttpResponse response = executeMetricsRequest(httpclient, methodType, metricsURL)) {
+            int responseCode = response.getStatusLine().getStatusCode();
+            LOGGER.debug("Response code: {}", responseCode);
+            if (responseCode < 200 || responseCode >= 300) {
+                throw new ClientProtocolException("Unexpected response status: " + responseCode);
+            }
+            HttpEntity entity = response.getEntity();
+            if (null == entity) {
+                return new PrometheusQueryResult();
+            }
+            try (InputStream inputStream = entity.getContent()) {
+                queryResult = PrometheusResponseParser.parse(inputStream);
             }
+            // Check if the result is empty and if there are specific warnings
+            if (queryResult.isEmpty()) {
+                checkWarnings(queryResult.getWarnings());
+            }
+        }
+        return queryResult;
+    }
+
+    /**
+     * Executes the metrics request, retrying with new credentials when the datasource rejects the current ones,
+     * e.g. an OAuth2 token revoked before its expiry.
+     *
+     * @param httpclient pooled client to execute the request with
+     * @param methodType Http methods like GET
+     * @param metricsURL complete query URL
+     * @return the response, to be closed by the caller
+     * @throws IOException
+     */
+    private CloseableHttpResponse executeMetricsRequest(CloseableHttpClient httpclient, String methodType, String metricsURL) throws IOException {
+        long backoffMillis = KruizeConstants.AuthenticationConstants.UNAUTHORIZED_RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            HttpRequestBase httpRequestBase = buildMetricsRequest(methodType, metricsURL);
+            CloseableHttpResponse response = httpclient.execute(httpRequestBase);
+            Header authHeader = httpRequestBase.getFirstHeader(KruizeConstants.AuthenticationConstants.AUTHORIZATION);
+            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_UNAUTHORIZED
+                    || attempt > KruizeConstants.AuthenticationConstants.UNAUTHORIZED_RETRIES
+                    || null == authHeader || !authenticationStrategy.invalidate(authHeader.getValue())) {
+                return response;
+            }
+            response.close();
+            LOGGER.warn(KruizeConstants.AuthenticationConstants.UNAUTHORIZED_RETRY, attempt);
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+            backoffMillis *= 2;
         }
-        return new JSONObject(jsonResponse);
     }
 
+    private HttpRequestBase buildMetricsRequest(String methodType, String metricsURL) {
+        HttpRequestBase httpRequestBase;
+        if (methodType.equalsIgnoreCase("GET")) {
+            httpRequestBase = new HttpGet(metricsURL);
+        } else {
+            throw new UnsupportedOperationException("Unsupported method type: " + methodType);
+        }
+
+        // Apply authentication
+        applyAuthentication(httpRequestBase);
+
+        LOGGER.debug("Executing Prometheus metrics request: {}", httpRequestBase.getRequestLine());
+        return httpRequestBase;
+    }
 
     /**
-     * Common method to setup SSL context for trust-all certificates.
+     * Fails the query when an empty result comes with a warning indicating that the datasource
+     * could not serve it, so callers don't treat it as "no data".
      *
-     * @return CloseableHttpClient
+     * @param warnings warnings returned along with an empty result
+     * @throws IOException if any of the warnings is a datasource read / rate limit error
      */
-    private CloseableHttpClient setupHttpClient() throws NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
-        SSLContext sslContext = SSLContexts.custom().loadTrustMaterial((chain, authType) -> true).build();  // Trust all certificates
-        SSLConnectionSocketFactory sslConnectionSocketFactory =
-                new SSLConnectionSocketFactory(sslContext, new String[]{"TLSv1.2"}, null, NoopHostnameVerifier.INSTANCE);
-        return HttpClients.custom().setSSLSocketFactory(sslConnectionSocketFactory).build();
+    private void checkWarnings(List<String> warnings) throws IOException {
+        for (String warningMessage : warnings) {
+            if (warningMessage.contains("error reading from server") || warningMessage.contains("Please reduce your request rate")) {
+                LOGGER.warn("Warning detected: {}", warningMessage);
+                throw new IOException(warningMessage);
+            }
+        }
     }
 
+
     /**
      * Common method to apply authentication to the HTTP request.
      *
@@ -167,33 +258,32 @@ public class GenericRestApiClient {
      */
     public HttpResponseWrapper callKruizeAPI(String payload) throws IOException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
         HttpResponseWrapper httpResponseWrapper = null;
-        // Create an HTTP client
-        try (CloseableHttpClient httpclient = setupHttpClient()) {
-            // Prepare the HTTP POST request
-            HttpPost httpPost = new HttpPost(baseURL);
-            httpPost.setHeader("Content-Type", "application/json");
-            httpPost.setHeader("Accept", "application/json");
-            // If payload is present, set it in the request body
-            if (payload != null) {
-                StringEntity entity = new StringEntity(payload, StandardCharsets.UTF_8);
-                httpPost.setEntity(entity);
-            }
-            // Execute the request and return the response code
-            try (CloseableHttpResponse response = httpclient.execute(httpPost)) {
-                // Get the status code from the response
-                int responseCode = response.getStatusLine().getStatusCode();
-                LOGGER.debug("Response code: {}", responseCode);
-                if (response.getEntity() != null) {
-                    // Convert response entity to string
-                    String responseBody = EntityUtils.toString(response.getEntity(), "UTF-8");
-                    try {
-                        // Attempt to parse as JSON
-                        JSONObject json = new JSONObject(responseBody);
-                        httpResponseWrapper = new HttpResponseWrapper(responseCode, json);
-                    } catch (JSONException e) {
-                        // If JSON parsing fails, return as plain string
-                        httpResponseWrapper = new HttpResponseWrapper(responseCode, responseBody);
-                    }
+        // Get the pooled HTTP client, it is shared and must not be closed here
+        CloseableHttpClient httpclient = HttpClientPool.getClient(poolName);
+        // Prepare the HTTP POST request
+        HttpPost httpPost = new HttpPost(baseURL);
+        httpPost.setHeader("Content-Type", "application/json");
+        httpPost.setHeader("Accept", "application/json");
+        // If payload is present, set it in the request body
+        if (payload != null) {
+            StringEntity entity = new StringEntity(payload, StandardCharsets.UTF_8);
+            httpPost.setEntity(entity);
+        }
+        // Execute the request and return the response code
+        try (CloseableHttpResponse response = httpclient.execute(httpPost)) {
+            // Get the status code from the response
+            int responseCode = response.getStatusLine().getStatusCode();
+            LOGGER.debug("Response code: {}", responseCode);
+            if (response.getEntity() != null) {
+                // Convert response entity to string
+                String responseBody = EntityUtils.toString(response.getEntity(), "UTF-8");
+                try {
+                    // Attempt to parse as JSON
+                    JSONObject json = new JSONObject(responseBody);
+                    httpResponseWrapper = new HttpResponseWrapper(responseCode, json);
+                } catch (JSONException e) {
+                    // If JSON parsing fails, return as plain string
+                    httpResponseWrapper = new HttpResponseWrapper(responseCode, responseBody);
                 }
             }
         }
@@ -218,29 +308,28 @@ public class GenericRestApiClient {
      */
     public HttpResponseWrapper getKruizeAPI(String payload) throws IOException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
         HttpResponseWrapper httpResponseWrapper = null;
-        // Create an HTTP client
-        try (CloseableHttpClient httpclient = setupHttpClient()) {
-            // Prepare the HTTP POST request
-            HttpGet httpget = new HttpGet(baseURL);
-            httpget.setHeader("Content-Type", "application/json");
-            httpget.setHeader("Accept", "application/json");
+        // Get the pooled HTTP client, it is shared and must not be closed here
+        CloseableHttpClient httpclient = HttpClientPool.getClient(poolName);
+        // Prepare the HTTP POST request
+        HttpGet httpget = new HttpGet(baseURL);
+        httpget.setHeader("Content-Type", "application/json");
+        httpget.setHeader("Accept", "application/json");
       
-            // Execute the request and return the response code
-            try (CloseableHttpResponse response = httpclient.execute(httpget)) {
-                // Get the status code from the response
-                int responseCode = response.getStatusLine().getStatusCode();
-                LOGGER.debug("Response code: {}", responseCode);
-                if (response.getEntity() != null) {
-                    // Convert response entity to string
-                    String responseBody = EntityUtils.toString(response.getEntity(), "UTF-8");
-                    try {
-                        // Attempt to parse as JSON
-                        JSONObject json = new JSONObject(responseBody);
-                        httpResponseWrapper = new HttpResponseWrapper(responseCode, json);
-                    } catch (JSONException e) {
-                        // If JSON parsing fails, return as plain string
-                        httpResponseWrapper = new HttpResponseWrapper(responseCode, responseBody);
-                    }
+        // Execute the request and return the response code
+        try (CloseableHttpResponse response = httpclient.execute(httpget)) {
+            // Get the status code from the response
+            int responseCode = response.getStatusLine().getStatusCode();
+            LOGGER.debug("Response code: {}", responseCode);
+            if (response.getEntity() != null) {
+                // Convert response entity to string
+                String responseBody = EntityUtils.toString(response.getEntity(), "UTF-8");
+                try {
+                    // Attempt to parse as JSON
+                    JSONObject json = new JSONObject(responseBody);
+                    httpResponseWrapper = new HttpResponseWrapper(responseCode, json);
+                } catch (JSONException e) {
+                    // If JSON parsing fails, return as plain string
+                    httpResponseWrapper = new HttpResponseWrapper(responseCode, responseBody);
                 }
             }
         }
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.utils;
+
+import com.autotune.operator.KruizeDeploymentInfo;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.security.KeyManagementException;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds one long-lived, connection pooled http client per datasource (and one for the Kruize loopback APIs)
+ * so that repeated queries against the same endpoint reuse kept-alive connections instead of paying
+ * a TCP + TLS handshake per call.
+ * <p>
+ * Pool sizes, idle eviction and timeouts are read from KruizeDeploymentInfo.
+ */
+public final class HttpClientPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientPool.class);
+    public static final String KRUIZE_POOL = "kruize";
+    private static final ConcurrentHashMap<String, PooledClient> pooledClients = new ConcurrentHashMap<>();
+
+    private HttpClientPool() {
+    }
+
+    /**
+     * Returns the shared client for the given pool, creating it on first use.
+     * The returned client must not be closed by the caller, close the responses instead.
+     *
+     * @param poolName datasource name, or KRUIZE_POOL for Kruize's own APIs
+     * @return CloseableHttpClient backed by the pool
+     */
+    public static CloseableHttpClient getClient(String poolName) throws NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
+        if (null == poolName)
+            poolName = KRUIZE_POOL;
+        PooledClient pooledClient = pooledClients.get(poolName);
+        if (null == pooledClient) {
+            synchronized (pooledClients) {
+                pooledClient = pooledClients.get(poolName);
+                if (null == pooledClient) {
+                    pooledClient = createPooledClient(poolName);
+                    pooledClients.put(poolName, pooledClient);
+                }
+            }
+        }
+        return pooledClient.httpClient;
+    }
+
+    /**
+     * Per-request timeouts applied on top of the pooled client
+     *
+     * @return RequestConfig built from the deployment configuration
+     */
+    public static RequestConfig getRequestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout(KruizeDeploymentInfo.http_connect_timeout_in_millis)
+                .setConnectionRequestTimeout(KruizeDeploymentInfo.http_connect_timeout_in_millis)
+                .setSocketTimeout(KruizeDeploymentInfo.http_socket_timeout_in_millis)
+                .build();
+    }
+
+    /**
+     * Closes and forgets the pool for the given name, used when a datasource is deleted or updated
+     *
+     * @param poolName datasource name
+     */
+    public static void evict(String poolName) {
+        if (null == poolName)
+            return;
+        PooledClient pooledClient = pooledClients.remove(poolName);
+        if (null != pooledClient)
+            pooledClient.close();
+    }
+
+    /**
+     * Closes all the pools, invoked on shutdown
+     */
+    public static void shutdown() {
+        for (String poolName : pooledClients.keySet()) {
+            evict(poolName);
+        }
+    }
+
+    private static PooledClient createPooledClient(String poolName) throws NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
+        SSLContext sslContext = SSLContexts.custom().loadTrustMaterial((chain, authType) -> true).build();  // Trust all certificates
+        SSLConnectionSocketFactory sslConnectionSocketFactory =
+                new SSLConnectionSocketFactory(sslContext, new String[]{"TLSv1.2"}, null, NoopHostnameVerifier.INSTANCE);
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register(KruizeConstants.HttpConstants.HTTP, PlainConnectionSocketFactory.getSocketFactory())
+                .register(KruizeConstants.HttpConstants.HTTPS, sslConnectionSocketFactory)
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(KruizeDeploymentInfo.http_max_connections_total);
+        connectionManager.setDefaultMaxPerRoute(KruizeDeploymentInfo.http_max_connections_per_route);
+        // revalidate connections that sat idle long enough for the server to have dropped them
+        connectionManager.setValidateAfterInactivity(KruizeConstants.HttpConstants.VALIDATE_AFTER_INACTIVITY_MS);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .setDefaultRequestConfig(getRequestConfig())
+                .evictExpiredConnections()
+                .evictIdleConnections(KruizeDeploymentInfo.http_idle_connection_timeout_in_secs, TimeUnit.SECONDS)
+                .build();
+
+        MetricsConfig.registerHttpPoolMetrics(poolName, connectionManager);
+        LOGGER.debug(KruizeConstants.HttpConstants.HTTP_POOL_CREATED, poolName,
+                KruizeDeploymentInfo.http_max_connections_per_route, KruizeDeploymentInfo.http_max_connections_total);
+        return new PooledClient(poolName, httpClient, connectionManager);
+    }
+
+    private static class PooledClient {
+        private final String poolName;
+        private final CloseableHttpClient httpClient;
+        private final PoolingHttpClientConnectionManager connectionManager;
+
+        private PooledClient(String poolName, CloseableHttpClient httpClient, PoolingHttpClientConnectionManager connectionManager) {
+            this.poolName = poolName;
+            this.httpClient = httpClient;
+            this.connectionManager = connectionManager;
+        }
+
+        private void close() {
+            MetricsConfig.removeHttpPoolMetrics(poolName);
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                LOGGER.warn(KruizeConstants.HttpConstants.HTTP_POOL_CLOSE_FAILED, poolName, e.getMessage());
+            } finally {
+                connectionManager.shutdown();
+            }
+        }
+    }
+}
@@ -395,7 +395,21 @@ public class KruizeConstants {
         }
     }
 
+    public static class KubernetesClientConstants {
+        public static final String WATCH_QUERY = "watch=true";
+        public static final String CLIENT_CREATED = "Created shared Kubernetes client for {} with qps: {}, burst: {}, maxConcurrentRequests: {}";
+
+        private KubernetesClientConstants() {
+        }
+    }
+
     public static class HttpConstants {
+        public static final String HTTP = "http";
+        public static final String HTTPS = "https";
+        public static final int VALIDATE_AFTER_INACTIVITY_MS = 2000;
+        public static final String HTTP_POOL_CREATED = "Created http connection pool for {} with maxPerRoute: {}, maxTotal: {}";
+        public static final String HTTP_POOL_CLOSE_FAILED = "Failed to close http connection pool for {} due to {}";
+
         private HttpConstants() {
         }
 
@@ -457,6 +471,10 @@ public class KruizeConstants {
         public static final String PROMETHEUS_REACHABILITY_QUERY = "up";
         public static final String DATASOURCE_ENDPOINT_WITH_QUERY_RANGE = "%s/api/v1/query_range?query=%s&start=%s&end=%s&step=%s";
         public static final String DATE_ENDPOINT_WITH_QUERY = "%s/api/v1/query?query=%s";
+        public static final String DATE_ENDPOINT_WITH_QUERY_AT_TIME = "%s/api/v1/query?query=%s&time=%s";
+        public static final String QUERY_THREAD_NAME_PREFIX = "datasource-query-";
+        public static final long QUERY_THREAD_KEEP_ALIVE_SECS = 60;
+        public static final String QUERY_EXECUTOR_CREATED = "Created query executor for datasource {} with concurrency {}";
 
         private DataSourceConstants() {
         }
@@ -533,6 +551,10 @@ public class KruizeConstants {
             public static final String METRIC = "metric";
             public static final String VALUE = "value";
             public static final String VALUES = "values";
+            public static final String RESULT_TYPE = "resultType";
+            public static final String WARNINGS = "warnings";
+            public static final String POSITIVE_INF = "+Inf";
+            public static final String NEGATIVE_INF = "-Inf";
 
             private DataSourceQueryJSONKeys() {
             }
@@ -674,6 +696,8 @@ public class KruizeConstants {
             public static final String VALUE_NEGATIVE = "Value cannot be negative";
             public static final String INVALID_MEM_FORMAT = "Invalid format: Supported formats are bytes, KB, KiB, MB, MiB, GB, GiB, etc.";
             public static final String EMPTY_NOTIFICATIONS_OBJECT ="Notifications Object passed is empty. The notifications are not sent as part of recommendation.";
+            public static final String INVALID_SKETCH_ACCURACY = "Relative accuracy of the percentile sketch must be between 0 and 1, given: ";
+            public static final String SKETCH_ACCURACY_MISMATCH = "Percentile sketches of different relative accuracies cannot be merged";
         }
     }
 
@@ -768,6 +792,10 @@ public class KruizeConstants {
         public static final String CLOUDWATCH_LOGS_REGION = "logging_cloudwatch_region";
         public static final String CLOUDWATCH_LOGS_LOG_STREAM = "logging_cloudwatch_logStream";
         public static final String CLOUDWATCH_LOGS_LOG_LEVEL = "logging_cloudwatch_logLevel";
+        public static final String CLOUDWATCH_LOGS_QUEUE_SIZE = "logging_cloudwatch_queueSize";
+        public static final String CLOUDWATCH_LOGS_BATCH_SIZE = "logging_cloudwatch_batchSize";
+        public static final String CLOUDWATCH_LOGS_FLUSH_INTERVAL_IN_MILLIS = "logging_cloudwatch_flushIntervalInMillis";
+        public static final String CLOUDWATCH_LOGS_BLOCK_ON_FULL_IN_MILLIS = "logging_cloudwatch_blockOnFullInMillis";
         public static final String LOCAL = "local";
         public static final String LOG_HTTP_REQ_RESP = "logAllHttpReqAndResp";
         public static final String RECOMMENDATIONS_URL = "recommendationsURL";
@@ -776,13 +804,36 @@ public class KruizeConstants {
         public static final String TEST_USE_ONLY_CACHE_JOB_IN_MEM = "testUseOnlycacheJobInMemory";
         public static final String JOB_FILTER_TO_DB = "jobFilterToDB";
         public static final String BULK_THREAD_POOL_SIZE = "bulkThreadPoolSize";
+        public static final String BULK_MAX_CONCURRENCY = "bulkMaxConcurrency";
         public static final String EXPERIMENT_NAME_FORMAT = "experimentNameFormat";
         public static final String IS_ROS_ENABLED = "isROSEnabled";
         public static final String DATASOURCE_VIA_ENV = "datasource";
         public static final String METADATA_PROFILE_FILE_PATH = "metadataProfileFilePath";
         public static final String METRIC_PROFILE_FILE_PATH = "metricProfileFilePath";
         public static final String IS_KAFKA_ENABLED = "isKafkaEnabled";
+        public static final String KAFKA_LINGER_MS = "kafkaLingerMs";
+        public static final String KAFKA_BATCH_SIZE = "kafkaBatchSize";
+        public static final String KAFKA_COMPRESSION_TYPE = "kafkaCompressionType";
+        public static final String KAFKA_ENABLE_IDEMPOTENCE = "kafkaEnableIdempotence";
+        public static final String KAFKA_MAX_IN_FLIGHT_MESSAGES = "kafkaMaxInFlightMessages";
+        public static final String KAFKA_CONSUMER_THREADS = "kafkaConsumerThreads";
+        public static final String KAFKA_MAX_RECORD_ATTEMPTS = "kafkaMaxRecordAttempts";
+        public static final String AUTOSCALER_THREADS = "autoscalerThreads";
+        public static final String KUBERNETES_CLIENT_QPS = "kubernetesClientQps";
+        public static final String KUBERNETES_CLIENT_BURST = "kubernetesClientBurst";
+        public static final String KUBERNETES_CLIENT_MAX_CONCURRENT_REQUESTS = "kubernetesClientMaxConcurrentRequests";
         public static final String ADJUST_MEM_USAGE = "adjustMemUsage";
+        public static final String HTTP_MAX_CONNECTIONS_PER_ROUTE = "httpMaxConnectionsPerRoute";
+        public static final String HTTP_MAX_CONNECTIONS_TOTAL = "httpMaxConnectionsTotal";
+        public static final String HTTP_IDLE_CONNECTION_TIMEOUT_IN_SECS = "httpIdleConnectionTimeoutInSecs";
+        public static final String HTTP_CONNECT_TIMEOUT_IN_MILLIS = "httpConnectTimeoutInMillis";
+        public static final String HTTP_SOCKET_TIMEOUT_IN_MILLIS = "httpSocketTimeoutInMillis";
+        public static final String DATASOURCE_QUERY_CONCURRENCY = "datasourceQueryConcurrency";
+        public static final String CONTAINER_QUERY_BATCH_SIZE = "containerQueryBatchSize";
+        public static final String EXPERIMENT_CACHE_SIZE = "experimentCacheSize";
+        public static final String EXPERIMENT_CACHE_TTL_IN_SECS = "experimentCacheTtlInSecs";
+        public static final String TERM_AGGREGATES_MAX_CONTAINERS = "termAggregatesMaxContainers";
+        public static final String TERM_PERCENTILE_SKETCH_MIN_DAYS = "termPercentileSketchMinDays";
     }
 
     public static final class RecommendationEngineConstants {
@@ -877,6 +928,23 @@ public class KruizeConstants {
         public static final String OAUTH2 = "oauth2";
         public static final String UNKNOWN_AUTHENTICATION = "Unknown authentication type: ";
         public static final String AUTHORIZATION = "Authorization";
+        public static final String BEARER_PREFIX = "Bearer ";
+        public static final String OAUTH2_ACCESS_TOKEN = "access_token";
+        public static final String OAUTH2_EXPIRES_IN = "expires_in";
+        // lifetime assumed for tokens returned without expires_in
+        public static final long OAUTH2_DEFAULT_TOKEN_LIFETIME_SECS = 300;
+        public static final long OAUTH2_TOKEN_EXPIRY_MARGIN_SECS = 30;
+        public static final long OAUTH2_TOKEN_TIMEOUT_SECS = 10;
+        public static final int OAUTH2_TOKEN_FETCH_ATTEMPTS = 3;
+        public static final long OAUTH2_TOKEN_RETRY_BACKOFF_MILLIS = 500;
+        // requests retried with a new token when the datasource answers 401
+        public static final int UNAUTHORIZED_RETRIES = 2;
+        public static final long UNAUTHORIZED_RETRY_BACKOFF_MILLIS = 200;
+        public static final String OAUTH2_TOKEN_FETCH_ERROR = "Error fetching OAuth2 token";
+        public static final String OAUTH2_TOKEN_FETCH_FAILED = "Failed to fetch OAuth2 token: ";
+        public static final String OAUTH2_TOKEN_FETCH_RETRY = "OAuth2 token fetch attempt {} failed, retrying: {}";
+        public static final String OAUTH2_NO_ACCESS_TOKEN = "No access token found in response";
+        public static final String UNAUTHORIZED_RETRY = "Datasource rejected the credentials, retrying with a new token, attempt {}";
 
     }
 
@@ -898,8 +966,27 @@ public class KruizeConstants {
         public static final String EXPERIMENTS = "experiments";
         public static final String EXPERIMENTS_FILTER = "experimentFilter";
         public static final String JOB_FILTER = "jobFilter";
+        public static final String EXPERIMENTS_OFFSET = "offset";
+        public static final String EXPERIMENTS_LIMIT = "limit";
+        public static final String INVALID_PAGING_PARAMETER = "Invalid paging parameter %s, offset and limit must be non-negative integers";
         public static final String BULK_JOB_SAVE_ERROR = "Not able to save experiment due to {}";
         public static final String BULK_JOB_LOAD_ERROR = "Not able to load bulk JOB {} due to {}";
+        public static final String BULK_JOB_CHECKPOINT_ERROR = "Not able to checkpoint experiment {} of bulk job {} due to {}";
+        public static final String BULK_JOB_HEARTBEAT_ERROR = "Not able to refresh the checkpoint time of the running bulk jobs due to {}";
+        public static final String BULK_JOB_CLAIM_ERROR = "Not able to claim abandoned bulk jobs due to {}";
+        public static final String BULK_JOB_RESUMING = "Resuming bulk job {} from its checkpoint";
+        public static final String BULK_JOB_RESUMED = "Bulk job {} resumed with {} of {} experiments already done";
+        // running jobs are checkpointed at least this often, jobs without a checkpoint for longer are resumed elsewhere
+        public static final int BULK_JOB_HEARTBEAT_INTERVAL_SECS = 60;
+        public static final int BULK_JOB_STALE_AFTER_SECS = 300;
+        // adaptive limits on the concurrent calls made by bulk jobs
+        public static final String DB_LIMITER = "db";
+        public static final String DATASOURCE_LIMITER_PREFIX = "datasource:";
+        public static final int CONCURRENCY_MIN_LIMIT = 1;
+        public static final double CONCURRENCY_BACKOFF_RATIO = 0.75;
+        public static final double CONCURRENCY_LATENCY_TOLERANCE = 2.0;
+        public static final double CONCURRENCY_LATENCY_SMOOTHING = 0.1;
+        public static final String CONCURRENCY_LIMIT_DECREASED = "Bulk concurrency limit of {} decreased to {}";
 
 
         // TODO : Bulk API Create Experiments defaults
@@ -1090,6 +1177,20 @@ public class KruizeConstants {
         public static final String KAFKA_PUBLISH_FAILED = "Failed to publish to Kafka: {}";
 
         public static final String MESSAGE_RECEIVED_SUCCESSFULLY = "Received Input: Request_Id={}, Value={}, Partition={}, Offset={}";
+        public static final String KAFKA_CONSUMER_ERROR = "Kafka consumer stopped due to {}";
+        public static final String KAFKA_CONSUMER_CLOSED = "Kafka consumer closed.";
+        public static final String KAFKA_RECORD_FAILED = "Failed to process the record of topic {} at partition {} and offset {}, to be retried: {}";
+        public static final String KAFKA_RECORD_SKIPPED = "Failed to process the record of topic {} at partition {} and offset {} after {} attempts, skipped: {}";
+        public static final String BULK_JOB_ALREADY_SUBMITTED = "Bulk job {} of request {} was already submitted";
+        public static final String KAFKA_COMMIT_FAILED = "Failed to commit the Kafka offsets: {}";
+        public static final String KAFKA_INPUT_REJECTED = "Rejected the input of request {} in topic {}: {}";
+        public static final String BULK_JOB_SUBMITTED = "Submitted bulk job {} for request {}";
+        public static final String EMPTY_INPUT = "Empty input in topic %s";
+        public static final String DEFAULT_CONSUMER_GROUP_ID = "kruize";
+        public static final String EARLIEST = "earliest";
+        public static final long POLL_TIMEOUT_MILLIS = 100;
+        public static final long RETRY_BACKOFF_MILLIS = 5000;
+        public static final long CONSUMER_SHUTDOWN_TIMEOUT_SECS = 30;
 
     }
 }
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.utils;
+
+import com.autotune.operator.KruizeDeploymentInfo;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.http.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the one Kubernetes client shared by the whole Kruize instance, so that its connection pool, threads and
+ * configuration are set up once instead of per caller.
+ * <p>
+ * The requests sent through it are limited to {@code kubernetesClientQps} per second with bursts of
+ * {@code kubernetesClientBurst}, watches excepted as they are long-lived, and counted by method and status.
+ */
+public final class KubernetesClientProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesClientProvider.class);
+    private static final String INTERCEPTOR_NAME = "kruize-rate-limit";
+    // threads of the event loop the http client runs its callbacks on
+    private static final String EVENT_LOOP_THREAD_PREFIX = "vert.x-eventloop";
+    private static volatile KubernetesClient client;
+
+    private KubernetesClientProvider() {
+    }
+
+    /**
+     * Returns the shared client, creating it on first use.
+     * The returned client must not be closed by the caller.
+     *
+     * @return KubernetesClient of the cluster Kruize runs in
+     */
+    public static KubernetesClient getClient() {
+        KubernetesClient current = client;
+        if (null != current) {
+            return current;
+        }
+        synchronized (KubernetesClientProvider.class) {
+            if (null == client) {
+                Config config = Config.autoConfigure(null);
+                config.setMaxConcurrentRequests(KruizeDeploymentInfo.kubernetes_client_max_concurrent_requests);
+                config.setMaxConcurrentRequestsPerHost(KruizeDeploymentInfo.kubernetes_client_max_concurrent_requests);
+                RequestRateLimiter rateLimiter = new RequestRateLimiter(KruizeDeploymentInfo.kubernetes_client_qps,
+                        KruizeDeploymentInfo.kubernetes_client_burst, System::nanoTime);
+                client = new KubernetesClientBuilder()
+                        .withConfig(config)
+                        .withHttpClientBuilderConsumer(builder -> builder.addOrReplaceInterceptor(INTERCEPTOR_NAME,
+                                new RateLimitingInterceptor(rateLimiter)))
+                        .build();
+                LOGGER.debug(KruizeConstants.KubernetesClientConstants.CLIENT_CREATED, config.getMasterUrl(),
+                        KruizeDeploymentInfo.kubernetes_client_qps, KruizeDeploymentInfo.kubernetes_client_burst,
+                        KruizeDeploymentInfo.kubernetes_client_max_concurrent_requests);
+            }
+            return client;
+        }
+    }
+
+    /**
+     * Closes the shared client, invoked on shutdown
+     */
+    public static synchronized void shutdown() {
+        if (null != client) {
+            client.close();
+            client = null;
+        }
+    }
+
+    private static void countRequest(HttpRequest request, String status) {
+        Counter.builder(MetricsConfig.KUBERNETES_REQUESTS_METRIC).description(MetricsConfig.KUBERNETES_REQUESTS_METRIC_DESC)
+                .tags("method", request.method(), "status", status).register(MetricsConfig.meterRegistry()).increment();
+    }
+
+    private static boolean isWatch(HttpRequest request) {
+        String query = request.uri().getRawQuery();
+        return null != query && query.contains(KruizeConstants.KubernetesClientConstants.WATCH_QUERY);
+    }
+
+    /**
+     * Waits for the rate limiter before each request is sent, and counts the responses
+     */
+    private static final class RateLimitingInterceptor implements Interceptor {
+        private final RequestRateLimiter rateLimiter;
+        private final Timer throttleTimer;
+
+        private RateLimitingInterceptor(RequestRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            this.throttleTimer = Timer.builder(MetricsConfig.KUBERNETES_THROTTLE_METRIC)
+                    .description(MetricsConfig.KUBERNETES_THROTTLE_METRIC_DESC)
+                    .register(MetricsConfig.meterRegistry());
+        }
+
+        @Override
+        public void before(BasicBuilder builder, HttpRequest request, RequestTags tags) {
+            // the event loop of the http client must never block, the requests it retries are let through
+            if (isWatch(request) || Thread.currentThread().getName().startsWith(EVENT_LOOP_THREAD_PREFIX))
+                return;
+            try {
+                throttleTimer.record(rateLimiter.acquire(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void after(HttpRequest request, HttpResponse<?> response, AsyncBody.Consumer<List<ByteBuffer>> consumer) {
+            countRequest(request, (response.code() / 100) + "xx");
+        }
+
+        @Override
+        public void afterConnectionFailure(HttpRequest request, Throwable failure) {
+            countRequest(request, "error");
+        }
+    }
+}
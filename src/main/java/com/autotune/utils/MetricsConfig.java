@@ -2,6 +2,7 @@ package com.autotune.utils;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
@@ -11,6 +12,7 @@ import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
 import io.micrometer.core.instrument.config.NamingConvention;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -46,6 +48,28 @@ public class MetricsConfig {
     public String API_METRIC_DESC = "Time taken for Kruize APIs";
     public String DB_METRIC_DESC = "Time taken for KruizeDB methods";
     public String METHOD_METRIC_DESC = "Time taken for Kruize methods";
+    public static final String HTTP_POOL_METRIC = "kruizeHttpPool";
+    public static final String HTTP_POOL_METRIC_DESC = "Connections in the Kruize http client pool";
+    public static final String EXPERIMENT_CACHE_METRIC = "kruizeExperimentCache";
+    public static final String EXPERIMENT_CACHE_SIZE_METRIC = "kruizeExperimentCacheSize";
+    public static final String EXPERIMENT_CACHE_METRIC_DESC = "Lookups and size of the Kruize experiment cache";
+    public static final String CLOUDWATCH_LOG_EVENTS_METRIC = "kruizeCloudWatchLogEvents";
+    public static final String CLOUDWATCH_LOG_QUEUE_METRIC = "kruizeCloudWatchLogQueue";
+    public static final String CLOUDWATCH_LOG_METRIC_DESC = "Log events queued, sent and dropped by the CloudWatch appender";
+    public static final String BULK_CONCURRENCY_METRIC = "kruizeBulkConcurrency";
+    public static final String BULK_CONCURRENCY_METRIC_DESC = "Limit and in flight calls of the bulk job concurrency limiters";
+    public static final String KAFKA_PRODUCER_METRIC = "kruizeKafkaProducer";
+    public static final String KAFKA_PRODUCER_METRIC_DESC = "Kafka messages in flight and publishers waiting for them to be acknowledged";
+    public static final String KAFKA_MESSAGES_METRIC = "kruizeKafkaMessages";
+    public static final String KAFKA_MESSAGES_METRIC_DESC = "Kafka messages acknowledged or failed, by topic";
+    public static final String KAFKA_INPUT_METRIC = "kruizeKafkaInput";
+    public static final String KAFKA_INPUT_METRIC_DESC = "Kafka input records processed or failed, by topic";
+    public static final String AUTOSCALER_TICK_METRIC = "kruizeAutoscalerTick";
+    public static final String AUTOSCALER_TICK_METRIC_DESC = "Time taken by the autoscaler to reconcile the auto and recreate mode experiments";
+    public static final String KUBERNETES_REQUESTS_METRIC = "kruizeKubernetesRequests";
+    public static final String KUBERNETES_REQUESTS_METRIC_DESC = "Requests sent to the Kubernetes API server by the shared client, by method and status";
+    public static final String KUBERNETES_THROTTLE_METRIC = "kruizeKubernetesThrottle";
+    public static final String KUBERNETES_THROTTLE_METRIC_DESC = "Time Kubernetes API requests waited for the client rate limiter";
     public static final AtomicInteger activeJobs = new AtomicInteger(0);
     public static Gauge.Builder timerBBulkRunJobs;
 
@@ -112,6 +136,28 @@ public class MetricsConfig {
         meterRegistry.config().namingConvention(NamingConvention.dot);
     }
 
+    /**
+     * Registers leased / available / pending connection gauges for a pooled http client
+     *
+     * @param poolName          name of the pool, usually the datasource name
+     * @param connectionManager pooling connection manager backing the client
+     */
+    public static void registerHttpPoolMetrics(String poolName, PoolingHttpClientConnectionManager connectionManager) {
+        Gauge.builder(HTTP_POOL_METRIC, connectionManager, m -> m.getTotalStats().getLeased()).description(HTTP_POOL_METRIC_DESC)
+                .tags("pool", poolName, "state", "leased").register(meterRegistry());
+        Gauge.builder(HTTP_POOL_METRIC, connectionManager, m -> m.getTotalStats().getAvailable()).description(HTTP_POOL_METRIC_DESC)
+                .tags("pool", poolName, "state", "available").register(meterRegistry());
+        Gauge.builder(HTTP_POOL_METRIC, connectionManager, m -> m.getTotalStats().getPending()).description(HTTP_POOL_METRIC_DESC)
+                .tags("pool", poolName, "state", "pending").register(meterRegistry());
+    }
+
+    public static void removeHttpPoolMetrics(String poolName) {
+        PrometheusMeterRegistry registry = meterRegistry();
+        for (Meter meter : registry.find(HTTP_POOL_METRIC).tag("pool", poolName).meters()) {
+            registry.remove(meter);
+        }
+    }
+
     public static PrometheusMeterRegistry meterRegistry() {
         if (INSTANCE == null) {
             synchronized (MetricsConfig.class) {
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, IBM Corporation and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.autotune.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting requests to a steady rate per second, letting up to burst requests through at once after
+ * a quiet period. A request that finds no token left reserves the next one, so callers are served in turn.
+ */
+public class RequestRateLimiter {
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param qps       steady number of requests per second
+     * @param burst     most requests let through at once
+     * @param nanoClock current time in nanoseconds
+     */
+    public RequestRateLimiter(double qps, int burst, LongSupplier nanoClock) {
+        this.permitsPerNano = Math.max(qps, Double.MIN_NORMAL) / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token, reserving the next one if none is left
+     *
+     * @return nanoseconds to wait before sending the request, 0 if it can be sent at once
+     */
+    public synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        tokens -= 1;
+        return (tokens >= 0) ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+
+    /**
+     * Takes a token, waiting for it if none is left
+     *
+     * @return nanoseconds waited
+     */
+    public long acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return waitNanos;
+    }
+}
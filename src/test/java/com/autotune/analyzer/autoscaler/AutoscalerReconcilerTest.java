@@ -0,0 +1,197 @@
+package com.autotune.analyzer.autoscaler;
+
+import com.autotune.analyzer.exceptions.ApplyRecommendationsError;
+import com.autotune.analyzer.kruizeObject.KruizeObject;
+import com.autotune.analyzer.recommendations.ContainerRecommendations;
+import com.autotune.analyzer.recommendations.RecommendationConfigItem;
+import com.autotune.analyzer.recommendations.objects.MappedRecommendationForModel;
+import com.autotune.analyzer.recommendations.objects.MappedRecommendationForTimestamp;
+import com.autotune.analyzer.recommendations.objects.TermRecommendations;
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.common.data.result.ContainerData;
+import com.autotune.common.k8sObjects.K8sObject;
+import com.autotune.utils.KruizeConstants;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AutoscalerReconciler
+ */
+public class AutoscalerReconcilerTest {
+    private static final long INTERVAL = 60_000;
+    private static final long RESYNC = 1_800_000;
+
+    private final Map<String, KruizeObject> experiments = new ConcurrentHashMap<>();
+    // cpu recommended for each experiment
+    private final Map<String, Double> cpu = new ConcurrentHashMap<>();
+    private final List<String> generated = new CopyOnWriteArrayList<>();
+    private final List<String> applied = new CopyOnWriteArrayList<>();
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private AutoscalerReconciler newReconciler(AutoscalerReconciler.RecommendationApplier applier) {
+        return new AutoscalerReconciler(() -> new HashMap<>(experiments), name -> {
+            generated.add(name);
+            return withRecommendation(experiments.get(name), cpu.get(name));
+        }, applier, 2, INTERVAL, RESYNC, clock::get);
+    }
+
+    private AutoscalerReconciler newReconciler() {
+        return newReconciler(kruizeObject -> applied.add(kruizeObject.getExperimentName()));
+    }
+
+    private void addExperiment(String name, String namespace, double cpuAmount) {
+        KruizeObject kruizeObject = new KruizeObject();
+        kruizeObject.setExperimentName(name);
+        kruizeObject.setMode(AnalyzerConstants.AUTO);
+        kruizeObject.setKubernetes_objects(List.of(new K8sObject(name + "-deployment", "deployment", namespace)));
+        experiments.put(name, kruizeObject);
+        cpu.put(name, cpuAmount);
+    }
+
+    private static KruizeObject withRecommendation(KruizeObject experiment, double cpuAmount) {
+        HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> requests = new HashMap<>();
+        requests.put(AnalyzerConstants.RecommendationItem.CPU, new RecommendationConfigItem(cpuAmount, "cores"));
+        HashMap<AnalyzerConstants.ResourceSetting, HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem>> config = new HashMap<>();
+        config.put(AnalyzerConstants.ResourceSetting.requests, requests);
+        MappedRecommendationForModel model = new MappedRecommendationForModel();
+        model.setConfig(config);
+        TermRecommendations term = new TermRecommendations();
+        term.setRecommendationForEngineHashMap(KruizeConstants.JSONKeys.COST, model);
+        MappedRecommendationForTimestamp recommendation = new MappedRecommendationForTimestamp();
+        recommendation.setRecommendationForTermHashMap(new HashMap<>(Map.of(KruizeConstants.JSONKeys.SHORT_TERM, term)));
+        ContainerRecommendations containerRecommendations = new ContainerRecommendations();
+        containerRecommendations.setData(new HashMap<>(Map.of(new Timestamp(0), recommendation)));
+        ContainerData containerData = new ContainerData("app", "app:latest", containerRecommendations, null);
+
+        K8sObject source = experiment.getKubernetes_objects().get(0);
+        K8sObject k8sObject = new K8sObject(source.getName(), source.getType(), source.getNamespace());
+        k8sObject.setContainerDataMap(new HashMap<>(Map.of("app", containerData)));
+        KruizeObject kruizeObject = new KruizeObject();
+        kruizeObject.setExperimentName(experiment.getExperimentName());
+        kruizeObject.setMode(experiment.getMode());
+        kruizeObject.setKubernetes_objects(List.of(k8sObject));
+        return kruizeObject;
+    }
+
+    @Test
+    void testOnlyDueExperimentsProcessed() throws InterruptedException {
+        addExperiment("exp1", "ns1", 1.0);
+        addExperiment("exp2", "ns2", 2.0);
+        AutoscalerReconciler reconciler = newReconciler();
+        assertEquals(2, reconciler.reconcile());
+        assertEquals(Set.of("exp1", "exp2"), new HashSet<>(applied));
+        // nothing due before the interval passed
+        clock.addAndGet(INTERVAL / 2);
+        assertEquals(0, reconciler.reconcile());
+        // a new experiment doesn't wait
+        addExperiment("exp3", "ns1", 3.0);
+        assertEquals(1, reconciler.reconcile());
+        assertEquals(3, applied.size());
+        reconciler.shutdown();
+    }
+
+    @Test
+    void testUnchangedRecommendationsNotApplied() throws InterruptedException {
+        addExperiment("exp1", "ns1", 1.0);
+        AutoscalerReconciler reconciler = newReconciler();
+        reconciler.reconcile();
+        clock.addAndGet(INTERVAL);
+        assertEquals(1, reconciler.reconcile());
+        assertEquals(2, generated.size());
+        assertEquals(List.of("exp1"), applied);
+        // applied once changed
+        cpu.put("exp1", 1.5);
+        clock.addAndGet(INTERVAL);
+        reconciler.reconcile();
+        assertEquals(List.of("exp1", "exp1"), applied);
+        // and again once the resync interval passed
+        clock.addAndGet(RESYNC);
+        reconciler.reconcile();
+        assertEquals(3, applied.size());
+        reconciler.shutdown();
+    }
+
+    @Test
+    void testChangedExperimentProcessedAtOnce() throws InterruptedException {
+        addExperiment("exp1", "ns1", 1.0);
+        AutoscalerReconciler reconciler = newReconciler();
+        reconciler.reconcile();
+        experiments.get("exp1").setMode(AnalyzerConstants.RECREATE);
+        assertEquals(1, reconciler.reconcile());
+        // applied again for the new definition even if the recommendations are the same
+        assertEquals(List.of("exp1", "exp1"), applied);
+        reconciler.shutdown();
+    }
+
+    @Test
+    void testFailedApplyRetried() throws InterruptedException {
+        addExperiment("exp1", "ns1", 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        AutoscalerReconciler reconciler = newReconciler(kruizeObject -> {
+            if (attempts.incrementAndGet() == 1)
+                throw new ApplyRecommendationsError("VPA not reachable");
+            applied.add(kruizeObject.getExperimentName());
+        });
+        reconciler.reconcile();
+        assertTrue(applied.isEmpty());
+        clock.addAndGet(INTERVAL);
+        reconciler.reconcile();
+        assertEquals(List.of("exp1"), applied);
+        reconciler.shutdown();
+    }
+
+    @Test
+    void testNamespacesInParallelAndInOrder() throws InterruptedException {
+        addExperiment("a1", "ns-a", 1.0);
+        addExperiment("a2", "ns-a", 1.0);
+        addExperiment("b1", "ns-b", 1.0);
+        CountDownLatch bothNamespaces = new CountDownLatch(2);
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger maxPerNamespace = new AtomicInteger();
+        AutoscalerReconciler reconciler = newReconciler(kruizeObject -> {
+            String namespace = kruizeObject.getKubernetes_objects().get(0).getNamespace();
+            int count = running.computeIfAbsent(namespace, key -> new AtomicInteger()).incrementAndGet();
+            maxPerNamespace.accumulateAndGet(count, Math::max);
+            bothNamespaces.countDown();
+            try {
+                // waits for the other namespace, which only returns if they are processed at the same time
+                assertTrue(bothNamespaces.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            applied.add(kruizeObject.getExperimentName());
+            running.get(namespace).decrementAndGet();
+        });
+        assertEquals(3, reconciler.reconcile());
+        assertEquals(3, applied.size());
+        assertEquals(1, maxPerNamespace.get());
+        reconciler.shutdown();
+    }
+
+    @Test
+    void testFailedLoadKeepsState() throws InterruptedException {
+        addExperiment("exp1", "ns1", 1.0);
+        AtomicInteger loads = new AtomicInteger();
+        AutoscalerReconciler reconciler = new AutoscalerReconciler(
+                // the second load fails
+                () -> loads.incrementAndGet() == 2 ? null : new HashMap<>(experiments),
+                name -> withRecommendation(experiments.get(name), cpu.get(name)),
+                kruizeObject -> applied.add(kruizeObject.getExperimentName()), 2, INTERVAL, RESYNC, clock::get);
+        assertEquals(1, reconciler.reconcile());
+        assertEquals(0, reconciler.reconcile());
+        // still known once loaded again, so not due before the interval passed
+        assertEquals(0, reconciler.reconcile());
+        assertEquals(List.of("exp1"), applied);
+        reconciler.shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+package com.autotune.analyzer.autoscaler.accelerator.utils;
+
+import com.autotune.analyzer.recommendations.RecommendationConfigItem;
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AcceleratorAutoscalerUtils
+ */
+public class AcceleratorAutoscalerUtilsTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static Container container() {
+        return new ContainerBuilder()
+                .withName("inference")
+                .withNewResources()
+                    .addToRequests("cpu", new Quantity("1"))
+                    .addToRequests("ephemeral-storage", new Quantity("1Gi"))
+                    .addToLimits("nvidia.com/mig-1g.5gb", new Quantity("1"))
+                .endResources()
+                .build();
+    }
+
+    @Test
+    void testRecommendedQuantities() {
+        HashMap<AnalyzerConstants.RecommendationItem, RecommendationConfigItem> limits = new HashMap<>();
+        limits.put(AnalyzerConstants.RecommendationItem.MEMORY, new RecommendationConfigItem(512.0, "Mi"));
+        limits.put(AnalyzerConstants.RecommendationItem.NVIDIA_GPU_PARTITION_2_CORES_20GB, new RecommendationConfigItem(1.0, "cores"));
+        Map<String, Quantity> quantities = AcceleratorAutoscalerUtils.getRecommendedQuantities(limits, true);
+        assertEquals(new Quantity("512", "Mi"), quantities.get("memory"));
+        // accelerators are counted, without unit
+        assertEquals(new Quantity("1"), quantities.get("nvidia.com/mig-2g.20gb"));
+        assertTrue(AcceleratorAutoscalerUtils.getRecommendedQuantities(null, false).isEmpty());
+    }
+
+    @Test
+    void testResourcesPatchOnlyChangesContainerResources() throws Exception {
+        Map<String, Quantity> requests = Map.of("cpu", new Quantity("2"), "memory", new Quantity("512", "Mi"));
+        Map<String, Quantity> limits = Map.of("nvidia.com/mig-2g.20gb", new Quantity("1"));
+        JsonNode patch = MAPPER.readTree(AcceleratorAutoscalerUtils.buildResourcesPatch("42", container(), requests, limits));
+
+        assertEquals("42", patch.at("/metadata/resourceVersion").asText());
+        JsonNode containers = patch.at("/spec/template/spec/containers");
+        assertEquals(1, containers.size());
+        assertEquals("inference", containers.get(0).get("name").asText());
+        JsonNode resources = containers.get(0).get("resources");
+        assertEquals("2", resources.at("/requests/cpu").asText());
+        assertEquals("512Mi", resources.at("/requests/memory").asText());
+        // resources that aren't accelerators are left as they are
+        assertFalse(resources.get("requests").has("ephemeral-storage"));
+        assertEquals("1", resources.at("/limits/nvidia.com~1mig-2g.20gb").asText());
+        // the partition no longer recommended is removed
+        assertTrue(resources.get("limits").has("nvidia.com/mig-1g.5gb"));
+        assertTrue(resources.get("limits").get("nvidia.com/mig-1g.5gb").isNull());
+    }
+
+    @Test
+    void testResourcesPatchWithoutResourceVersion() throws Exception {
+        JsonNode patch = MAPPER.readTree(AcceleratorAutoscalerUtils.buildResourcesPatch(null, new Container(), Map.of(), Map.of()));
+        assertFalse(patch.has("metadata"));
+        assertTrue(patch.at("/spec/template/spec/containers/0/resources/limits").isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+package com.autotune.analyzer.autoscaler.instaslice;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for InstasliceHelper
+ */
+public class InstasliceHelperTest {
+
+    private static Map<String, Object> allocation(String namespace, String podName, String gpuUUID, String profile) {
+        return Map.of("namespace", namespace, "podName", podName, "gpuUUID", gpuUUID, "profile", profile);
+    }
+
+    private static GenericKubernetesResource instaslice(String node, Map<String, Object> allocations) {
+        GenericKubernetesResource instaslice = new GenericKubernetesResource();
+        instaslice.setMetadata(new ObjectMetaBuilder().withName(node).withNamespace("instaslice-system").build());
+        instaslice.setAdditionalProperty("spec", Map.of("allocations", allocations));
+        return instaslice;
+    }
+
+    @Test
+    void testAllocationNamespaces() {
+        GenericKubernetesResource instaslice = instaslice("node-1", Map.of(
+                "pod-uid-1", allocation("Inference", "llm-7d9f-abcde", "GPU-1", "1g.5gb"),
+                "pod-uid-2", allocation("inference", "llm-7d9f-fghij", "GPU-1", "1g.5gb"),
+                "pod-uid-3", allocation("training", "trainer-0", "GPU-2", "3g.20gb")));
+        List<String> namespaces = InstasliceHelper.getAllocationNamespaces(instaslice);
+        assertEquals(2, namespaces.size());
+        assertTrue(namespaces.containsAll(List.of("inference", "training")));
+        // objects without allocations aren't indexed
+        assertTrue(InstasliceHelper.getAllocationNamespaces(new GenericKubernetesResource()).isEmpty());
+    }
+
+    @Test
+    void testFindAllocation() {
+        List<GenericKubernetesResource> instaslices = List.of(
+                instaslice("node-1", Map.of("pod-uid-1", allocation("inference", "llm-7d9f-abcde", "GPU-1", "1g.5gb"))),
+                instaslice("node-2", Map.of("pod-uid-2", allocation("training", "trainer-0", "GPU-2", "3g.20gb"))));
+        Map<String, Object> found = InstasliceHelper.findAllocation(instaslices, "training", "trainer");
+        assertEquals("GPU-2", found.get("gpuUUID"));
+        assertEquals("3g.20gb", found.get("profile"));
+        assertEquals("GPU-1", InstasliceHelper.findAllocation(instaslices, "INFERENCE", "llm").get("gpuUUID"));
+        assertNull(InstasliceHelper.findAllocation(instaslices, "inference", "trainer"));
+    }
+}
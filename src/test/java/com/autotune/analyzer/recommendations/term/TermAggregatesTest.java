@@ -0,0 +1,161 @@
+package com.autotune.analyzer.recommendations.term;
+
+import com.autotune.analyzer.recommendations.RecommendationConfigItem;
+import com.autotune.analyzer.recommendations.RecommendationConstants;
+import com.autotune.analyzer.recommendations.RecommendationNotification;
+import com.autotune.analyzer.recommendations.model.GenericRecommendationModel;
+import com.autotune.analyzer.recommendations.model.RecommendationTunables;
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.common.data.result.IntervalResultsColumns;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TermAggregates
+ */
+public class TermAggregatesTest {
+
+    private static final long INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final long START_TIME = 1700006400000L;
+    private final GenericRecommendationModel model = new GenericRecommendationModel("test-model",
+            new RecommendationTunables(98.0, 98.0, 98.0));
+
+    private static IntervalResultsColumns createResults(int count, long seed) {
+        return createResults(count, seed, -1, 0.0);
+    }
+
+    // results of count intervals, the interval at the given position has its cpu max replaced
+    private static IntervalResultsColumns createResults(int count, long seed, int replaced, double cpuMax) {
+        Random random = new Random(seed);
+        IntervalResultsColumns.Builder builder = new IntervalResultsColumns.Builder();
+        for (int i = 0; i < count; i++) {
+            long endTime = START_TIME + (i + 1) * INTERVAL_MILLIS;
+            double pods = 1 + random.nextInt(3);
+            double cpu = (i == replaced) ? cpuMax : 0.5 + 2 * random.nextDouble();
+            double memory = 100 + 400 * random.nextDouble();
+            double rss = memory * 0.8;
+            add(builder, endTime, AnalyzerConstants.MetricName.cpuUsage, cpu, cpu / 2, cpu * 0.75, pods, "cores");
+            add(builder, endTime, AnalyzerConstants.MetricName.memoryUsage, memory, memory / 2, memory * 0.75, pods, "MiB");
+            add(builder, endTime, AnalyzerConstants.MetricName.memoryRSS, rss, rss / 2, rss * 0.75, pods, "MiB");
+        }
+        return builder.build();
+    }
+
+    private static void add(IntervalResultsColumns.Builder builder, long endTime, AnalyzerConstants.MetricName metricName,
+                            double max, double min, double avg, double pods, String format) {
+        builder.add(endTime, 15.0, metricName, IntervalResultsColumns.Aggregation.max, max, format);
+        builder.add(endTime, 15.0, metricName, IntervalResultsColumns.Aggregation.min, min, format);
+        builder.add(endTime, 15.0, metricName, IntervalResultsColumns.Aggregation.avg, avg, format);
+        builder.add(endTime, 15.0, metricName, IntervalResultsColumns.Aggregation.sum, avg * pods, format);
+    }
+
+    private static Timestamp getLatestEndTime(IntervalResultsColumns results) {
+        return new Timestamp(results.getIntervalEndTime(results.size() - 1));
+    }
+
+    private void assertSameRecommendations(IntervalResultsColumns results, TermAggregates termAggregates, int days) {
+        Timestamp endTime = getLatestEndTime(results);
+        Timestamp startTime = new Timestamp(endTime.getTime() - days * DAY_MILLIS);
+        IntervalResultsColumns termResults = results.subRange(startTime, true, endTime, true);
+        TermAggregates.Window termWindow = termAggregates.getWindow(startTime, endTime, days);
+
+        assertEquals(termResults.size(), termWindow.size());
+        assertFalse(termWindow.isSketched());
+        RecommendationConfigItem cpuRequest = model.getCPURequestRecommendation(termResults, new ArrayList<>());
+        RecommendationConfigItem windowCpuRequest = model.getCPURequestRecommendation(termWindow, new ArrayList<RecommendationNotification>());
+        assertEquals(cpuRequest.getAmount(), windowCpuRequest.getAmount());
+        assertEquals(cpuRequest.getFormat(), windowCpuRequest.getFormat());
+        RecommendationConfigItem memRequest = model.getMemoryRequestRecommendation(termResults, new ArrayList<>());
+        RecommendationConfigItem windowMemRequest = model.getMemoryRequestRecommendation(termWindow, new ArrayList<RecommendationNotification>());
+        assertEquals(memRequest.getAmount(), windowMemRequest.getAmount());
+        assertEquals(memRequest.getFormat(), windowMemRequest.getFormat());
+    }
+
+    @Test
+    void testWindowsMatchResults() {
+        IntervalResultsColumns results = createResults(15 * 96, 1);
+        TermAggregates termAggregates = new TermAggregates();
+        termAggregates.update(results, new Timestamp(0));
+
+        assertEquals(results.size(), termAggregates.size());
+        for (int days : new int[]{1, 7, 14}) {
+            assertSameRecommendations(results, termAggregates, days);
+        }
+        // pods are the largest ratio of the cpu usage sum to its avg
+        double pods = 0;
+        for (int i = 0; i < results.size(); i++) {
+            pods = Math.max(pods, Math.ceil(results.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.sum, i)
+                    / results.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.avg, i)));
+        }
+        assertEquals((int) pods, termAggregates.getWindow(new Timestamp(0), getLatestEndTime(results), 1).getPodsCount());
+        assertTrue(termAggregates.getWindow(new Timestamp(0), new Timestamp(START_TIME), 1).isEmpty());
+    }
+
+    @Test
+    void testNewIntervalsFoldedAndExpiredEvicted() {
+        TermAggregates termAggregates = new TermAggregates();
+        IntervalResultsColumns results = createResults(2 * 96, 2);
+        termAggregates.update(results, new Timestamp(0));
+
+        // the results of the next refresh hold the same intervals plus newer ones
+        IntervalResultsColumns newResults = createResults(4 * 96, 2);
+        Timestamp retainedFrom = new Timestamp(getLatestEndTime(newResults).getTime() - DAY_MILLIS);
+        termAggregates.update(newResults, retainedFrom);
+
+        // only the intervals of the last two days were evaluated
+        assertEquals(newResults.size(), termAggregates.getFoldedCount());
+        assertEquals(newResults.subRange(retainedFrom, true, getLatestEndTime(newResults), true).size(), termAggregates.size());
+        assertTrue(termAggregates.getBucketCount() <= 2);
+        assertSameRecommendations(newResults, termAggregates, 1);
+    }
+
+    @Test
+    void testChangedResultsRebuildState() {
+        TermAggregates termAggregates = new TermAggregates();
+        termAggregates.update(createResults(96, 3), new Timestamp(0));
+
+        // an interval already folded in comes back with another value and the same end time
+        IntervalResultsColumns rewritten = createResults(2 * 96, 3, 10, 50.0);
+        termAggregates.update(rewritten, new Timestamp(0));
+        assertEquals(96 + rewritten.size(), termAggregates.getFoldedCount());
+        assertEquals(50.0, termAggregates.getWindow(new Timestamp(0), getLatestEndTime(rewritten), 2).getCpuUsageMax());
+        assertSameRecommendations(rewritten, termAggregates, 2);
+
+        // results older than the retained ones show up late
+        TermAggregates lateAggregates = new TermAggregates();
+        IntervalResultsColumns results = createResults(2 * 96, 4);
+        lateAggregates.update(results.subRange(new Timestamp(START_TIME + DAY_MILLIS), true, getLatestEndTime(results), true),
+                new Timestamp(0));
+        lateAggregates.update(results, new Timestamp(0));
+        assertEquals(results.size(), lateAggregates.size());
+        assertSameRecommendations(results, lateAggregates, 2);
+    }
+
+    @Test
+    void testLongTermPercentilesFromSketches() {
+        IntervalResultsColumns results = createResults(20 * 96, 5);
+        TermAggregates termAggregates = new TermAggregates();
+        termAggregates.update(results, new Timestamp(0));
+
+        Timestamp endTime = getLatestEndTime(results);
+        Timestamp startTime = new Timestamp(endTime.getTime() - 15 * DAY_MILLIS);
+        IntervalResultsColumns termResults = results.subRange(startTime, true, endTime, true);
+        TermAggregates.Window termWindow = termAggregates.getWindow(startTime, endTime, 15);
+        assertTrue(termWindow.isSketched());
+
+        double accuracy = RecommendationConstants.RecommendationValueConstants.PERCENTILE_SKETCH_RELATIVE_ACCURACY;
+        RecommendationConfigItem cpuRequest = model.getCPURequestRecommendation(termResults, new ArrayList<>());
+        RecommendationConfigItem windowCpuRequest = model.getCPURequestRecommendation(termWindow, new ArrayList<RecommendationNotification>());
+        assertEquals(cpuRequest.getAmount(), windowCpuRequest.getAmount(), cpuRequest.getAmount() * accuracy);
+        RecommendationConfigItem memRequest = model.getMemoryRequestRecommendation(termResults, new ArrayList<>());
+        RecommendationConfigItem windowMemRequest = model.getMemoryRequestRecommendation(termWindow, new ArrayList<RecommendationNotification>());
+        assertEquals(memRequest.getAmount(), windowMemRequest.getAmount(), memRequest.getAmount() * accuracy);
+    }
+}
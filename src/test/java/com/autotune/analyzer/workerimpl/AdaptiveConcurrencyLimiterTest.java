@@ -0,0 +1,130 @@
+package com.autotune.analyzer.workerimpl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AdaptiveConcurrencyLimiter
+ */
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long LATENCY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testIncreaseUpToMax() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 3, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            // same latency for every call, none of them is slow
+            limiter.release(System.nanoTime() - LATENCY_NANOS, false);
+        }
+        assertTrue(limiter.getLimit() >= 4);
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire();
+            limiter.release(System.nanoTime() - LATENCY_NANOS, false);
+        }
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testDecreaseOncePerRound() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 8, 10);
+        long first = limiter.acquire();
+        long second = limiter.acquire();
+        limiter.release(first, true);
+        assertEquals(6, limiter.getLimit());
+        // started before the limit was cut
+        limiter.release(second, true);
+        assertEquals(6, limiter.getLimit());
+        limiter.release(limiter.acquire(), true);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void testMinLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.release(limiter.acquire(), true);
+        }
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    void testAcquireWaitsForRelease() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1);
+        long start = limiter.acquire();
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        limiter.release(start, false);
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void testSubmittedCallsQueuedWithoutHoldingWorker() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch firstStarted = new CountDownLatch(1);
+            CountDownLatch firstRelease = new CountDownLatch(1);
+            CountDownLatch second = new CountDownLatch(1);
+            limiter.submit(executor, permit -> {
+                firstStarted.countDown();
+                try {
+                    firstRelease.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                permit.release(false);
+            });
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+            limiter.submit(executor, permit -> {
+                second.countDown();
+                permit.release(false);
+            });
+            assertEquals(1, limiter.getQueued());
+            // the other worker is free for other tasks meanwhile
+            CountDownLatch other = new CountDownLatch(1);
+            executor.execute(other::countDown);
+            assertTrue(other.await(5, TimeUnit.SECONDS));
+            assertEquals(1, second.getCount());
+
+            firstRelease.countDown();
+            assertTrue(second.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void testPermitReleasedOnceWhenCallThrows() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 4, 4);
+        // rejected by the executor, run on the current thread
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        assertThrows(IllegalStateException.class, () -> limiter.submit(executor, permit -> {
+            permit.release(false);
+            permit.release(false);
+            throw new IllegalStateException("failed");
+        }));
+        assertEquals(0, limiter.getInFlight());
+    }
+}
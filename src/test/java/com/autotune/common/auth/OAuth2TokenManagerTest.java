@@ -0,0 +1,43 @@
+package com.autotune.common.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OAuth2TokenManager
+ */
+public class OAuth2TokenManagerTest {
+
+    @Test
+    void testParseJsonToken() {
+        OAuth2TokenManager.Token token = OAuth2TokenManager.parseToken("{\"access_token\":\"abc\",\"token_type\":\"bearer\",\"expires_in\":100}", 0);
+        assertEquals("abc", token.getValue());
+        assertEquals(TimeUnit.SECONDS.toNanos(80), token.getRefreshAtNanos());
+        assertEquals(TimeUnit.SECONDS.toNanos(90), token.getExpiresAtNanos());
+    }
+
+    @Test
+    void testParseFormToken() {
+        OAuth2TokenManager.Token token = OAuth2TokenManager.parseToken("access_token=a%2Fb&scope=repo&token_type=bearer", 0);
+        assertEquals("a/b", token.getValue());
+        // default lifetime of 300s, with the 30s expiry margin
+        assertEquals(TimeUnit.SECONDS.toNanos(270), token.getExpiresAtNanos());
+        assertTrue(token.getRefreshAtNanos() < token.getExpiresAtNanos());
+    }
+
+    @Test
+    void testParseMissingToken() {
+        assertThrows(RuntimeException.class, () -> OAuth2TokenManager.parseToken("{\"error\":\"invalid_client\"}", 0));
+        assertThrows(RuntimeException.class, () -> OAuth2TokenManager.parseToken("error=bad_verification_code", 0));
+    }
+
+    @Test
+    void testInvalidateWithoutToken() {
+        OAuth2TokenManager manager = new OAuth2TokenManager("http://localhost:0/token", "id", "secret");
+        // nothing was dropped, a retry would send the same request
+        assertFalse(manager.invalidate("stale"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.autotune.common.data.result;
+
+import com.autotune.analyzer.utils.AnalyzerConstants;
+import com.autotune.common.data.metrics.MetricAggregationInfoResults;
+import com.autotune.common.data.metrics.MetricResults;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for IntervalResultsColumns
+ */
+public class IntervalResultsColumnsTest {
+
+    private static final long INTERVAL_MILLIS = 15 * 60 * 1000L;
+
+    private static IntervalResults createIntervalResults(long endTime, Double cpuMax, String format) {
+        MetricAggregationInfoResults aggregationInfoResults = new MetricAggregationInfoResults();
+        aggregationInfoResults.setMax(cpuMax);
+        aggregationInfoResults.setAvg(1.0);
+        aggregationInfoResults.setFormat(format);
+        MetricResults metricResults = new MetricResults();
+        metricResults.setAggregationInfoResult(aggregationInfoResults);
+        HashMap<AnalyzerConstants.MetricName, MetricResults> metricResultsMap = new HashMap<>();
+        metricResultsMap.put(AnalyzerConstants.MetricName.cpuUsage, metricResults);
+        IntervalResults intervalResults = new IntervalResults(new Timestamp(endTime - INTERVAL_MILLIS), new Timestamp(endTime));
+        intervalResults.setMetricResultsMap(metricResultsMap);
+        return intervalResults;
+    }
+
+    private static HashMap<Timestamp, IntervalResults> createResults(int count) {
+        HashMap<Timestamp, IntervalResults> results = new HashMap<>();
+        for (int i = 1; i <= count; i++) {
+            long endTime = i * INTERVAL_MILLIS;
+            results.put(new Timestamp(endTime), createIntervalResults(endTime, (double) i, (i == 1) ? "" : "cores"));
+        }
+        return results;
+    }
+
+    @Test
+    void testColumnsAreSortedByEndTime() {
+        IntervalResultsColumns columns = new IntervalResultsColumns(createResults(10));
+
+        assertEquals(10, columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            assertEquals((i + 1) * INTERVAL_MILLIS, columns.getIntervalEndTime(i));
+            assertEquals(i + 1.0, columns.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.max, i));
+        }
+        assertEquals("cores", columns.getFormat(AnalyzerConstants.MetricName.cpuUsage));
+    }
+
+    @Test
+    void testMissingValues() {
+        HashMap<Timestamp, IntervalResults> results = createResults(3);
+        results.put(new Timestamp(4 * INTERVAL_MILLIS), createIntervalResults(4 * INTERVAL_MILLIS, null, "cores"));
+        IntervalResultsColumns columns = new IntervalResultsColumns(results);
+
+        assertTrue(Double.isNaN(columns.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.max, 3)));
+        assertEquals(0.0, columns.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.max, 3, 0.0));
+        assertTrue(Double.isNaN(columns.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.sum, 0)));
+        assertFalse(columns.hasMetric(AnalyzerConstants.MetricName.memoryUsage));
+        assertTrue(Double.isNaN(columns.getValue(AnalyzerConstants.MetricName.memoryUsage, IntervalResultsColumns.Aggregation.max, 0)));
+    }
+
+    @Test
+    void testSubRange() {
+        IntervalResultsColumns columns = new IntervalResultsColumns(createResults(10));
+
+        IntervalResultsColumns inclusive = columns.subRange(new Timestamp(3 * INTERVAL_MILLIS), true, new Timestamp(6 * INTERVAL_MILLIS), true);
+        assertEquals(4, inclusive.size());
+        assertEquals(3 * INTERVAL_MILLIS, inclusive.getIntervalEndTime(0));
+        assertEquals(3.0, inclusive.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.max, 0));
+
+        IntervalResultsColumns exclusive = inclusive.subRange(new Timestamp(3 * INTERVAL_MILLIS), false, new Timestamp(6 * INTERVAL_MILLIS), false);
+        assertEquals(2, exclusive.size());
+        assertEquals(4 * INTERVAL_MILLIS, exclusive.getIntervalEndTime(0));
+
+        assertTrue(columns.subRange(new Timestamp(20 * INTERVAL_MILLIS), true, new Timestamp(30 * INTERVAL_MILLIS), true).isEmpty());
+        assertTrue(new IntervalResultsColumns(new HashMap<>()).isEmpty());
+    }
+
+    @Test
+    void testBuilderSortsIntervalsAddedInAnyOrder() {
+        IntervalResultsColumns.Builder builder = new IntervalResultsColumns.Builder();
+        assertTrue(builder.isEmpty());
+        for (int i = 200; i >= 1; i--) {
+            builder.add(i * INTERVAL_MILLIS, 15.0, AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.max, i, "cores");
+        }
+        // a metric reported for some of the intervals only
+        builder.add(2 * INTERVAL_MILLIS, 15.0, AnalyzerConstants.MetricName.memoryUsage, IntervalResultsColumns.Aggregation.avg, 64.0, "MiB");
+        builder.add(2 * INTERVAL_MILLIS, 15.0, AnalyzerConstants.MetricName.memoryUsage, IntervalResultsColumns.Aggregation.avg, 128.0, "MiB");
+
+        assertEquals(new Timestamp(3 * INTERVAL_MILLIS), builder.getNearestIntervalEndTime(3 * INTERVAL_MILLIS + 1000, 60 * 1000));
+        assertNull(builder.getNearestIntervalEndTime(500 * INTERVAL_MILLIS, 60 * 1000));
+
+        IntervalResultsColumns columns = builder.build();
+        assertEquals(200, columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            assertEquals((i + 1) * INTERVAL_MILLIS, columns.getIntervalEndTime(i));
+            assertEquals(i + 1.0, columns.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.max, i));
+            assertEquals(15.0, columns.getDurationInMinutes(i));
+        }
+        assertEquals(128.0, columns.getValue(AnalyzerConstants.MetricName.memoryUsage, IntervalResultsColumns.Aggregation.avg, 1));
+        assertTrue(Double.isNaN(columns.getValue(AnalyzerConstants.MetricName.memoryUsage, IntervalResultsColumns.Aggregation.avg, 199)));
+        assertEquals("MiB", columns.getFormat(AnalyzerConstants.MetricName.memoryUsage));
+    }
+
+    @Test
+    void testBuilderWithMetricMissingFromLaterIntervals() {
+        IntervalResultsColumns.Builder builder = new IntervalResultsColumns.Builder();
+        // the sparse metric is only reported for the first interval, before the builder grows past its capacity
+        builder.add(INTERVAL_MILLIS, 15.0, AnalyzerConstants.MetricName.memoryUsage, IntervalResultsColumns.Aggregation.avg, 64.0, "MiB");
+        for (int i = 1; i <= 100; i++) {
+            builder.add(i * INTERVAL_MILLIS, 15.0, AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.avg, i, "cores");
+        }
+
+        IntervalResultsColumns columns = builder.build();
+        assertEquals(100, columns.size());
+        assertEquals(64.0, columns.getValue(AnalyzerConstants.MetricName.memoryUsage, IntervalResultsColumns.Aggregation.avg, 0));
+        for (int i = 1; i < columns.size(); i++) {
+            assertTrue(Double.isNaN(columns.getValue(AnalyzerConstants.MetricName.memoryUsage, IntervalResultsColumns.Aggregation.avg, i)));
+        }
+        assertEquals(100.0, columns.getValue(AnalyzerConstants.MetricName.cpuUsage, IntervalResultsColumns.Aggregation.avg, 99));
+    }
+
+    @Test
+    void testContentHash() {
+        IntervalResultsColumns columns = new IntervalResultsColumns(createResults(10));
+        IntervalResultsColumns head = columns.subRange(new Timestamp(INTERVAL_MILLIS), true, new Timestamp(4 * INTERVAL_MILLIS), true);
+        IntervalResultsColumns tail = columns.subRange(new Timestamp(4 * INTERVAL_MILLIS), false, new Timestamp(10 * INTERVAL_MILLIS), true);
+
+        assertEquals(columns.getContentHash(), new IntervalResultsColumns(createResults(10)).getContentHash());
+        assertEquals(columns.getContentHash(), head.getContentHash() + tail.getContentHash());
+        assertEquals(columns.getContentHash(3), head.getContentHash(3));
+
+        // a value rewritten for the same interval end time
+        HashMap<Timestamp, IntervalResults> rewritten = createResults(10);
+        rewritten.put(new Timestamp(5 * INTERVAL_MILLIS), createIntervalResults(5 * INTERVAL_MILLIS, 50.0, "cores"));
+        assertNotEquals(columns.getContentHash(), new IntervalResultsColumns(rewritten).getContentHash());
+
+        // a metric only reported by a later interval leaves the hash of the earlier ones unchanged
+        HashMap<Timestamp, IntervalResults> extended = createResults(11);
+        MetricAggregationInfoResults memoryUsage = new MetricAggregationInfoResults();
+        memoryUsage.setAvg(64.0);
+        MetricResults memoryResults = new MetricResults();
+        memoryResults.setAggregationInfoResult(memoryUsage);
+        extended.get(new Timestamp(11 * INTERVAL_MILLIS)).getMetricResultsMap().put(AnalyzerConstants.MetricName.memoryUsage, memoryResults);
+        IntervalResultsColumns extendedColumns = new IntervalResultsColumns(extended);
+        assertEquals(columns.getContentHash(), extendedColumns.subRange(new Timestamp(0), true,
+                new Timestamp(10 * INTERVAL_MILLIS), true).getContentHash());
+    }
+}
@@ -0,0 +1,102 @@
+package com.autotune.common.datasource.prometheus;
+
+import com.autotune.operator.KruizeDeploymentInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BulkJobQueryBatcher
+ */
+public class BulkJobQueryBatcherTest {
+
+    private static final String JOB_ID = "bulk-job-test";
+    private static final String QUERY = "max by(container, namespace) (container_memory_rss{namespace=\"default\", container=\"$CONTAINER_NAME$\"})";
+    private static final String RESPONSE = "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":[" +
+            "{\"metric\":{\"container\":\"app\",\"namespace\":\"default\"},\"values\":[[1700000000,\"1\"]]}," +
+            "{\"metric\":{\"container\":\"db\",\"namespace\":\"default\"},\"values\":[[1700000000,\"2\"]]}]}}";
+    private final Integer batchSize = KruizeDeploymentInfo.container_query_batch_size;
+    private final List<String> sentQueries = new ArrayList<>();
+    private final Function<String, CompletableFuture<PrometheusQueryResult>> queryRunner = promQL -> {
+        sentQueries.add(promQL);
+        try {
+            return CompletableFuture.completedFuture(PrometheusResponseParser.parse(RESPONSE));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        BulkJobQueryBatcher.unregister(JOB_ID);
+        KruizeDeploymentInfo.container_query_batch_size = batchSize;
+    }
+
+    @Test
+    void testContainersOfSliceShareQuery() throws Exception {
+        KruizeDeploymentInfo.container_query_batch_size = 2;
+        BulkJobQueryBatcher batcher = BulkJobQueryBatcher.register(JOB_ID,
+                Map.of("default", Arrays.asList("db", "app", "web")), 1700000000);
+
+        PrometheusQueryResult dbResult = batcher.getContainerResult(QUERY, QUERY, "default", "db", queryRunner).get();
+        PrometheusQueryResult appResult = batcher.getContainerResult(QUERY, QUERY, "default", "app", queryRunner).get();
+
+        // app and db fall in the first slice, fetched once
+        assertEquals(1, sentQueries.size());
+        assertTrue(sentQueries.get(0).contains("container=~\"app|db\""));
+        assertEquals(2.0, dbResult.getSeries().get(0).getValue(0));
+        assertEquals(1.0, appResult.getSeries().get(0).getValue(0));
+
+        // web is alone in the second slice
+        batcher.getContainerResult(QUERY, QUERY, "default", "web", queryRunner).get();
+        assertEquals(2, sentQueries.size());
+        assertTrue(sentQueries.get(1).contains("container=\"web\""));
+    }
+
+    @Test
+    void testContainersOutsideJobAreNotShared() {
+        KruizeDeploymentInfo.container_query_batch_size = 2;
+        BulkJobQueryBatcher batcher = BulkJobQueryBatcher.register(JOB_ID,
+                Map.of("default", Arrays.asList("app", "db")), 1700000000);
+
+        assertNull(batcher.getContainerResult(QUERY, QUERY, "default", "missing", queryRunner));
+        assertNull(batcher.getContainerResult(QUERY, QUERY, "other", "app", queryRunner));
+        // the series of a container are handed out once
+        assertNotNull(batcher.getContainerResult(QUERY, QUERY, "default", "app", queryRunner));
+        assertNull(batcher.getContainerResult(QUERY, QUERY, "default", "app", queryRunner));
+        assertEquals(1, sentQueries.size());
+    }
+
+    @Test
+    void testReleasedContainerResultsDropped() throws Exception {
+        KruizeDeploymentInfo.container_query_batch_size = 3;
+        BulkJobQueryBatcher batcher = BulkJobQueryBatcher.register("bulk-job-release",
+                Map.of("default", Arrays.asList("app", "db", "web")), 1700000000);
+
+        // web failed before running its queries, it is left out of the slice
+        batcher.release("default", "web");
+        batcher.getContainerResult(QUERY, QUERY, "default", "app", queryRunner).get();
+        assertTrue(sentQueries.get(0).contains("container=~\"app|db\""));
+        assertEquals(1, batcher.getPendingSliceCount());
+        // db failed after the slice was sent, its series are dropped
+        batcher.release("default", "db");
+        assertEquals(0, batcher.getPendingSliceCount());
+        BulkJobQueryBatcher.unregister("bulk-job-release");
+    }
+
+    @Test
+    void testRegistration() {
+        assertNull(BulkJobQueryBatcher.get("bulk-job-registration"));
+        assertNull(BulkJobQueryBatcher.get(null));
+        BulkJobQueryBatcher batcher = BulkJobQueryBatcher.register("bulk-job-registration", Collections.emptyMap(), 1700000000);
+        assertSame(batcher, BulkJobQueryBatcher.get("bulk-job-registration"));
+        assertEquals(1700000000, batcher.getEvaluationTime());
+        BulkJobQueryBatcher.unregister("bulk-job-registration");
+        assertNull(BulkJobQueryBatcher.get("bulk-job-registration"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.autotune.common.datasource.prometheus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PrometheusQueryBatcher
+ */
+public class PrometheusQueryBatcherTest {
+
+    private static final String MEMORY_USAGE_QUERY = "max by(container, namespace) (max_over_time(container_memory_working_set_bytes" +
+            "{container!=\"\", container!=\"POD\", pod!=\"\", namespace=\"$NAMESPACE$\", container=\"$CONTAINER_NAME$\"}[$MEASUREMENT_DURATION_IN_MIN$m]))";
+
+    @Test
+    void testIsBatchable() {
+        assertTrue(PrometheusQueryBatcher.isBatchable(MEMORY_USAGE_QUERY));
+        assertTrue(PrometheusQueryBatcher.isBatchable(
+                "sum(rate(container_cpu_usage_seconds_total{container = \"$CONTAINER_NAME$\"}[5m])) by (namespace, container)"));
+    }
+
+    @Test
+    void testIsNotBatchableWithoutContainerGrouping() {
+        // series of the containers would be summed into one
+        assertFalse(PrometheusQueryBatcher.isBatchable(
+                "sum by(namespace) (container_memory_rss{namespace=\"$NAMESPACE$\", container=\"$CONTAINER_NAME$\"})"));
+        assertFalse(PrometheusQueryBatcher.isBatchable(
+                "max(container_memory_rss{namespace=\"$NAMESPACE$\", container=\"$CONTAINER_NAME$\"})"));
+        // one of the groupings drops the container label
+        assertFalse(PrometheusQueryBatcher.isBatchable(
+                "max by(namespace) (max by(container, namespace) (container_memory_rss{container=\"$CONTAINER_NAME$\"}))"));
+    }
+
+    @Test
+    void testIsNotBatchableWithoutContainerMatcher() {
+        assertFalse(PrometheusQueryBatcher.isBatchable("sum by(container, namespace) (kube_pod_container_info{namespace=\"$NAMESPACE$\"})"));
+        assertFalse(PrometheusQueryBatcher.isBatchable(null));
+    }
+
+    @Test
+    void testToBatchedQuery() {
+        String batchedQuery = PrometheusQueryBatcher.toBatchedQuery(MEMORY_USAGE_QUERY, Arrays.asList("app", "sidecar-proxy"));
+
+        assertTrue(batchedQuery.contains("container=~\"app|sidecar-proxy\""));
+        assertFalse(batchedQuery.contains("$CONTAINER_NAME$"));
+        // other matchers on the container label are left as is
+        assertTrue(batchedQuery.contains("container!=\"POD\""));
+    }
+
+    @Test
+    void testToBatchedQueryEscapesRegex() {
+        String batchedQuery = PrometheusQueryBatcher.toBatchedQuery(MEMORY_USAGE_QUERY, Arrays.asList("app.v1", "db"));
+
+        assertTrue(batchedQuery.contains("container=~\"app\\\\.v1|db\""));
+    }
+
+    @Test
+    void testFilterByLabel() throws Exception {
+        String response = "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":[" +
+                "{\"metric\":{\"container\":\"app\",\"namespace\":\"default\"},\"values\":[[1700000000,\"1\"]]}," +
+                "{\"metric\":{\"container\":\"db\",\"namespace\":\"default\"},\"values\":[[1700000000,\"2\"]]}]}}";
+        PrometheusQueryResult result = PrometheusResponseParser.parse(response);
+
+        PrometheusQueryResult dbResult = result.filterByLabel("container", "db");
+        assertEquals(1, dbResult.getSeries().size());
+        assertEquals(2.0, dbResult.getSeries().get(0).getValue(0));
+        assertTrue(result.filterByLabel("container", "missing").isEmpty());
+    }
+}
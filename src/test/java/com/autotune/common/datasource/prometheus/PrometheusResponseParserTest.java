@@ -0,0 +1,124 @@
+package com.autotune.common.datasource.prometheus;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.google.gson.JsonArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PrometheusResponseParser
+ */
+public class PrometheusResponseParserTest {
+
+    @Test
+    void testParseMatrix() throws Exception {
+        String response = "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":[" +
+                "{\"metric\":{\"container\":\"app\",\"pod\":\"app-1\"},\"values\":[[1700000000,\"0.5\"],[1700000060.5,\"1.25\"]]}," +
+                "{\"metric\":{\"container\":\"app\",\"pod\":\"app-2\"},\"values\":[[1700000000,\"2\"]]}]}}";
+
+        PrometheusQueryResult result = PrometheusResponseParser.parse(
+                new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("success", result.getStatus());
+        assertEquals("matrix", result.getResultType());
+        assertEquals(2, result.getSeries().size());
+
+        PrometheusSeries first = result.getSeries().get(0);
+        assertEquals("app-1", first.getLabel("pod"));
+        assertEquals(2, first.size());
+        assertEquals(1700000000L, first.getTimestamp(0));
+        assertEquals(0.5, first.getValue(0));
+        assertEquals(1700000060L, first.getTimestamp(1));
+        assertEquals(1.25, first.getValue(1));
+
+        Map<String, String> labels = new HashMap<>();
+        labels.put("container", "app");
+        labels.put("pod", "app-2");
+        assertSame(result.getSeries().get(1), result.getSeries(labels));
+    }
+
+    @Test
+    void testParseVector() throws Exception {
+        String response = "{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":[" +
+                "{\"metric\":{\"namespace\":\"default\"},\"value\":[1700000000,\"42\"]}]}}";
+
+        PrometheusQueryResult result = PrometheusResponseParser.parse(response);
+
+        assertEquals(1, result.getSeries().size());
+        PrometheusSeries series = result.getSeries().get(0);
+        assertEquals(1, series.size());
+        assertEquals(1700000000L, series.getTimestamp(0));
+        assertEquals(42.0, series.getValue(0));
+
+        JsonArray metricArray = result.toMetricJsonArray();
+        assertEquals(1, metricArray.size());
+        assertEquals("default", metricArray.get(0).getAsJsonObject()
+                .getAsJsonObject("metric").get("namespace").getAsString());
+    }
+
+    @Test
+    void testParseScalarWithResultTypeLast() throws Exception {
+        String response = "{\"status\":\"success\",\"data\":{\"result\":[1700000000,\"3\"],\"resultType\":\"scalar\"}}";
+
+        PrometheusQueryResult result = PrometheusResponseParser.parse(response);
+
+        assertEquals("scalar", result.getResultType());
+        assertEquals(1, result.getSeries().size());
+        assertTrue(result.getSeries().get(0).getLabels().isEmpty());
+        assertEquals(3.0, result.getSeries().get(0).getValue(0));
+    }
+
+    @Test
+    void testParseSpecialValues() throws Exception {
+        String response = "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":[" +
+                "{\"metric\":{},\"values\":[[1,\"NaN\"],[2,\"+Inf\"],[3,\"-Inf\"]]}]}}";
+
+        PrometheusSeries series = PrometheusResponseParser.parse(response).getSeries().get(0);
+
+        assertTrue(Double.isNaN(series.getValue(0)));
+        assertEquals(Double.POSITIVE_INFINITY, series.getValue(1));
+        assertEquals(Double.NEGATIVE_INFINITY, series.getValue(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> series.getValue(3));
+    }
+
+    @Test
+    void testParseEmptyResultWithWarnings() throws Exception {
+        String response = "{\"status\":\"success\",\"warnings\":[\"error reading from server\"]," +
+                "\"data\":{\"resultType\":\"matrix\",\"result\":[]}}";
+
+        PrometheusQueryResult result = PrometheusResponseParser.parse(response);
+
+        assertTrue(result.isEmpty());
+        assertEquals(1, result.getWarnings().size());
+        assertEquals("error reading from server", result.getWarnings().get(0));
+    }
+
+    @Test
+    void testParseGrowsSeriesBeyondInitialCapacity() throws Exception {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            if (i > 0)
+                values.append(',');
+            values.append('[').append(i).append(",\"").append(i).append("\"]");
+        }
+        String response = "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":[" +
+                "{\"metric\":{},\"values\":[" + values + "]}]}}";
+
+        PrometheusSeries series = PrometheusResponseParser.parse(response).getSeries().get(0);
+
+        assertEquals(100, series.size());
+        assertEquals(99L, series.getTimestamp(99));
+        assertEquals(99.0, series.getValue(99));
+    }
+
+    @Test
+    void testParseMalformedResponse() {
+        assertThrows(JsonParseException.class, () -> PrometheusResponseParser.parse("[]"));
+    }
+}
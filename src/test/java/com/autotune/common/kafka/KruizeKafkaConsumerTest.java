@@ -0,0 +1,137 @@
+package com.autotune.common.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for KruizeKafkaConsumer
+ */
+public class KruizeKafkaConsumerTest {
+    private static final String TOPIC = "results-input-topic";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    private static MockConsumer<String, String> newMockConsumer(KruizeKafkaConsumer.RecordHandler handler, KruizeKafkaConsumer[] consumer) {
+        return newMockConsumer(handler, consumer, 5);
+    }
+
+    private static MockConsumer<String, String> newMockConsumer(KruizeKafkaConsumer.RecordHandler handler, KruizeKafkaConsumer[] consumer,
+                                                                int maxAttempts) {
+        MockConsumer<String, String> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer[0] = new KruizeKafkaConsumer(mockConsumer, Map.of(TOPIC, handler), 2, maxAttempts);
+        consumer[0].subscribe();
+        mockConsumer.rebalance(List.of(PARTITION_0, PARTITION_1));
+        mockConsumer.updateBeginningOffsets(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+        return mockConsumer;
+    }
+
+    private static void addRecords(MockConsumer<String, String> mockConsumer, int partition, int from, int to) {
+        for (int offset = from; offset < to; offset++) {
+            mockConsumer.addRecord(new ConsumerRecord<>(TOPIC, partition, offset, "key", partition + "-" + offset));
+        }
+    }
+
+    private static long committed(MockConsumer<String, String> mockConsumer, TopicPartition partition) {
+        OffsetAndMetadata offset = mockConsumer.committed(Set.of(partition)).get(partition);
+        return (null == offset) ? -1 : offset.offset();
+    }
+
+    private static void pollUntil(KruizeKafkaConsumer consumer, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(15);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            consumer.pollOnce();
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testRecordsProcessedInOrderAndCommitted() throws InterruptedException {
+        Map<Integer, List<String>> handled = new ConcurrentHashMap<>();
+        KruizeKafkaConsumer[] consumer = new KruizeKafkaConsumer[1];
+        MockConsumer<String, String> mockConsumer = newMockConsumer(record ->
+                handled.computeIfAbsent(record.partition(), partition -> new CopyOnWriteArrayList<>()).add(record.value()), consumer);
+        addRecords(mockConsumer, 0, 0, 3);
+        addRecords(mockConsumer, 1, 0, 2);
+        pollUntil(consumer[0], () -> committed(mockConsumer, PARTITION_0) == 3 && committed(mockConsumer, PARTITION_1) == 2);
+        assertEquals(List.of("0-0", "0-1", "0-2"), handled.get(0));
+        assertEquals(List.of("1-0", "1-1"), handled.get(1));
+        // resumed once processed
+        assertTrue(mockConsumer.paused().isEmpty());
+    }
+
+    @Test
+    void testPartitionPausedWhileProcessed() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        KruizeKafkaConsumer[] consumer = new KruizeKafkaConsumer[1];
+        MockConsumer<String, String> mockConsumer = newMockConsumer(record -> {
+            if (record.partition() == 0)
+                release.await();
+        }, consumer);
+        addRecords(mockConsumer, 0, 0, 1);
+        addRecords(mockConsumer, 1, 0, 1);
+        // the slow partition doesn't hold back the other one
+        pollUntil(consumer[0], () -> committed(mockConsumer, PARTITION_1) == 1);
+        assertEquals(Set.of(PARTITION_0), mockConsumer.paused());
+        assertEquals(-1, committed(mockConsumer, PARTITION_0));
+        release.countDown();
+        pollUntil(consumer[0], () -> committed(mockConsumer, PARTITION_0) == 1);
+        assertTrue(mockConsumer.paused().isEmpty());
+    }
+
+    @Test
+    void testFailedRecordRetried() throws InterruptedException {
+        AtomicBoolean failed = new AtomicBoolean();
+        List<String> handled = new CopyOnWriteArrayList<>();
+        KruizeKafkaConsumer[] consumer = new KruizeKafkaConsumer[1];
+        MockConsumer<String, String> mockConsumer = newMockConsumer(record -> {
+            if (record.offset() == 1 && failed.compareAndSet(false, true))
+                throw new Exception("database down");
+            handled.add(record.value());
+        }, consumer);
+        addRecords(mockConsumer, 0, 0, 3);
+        // only the records before the failed one are committed, the partition is consumed again from the failed one
+        pollUntil(consumer[0], () -> committed(mockConsumer, PARTITION_0) == 1);
+        assertEquals(1, mockConsumer.position(PARTITION_0));
+        assertEquals(Set.of(PARTITION_0), mockConsumer.paused());
+        // delivered again by the broker once resumed
+        addRecords(mockConsumer, 0, 1, 3);
+        pollUntil(consumer[0], () -> committed(mockConsumer, PARTITION_0) == 3);
+        assertEquals(List.of("0-0", "0-1", "0-2"), handled);
+    }
+
+    @Test
+    void testRecordSkippedAfterMaxAttempts() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> handled = new CopyOnWriteArrayList<>();
+        KruizeKafkaConsumer[] consumer = new KruizeKafkaConsumer[1];
+        MockConsumer<String, String> mockConsumer = newMockConsumer(record -> {
+            if (record.offset() == 1) {
+                attempts.incrementAndGet();
+                throw new Exception("invalid record");
+            }
+            handled.add(record.value());
+        }, consumer, 1);
+        addRecords(mockConsumer, 0, 0, 3);
+        // the failing record doesn't block the ones after it
+        pollUntil(consumer[0], () -> committed(mockConsumer, PARTITION_0) == 3);
+        assertEquals(1, attempts.get());
+        assertEquals(List.of("0-0", "0-2"), handled);
+        assertTrue(mockConsumer.paused().isEmpty());
+    }
+}
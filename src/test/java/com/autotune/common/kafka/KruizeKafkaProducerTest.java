@@ -0,0 +1,79 @@
+package com.autotune.common.kafka;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for KruizeKafkaProducer
+ */
+public class KruizeKafkaProducerTest {
+    private static final String TOPIC = "recommendations-topic";
+
+    @Test
+    void testSendCompletesOnAcknowledgement() throws Exception {
+        MockProducer<String, String> mockProducer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        KruizeKafkaProducer producer = new KruizeKafkaProducer(mockProducer, 10);
+        CompletableFuture<RecordMetadata> delivery = producer.send(TOPIC, "{}");
+        // sent without waiting for the broker
+        assertFalse(delivery.isDone());
+        assertEquals(1, producer.getInFlight());
+        assertTrue(mockProducer.completeNext());
+        assertEquals(TOPIC, delivery.get(5, TimeUnit.SECONDS).topic());
+        assertEquals(0, producer.getInFlight());
+        assertEquals("{}", mockProducer.history().get(0).value());
+    }
+
+    @Test
+    void testSendFailsOnError() throws Exception {
+        MockProducer<String, String> mockProducer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        KruizeKafkaProducer producer = new KruizeKafkaProducer(mockProducer, 10);
+        CompletableFuture<RecordMetadata> delivery = producer.send(TOPIC, "{}");
+        assertTrue(mockProducer.errorNext(new RuntimeException("broker down")));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> delivery.get(5, TimeUnit.SECONDS));
+        assertEquals("broker down", exception.getCause().getMessage());
+        assertEquals(0, producer.getInFlight());
+    }
+
+    @Test
+    void testSendFailsWhenProducerThrows() throws Exception {
+        MockProducer<String, String> mockProducer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        mockProducer.close();
+        KruizeKafkaProducer producer = new KruizeKafkaProducer(mockProducer, 1);
+        CompletableFuture<RecordMetadata> delivery = producer.send(TOPIC, "{}");
+        assertTrue(delivery.isCompletedExceptionally());
+        // the permit is given back, the next send doesn't wait
+        assertTrue(producer.send(TOPIC, "{}").isCompletedExceptionally());
+        assertEquals(0, producer.getInFlight());
+    }
+
+    @Test
+    void testSendWaitsForInFlightMessages() throws Exception {
+        MockProducer<String, String> mockProducer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        KruizeKafkaProducer producer = new KruizeKafkaProducer(mockProducer, 1);
+        producer.send(TOPIC, "first");
+        CountDownLatch sent = new CountDownLatch(1);
+        Thread sender = new Thread(() -> {
+            try {
+                producer.send(TOPIC, "second");
+                sent.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        sender.start();
+        assertFalse(sent.await(200, TimeUnit.MILLISECONDS));
+        assertTrue(mockProducer.completeNext());
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertEquals(1, producer.getInFlight());
+        assertEquals(2, mockProducer.history().size());
+    }
+}
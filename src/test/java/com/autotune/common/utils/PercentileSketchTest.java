@@ -0,0 +1,71 @@
+package com.autotune.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PercentileSketch
+ */
+public class PercentileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    @Test
+    void testPercentileWithinRelativeAccuracy() {
+        Random random = new Random(7);
+        double[] values = new double[10000];
+        PercentileSketch sketch = new PercentileSketch(ACCURACY);
+        for (int i = 0; i < values.length; i++) {
+            // spans several orders of magnitude, like memory usage in bytes
+            values[i] = Math.exp(random.nextDouble() * 20);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[]{1, 25, 50, 90, 98, 99}) {
+            double expected = values[PercentileUtils.rank(percentile, values.length)];
+            assertEquals(expected, sketch.getPercentile(percentile), expected * ACCURACY);
+        }
+        assertEquals(values[0], sketch.getPercentile(0));
+        assertEquals(values[values.length - 1], sketch.getPercentile(100));
+        assertEquals(values.length, sketch.getCount());
+    }
+
+    @Test
+    void testMerge() {
+        PercentileSketch first = new PercentileSketch(ACCURACY);
+        PercentileSketch second = new PercentileSketch(ACCURACY);
+        PercentileSketch all = new PercentileSketch(ACCURACY);
+        for (int i = 1; i <= 1000; i++) {
+            (i % 2 == 0 ? first : second).add(i * 0.001);
+            all.add(i * 0.001);
+        }
+        first.merge(second);
+
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getSum(), first.getSum(), 1e-9);
+        for (double percentile : new double[]{0, 10, 50, 90, 100}) {
+            assertEquals(all.getPercentile(percentile), first.getPercentile(percentile));
+        }
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new PercentileSketch(0.05) {{
+            add(1);
+        }}));
+    }
+
+    @Test
+    void testZeroAndEmpty() {
+        PercentileSketch sketch = new PercentileSketch(ACCURACY);
+        assertTrue(sketch.isEmpty());
+        assertEquals(0.0, sketch.getPercentile(50));
+        assertTrue(Double.isNaN(sketch.getMax()));
+
+        sketch.add(0.0, 3);
+        sketch.add(2.0);
+        assertEquals(0.0, sketch.getPercentile(50));
+        assertEquals(2.0, sketch.getPercentile(100));
+        assertEquals(0.0, sketch.getMin());
+    }
+}
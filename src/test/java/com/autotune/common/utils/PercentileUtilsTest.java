@@ -0,0 +1,62 @@
+package com.autotune.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PercentileUtils
+ */
+public class PercentileUtilsTest {
+
+    private static double sortedPercentile(double percentile, double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.round(percentile / 100.0 * (sorted.length - 1))];
+    }
+
+    @Test
+    void testPercentileMatchesSort() {
+        Random random = new Random(42);
+        for (int length : new int[]{1, 2, 5, 16, 17, 100, 1001}) {
+            double[] values = new double[length];
+            for (int i = 0; i < length; i++) {
+                // few distinct values to exercise duplicates
+                values[i] = (i % 3 == 0) ? random.nextInt(4) : random.nextDouble() * 1000;
+            }
+            for (double percentile : new double[]{0, 25, 50, 90, 98, 100}) {
+                double expected = sortedPercentile(percentile, values);
+                assertEquals(expected, PercentileUtils.percentile(percentile, values.clone(), length));
+            }
+        }
+    }
+
+    @Test
+    void testPercentileOfPrefix() {
+        double[] values = {5, 1, 4, 100, 200};
+        assertEquals(4.0, PercentileUtils.percentile(50, values, 3));
+        assertEquals(0.0, PercentileUtils.percentile(50, values, 0));
+    }
+
+    @Test
+    void testPercentiles() {
+        double[] values = {9, 3, 7, 1, 5};
+        double[] quartiles = PercentileUtils.percentiles(values, values.length, 25, 50, 75);
+
+        assertArrayEquals(new double[]{3, 5, 7}, quartiles);
+        assertArrayEquals(new double[]{1, 3, 5, 7, 9}, values);
+    }
+
+    @Test
+    void testCommonUtilsPercentileLeavesListUnchanged() {
+        List<Double> items = new ArrayList<>(Arrays.asList(3.0, 1.0, 2.0));
+
+        assertEquals(Double.valueOf(3.0), CommonUtils.percentile(100, items));
+        assertEquals(Arrays.asList(3.0, 1.0, 2.0), items);
+    }
+}
@@ -0,0 +1,36 @@
+package com.autotune.database.helper;
+
+import jakarta.persistence.PersistenceException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DBHelpers
+ */
+public class DBHelpersTest {
+
+    @Test
+    void testTransientFailures() {
+        assertTrue(DBHelpers.isTransientFailure(new JDBCConnectionException("connection refused",
+                new SQLException("connection refused", "08001"))));
+        // found through the exceptions wrapping it
+        assertTrue(DBHelpers.isTransientFailure(new Exception("Error while loading existing experiment",
+                new PersistenceException(new SQLException("terminating connection due to administrator command", "57P01")))));
+        assertTrue(DBHelpers.isTransientFailure(new SQLException("deadlock detected", "40P01")));
+    }
+
+    @Test
+    void testDataFailuresAreNotTransient() {
+        assertFalse(DBHelpers.isTransientFailure(new ConstraintViolationException("duplicate key value",
+                new SQLException("duplicate key value violates unique constraint", "23505"), "uk_results")));
+        assertFalse(DBHelpers.isTransientFailure(new PersistenceException("no partition of relation",
+                new SQLException("no partition of relation \"kruize_results\" found for row", "23514"))));
+        assertFalse(DBHelpers.isTransientFailure(new IllegalStateException()));
+        assertFalse(DBHelpers.isTransientFailure(null));
+    }
+}
@@ -0,0 +1,88 @@
+package com.autotune.database.helper;
+
+import com.autotune.operator.KruizeDeploymentInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ExperimentEntryCache
+ */
+public class ExperimentEntryCacheTest {
+
+    @Test
+    void testLoadsOnceUntilInvalidated() throws Exception {
+        ExperimentEntryCache<String> cache = new ExperimentEntryCache<>("testLoadsOnce");
+        AtomicInteger loads = new AtomicInteger();
+        ExperimentEntryCache.Loader<String> loader = name -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(List.of(name + "-" + loads.get()));
+        };
+
+        assertEquals(List.of("exp-1"), cache.get("exp", loader));
+        assertEquals(List.of("exp-1"), cache.get("exp", loader));
+        assertEquals(1, loads.get());
+
+        cache.invalidate("exp");
+        assertEquals(List.of("exp-2"), cache.get("exp", loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testUnknownExperimentsAreNotCached() throws Exception {
+        ExperimentEntryCache<String> cache = new ExperimentEntryCache<>("testUnknown");
+        AtomicInteger loads = new AtomicInteger();
+        ExperimentEntryCache.Loader<String> loader = name -> {
+            loads.incrementAndGet();
+            return new ArrayList<>();
+        };
+
+        assertTrue(cache.get("missing", loader).isEmpty());
+        assertTrue(cache.get("missing", loader).isEmpty());
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotCached() throws Exception {
+        ExperimentEntryCache<String> cache = new ExperimentEntryCache<>("testRace");
+        // the experiment is deleted while its rows are being read
+        List<String> stale = cache.get("exp", name -> {
+            cache.invalidate(name);
+            return new ArrayList<>(List.of("stale"));
+        });
+        assertEquals(List.of("stale"), stale);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() throws Exception {
+        Integer cacheSize = KruizeDeploymentInfo.experiment_cache_size;
+        KruizeDeploymentInfo.experiment_cache_size = 2;
+        try {
+            ExperimentEntryCache<String> cache = new ExperimentEntryCache<>("testEviction");
+            AtomicInteger loads = new AtomicInteger();
+            ExperimentEntryCache.Loader<String> loader = name -> {
+                loads.incrementAndGet();
+                return new ArrayList<>(List.of(name));
+            };
+            cache.get("a", loader);
+            cache.get("b", loader);
+            cache.get("a", loader);
+            cache.get("c", loader);
+            assertEquals(2, cache.size());
+            assertEquals(3, loads.get());
+            // b was the least recently used
+            cache.get("a", loader);
+            assertEquals(3, loads.get());
+            cache.get("b", loader);
+            assertEquals(4, loads.get());
+        } finally {
+            KruizeDeploymentInfo.experiment_cache_size = cacheSize;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.autotune.utils;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsAsyncClient;
+import software.amazon.awssdk.services.cloudwatchlogs.model.InputLogEvent;
+import software.amazon.awssdk.services.cloudwatchlogs.model.PutLogEventsRequest;
+import software.amazon.awssdk.services.cloudwatchlogs.model.PutLogEventsResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CloudWatchAppender
+ */
+public class CloudWatchAppenderTest {
+
+    /**
+     * Records the requests instead of sending them
+     */
+    private static class StubCloudWatchLogsClient implements CloudWatchLogsAsyncClient {
+        private final List<PutLogEventsRequest> requests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<PutLogEventsResponse> putLogEvents(PutLogEventsRequest request) {
+            requests.add(request);
+            return CompletableFuture.completedFuture(PutLogEventsResponse.builder()
+                    .nextSequenceToken(String.valueOf(requests.size()))
+                    .build());
+        }
+
+        @Override
+        public String serviceName() {
+            return "logs";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static CloudWatchAppender createAppender(String name, StubCloudWatchLogsClient client, int queueSize, int batchSize) {
+        return new CloudWatchAppender(name, null, PatternLayout.newBuilder().withPattern("%m").build(), "group", "stream",
+                client, queueSize, batchSize, 50, 0);
+    }
+
+    private static LogEvent event(long timeMillis, String message) {
+        return Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setTimeMillis(timeMillis)
+                .setMessage(new SimpleMessage(message))
+                .build();
+    }
+
+    @Test
+    void testEventsSentInOrderedBatches() {
+        StubCloudWatchLogsClient client = new StubCloudWatchLogsClient();
+        CloudWatchAppender appender = createAppender("testBatches", client, 100, 10);
+        appender.start();
+        // queued out of order, sent sorted within their batch
+        appender.append(event(2, "second"));
+        appender.append(event(1, "first"));
+        for (int i = 0; i < 23; i++) {
+            appender.append(event(10 + i, "event" + i));
+        }
+        assertTrue(appender.stop(5, TimeUnit.SECONDS));
+
+        assertEquals(3, client.requests.size());
+        int sent = 0;
+        for (PutLogEventsRequest request : client.requests) {
+            assertTrue(request.logEvents().size() <= 10);
+            sent += request.logEvents().size();
+        }
+        assertEquals(25, sent);
+        List<InputLogEvent> firstBatch = client.requests.get(0).logEvents();
+        assertEquals("first", firstBatch.get(0).message());
+        assertEquals("second", firstBatch.get(1).message());
+        // the sequence token of a response is used by the next request
+        assertNull(client.requests.get(0).sequenceToken());
+        assertEquals("1", client.requests.get(1).sequenceToken());
+        assertEquals(25.0, appender.getSentCount());
+        assertEquals(0.0, appender.getDroppedCount());
+    }
+
+    @Test
+    void testEventsFlushedAfterInterval() throws InterruptedException {
+        StubCloudWatchLogsClient client = new StubCloudWatchLogsClient();
+        CloudWatchAppender appender = createAppender("testInterval", client, 100, 1000);
+        appender.start();
+        appender.append(event(1, "lonely"));
+        for (int i = 0; i < 100 && client.requests.isEmpty(); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, client.requests.size());
+        assertEquals("lonely", client.requests.get(0).logEvents().get(0).message());
+        appender.stop(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testEventsDroppedWhenQueueFull() {
+        StubCloudWatchLogsClient client = new StubCloudWatchLogsClient();
+        // not started, nothing drains the queue
+        CloudWatchAppender appender = createAppender("testDropped", client, 5, 10);
+        for (int i = 0; i < 8; i++) {
+            appender.append(event(i, "event" + i));
+        }
+        assertEquals(5.0, appender.getQueuedCount());
+        assertEquals(3.0, appender.getDroppedCount());
+        assertTrue(client.requests.isEmpty());
+    }
+}
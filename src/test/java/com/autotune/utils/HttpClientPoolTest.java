@@ -0,0 +1,62 @@
+package com.autotune.utils;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HttpClientPool
+ */
+public class HttpClientPoolTest {
+
+    @AfterEach
+    void tearDown() {
+        HttpClientPool.shutdown();
+    }
+
+    @Test
+    void testClientIsReusedPerPool() throws Exception {
+        CloseableHttpClient client = HttpClientPool.getClient("prometheus-1");
+
+        assertSame(client, HttpClientPool.getClient("prometheus-1"));
+        assertNotSame(client, HttpClientPool.getClient("prometheus-2"));
+        // Kruize's own APIs share one pool
+        assertSame(HttpClientPool.getClient(HttpClientPool.KRUIZE_POOL), HttpClientPool.getClient(null));
+        assertEquals(3, countPoolGauges("prometheus-1"));
+    }
+
+    @Test
+    void testEvictClosesPool() throws Exception {
+        CloseableHttpClient client = HttpClientPool.getClient("prometheus-1");
+        CloseableHttpClient otherClient = HttpClientPool.getClient("prometheus-2");
+
+        HttpClientPool.evict("prometheus-1");
+
+        assertEquals(0, countPoolGauges("prometheus-1"));
+        assertThrows(IllegalStateException.class, () -> client.execute(new HttpGet("http://localhost:1/")));
+        // the next caller gets a new pool, other pools are left as is
+        assertNotSame(client, HttpClientPool.getClient("prometheus-1"));
+        assertSame(otherClient, HttpClientPool.getClient("prometheus-2"));
+        HttpClientPool.evict(null);
+    }
+
+    @Test
+    void testShutdownClosesAllPools() throws Exception {
+        CloseableHttpClient client = HttpClientPool.getClient("prometheus-1");
+        CloseableHttpClient kruizeClient = HttpClientPool.getClient(null);
+
+        HttpClientPool.shutdown();
+
+        assertEquals(0, countPoolGauges("prometheus-1"));
+        assertEquals(0, countPoolGauges(HttpClientPool.KRUIZE_POOL));
+        assertThrows(IllegalStateException.class, () -> client.execute(new HttpGet("http://localhost:1/")));
+        assertThrows(IllegalStateException.class, () -> kruizeClient.execute(new HttpGet("http://localhost:1/")));
+    }
+
+    private static int countPoolGauges(String poolName) {
+        return MetricsConfig.meterRegistry().find(MetricsConfig.HTTP_POOL_METRIC).tag("pool", poolName).meters().size();
+    }
+}
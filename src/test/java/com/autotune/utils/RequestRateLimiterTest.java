@@ -0,0 +1,43 @@
+package com.autotune.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RequestRateLimiter
+ */
+public class RequestRateLimiterTest {
+
+    @Test
+    void testBurstThenSteadyRate() {
+        AtomicLong now = new AtomicLong();
+        RequestRateLimiter rateLimiter = new RequestRateLimiter(10, 3, now::get);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.reserve());
+        }
+        // once the burst is used up requests are spaced by 1/qps, each reserving the next token
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), rateLimiter.reserve());
+    }
+
+    @Test
+    void testTokensRefillUpToBurst() {
+        AtomicLong now = new AtomicLong();
+        RequestRateLimiter rateLimiter = new RequestRateLimiter(10, 2, now::get);
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, rateLimiter.reserve());
+        assertTrue(rateLimiter.reserve() > 0);
+
+        // a long quiet period only refills the burst
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertTrue(rateLimiter.reserve() > 0);
+    }
+}